@@ -59,7 +59,7 @@ public class BooleanNormalizer implements Visitor
 
     /** Normalize conditions anywhere in this statement. */
     public StatementNode normalize(StatementNode stmt) throws StandardException {
-        return (StatementNode)stmt.accept(this);
+        return (StatementNode)stmt.acceptIteratively(this);
     }
 
     /** Normalize WHERE clause in this SELECT node. */
@@ -835,21 +835,32 @@ public class BooleanNormalizer implements Visitor
     /* Visitor interface */
 
     public Visitable visit(Visitable node) throws StandardException {
-        switch (((QueryTreeNode)node).getNodeType()) {
-        case NodeTypes.SELECT_NODE:
-            selectNode((SelectNode)node);
-            break;
-        case NodeTypes.JOIN_NODE:
-        case NodeTypes.HALF_OUTER_JOIN_NODE:
-            joinNode((JoinNode)node);
-            break;
-        case NodeTypes.CONDITIONAL_NODE:
-            conditionalNode((ConditionalNode)node);
-            break;
-        }
+        ((QueryTreeNode)node).dispatch(dispatcher);
         return node;
     }
 
+    private final NodeVisitor<Void> dispatcher = new AbstractNodeVisitor<Void>() {
+            public Void visitSelectNode(SelectNode node) throws StandardException {
+                selectNode(node);
+                return null;
+            }
+
+            // Also HalfOuterJoinNode.
+            public Void visitJoinNode(JoinNode node) throws StandardException {
+                joinNode(node);
+                return null;
+            }
+
+            public Void visitFullOuterJoinNode(FullOuterJoinNode node) {
+                return null;
+            }
+
+            public Void visitConditionalNode(ConditionalNode node) throws StandardException {
+                conditionalNode(node);
+                return null;
+            }
+        };
+
     public boolean visitChildrenFirst(Visitable node) {
         return true;
     }
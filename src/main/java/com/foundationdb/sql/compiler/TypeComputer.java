@@ -32,7 +32,7 @@ public class TypeComputer implements Visitor
     }
 
     public void compute(StatementNode stmt) throws StandardException {
-        stmt.accept(this);
+        stmt.acceptIteratively(this);
     }
     
     protected ValueNode setType(ValueNode node) throws StandardException {
@@ -48,53 +48,96 @@ public class TypeComputer implements Visitor
     /** Probably need to subclass and handle <code>NodeTypes.COLUMN_REFERENCE</code>
      * to get type propagation started. */
     protected DataTypeDescriptor computeType(ValueNode node) throws StandardException {
-        switch (node.getNodeType()) {
-        case NodeTypes.RESULT_COLUMN:
-            return resultColumn((ResultColumn)node);
-        case NodeTypes.AND_NODE:
-        case NodeTypes.OR_NODE:
-        case NodeTypes.IS_NODE:
-            return binaryLogicalOperatorNode((BinaryLogicalOperatorNode)node);
-        case NodeTypes.NOT_NODE:
-            return unaryLogicalOperatorNode((UnaryLogicalOperatorNode)node);
-        case NodeTypes.BINARY_PLUS_OPERATOR_NODE:
-        case NodeTypes.BINARY_TIMES_OPERATOR_NODE:
-        case NodeTypes.BINARY_DIVIDE_OPERATOR_NODE:
-        case NodeTypes.BINARY_DIV_OPERATOR_NODE:
-        case NodeTypes.BINARY_MINUS_OPERATOR_NODE:
-            return binaryArithmeticOperatorNode((BinaryArithmeticOperatorNode)node);
-        case NodeTypes.BINARY_EQUALS_OPERATOR_NODE:
-        case NodeTypes.BINARY_NOT_EQUALS_OPERATOR_NODE:
-        case NodeTypes.BINARY_GREATER_THAN_OPERATOR_NODE:
-        case NodeTypes.BINARY_GREATER_EQUALS_OPERATOR_NODE:
-        case NodeTypes.BINARY_LESS_THAN_OPERATOR_NODE:
-        case NodeTypes.BINARY_LESS_EQUALS_OPERATOR_NODE:
-            return binaryComparisonOperatorNode((BinaryComparisonOperatorNode)node);
-        case NodeTypes.BETWEEN_OPERATOR_NODE:
-            return betweenOperatorNode((BetweenOperatorNode)node);
-        case NodeTypes.IN_LIST_OPERATOR_NODE:
-            return inListOperatorNode((InListOperatorNode)node);
-        case NodeTypes.SUBQUERY_NODE:
-            return subqueryNode((SubqueryNode)node);
-        case NodeTypes.CONDITIONAL_NODE:
-            return conditionalNode((ConditionalNode)node);
-        case NodeTypes.COALESCE_FUNCTION_NODE:
-            return coalesceFunctionNode((CoalesceFunctionNode)node);
-        case NodeTypes.AGGREGATE_NODE:
-        case NodeTypes.GROUP_CONCAT_NODE:
-            return aggregateNode((AggregateNode)node);
-        case NodeTypes.CONCATENATION_OPERATOR_NODE:
-            return concatenationOperatorNode((ConcatenationOperatorNode)node);
-        case NodeTypes.IS_NULL_NODE:
-        case NodeTypes.IS_NOT_NULL_NODE:
+        return node.dispatch(typeDispatcher);
+    }
+
+    private final NodeVisitor<DataTypeDescriptor> typeDispatcher = new TypeDispatcher();
+
+    /** Call the method for each kind of expression. Others get no type. */
+    private class TypeDispatcher extends AbstractNodeVisitor<DataTypeDescriptor> {
+        public DataTypeDescriptor visitResultColumn(ResultColumn node) 
+                throws StandardException {
+            return resultColumn(node);
+        }
+
+        public DataTypeDescriptor visitAllResultColumn(AllResultColumn node) {
+            return null;
+        }
+
+        public DataTypeDescriptor visitAndNode(AndNode node) throws StandardException {
+            return binaryLogicalOperatorNode(node);
+        }
+
+        public DataTypeDescriptor visitOrNode(OrNode node) throws StandardException {
+            return binaryLogicalOperatorNode(node);
+        }
+
+        public DataTypeDescriptor visitIsNode(IsNode node) throws StandardException {
+            return binaryLogicalOperatorNode(node);
+        }
+
+        public DataTypeDescriptor visitNotNode(NotNode node) throws StandardException {
+            return unaryLogicalOperatorNode(node);
+        }
+
+        public DataTypeDescriptor visitBinaryArithmeticOperatorNode(BinaryArithmeticOperatorNode node) 
+                throws StandardException {
+            if (node.getNodeType() == NodeTypes.MOD_OPERATOR_NODE)
+                return null;
+            return binaryArithmeticOperatorNode(node);
+        }
+
+        public DataTypeDescriptor visitBinaryRelationalOperatorNode(BinaryRelationalOperatorNode node) 
+                throws StandardException {
+            return binaryComparisonOperatorNode(node);
+        }
+
+        public DataTypeDescriptor visitBetweenOperatorNode(BetweenOperatorNode node) 
+                throws StandardException {
+            return betweenOperatorNode(node);
+        }
+
+        public DataTypeDescriptor visitInListOperatorNode(InListOperatorNode node) 
+                throws StandardException {
+            return inListOperatorNode(node);
+        }
+
+        public DataTypeDescriptor visitSubqueryNode(SubqueryNode node) 
+                throws StandardException {
+            return subqueryNode(node);
+        }
+
+        public DataTypeDescriptor visitConditionalNode(ConditionalNode node) 
+                throws StandardException {
+            return conditionalNode(node);
+        }
+
+        public DataTypeDescriptor visitCoalesceFunctionNode(CoalesceFunctionNode node) 
+                throws StandardException {
+            return coalesceFunctionNode(node);
+        }
+
+        // Also GroupConcatNode.
+        public DataTypeDescriptor visitAggregateNode(AggregateNode node) 
+                throws StandardException {
+            return aggregateNode(node);
+        }
+
+        public DataTypeDescriptor visitConcatenationOperatorNode(ConcatenationOperatorNode node) 
+                throws StandardException {
+            return concatenationOperatorNode(node);
+        }
+
+        public DataTypeDescriptor visitIsNullNode(IsNullNode node) {
             return new DataTypeDescriptor(TypeId.BOOLEAN_ID, false);
-        case NodeTypes.NEXT_SEQUENCE_NODE:
+        }
+
+        public DataTypeDescriptor visitNextSequenceNode(NextSequenceNode node) {
             return new DataTypeDescriptor(TypeId.BIGINT_ID, false);
-        case NodeTypes.CURRENT_SEQUENCE_NODE:
+        }
+
+        public DataTypeDescriptor visitCurrentSequenceNode(CurrentSequenceNode node) {
             return new DataTypeDescriptor(TypeId.BIGINT_ID, false);
-        default:
-            // assert false;
-            return null;
         }
     }
 
@@ -638,20 +681,27 @@ public class TypeComputer implements Visitor
         }
         else {
             // Some structural nodes require special handling.
-            switch (((QueryTreeNode)node).getNodeType()) {
-            case NodeTypes.SELECT_NODE:
-                selectNode((SelectNode)node);
-                break;
-            case NodeTypes.FROM_SUBQUERY:
-                fromSubquery((FromSubquery)node);
-                break;
-            case NodeTypes.INSERT_NODE:
-                insertNode((InsertNode)node);
-                break;
-            }
+            ((QueryTreeNode)node).dispatch(structureDispatcher);
         }
         return node;
     }
+
+    private final NodeVisitor<Void> structureDispatcher = new AbstractNodeVisitor<Void>() {
+            public Void visitSelectNode(SelectNode node) throws StandardException {
+                selectNode(node);
+                return null;
+            }
+
+            public Void visitFromSubquery(FromSubquery node) throws StandardException {
+                fromSubquery(node);
+                return null;
+            }
+
+            public Void visitInsertNode(InsertNode node) throws StandardException {
+                insertNode(node);
+                return null;
+            }
+        };
     
     public boolean skipChildren(Visitable node) throws StandardException {
         return false;
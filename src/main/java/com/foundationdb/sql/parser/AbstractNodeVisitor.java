@@ -0,0 +1,778 @@
+/**
+ * Copyright 2014 FoundationDB, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foundationdb.sql.parser;
+
+import com.foundationdb.sql.StandardException;
+
+/**
+ * A {@link NodeVisitor} in which the method for each class of node
+ * calls the one for its superclass, ending with {@link #defaultVisit},
+ * so that a subclass need only handle the nodes it is interested in,
+ * either one class at a time or all those under some common superclass.
+ *
+ * @param <R> the result of visiting a node
+ */
+public abstract class AbstractNodeVisitor<R> implements NodeVisitor<R>
+{
+    /** Called for any node not otherwise handled.
+     * @return <code>null</code> unless overridden.
+     */
+    protected R defaultVisit(QueryTreeNode node) throws StandardException {
+        return null;
+    }
+
+    public R visitDefault(QueryTreeNode node) throws StandardException {
+        return defaultVisit(node);
+    }
+
+    public R visitAggregateNode(AggregateNode node) throws StandardException {
+        return visitUnaryOperatorNode(node);
+    }
+
+    public R visitAggregateWindowFunctionNode(AggregateWindowFunctionNode node) throws StandardException {
+        return visitWindowFunctionNode(node);
+    }
+
+    public R visitAllResultColumn(AllResultColumn node) throws StandardException {
+        return visitResultColumn(node);
+    }
+
+    public R visitAlterDropIndexNode(AlterDropIndexNode node) throws StandardException {
+        return visitTableElementNode(node);
+    }
+
+    public R visitAlterServerNode(AlterServerNode node) throws StandardException {
+        return visitMiscellaneousStatementNode(node);
+    }
+
+    public R visitAlterTableNode(AlterTableNode node) throws StandardException {
+        return visitDDLStatementNode(node);
+    }
+
+    public R visitAlterTableRenameColumnNode(AlterTableRenameColumnNode node) throws StandardException {
+        return visitTableElementNode(node);
+    }
+
+    public R visitAlterTableRenameNode(AlterTableRenameNode node) throws StandardException {
+        return visitTableElementNode(node);
+    }
+
+    public R visitAndNode(AndNode node) throws StandardException {
+        return visitBinaryLogicalOperatorNode(node);
+    }
+
+    public R visitBaseColumnNode(BaseColumnNode node) throws StandardException {
+        return visitValueNode(node);
+    }
+
+    public R visitBetweenOperatorNode(BetweenOperatorNode node) throws StandardException {
+        return visitBinaryListOperatorNode(node);
+    }
+
+    public R visitBinaryArithmeticOperatorNode(BinaryArithmeticOperatorNode node) throws StandardException {
+        return visitBinaryOperatorNode(node);
+    }
+
+    public R visitBinaryBitOperatorNode(BinaryBitOperatorNode node) throws StandardException {
+        return visitBinaryOperatorNode(node);
+    }
+
+    public R visitBinaryComparisonOperatorNode(BinaryComparisonOperatorNode node) throws StandardException {
+        return visitBinaryOperatorNode(node);
+    }
+
+    public R visitBinaryListOperatorNode(BinaryListOperatorNode node) throws StandardException {
+        return visitValueNode(node);
+    }
+
+    public R visitBinaryLogicalOperatorNode(BinaryLogicalOperatorNode node) throws StandardException {
+        return visitBinaryOperatorNode(node);
+    }
+
+    public R visitBinaryOperatorNode(BinaryOperatorNode node) throws StandardException {
+        return visitValueNode(node);
+    }
+
+    public R visitBinaryRelationalOperatorNode(BinaryRelationalOperatorNode node) throws StandardException {
+        return visitBinaryComparisonOperatorNode(node);
+    }
+
+    public R visitBitConstantNode(BitConstantNode node) throws StandardException {
+        return visitConstantNode(node);
+    }
+
+    public R visitBooleanConstantNode(BooleanConstantNode node) throws StandardException {
+        return visitConstantNode(node);
+    }
+
+    public R visitCallStatementNode(CallStatementNode node) throws StandardException {
+        return visitDMLStatementNode(node);
+    }
+
+    public R visitCastNode(CastNode node) throws StandardException {
+        return visitValueNode(node);
+    }
+
+    public R visitCharConstantNode(CharConstantNode node) throws StandardException {
+        return visitConstantNode(node);
+    }
+
+    public R visitCloseStatementNode(CloseStatementNode node) throws StandardException {
+        return visitStatementNode(node);
+    }
+
+    public R visitCoalesceFunctionNode(CoalesceFunctionNode node) throws StandardException {
+        return visitValueNode(node);
+    }
+
+    public R visitColumnDefinitionNode(ColumnDefinitionNode node) throws StandardException {
+        return visitTableElementNode(node);
+    }
+
+    public R visitColumnReference(ColumnReference node) throws StandardException {
+        return visitValueNode(node);
+    }
+
+    public R visitConcatenationOperatorNode(ConcatenationOperatorNode node) throws StandardException {
+        return visitBinaryOperatorNode(node);
+    }
+
+    public R visitConditionalNode(ConditionalNode node) throws StandardException {
+        return visitValueNode(node);
+    }
+
+    public R visitConstantNode(ConstantNode node) throws StandardException {
+        return visitValueNode(node);
+    }
+
+    public R visitConstraintDefinitionNode(ConstraintDefinitionNode node) throws StandardException {
+        return visitTableElementNode(node);
+    }
+
+    public R visitCopyStatementNode(CopyStatementNode node) throws StandardException {
+        return visitStatementNode(node);
+    }
+
+    public R visitCreateAliasNode(CreateAliasNode node) throws StandardException {
+        return visitDDLStatementNode(node);
+    }
+
+    public R visitCreateIndexNode(CreateIndexNode node) throws StandardException {
+        return visitDDLStatementNode(node);
+    }
+
+    public R visitCreateRoleNode(CreateRoleNode node) throws StandardException {
+        return visitDDLStatementNode(node);
+    }
+
+    public R visitCreateSchemaNode(CreateSchemaNode node) throws StandardException {
+        return visitDDLStatementNode(node);
+    }
+
+    public R visitCreateSequenceNode(CreateSequenceNode node) throws StandardException {
+        return visitDDLStatementNode(node);
+    }
+
+    public R visitCreateTableNode(CreateTableNode node) throws StandardException {
+        return visitDDLStatementNode(node);
+    }
+
+    public R visitCreateTriggerNode(CreateTriggerNode node) throws StandardException {
+        return visitDDLStatementNode(node);
+    }
+
+    public R visitCreateViewNode(CreateViewNode node) throws StandardException {
+        return visitDDLStatementNode(node);
+    }
+
+    public R visitCurrentDatetimeOperatorNode(CurrentDatetimeOperatorNode node) throws StandardException {
+        return visitValueNode(node);
+    }
+
+    public R visitCurrentOfNode(CurrentOfNode node) throws StandardException {
+        return visitFromTable(node);
+    }
+
+    public R visitCurrentRowLocationNode(CurrentRowLocationNode node) throws StandardException {
+        return visitValueNode(node);
+    }
+
+    public R visitCurrentSequenceNode(CurrentSequenceNode node) throws StandardException {
+        return visitValueNode(node);
+    }
+
+    public R visitCursorNode(CursorNode node) throws StandardException {
+        return visitDMLStatementNode(node);
+    }
+
+    public R visitDDLStatementNode(DDLStatementNode node) throws StandardException {
+        return visitStatementNode(node);
+    }
+
+    public R visitDMLModStatementNode(DMLModStatementNode node) throws StandardException {
+        return visitDMLStatementNode(node);
+    }
+
+    public R visitDMLStatementNode(DMLStatementNode node) throws StandardException {
+        return visitStatementNode(node);
+    }
+
+    public R visitDeallocateStatementNode(DeallocateStatementNode node) throws StandardException {
+        return visitStatementNode(node);
+    }
+
+    public R visitDeclareStatementNode(DeclareStatementNode node) throws StandardException {
+        return visitStatementNode(node);
+    }
+
+    public R visitDefaultNode(DefaultNode node) throws StandardException {
+        return visitValueNode(node);
+    }
+
+    public R visitDeleteNode(DeleteNode node) throws StandardException {
+        return visitDMLModStatementNode(node);
+    }
+
+    public R visitDistinctNode(DistinctNode node) throws StandardException {
+        return visitFromTable(node);
+    }
+
+    public R visitDropAliasNode(DropAliasNode node) throws StandardException {
+        return visitDDLStatementNode(node);
+    }
+
+    public R visitDropGroupNode(DropGroupNode node) throws StandardException {
+        return visitDDLStatementNode(node);
+    }
+
+    public R visitDropIndexNode(DropIndexNode node) throws StandardException {
+        return visitDDLStatementNode(node);
+    }
+
+    public R visitDropRoleNode(DropRoleNode node) throws StandardException {
+        return visitDDLStatementNode(node);
+    }
+
+    public R visitDropSchemaNode(DropSchemaNode node) throws StandardException {
+        return visitDDLStatementNode(node);
+    }
+
+    public R visitDropSequenceNode(DropSequenceNode node) throws StandardException {
+        return visitDDLStatementNode(node);
+    }
+
+    public R visitDropTableNode(DropTableNode node) throws StandardException {
+        return visitDDLStatementNode(node);
+    }
+
+    public R visitDropTriggerNode(DropTriggerNode node) throws StandardException {
+        return visitDDLStatementNode(node);
+    }
+
+    public R visitDropViewNode(DropViewNode node) throws StandardException {
+        return visitDDLStatementNode(node);
+    }
+
+    public R visitExecuteStatementNode(ExecuteStatementNode node) throws StandardException {
+        return visitStatementNode(node);
+    }
+
+    public R visitExplainStatementNode(ExplainStatementNode node) throws StandardException {
+        return visitStatementNode(node);
+    }
+
+    public R visitExplicitCollateNode(ExplicitCollateNode node) throws StandardException {
+        return visitValueNode(node);
+    }
+
+    public R visitExtractOperatorNode(ExtractOperatorNode node) throws StandardException {
+        return visitUnaryOperatorNode(node);
+    }
+
+    public R visitFKConstraintDefinitionNode(FKConstraintDefinitionNode node) throws StandardException {
+        return visitConstraintDefinitionNode(node);
+    }
+
+    public R visitFetchStatementNode(FetchStatementNode node) throws StandardException {
+        return visitStatementNode(node);
+    }
+
+    public R visitFromBaseTable(FromBaseTable node) throws StandardException {
+        return visitFromTable(node);
+    }
+
+    public R visitFromList(FromList node) throws StandardException {
+        return visitQueryTreeNodeList(node);
+    }
+
+    public R visitFromSubquery(FromSubquery node) throws StandardException {
+        return visitFromTable(node);
+    }
+
+    public R visitFromTable(FromTable node) throws StandardException {
+        return visitResultSetNode(node);
+    }
+
+    public R visitFromVTI(FromVTI node) throws StandardException {
+        return visitFromTable(node);
+    }
+
+    public R visitFullOuterJoinNode(FullOuterJoinNode node) throws StandardException {
+        return visitJoinNode(node);
+    }
+
+    public R visitGenerationClauseNode(GenerationClauseNode node) throws StandardException {
+        return visitValueNode(node);
+    }
+
+    public R visitGetCurrentConnectionNode(GetCurrentConnectionNode node) throws StandardException {
+        return visitJavaValueNode(node);
+    }
+
+    public R visitGrantNode(GrantNode node) throws StandardException {
+        return visitDDLStatementNode(node);
+    }
+
+    public R visitGrantRoleNode(GrantRoleNode node) throws StandardException {
+        return visitDDLStatementNode(node);
+    }
+
+    public R visitGroupByColumn(GroupByColumn node) throws StandardException {
+        return visitOrderedColumn(node);
+    }
+
+    public R visitGroupByList(GroupByList node) throws StandardException {
+        return visitOrderedColumnList(node);
+    }
+
+    public R visitGroupConcatNode(GroupConcatNode node) throws StandardException {
+        return visitAggregateNode(node);
+    }
+
+    public R visitHalfOuterJoinNode(HalfOuterJoinNode node) throws StandardException {
+        return visitJoinNode(node);
+    }
+
+    public R visitInListOperatorNode(InListOperatorNode node) throws StandardException {
+        return visitValueNode(node);
+    }
+
+    public R visitIndexColumn(IndexColumn node) throws StandardException {
+        return defaultVisit(node);
+    }
+
+    public R visitIndexColumnList(IndexColumnList node) throws StandardException {
+        return visitQueryTreeNodeList(node);
+    }
+
+    public R visitIndexDefinitionNode(IndexDefinitionNode node) throws StandardException {
+        return visitTableElementNode(node);
+    }
+
+    public R visitIndexHintList(IndexHintList node) throws StandardException {
+        return visitQueryTreeNodeList(node);
+    }
+
+    public R visitIndexHintNode(IndexHintNode node) throws StandardException {
+        return defaultVisit(node);
+    }
+
+    public R visitInsertNode(InsertNode node) throws StandardException {
+        return visitDMLModStatementNode(node);
+    }
+
+    public R visitIntersectOrExceptNode(IntersectOrExceptNode node) throws StandardException {
+        return visitSetOperatorNode(node);
+    }
+
+    public R visitIsNode(IsNode node) throws StandardException {
+        return visitBinaryLogicalOperatorNode(node);
+    }
+
+    public R visitIsNullNode(IsNullNode node) throws StandardException {
+        return visitUnaryComparisonOperatorNode(node);
+    }
+
+    public R visitJavaToSQLValueNode(JavaToSQLValueNode node) throws StandardException {
+        return visitValueNode(node);
+    }
+
+    public R visitJavaValueNode(JavaValueNode node) throws StandardException {
+        return defaultVisit(node);
+    }
+
+    public R visitJoinNode(JoinNode node) throws StandardException {
+        return visitFromTable(node);
+    }
+
+    public R visitLeftRightFuncOperatorNode(LeftRightFuncOperatorNode node) throws StandardException {
+        return visitBinaryOperatorNode(node);
+    }
+
+    public R visitLengthOperatorNode(LengthOperatorNode node) throws StandardException {
+        return visitUnaryOperatorNode(node);
+    }
+
+    public R visitLikeEscapeOperatorNode(LikeEscapeOperatorNode node) throws StandardException {
+        return visitTernaryOperatorNode(node);
+    }
+
+    public R visitLockTableNode(LockTableNode node) throws StandardException {
+        return visitMiscellaneousStatementNode(node);
+    }
+
+    public R visitMethodCallNode(MethodCallNode node) throws StandardException {
+        return visitJavaValueNode(node);
+    }
+
+    public R visitMiscellaneousStatementNode(MiscellaneousStatementNode node) throws StandardException {
+        return visitStatementNode(node);
+    }
+
+    public R visitModifyColumnNode(ModifyColumnNode node) throws StandardException {
+        return visitColumnDefinitionNode(node);
+    }
+
+    public R visitNOPStatementNode(NOPStatementNode node) throws StandardException {
+        return visitStatementNode(node);
+    }
+
+    public R visitNewInvocationNode(NewInvocationNode node) throws StandardException {
+        return visitMethodCallNode(node);
+    }
+
+    public R visitNextSequenceNode(NextSequenceNode node) throws StandardException {
+        return visitValueNode(node);
+    }
+
+    public R visitNonStaticMethodCallNode(NonStaticMethodCallNode node) throws StandardException {
+        return visitMethodCallNode(node);
+    }
+
+    public R visitNotNode(NotNode node) throws StandardException {
+        return visitUnaryLogicalOperatorNode(node);
+    }
+
+    public R visitNumericConstantNode(NumericConstantNode node) throws StandardException {
+        return visitConstantNode(node);
+    }
+
+    public R visitOctetLengthOperatorNode(OctetLengthOperatorNode node) throws StandardException {
+        return visitUnaryOperatorNode(node);
+    }
+
+    public R visitOrNode(OrNode node) throws StandardException {
+        return visitBinaryLogicalOperatorNode(node);
+    }
+
+    public R visitOrderByColumn(OrderByColumn node) throws StandardException {
+        return visitOrderedColumn(node);
+    }
+
+    public R visitOrderByList(OrderByList node) throws StandardException {
+        return visitOrderedColumnList(node);
+    }
+
+    public R visitOrderedColumn(OrderedColumn node) throws StandardException {
+        return defaultVisit(node);
+    }
+
+    public R visitOrderedColumnList(OrderedColumnList<?> node) throws StandardException {
+        return visitQueryTreeNodeList(node);
+    }
+
+    public R visitParameterNode(ParameterNode node) throws StandardException {
+        return visitValueNode(node);
+    }
+
+    public R visitPartitionByColumn(PartitionByColumn node) throws StandardException {
+        return visitOrderedColumn(node);
+    }
+
+    public R visitPartitionByList(PartitionByList node) throws StandardException {
+        return visitOrderedColumnList(node);
+    }
+
+    public R visitPrepareStatementNode(PrepareStatementNode node) throws StandardException {
+        return visitStatementNode(node);
+    }
+
+    public R visitPrivilegeNode(PrivilegeNode node) throws StandardException {
+        return defaultVisit(node);
+    }
+
+    public R visitQueryTreeNodeList(QueryTreeNodeList<?> node) throws StandardException {
+        return defaultVisit(node);
+    }
+
+    public R visitRenameNode(RenameNode node) throws StandardException {
+        return visitDDLStatementNode(node);
+    }
+
+    public R visitResultColumn(ResultColumn node) throws StandardException {
+        return visitValueNode(node);
+    }
+
+    public R visitResultColumnList(ResultColumnList node) throws StandardException {
+        return visitQueryTreeNodeList(node);
+    }
+
+    public R visitResultSetNode(ResultSetNode node) throws StandardException {
+        return defaultVisit(node);
+    }
+
+    public R visitRevokeNode(RevokeNode node) throws StandardException {
+        return visitDDLStatementNode(node);
+    }
+
+    public R visitRevokeRoleNode(RevokeRoleNode node) throws StandardException {
+        return visitDDLStatementNode(node);
+    }
+
+    public R visitRowConstructorNode(RowConstructorNode node) throws StandardException {
+        return visitValueNode(node);
+    }
+
+    public R visitRowCountNode(RowCountNode node) throws StandardException {
+        return visitFromTable(node);
+    }
+
+    public R visitRowNumberFunctionNode(RowNumberFunctionNode node) throws StandardException {
+        return visitWindowFunctionNode(node);
+    }
+
+    public R visitRowResultSetNode(RowResultSetNode node) throws StandardException {
+        return visitFromTable(node);
+    }
+
+    public R visitRowsResultSetNode(RowsResultSetNode node) throws StandardException {
+        return visitFromTable(node);
+    }
+
+    public R visitSQLBooleanConstantNode(SQLBooleanConstantNode node) throws StandardException {
+        return visitConstantNode(node);
+    }
+
+    public R visitSQLToJavaValueNode(SQLToJavaValueNode node) throws StandardException {
+        return visitJavaValueNode(node);
+    }
+
+    public R visitSavepointNode(SavepointNode node) throws StandardException {
+        return visitDDLStatementNode(node);
+    }
+
+    public R visitSelectNode(SelectNode node) throws StandardException {
+        return visitResultSetNode(node);
+    }
+
+    public R visitSetConfigurationNode(SetConfigurationNode node) throws StandardException {
+        return visitStatementNode(node);
+    }
+
+    public R visitSetConstraintsNode(SetConstraintsNode node) throws StandardException {
+        return visitStatementNode(node);
+    }
+
+    public R visitSetOperatorNode(SetOperatorNode node) throws StandardException {
+        return visitFromTable(node);
+    }
+
+    public R visitSetRoleNode(SetRoleNode node) throws StandardException {
+        return visitMiscellaneousStatementNode(node);
+    }
+
+    public R visitSetSchemaNode(SetSchemaNode node) throws StandardException {
+        return visitMiscellaneousStatementNode(node);
+    }
+
+    public R visitSetTransactionAccessNode(SetTransactionAccessNode node) throws StandardException {
+        return visitStatementNode(node);
+    }
+
+    public R visitSetTransactionIsolationNode(SetTransactionIsolationNode node) throws StandardException {
+        return visitStatementNode(node);
+    }
+
+    public R visitShowConfigurationNode(ShowConfigurationNode node) throws StandardException {
+        return visitStatementNode(node);
+    }
+
+    public R visitSimpleCaseNode(SimpleCaseNode node) throws StandardException {
+        return visitValueNode(node);
+    }
+
+    public R visitSimpleStringOperatorNode(SimpleStringOperatorNode node) throws StandardException {
+        return visitUnaryOperatorNode(node);
+    }
+
+    public R visitSpecialFunctionNode(SpecialFunctionNode node) throws StandardException {
+        return visitValueNode(node);
+    }
+
+    public R visitStatementNode(StatementNode node) throws StandardException {
+        return defaultVisit(node);
+    }
+
+    public R visitStaticClassFieldReferenceNode(StaticClassFieldReferenceNode node) throws StandardException {
+        return visitJavaValueNode(node);
+    }
+
+    public R visitStaticMethodCallNode(StaticMethodCallNode node) throws StandardException {
+        return visitMethodCallNode(node);
+    }
+
+    public R visitStorageFormatNode(StorageFormatNode node) throws StandardException {
+        return defaultVisit(node);
+    }
+
+    public R visitSubqueryList(SubqueryList node) throws StandardException {
+        return visitQueryTreeNodeList(node);
+    }
+
+    public R visitSubqueryNode(SubqueryNode node) throws StandardException {
+        return visitValueNode(node);
+    }
+
+    public R visitTableElementList(TableElementList node) throws StandardException {
+        return visitQueryTreeNodeList(node);
+    }
+
+    public R visitTableElementNode(TableElementNode node) throws StandardException {
+        return defaultVisit(node);
+    }
+
+    public R visitTableName(TableName node) throws StandardException {
+        return defaultVisit(node);
+    }
+
+    public R visitTableNameList(TableNameList node) throws StandardException {
+        return visitQueryTreeNodeList(node);
+    }
+
+    public R visitTablePrivilegesNode(TablePrivilegesNode node) throws StandardException {
+        return defaultVisit(node);
+    }
+
+    public R visitTernaryOperatorNode(TernaryOperatorNode node) throws StandardException {
+        return visitValueNode(node);
+    }
+
+    public R visitTestConstraintNode(TestConstraintNode node) throws StandardException {
+        return visitUnaryLogicalOperatorNode(node);
+    }
+
+    public R visitTimestampOperatorNode(TimestampOperatorNode node) throws StandardException {
+        return visitBinaryOperatorNode(node);
+    }
+
+    public R visitTransactionControlNode(TransactionControlNode node) throws StandardException {
+        return visitStatementNode(node);
+    }
+
+    public R visitTrimOperatorNode(TrimOperatorNode node) throws StandardException {
+        return visitBinaryOperatorNode(node);
+    }
+
+    public R visitUnaryArithmeticOperatorNode(UnaryArithmeticOperatorNode node) throws StandardException {
+        return visitUnaryOperatorNode(node);
+    }
+
+    public R visitUnaryBitOperatorNode(UnaryBitOperatorNode node) throws StandardException {
+        return visitUnaryOperatorNode(node);
+    }
+
+    public R visitUnaryComparisonOperatorNode(UnaryComparisonOperatorNode node) throws StandardException {
+        return visitUnaryOperatorNode(node);
+    }
+
+    public R visitUnaryDateTimestampOperatorNode(UnaryDateTimestampOperatorNode node) throws StandardException {
+        return visitUnaryOperatorNode(node);
+    }
+
+    public R visitUnaryLogicalOperatorNode(UnaryLogicalOperatorNode node) throws StandardException {
+        return visitUnaryOperatorNode(node);
+    }
+
+    public R visitUnaryOperatorNode(UnaryOperatorNode node) throws StandardException {
+        return visitValueNode(node);
+    }
+
+    public R visitUnionNode(UnionNode node) throws StandardException {
+        return visitSetOperatorNode(node);
+    }
+
+    public R visitUntypedNullConstantNode(UntypedNullConstantNode node) throws StandardException {
+        return visitConstantNode(node);
+    }
+
+    public R visitUpdateNode(UpdateNode node) throws StandardException {
+        return visitDMLModStatementNode(node);
+    }
+
+    public R visitUserTypeConstantNode(UserTypeConstantNode node) throws StandardException {
+        return visitConstantNode(node);
+    }
+
+    public R visitValueNode(ValueNode node) throws StandardException {
+        return defaultVisit(node);
+    }
+
+    public R visitValueNodeList(ValueNodeList node) throws StandardException {
+        return visitQueryTreeNodeList(node);
+    }
+
+    public R visitVarbitConstantNode(VarbitConstantNode node) throws StandardException {
+        return visitBitConstantNode(node);
+    }
+
+    public R visitVirtualColumnNode(VirtualColumnNode node) throws StandardException {
+        return visitValueNode(node);
+    }
+
+    public R visitWindowDefinitionNode(WindowDefinitionNode node) throws StandardException {
+        return visitWindowNode(node);
+    }
+
+    public R visitWindowFunctionNode(WindowFunctionNode node) throws StandardException {
+        return visitUnaryOperatorNode(node);
+    }
+
+    public R visitWindowList(WindowList node) throws StandardException {
+        return visitQueryTreeNodeList(node);
+    }
+
+    public R visitWindowNode(WindowNode node) throws StandardException {
+        return defaultVisit(node);
+    }
+
+    public R visitWindowReferenceNode(WindowReferenceNode node) throws StandardException {
+        return visitWindowNode(node);
+    }
+
+    public R visitXMLBinaryOperatorNode(XMLBinaryOperatorNode node) throws StandardException {
+        return visitBinaryOperatorNode(node);
+    }
+
+    public R visitXMLConstantNode(XMLConstantNode node) throws StandardException {
+        return visitConstantNode(node);
+    }
+
+    public R visitXMLUnaryOperatorNode(XMLUnaryOperatorNode node) throws StandardException {
+        return visitUnaryOperatorNode(node);
+    }
+
+}
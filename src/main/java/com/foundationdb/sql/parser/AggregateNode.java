@@ -72,6 +72,7 @@ public class AggregateNode extends UnaryOperatorNode
                      Object distinct,
                      Object aggregateName) 
             throws StandardException {
+        checkNotFrozen();
         super.init(operand);
         this.aggregateDefinitionClassName = (String)uadClass;
         this.aggregateName = (String)aggregateName;
@@ -120,4 +121,8 @@ public class AggregateNode extends UnaryOperatorNode
             super.toString();
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitAggregateNode(this);
+    }
+
 }
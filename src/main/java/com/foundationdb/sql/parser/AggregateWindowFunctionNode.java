@@ -56,6 +56,7 @@ public final class AggregateWindowFunctionNode extends WindowFunctionNode
      * @exception StandardException
      */
     public void init(Object arg1, Object arg2) throws StandardException {
+        checkNotFrozen();
         super.init(null, "?", arg1);
         aggregateFunction = (AggregateNode)arg2;
     }
@@ -75,6 +76,14 @@ public final class AggregateWindowFunctionNode extends WindowFunctionNode
                                                                      getParserContext());
     }
 
+    /**
+     * Freeze the aggregate along with this node.
+     */
+    void freezeUnvisited(FrozenNodes.Freezer freezer) throws StandardException {
+        super.freezeUnvisited(freezer);
+        freezer.freeze(aggregateFunction);
+    }
+
     /**
      * QueryTreeNode override. Prints the sub-nodes of this object.
      * @see QueryTreeNode#printSubNodes
@@ -87,4 +96,9 @@ public final class AggregateWindowFunctionNode extends WindowFunctionNode
         printLabel(depth, "aggregate: ");
         aggregateFunction.treePrint(depth + 1);
     }
+
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitAggregateWindowFunctionNode(this);
+    }
+
 }
@@ -59,6 +59,7 @@ public class AllResultColumn extends ResultColumn
      * @param arg TableName Dot expression qualifying "*" or Boolean recursive
      */
     public void init(Object arg) {
+        checkNotFrozen();
         if (arg instanceof Boolean)
             this.recursive = (Boolean)arg;
         else
@@ -77,6 +78,14 @@ public class AllResultColumn extends ResultColumn
         this.recursive = other.recursive;
     }
 
+    /**
+     * Freeze the table name along with this node.
+     */
+    void freezeUnvisited(FrozenNodes.Freezer freezer) throws StandardException {
+        super.freezeUnvisited(freezer);
+        freezer.freeze(tableName);
+    }
+
     /** 
      * Return the full table name qualification for this node
      *
@@ -110,4 +119,9 @@ public class AllResultColumn extends ResultColumn
         return "tableName: " + tableName + "\n" +
             super.toString();
     }
+
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitAllResultColumn(this);
+    }
+
 }
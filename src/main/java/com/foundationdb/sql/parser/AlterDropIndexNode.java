@@ -26,6 +26,7 @@ public class AlterDropIndexNode extends TableElementNode
     public void init(Object indexName,
                      Object ec)
     {
+        checkNotFrozen();
         super.init(indexName, ElementType.AT_DROP_INDEX);
         this.existenceCheck = (ExistenceCheck)ec;
     }
@@ -63,4 +64,9 @@ public class AlterDropIndexNode extends TableElementNode
     {
         return existenceCheck;
     }
+
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitAlterDropIndexNode(this);
+    }
+
 }
@@ -37,6 +37,7 @@ public class AlterServerNode extends MiscellaneousStatementNode {
     
     
     public void init(Object config) {
+        checkNotFrozen();
       
         if (config instanceof SetConfigurationNode) {
             scn = (SetConfigurationNode)config;
@@ -49,6 +50,7 @@ public class AlterServerNode extends MiscellaneousStatementNode {
     
     public void init (Object interrupt, Object disconnect, Object kill, Object session)
     {
+        checkNotFrozen();
         if (interrupt != null) {
             alterSessionType = AlterType.INTERRUPT_SESSION;
         } else if (disconnect != null) {
@@ -72,6 +74,14 @@ public class AlterServerNode extends MiscellaneousStatementNode {
         this.scn = (SetConfigurationNode)getNodeFactory().copyNode(other.scn, getParserContext());
         this.shutdownImmediate = other.shutdownImmediate;
     }
+
+    /**
+     * Freeze the configuration setting along with this node.
+     */
+    void freezeUnvisited(FrozenNodes.Freezer freezer) throws StandardException {
+        super.freezeUnvisited(freezer);
+        freezer.freeze(scn);
+    }
     
     @Override
     public String statementToString() {
@@ -119,4 +129,9 @@ public class AlterServerNode extends MiscellaneousStatementNode {
         return scn.getValue();
     }
     
+
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitAlterServerNode(this);
+    }
+
 }
@@ -106,6 +106,7 @@ public class AlterTableNode extends DDLStatementNode
                      Object indexName,
                      Object existenceCheck)
             throws StandardException {
+        checkNotFrozen();
         initAndCheck(objectName);
         this.updateStatisticsAll = ((Boolean)updateStatisticsAll).booleanValue();
         this.indexNameForUpdateStatistics = (String)indexName;
@@ -127,6 +128,7 @@ public class AlterTableNode extends DDLStatementNode
     public void init(Object objectName,
                      Object arg2,
                      Object existenceCheck) throws StandardException {
+        checkNotFrozen();
         initAndCheck(objectName);
 
         if (arg2 instanceof int[]) {
@@ -163,6 +165,7 @@ public class AlterTableNode extends DDLStatementNode
                      Object arg4,
                      Object existenceCheck)
             throws StandardException {
+        checkNotFrozen();
         initAndCheck(objectName);
 
         if (arg2 instanceof Boolean) {
@@ -307,4 +310,9 @@ public class AlterTableNode extends DDLStatementNode
             tableElementList.accept(v);
         }
     }
+
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitAlterTableNode(this);
+    }
+
 }
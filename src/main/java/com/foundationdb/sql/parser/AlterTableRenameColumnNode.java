@@ -26,6 +26,7 @@ public class AlterTableRenameColumnNode extends TableElementNode
     @Override
     public void init(Object oldN, Object newN)
     {
+        checkNotFrozen();
         oldName = (String) oldN;
         newName = (String) newN;
         super.init(oldName, ElementType.AT_RENAME_COLUMN);
@@ -47,4 +48,9 @@ public class AlterTableRenameColumnNode extends TableElementNode
     public String oldName() {
         return oldName;
     }
+
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitAlterTableRenameColumnNode(this);
+    }
+
 }
@@ -25,6 +25,7 @@ public class AlterTableRenameNode extends TableElementNode
     @Override
     public void init(Object newTableName)
     {
+        checkNotFrozen();
         newName = (TableName)newTableName;
         super.init(newName.getFullTableName(), ElementType.AT_RENAME);
     }
@@ -36,9 +37,22 @@ public class AlterTableRenameNode extends TableElementNode
         
         newName = ((AlterTableRenameNode)node).newName;
     }
+
+    /**
+     * Freeze the new name along with this node.
+     */
+    void freezeUnvisited(FrozenNodes.Freezer freezer) throws StandardException {
+        super.freezeUnvisited(freezer);
+        freezer.freeze(newName);
+    }
     
     public TableName newName()
     {
         return newName;
     }
+
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitAlterTableRenameNode(this);
+    }
+
 }
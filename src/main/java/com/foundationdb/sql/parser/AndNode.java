@@ -39,6 +39,8 @@
 
 package com.foundationdb.sql.parser;
 
+import com.foundationdb.sql.StandardException;
+
 public class AndNode extends BinaryLogicalOperatorNode
 {
 
@@ -50,8 +52,13 @@ public class AndNode extends BinaryLogicalOperatorNode
      */
 
     public void init(Object leftOperand, Object rightOperand) {
+        checkNotFrozen();
         super.init(leftOperand, rightOperand, "and");
         this.shortCircuitValue = false;
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitAndNode(this);
+    }
+
 }
@@ -74,6 +74,7 @@ public class BaseColumnNode extends ValueNode
                      Object tableName,
                      Object type) 
             throws StandardException {
+        checkNotFrozen();
         this.columnName = (String)columnName;
         this.tableName = (TableName)tableName;
         setType((DataTypeDescriptor)type);
@@ -91,6 +92,14 @@ public class BaseColumnNode extends ValueNode
                                                               getParserContext());
     }
 
+    /**
+     * Freeze the table name along with this node.
+     */
+    void freezeUnvisited(FrozenNodes.Freezer freezer) throws StandardException {
+        super.freezeUnvisited(freezer);
+        freezer.freeze(tableName);
+    }
+
     /**
      * Convert this object to a String.  See comments in QueryTreeNode.java
      * for how this should be done for tree printing.
@@ -155,4 +164,9 @@ public class BaseColumnNode extends ValueNode
         } 
         return false;
     }
+
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitBaseColumnNode(this);
+    }
+
 }
@@ -39,6 +39,8 @@
 
 package com.foundationdb.sql.parser;
 
+import com.foundationdb.sql.StandardException;
+
 /**
  * A BetweenOperatorNode represents a BETWEEN clause. The between values are
  * represented as a 2 element list in order to take advantage of code reuse.
@@ -55,9 +57,14 @@ public class BetweenOperatorNode extends BinaryListOperatorNode
      */
 
     public void init(Object leftOperand, Object betweenValues) {
+        checkNotFrozen();
         ValueNodeList betweenVals = (ValueNodeList)betweenValues;
         assert betweenVals.size() == 2;
         super.init(leftOperand, betweenValues, "BETWEEN", null);
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitBetweenOperatorNode(this);
+    }
+
 }
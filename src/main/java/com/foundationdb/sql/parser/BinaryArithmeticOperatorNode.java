@@ -39,6 +39,8 @@
 
 package com.foundationdb.sql.parser;
 
+import com.foundationdb.sql.StandardException;
+
 import com.foundationdb.sql.types.ValueClassName;
 
 /**
@@ -56,11 +58,13 @@ public class BinaryArithmeticOperatorNode extends BinaryOperatorNode
      */
 
     public void init(Object leftOperand, Object rightOperand) {
+        checkNotFrozen();
         super.init(leftOperand, rightOperand,
                    ValueClassName.NumberDataValue, ValueClassName.NumberDataValue);
     }
 
     public void setNodeType(int nodeType) {
+        checkNotFrozen();
         String operator = null;
         String methodName = null;
 
@@ -103,4 +107,8 @@ public class BinaryArithmeticOperatorNode extends BinaryOperatorNode
         super.setNodeType(nodeType);
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitBinaryArithmeticOperatorNode(this);
+    }
+
 }
@@ -16,6 +16,8 @@
 
 package com.foundationdb.sql.parser;
 
+import com.foundationdb.sql.StandardException;
+
 import com.foundationdb.sql.types.ValueClassName;
 
 /**
@@ -33,6 +35,7 @@ public class BinaryBitOperatorNode extends BinaryOperatorNode
      */
 
     public void init(Object operatorType, Object leftOperand, Object rightOperand) {
+        checkNotFrozen();
         super.init(leftOperand, rightOperand,
                    ValueClassName.NumberDataValue, ValueClassName.NumberDataValue);
 
@@ -72,4 +75,8 @@ public class BinaryBitOperatorNode extends BinaryOperatorNode
         setMethodName(methodName);
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitBinaryBitOperatorNode(this);
+    }
+
 }
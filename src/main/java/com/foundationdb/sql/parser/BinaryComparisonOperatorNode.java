@@ -65,6 +65,7 @@ public abstract class BinaryComparisonOperatorNode extends BinaryOperatorNode
                      Object rightOperand,
                      Object operator,
                      Object methodName) {
+        checkNotFrozen();
         super.init(leftOperand, rightOperand, operator, methodName,
                    ValueClassName.DataValueDescriptor, ValueClassName.DataValueDescriptor);
     }
@@ -79,12 +80,21 @@ public abstract class BinaryComparisonOperatorNode extends BinaryOperatorNode
         this.forQueryRewrite = other.forQueryRewrite;
     }
 
+    /**
+     * Clear this node for reuse.
+     */
+    protected void reset() {
+        super.reset();
+        forQueryRewrite = false;
+    }
+
     /**
      * This node was generated as part of a query rewrite. Bypass the
      * normal comparability checks.
      * @param val    true if this was for a query rewrite
      */
     public void setForQueryRewrite(boolean val) {
+        checkNotFrozen();
         forQueryRewrite=val;
     }
 
@@ -67,6 +67,7 @@ public abstract class BinaryListOperatorNode extends ValueNode
 
     public void init(Object leftOperand, Object rightOperandList,
                      Object operator, Object methodName) {
+        checkNotFrozen();
         this.leftOperand = (ValueNode)leftOperand;
         this.rightOperandList = (ValueNodeList)rightOperandList;
         this.operator = (String)operator;
@@ -128,6 +129,7 @@ public abstract class BinaryListOperatorNode extends ValueNode
      * @param newLeftOperand The new leftOperand
      */
     public void setLeftOperand(ValueNode newLeftOperand) {
+        checkNotFrozen();
         leftOperand = newLeftOperand;
     }
 
@@ -147,6 +149,7 @@ public abstract class BinaryListOperatorNode extends ValueNode
      *
      */
     public void setRightOperandList(ValueNodeList newRightOperandList) {
+        checkNotFrozen();
         rightOperandList = newRightOperandList;
     }
 
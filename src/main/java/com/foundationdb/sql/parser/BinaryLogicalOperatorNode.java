@@ -58,6 +58,7 @@ public abstract class BinaryLogicalOperatorNode extends BinaryOperatorNode
     public void init(Object leftOperand,
                      Object rightOperand,
                      Object methodName) {
+        checkNotFrozen();
         /* For logical operators, the operator and method names are the same */
         super.init(leftOperand, rightOperand, methodName, methodName,
                    ValueClassName.BooleanDataValue, ValueClassName.BooleanDataValue);
@@ -73,4 +74,12 @@ public abstract class BinaryLogicalOperatorNode extends BinaryOperatorNode
         this.shortCircuitValue = other.shortCircuitValue;
     }
 
+    /**
+     * Clear this node for reuse.
+     */
+    protected void reset() {
+        super.reset();
+        shortCircuitValue = false;
+    }
+
 }
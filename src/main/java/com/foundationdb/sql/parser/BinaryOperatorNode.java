@@ -83,6 +83,7 @@ public class BinaryOperatorNode extends ValueNode
     public void init(Object leftOperand, Object rightOperand,
                      Object operator, Object methodName,
                      Object leftInterfaceType, Object rightInterfaceType) {
+        checkNotFrozen();
         this.leftOperand = (ValueNode)leftOperand;
         this.rightOperand = (ValueNode)rightOperand;
         this.operator = (String)operator;
@@ -93,6 +94,7 @@ public class BinaryOperatorNode extends ValueNode
 
     public void init(Object leftOperand, Object rightOperand, 
                      Object leftInterfaceType, Object rightInterfaceType) {
+        checkNotFrozen();
         this.leftOperand = (ValueNode)leftOperand;
         this.rightOperand = (ValueNode)rightOperand;
         this.leftInterfaceType = (String)leftInterfaceType;
@@ -117,6 +119,20 @@ public class BinaryOperatorNode extends ValueNode
         this.resultInterfaceType = other.resultInterfaceType;
     }
 
+    /**
+     * Clear this node for reuse.
+     */
+    protected void reset() {
+        super.reset();
+        operator = null;
+        methodName = null;
+        leftOperand = null;
+        rightOperand = null;
+        leftInterfaceType = null;
+        rightInterfaceType = null;
+        resultInterfaceType = null;
+    }
+
     /**
      * Convert this object to a String.  See comments in QueryTreeNode.java
      * for how this should be done for tree printing.
@@ -162,6 +178,7 @@ public class BinaryOperatorNode extends ValueNode
      * later in binding.
      */
     public void setLeftRightInterfaceType(String iType) {
+        checkNotFrozen();
         leftInterfaceType = iType;
         rightInterfaceType = iType;
     }
@@ -193,6 +210,7 @@ public class BinaryOperatorNode extends ValueNode
      * @param newLeftOperand The new leftOperand
      */
     public void setLeftOperand(ValueNode newLeftOperand) {
+        checkNotFrozen();
         leftOperand = newLeftOperand;
     }
 
@@ -211,6 +229,7 @@ public class BinaryOperatorNode extends ValueNode
      * @param newRightOperand The new rightOperand
      */
     public void setRightOperand(ValueNode newRightOperand) {
+        checkNotFrozen();
         rightOperand = newRightOperand;
     }
 
@@ -265,4 +284,8 @@ public class BinaryOperatorNode extends ValueNode
             rightOperand.isEquivalent(other.rightOperand);
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitBinaryOperatorNode(this);
+    }
+
 }
@@ -63,6 +63,7 @@ public class BinaryRelationalOperatorNode extends BinaryComparisonOperatorNode
     private int operatorType;
 
     public void init(Object leftOperand, Object rightOperand) {
+        checkNotFrozen();
         String methodName = "";
         String operatorName = "";
 
@@ -119,8 +120,20 @@ public class BinaryRelationalOperatorNode extends BinaryComparisonOperatorNode
         this.operatorType = other.operatorType;
     }
 
+    /**
+     * Clear this node for reuse.
+     */
+    protected void reset() {
+        super.reset();
+        operatorType = 0;
+    }
+
     public int getOperatorType() {
         return operatorType;
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitBinaryRelationalOperatorNode(this);
+    }
+
 }
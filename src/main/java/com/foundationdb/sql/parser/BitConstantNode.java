@@ -57,12 +57,14 @@ public class BitConstantNode extends ConstantNode
      */
 
     public void init(Object arg1) throws StandardException {
+        checkNotFrozen();
         super.init(arg1,
                    Boolean.TRUE,
                    0);
     }
 
     public void init(Object arg1, Object arg2) throws StandardException {
+        checkNotFrozen();
         String a1 = (String)arg1;
 
         byte[] nv = fromHexString(a1, 0, a1.length()); 
@@ -120,4 +122,8 @@ public class BitConstantNode extends ConstantNode
         return byteArray;
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitBitConstantNode(this);
+    }
+
 }
@@ -57,6 +57,7 @@ public class BooleanConstantNode extends ConstantNode
      * @exception StandardException
      */
     public void init(Object arg1) throws StandardException {
+        checkNotFrozen();
         if (arg1 == null) {
             /* Fill in the type information in the parent ValueNode */
             super.init(TypeId.BOOLEAN_ID,
@@ -99,6 +100,7 @@ public class BooleanConstantNode extends ConstantNode
     }
 
     public void setBooleanValue(boolean booleanValue) {
+        checkNotFrozen();
         this.booleanValue = booleanValue;
     }
 
@@ -150,4 +152,8 @@ public class BooleanConstantNode extends ConstantNode
         return (!booleanValue && !unknownValue);
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitBooleanConstantNode(this);
+    }
+
 }
@@ -0,0 +1,277 @@
+/**
+ * Copyright 2014 FoundationDB, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foundationdb.sql.parser;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+
+/**
+ * {@link CharStream} that reads incrementally from some source.
+ *
+ * Only characters from the start of the token being scanned onwards
+ * are needed by the token manager. Text before a point set with
+ * {@link #discardBefore} is thrown away as the buffer fills, so memory
+ * use is bounded by the longest retained stretch (normally one
+ * statement) rather than the whole input. Offsets are absolute
+ * positions in the input; past 2<sup>31</sup> characters they wrap
+ * around, but remain consistent with one another.
+ */
+public abstract class BufferedCharStream implements CharStream, Closeable
+{
+    private static final IOException EOF = new EOFException();
+
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private char[] buffer;
+    private int bufferOffset;   // Absolute offset of buffer[0].
+    private int bufferLength;   // Number of valid characters in buffer.
+    private int discardOffset;  // Characters before this may be dropped.
+    private boolean atEnd;
+    private IOException ioException;
+
+    private int beginIndex, currentIndex; // 0-based absolute, exclusive end.
+    private int currentLine, currentColumn; // 1-based.
+    // End represents the position of the last character returned, and
+    // in particular if a newline was returned, it at the end of the
+    // previous line.
+    private int beginLine, beginColumn, endLine, endColumn;
+    // Absolute offsets of the starts of those lines.
+    private int currentLineStart, beginLineStart, endLineStart;
+    
+    protected BufferedCharStream(int bufferSize) {
+        this.buffer = new char[bufferSize];
+        currentLine = currentColumn = beginLine = beginColumn = endLine = endColumn = 1;
+    }
+
+    /** Read more characters into <code>cbuf</code>, like {@link java.io.Reader#read}.
+     * @return the number read, or -1 at the end of input.
+     */
+    protected abstract int read(char[] cbuf, int off, int len) throws IOException;
+
+    /** Release the underlying source. */
+    public abstract void close() throws IOException;
+
+    /** Allow the text before the given absolute offset to be discarded. */
+    public void discardBefore(int offset) {
+        if (offset - discardOffset > 0)
+            discardOffset = offset;
+    }
+
+    /** Get the error, if any, that ended reading early.
+     * The token manager sees this as the end of input.
+     */
+    public IOException getIOException() {
+        return ioException;
+    }
+
+    /** Get the retained text. Indexes into this are absolute offsets
+     * and only those from the last discard point up to what has been
+     * read so far are valid.
+     */
+    public CharSequence getRetainedText() {
+        return retainedText;
+    }
+
+    private final CharSequence retainedText = new CharSequence() {
+            @Override
+            public int length() {
+                return bufferOffset + bufferLength;
+            }
+
+            @Override
+            public char charAt(int index) {
+                return buffer[checkIndex(index)];
+            }
+
+            @Override
+            public CharSequence subSequence(int start, int end) {
+                return new String(buffer, checkIndex(start), end - start);
+            }
+
+            @Override
+            public String toString() {
+                return new String(buffer, 0, bufferLength);
+            }
+        };
+
+    private int checkIndex(int index) {
+        int position = index - bufferOffset;
+        if ((position < 0) || (position > bufferLength))
+            throw new IndexOutOfBoundsException("Offset no longer retained: " + index);
+        return position;
+    }
+
+    /** Make sure that the character at the given absolute offset is
+     * in the buffer, if there is one.
+     */
+    private boolean fill(int index) {
+        while (index - bufferOffset >= bufferLength) {
+            if (atEnd)
+                return false;
+            if (bufferLength == buffer.length) {
+                int keep = Math.min(discardOffset - bufferOffset, beginIndex - bufferOffset);
+                if (keep > 0) {
+                    bufferLength -= keep;
+                    System.arraycopy(buffer, keep, buffer, 0, bufferLength);
+                    bufferOffset += keep;
+                }
+                if (bufferLength == buffer.length) {
+                    char[] newBuffer = new char[buffer.length * 2];
+                    System.arraycopy(buffer, 0, newBuffer, 0, bufferLength);
+                    buffer = newBuffer;
+                }
+            }
+            int nread;
+            try {
+                nread = read(buffer, bufferLength, buffer.length - bufferLength);
+            }
+            catch (IOException ex) {
+                ioException = ex;
+                nread = -1;
+            }
+            if (nread < 0)
+                atEnd = true;
+            else
+                bufferLength += nread;
+        }
+        return true;
+    }
+
+    @Override
+    public char BeginToken() throws java.io.IOException {
+        beginIndex = currentIndex;
+        beginLine = currentLine;
+        beginColumn = currentColumn;
+        beginLineStart = currentLineStart;
+        return readChar();
+    }
+
+    @Override
+    public char readChar() throws java.io.IOException {
+        if (!fill(currentIndex))
+            throw EOF;
+
+        return advance();
+    }
+
+    @Override
+    public void backup(int amount) {
+        int target = currentIndex - amount;
+        assert (target >= beginIndex);
+        currentIndex = beginIndex;
+        currentLine = beginLine;
+        currentColumn = beginColumn;
+        currentLineStart = beginLineStart;
+        while (currentIndex < target)
+            advance();          // Adjusting line / column.
+    }
+
+    private char advance() {
+        endLine = currentLine;
+        endColumn = currentColumn;
+        endLineStart = currentLineStart;
+        char ch = buffer[currentIndex++ - bufferOffset];
+        switch (ch) {
+        case '\r':
+            if (fill(currentIndex) &&
+                (buffer[currentIndex - bufferOffset] == '\n')) {
+                currentColumn++;
+                break;
+            }
+            /* else falls through (bare CR) */
+        case '\n':
+            currentLine++;
+            currentColumn = 1;
+            currentLineStart = currentIndex;
+            break;
+        case '\t':
+            endColumn += (8 - (endColumn & 7));
+            currentColumn = endColumn + 1;
+            break;
+        default:
+            currentColumn++;
+            break;
+        }
+        return ch;
+    }
+
+    @Override
+    public int getBeginOffset() {
+        return beginIndex;
+    }
+    @Override
+    public int getEndOffset() {
+        return currentIndex - 1;   // Want inclusive.
+    }
+
+    /** Get the absolute offset at which <code>line</code> starts, if
+     * it is the line of the last character read or the one after, or
+     * else -1.
+     */
+    int getLineStartOffset(int line) {
+        if (line == currentLine)
+            return currentLineStart;
+        if (line == endLine)
+            return endLineStart;
+        return -1;
+    }
+
+    @Override
+    public int getBeginLine() {
+        return beginLine;
+    }
+    @Override
+    public int getBeginColumn() {
+        return beginColumn;
+    }
+
+    @Override
+    public int getEndLine() {
+        return endLine;
+    }
+    @Override
+    public int getEndColumn() {
+        return endColumn;
+    }
+
+    @Override
+    public int getLine() {
+        return getEndLine();
+    }
+    @Override
+    public int getColumn() {
+        return getEndColumn();
+    }
+
+    @Override
+    public String GetImage() {
+        return new String(buffer, beginIndex - bufferOffset, currentIndex - beginIndex);
+    }
+
+    @Override
+    public char[] GetSuffix(int len) {
+        char[] result = new char[len];
+        System.arraycopy(buffer, currentIndex - len - bufferOffset, result, 0, len);
+        return result;
+    }
+
+    @Override
+    public void Done() {
+    }
+
+}
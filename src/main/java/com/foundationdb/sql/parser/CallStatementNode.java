@@ -71,6 +71,7 @@ public class CallStatementNode extends DMLStatementNode
      */
 
     public void init(Object methodCall) {
+        checkNotFrozen();
         super.init(null);
         this.methodCall = (JavaToSQLValueNode)methodCall;
         this.methodCall.getJavaValueNode().markForCallStatement();
@@ -126,4 +127,8 @@ public class CallStatementNode extends DMLStatementNode
         }
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitCallStatementNode(this);
+    }
+
 }
@@ -77,6 +77,7 @@ public class CastNode extends ValueNode
      */
 
     public void init(Object castOperand, Object castTarget) throws StandardException {
+        checkNotFrozen();
         this.castOperand = (ValueNode)castOperand;
         setType((DataTypeDescriptor)castTarget);
     }
@@ -93,6 +94,7 @@ public class CastNode extends ValueNode
 
     public void init(Object castOperand, Object charType, Object charLength) 
             throws StandardException {
+        checkNotFrozen();
         this.castOperand = (ValueNode)castOperand;
         int charLen = ((Integer)charLength).intValue();
         targetCharType = ((Integer)charType).intValue();
@@ -211,4 +213,9 @@ public class CastNode extends ValueNode
         }
         return false;
     }
+
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitCastNode(this);
+    }
+
 }
@@ -52,6 +52,7 @@ public final class CharConstantNode extends ConstantNode
      * @exception StandardException
      */
     public void init(Object arg1) throws StandardException {
+        checkNotFrozen();
         if (arg1 instanceof TypeId) {
             super.init(arg1,
                        Boolean.TRUE,
@@ -77,6 +78,7 @@ public final class CharConstantNode extends ConstantNode
      * @exception StandardException
      */
     public void init(Object newValue, Object newLength) throws StandardException {
+        checkNotFrozen();
         String val = (String)newValue;
         int newLen = ((Integer)newLength).intValue();
 
@@ -130,4 +132,8 @@ public final class CharConstantNode extends ConstantNode
         return s.codePointCount(0, s.length());
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitCharConstantNode(this);
+    }
+
 }
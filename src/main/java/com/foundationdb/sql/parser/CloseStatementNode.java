@@ -33,6 +33,7 @@ public class CloseStatementNode extends StatementNode
      */
 
     public void init(Object name) {
+        checkNotFrozen();
         this.name = (String)name;
     }
     
@@ -66,4 +67,8 @@ public class CloseStatementNode extends StatementNode
         return "CLOSE";
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitCloseStatementNode(this);
+    }
+
 }
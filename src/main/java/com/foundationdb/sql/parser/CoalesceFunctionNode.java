@@ -61,6 +61,7 @@ public class CoalesceFunctionNode extends ValueNode
      * @param argumentsList The list of arguments to the coalesce/value function
      */
     public void init(Object functionName, Object argumentsList) {
+        checkNotFrozen();
         this.functionName = (String)functionName;
         this.argumentsList = (ValueNodeList)argumentsList;
     }
@@ -136,4 +137,8 @@ public class CoalesceFunctionNode extends ValueNode
         argumentsList = (ValueNodeList)argumentsList.accept(v);
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitCoalesceFunctionNode(this);
+    }
+
 }
@@ -98,6 +98,7 @@ public class ColumnDefinitionNode extends TableElementNode
                      Object defaultNode,
                      Object type,
                      Object autoIncrementInfo) throws StandardException {
+        checkNotFrozen();
         super.init(name);
         this.type = (DataTypeDescriptor)type;
         if (defaultNode instanceof UntypedNullConstantNode) {
@@ -168,6 +169,15 @@ public class ColumnDefinitionNode extends TableElementNode
         this.autoincrementVerify = other.autoincrementVerify;
     }
 
+    /**
+     * Freeze the default and generation clause along with this node.
+     */
+    void freezeUnvisited(FrozenNodes.Freezer freezer) throws StandardException {
+        super.freezeUnvisited(freezer);
+        freezer.freeze(defaultNode);
+        freezer.freeze(generationClauseNode);
+    }
+
     /**
      * Convert this object to a String.  See comments in QueryTreeNode.java
      * for how this should be done for tree printing.
@@ -204,6 +214,7 @@ public class ColumnDefinitionNode extends TableElementNode
 
     /** Set the type of this column */
     public void setType(DataTypeDescriptor dts) { 
+        checkNotFrozen();
         type = dts; 
     }
         
@@ -301,4 +312,9 @@ public class ColumnDefinitionNode extends TableElementNode
             generationClauseNode.treePrint(depth + 1);
         }
     }
+
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitColumnDefinitionNode(this);
+    }
+
 }
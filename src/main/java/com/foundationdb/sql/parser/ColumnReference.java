@@ -77,6 +77,7 @@ public class ColumnReference extends ValueNode
                      Object tableName,
                      Object tokBeginOffset,
                      Object tokEndOffset) {
+        checkNotFrozen();
         this.columnName = (String)columnName;
         this.tableName = (TableName)tableName;
         this.setBeginOffset(((Integer)tokBeginOffset).intValue());
@@ -91,6 +92,7 @@ public class ColumnReference extends ValueNode
      */
 
     public void init(Object columnName, Object tableName) {
+        checkNotFrozen();
         this.columnName = (String)columnName;
         this.tableName = (TableName)tableName;
     }
@@ -107,6 +109,24 @@ public class ColumnReference extends ValueNode
             getNodeFactory().copyNode(other.tableName, getParserContext());
     }
 
+    /**
+     * Freeze the table name along with this node, since visitors do
+     * not reach it.
+     */
+    void freezeUnvisited(FrozenNodes.Freezer freezer) throws StandardException {
+        super.freezeUnvisited(freezer);
+        freezer.freeze(tableName);
+    }
+
+    /**
+     * Clear this node for reuse.
+     */
+    protected void reset() {
+        super.reset();
+        columnName = null;
+        tableName = null;
+    }
+
     /**
      * Convert this object to a String.  See comments in QueryTreeNode.java
      * for how this should be done for tree printing.
@@ -182,6 +202,7 @@ public class ColumnReference extends ValueNode
     }
 
     public void setTableNameNode(TableName tableName) {
+        checkNotFrozen();
         this.tableName = tableName;
     }
 
@@ -214,4 +235,8 @@ public class ColumnReference extends ValueNode
             return tableName.equals(other.tableName);
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitColumnReference(this);
+    }
+
 }
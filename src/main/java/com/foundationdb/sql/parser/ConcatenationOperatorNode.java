@@ -39,6 +39,8 @@
 
 package com.foundationdb.sql.parser;
 
+import com.foundationdb.sql.StandardException;
+
 import com.foundationdb.sql.types.ValueClassName;
 
 /**
@@ -57,8 +59,13 @@ public class ConcatenationOperatorNode extends BinaryOperatorNode
      *                      The right operand of the concatenation
      */
     public void init(Object leftOperand, Object rightOperand) {
+        checkNotFrozen();
         super.init(leftOperand, rightOperand, "||", "concatenate",
                    ValueClassName.ConcatableDataValue, ValueClassName.ConcatableDataValue);
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitConcatenationOperatorNode(this);
+    }
+
 }
@@ -61,6 +61,7 @@ public class ConditionalNode extends ValueNode
      */
 
     public void init(Object testCondition, Object thenElseList) {
+        checkNotFrozen();
         this.testCondition = (ValueNode)testCondition;
         this.thenElseList = (ValueNodeList)thenElseList;
     }
@@ -83,6 +84,7 @@ public class ConditionalNode extends ValueNode
     }
 
     public void setTestCondition(ValueNode testCondition) {
+        checkNotFrozen();
         this.testCondition = testCondition;
     }
 
@@ -95,6 +97,7 @@ public class ConditionalNode extends ValueNode
     }
 
     public void setThenNode(ValueNode thenNode) {
+        checkNotFrozen();
         thenElseList.set(0, thenNode);
     }
 
@@ -103,6 +106,7 @@ public class ConditionalNode extends ValueNode
     }
 
     public void setElseNode(ValueNode elseNode) {
+        checkNotFrozen();
         thenElseList.set(1, elseNode);
     }
 
@@ -168,4 +172,8 @@ public class ConditionalNode extends ValueNode
         return false;
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitConditionalNode(this);
+    }
+
 }
@@ -76,6 +76,7 @@ public abstract class ConstantNode extends ValueNode
                      Object nullable,
                      Object maximumWidth) 
             throws StandardException {
+        checkNotFrozen();
         setType((TypeId)typeId,
                 ((Boolean)nullable).booleanValue(),
                 ((Integer)maximumWidth).intValue());
@@ -91,6 +92,14 @@ public abstract class ConstantNode extends ValueNode
         this.value = other.value;       // Assumed to be immutable.
     }
 
+    /**
+     * Clear this node for reuse.
+     */
+    protected void reset() {
+        super.reset();
+        value = null;
+    }
+
     /**
      * Get the value in this ConstantNode
      */
@@ -102,6 +111,7 @@ public abstract class ConstantNode extends ValueNode
      * Set the value in this ConstantNode.
      */
     public void setValue(Object value) {
+        checkNotFrozen();
         this.value = value;
     }
 
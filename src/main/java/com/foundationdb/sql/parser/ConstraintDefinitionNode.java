@@ -73,6 +73,7 @@ public class ConstraintDefinitionNode extends TableElementNode
                      Object constraintText,
                      Object behavior,
                      Object existenceCheck) {
+        checkNotFrozen();
         this.constraintName = (TableName)constraintName;
 
         /* We need to pass null as name to TableElementNode's constructor 
@@ -97,6 +98,7 @@ public class ConstraintDefinitionNode extends TableElementNode
                      Object properties,
                      Object checkCondition,
                      Object constraintText) {
+        checkNotFrozen();
         init(constraintName,
              constraintType,
              rcl,
@@ -116,6 +118,7 @@ public class ConstraintDefinitionNode extends TableElementNode
                      Object behavior,
                      Object verifyType,
                      Object existenceCheck) {
+        checkNotFrozen();
         init(constraintName, constraintType, rcl, properties, checkCondition, 
              constraintText, behavior, existenceCheck);
         this.verifyType = (ConstraintType)verifyType;
@@ -142,6 +145,16 @@ public class ConstraintDefinitionNode extends TableElementNode
         this.existenceCheck = other.existenceCheck;
     }
 
+    /**
+     * Freeze the name, columns and check condition along with this node.
+     */
+    void freezeUnvisited(FrozenNodes.Freezer freezer) throws StandardException {
+        super.freezeUnvisited(freezer);
+        freezer.freeze(constraintName);
+        freezer.freeze(columnList);
+        freezer.freeze(checkCondition);
+    }
+
     /**
      * Get the constraint type
      *
@@ -164,6 +177,7 @@ public class ConstraintDefinitionNode extends TableElementNode
      * Set the constraint name
      */
     public void setConstraintName(String name) throws StandardException {
+        checkNotFrozen();
         this.name = name;
         if (name == null)
             constraintName = null;
@@ -197,6 +211,7 @@ public class ConstraintDefinitionNode extends TableElementNode
      * @param properties The optional Properties for this constraint.
      */
     public void setProperties(Properties properties) {
+        checkNotFrozen();
         this.properties = properties;
     }
 
@@ -247,4 +262,8 @@ public class ConstraintDefinitionNode extends TableElementNode
         }
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitConstraintDefinitionNode(this);
+    }
+
 }
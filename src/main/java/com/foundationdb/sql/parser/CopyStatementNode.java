@@ -47,6 +47,7 @@ public class CopyStatementNode extends StatementNode
      */
 
     public void init(Object mode, Object subquery, Object filename) {
+        checkNotFrozen();
         this.mode = (Mode)mode;
         this.subquery = (SubqueryNode)subquery;
         this.filename = (String)filename;
@@ -62,6 +63,7 @@ public class CopyStatementNode extends StatementNode
      */
 
     public void init(Object mode, Object tableName, Object columnList, Object filename) {
+        checkNotFrozen();
         this.mode = (Mode)mode;
         this.tableName = (TableName)tableName;
         this.columnList = (ResultColumnList)columnList;
@@ -88,54 +90,63 @@ public class CopyStatementNode extends StatementNode
         return format;
     }
     public void setFormat(Format format) {
+        checkNotFrozen();
         this.format = format;
     }
     public String getDelimiter() {
         return delimiter;
     }
     public void setDelimiter(String delimiter) {
+        checkNotFrozen();
         this.delimiter = delimiter;
     }
     public String getNullString() {
         return nullString;
     }
     public void setNullString(String nullString) {
+        checkNotFrozen();
         this.nullString = nullString;
     }
     public boolean isHeader() {
         return header;
     }
     public void setHeader(boolean header) {
+        checkNotFrozen();
         this.header = header;
     }
     public String getQuote() {
         return quote;
     }
     public void setQuote(String quote) {
+        checkNotFrozen();
         this.quote = quote;
     }
     public String getEscape() {
         return escape;
     }
     public void setEscape(String escape) {
+        checkNotFrozen();
         this.escape = escape;
     }
     public String getEncoding() {
         return encoding;
     }
     public void setEncoding(String encoding) {
+        checkNotFrozen();
         this.encoding = encoding;
     }
     public long getCommitFrequency() {
         return commitFrequency;
     }
     public void setCommitFrequency(long commitFrequency) {
+        checkNotFrozen();
         this.commitFrequency = commitFrequency;
     }
     public int getMaxRetries() {
         return maxRetries;
     }
     public void setMaxRetries(int maxRetries) {
+        checkNotFrozen();
         this.maxRetries = maxRetries;
     }
 
@@ -146,6 +157,7 @@ public class CopyStatementNode extends StatementNode
         super.copyFrom(node);
         
         CopyStatementNode other = (CopyStatementNode)node;
+        this.mode = other.mode;
         this.tableName = (TableName)getNodeFactory().copyNode(other.tableName,
                                                                 getParserContext());
         this.subquery = (SubqueryNode)getNodeFactory().copyNode(other.subquery,
@@ -159,6 +171,17 @@ public class CopyStatementNode extends StatementNode
         this.quote = other.quote;
         this.escape = other.escape;
         this.encoding = other.encoding;
+        this.header = other.header;
+        this.commitFrequency = other.commitFrequency;
+        this.maxRetries = other.maxRetries;
+    }
+
+    /**
+     * Freeze the table name along with this node.
+     */
+    void freezeUnvisited(FrozenNodes.Freezer freezer) throws StandardException {
+        super.freezeUnvisited(freezer);
+        freezer.freeze(tableName);
     }
 
     /**
@@ -274,4 +297,8 @@ public class CopyStatementNode extends StatementNode
                                                parserContext);
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitCopyStatementNode(this);
+    }
+
 }
@@ -98,6 +98,7 @@ public class CreateAliasNode extends DDLStatementNode
                      Object aliasType,
                      Object createOrReplace) 
             throws StandardException {
+        checkNotFrozen();
         TableName qn = (TableName)aliasName;
         this.aliasType = (AliasInfo.Type)aliasType;
         this.createOrReplace = (Boolean)createOrReplace;
@@ -279,6 +280,7 @@ public class CreateAliasNode extends DDLStatementNode
         this.methodName = other.methodName;
         this.definition = other.definition;
         this.aliasType = other.aliasType; 
+        this.createOrReplace = other.createOrReplace;
         this.aliasInfo = other.aliasInfo; // TODO: Clone?
     }
 
@@ -295,4 +297,8 @@ public class CreateAliasNode extends DDLStatementNode
         }
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitCreateAliasNode(this);
+    }
+
 }
@@ -83,6 +83,7 @@ public class CreateIndexNode extends DDLStatementNode implements IndexDefinition
                      Object existenceCheck,
                      Object storageFormat) 
             throws StandardException {
+        checkNotFrozen();
         initAndCheck(indexName);
         this.unique = ((Boolean)unique).booleanValue();
         this.indexName = (TableName)indexName;
@@ -115,6 +116,17 @@ public class CreateIndexNode extends DDLStatementNode implements IndexDefinition
                                                                           getParserContext());
     }
 
+    /**
+     * Freeze the names, columns and storage format along with this node.
+     */
+    void freezeUnvisited(FrozenNodes.Freezer freezer) throws StandardException {
+        super.freezeUnvisited(freezer);
+        freezer.freeze(indexName);
+        freezer.freeze(tableName);
+        freezer.freeze(columnList);
+        freezer.freeze(storageFormat);
+    }
+
     /**
      * Convert this object to a String.  See comments in QueryTreeNode.java
      * for how this should be done for tree printing.
@@ -181,4 +193,9 @@ public class CreateIndexNode extends DDLStatementNode implements IndexDefinition
     public StorageFormatNode getStorageFormat() {
         return storageFormat;
     }
+
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitCreateIndexNode(this);
+    }
+
 }
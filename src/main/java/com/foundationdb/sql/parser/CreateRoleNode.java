@@ -59,6 +59,7 @@ public class CreateRoleNode extends DDLStatementNode
      * @exception StandardException Thrown on error
      */
     public void init(Object roleName) throws StandardException {
+        checkNotFrozen();
         initAndCheck(null);
         this.name = (String)roleName;
     }
@@ -89,4 +90,8 @@ public class CreateRoleNode extends DDLStatementNode
         return "CREATE ROLE";
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitCreateRoleNode(this);
+    }
+
 }
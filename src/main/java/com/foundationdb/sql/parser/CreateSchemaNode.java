@@ -70,6 +70,7 @@ public class CreateSchemaNode extends DDLStatementNode
                      Object c
             )
             throws StandardException {
+        checkNotFrozen();
         /*
         ** DDLStatementNode expects tables, null out
         ** objectName explicitly to clarify that we
@@ -132,4 +133,9 @@ public class CreateSchemaNode extends DDLStatementNode
     {
         return existenceCheck;
     }
+
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitCreateSchemaNode(this);
+    }
+
 }
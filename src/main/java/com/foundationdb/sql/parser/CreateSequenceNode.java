@@ -88,6 +88,7 @@ public class CreateSequenceNode extends DDLStatementNode
                       Object isCycle,
                       Object storageFormat) 
             throws StandardException {
+        checkNotFrozen();
 
         this.sequenceName = (TableName)sequenceName;
         initAndCheck(this.sequenceName);
@@ -119,6 +120,14 @@ public class CreateSequenceNode extends DDLStatementNode
                                                                           getParserContext());
     }
 
+    /**
+     * Freeze the sequence name along with this node.
+     */
+    void freezeUnvisited(FrozenNodes.Freezer freezer) throws StandardException {
+        super.freezeUnvisited(freezer);
+        freezer.freeze(sequenceName);
+    }
+
     /**
      * Convert this object to a String.  See comments in QueryTreeNode.java
      * for how this should be done for tree printing.
@@ -188,4 +197,9 @@ public class CreateSequenceNode extends DDLStatementNode
     public StorageFormatNode getStorageFormat() {
         return storageFormat;
     }
+
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitCreateSequenceNode(this);
+    }
+
 }
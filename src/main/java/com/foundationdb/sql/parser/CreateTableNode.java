@@ -96,6 +96,7 @@ public class CreateTableNode extends DDLStatementNode
                      Object existenceCheck,
                      Object storageFormat)
             throws StandardException {
+        checkNotFrozen();
         tableType = BASE_TABLE_TYPE;
         this.lockGranularity = ((Character)lockGranularity).charValue();
         implicitCreateSchema = true;
@@ -128,6 +129,7 @@ public class CreateTableNode extends DDLStatementNode
                      Object onRollbackDeleteRows,
                      Object existenceCheck)
             throws StandardException {
+        checkNotFrozen();
         tableType = GLOBAL_TEMPORARY_TABLE_TYPE;
         newObjectName = tempTableSchemaNameCheck(newObjectName);
         this.onCommitDeleteRows = ((Boolean)onCommitDeleteRows).booleanValue();
@@ -156,6 +158,7 @@ public class CreateTableNode extends DDLStatementNode
                      Object createAsQuery,
                      Object isCreateAs,
                      Object isCreateAsAgain) throws StandardException {
+        checkNotFrozen();
         this.createAsQuery = (String)createAsQuery;
         tableType = BASE_TABLE_TYPE;
         lockGranularity = DEFAULT_LOCK_GRANULARITY;
@@ -190,6 +193,14 @@ public class CreateTableNode extends DDLStatementNode
                                                                           getParserContext());
     }
 
+    /**
+     * Freeze the column list along with this node.
+     */
+    void freezeUnvisited(FrozenNodes.Freezer freezer) throws StandardException {
+        super.freezeUnvisited(freezer);
+        freezer.freeze(resultColumns);
+    }
+
     /**
      * If no schema name specified for global temporary table, SESSION is the implicit schema.
      * Otherwise, make sure the specified schema name for global temporary table is SESSION.
@@ -243,6 +254,7 @@ public class CreateTableNode extends DDLStatementNode
     }
 
     public void markWithData() {
+        checkNotFrozen();
         withData = true;
     }
     
@@ -310,4 +322,9 @@ public class CreateTableNode extends DDLStatementNode
         }
     }
         
+
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitCreateTableNode(this);
+    }
+
 }
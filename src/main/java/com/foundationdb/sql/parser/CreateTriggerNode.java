@@ -109,6 +109,7 @@ public class CreateTriggerNode extends DDLStatementNode
                       Object actionNodes,
                       Object actionText,
                       Object actionOffset) throws StandardException {
+        checkNotFrozen();
         initAndCheck(triggerName);
         this.triggerName = (TableName)triggerName;
         this.tableName = (TableName)tableName;
@@ -158,6 +159,21 @@ public class CreateTriggerNode extends DDLStatementNode
         this.actionOffset = other.actionOffset;
     }
 
+    /**
+     * Freeze the names, columns, condition and actions along with this node.
+     */
+    void freezeUnvisited(FrozenNodes.Freezer freezer) throws StandardException {
+        super.freezeUnvisited(freezer);
+        freezer.freeze(triggerName);
+        freezer.freeze(tableName);
+        freezer.freeze(triggerCols);
+        freezer.freeze(whenClause);
+        if (actionNodes != null) {
+            for (StatementNode actionNode : actionNodes)
+                freezer.freeze(actionNode);
+        }
+    }
+
     public String statementToString() {
         return "CREATE TRIGGER";
     }
@@ -216,4 +232,8 @@ public class CreateTriggerNode extends DDLStatementNode
             "\n";
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitCreateTriggerNode(this);
+    }
+
 }
@@ -88,6 +88,7 @@ public class CreateViewNode extends DDLStatementNode
                      Object fetchFirst,
                      Object existenceCheck) 
             throws StandardException {
+        checkNotFrozen();
         initAndCheck(newObjectName);
         this.resultColumns = (ResultColumnList)resultColumns;
         this.queryExpression = (ResultSetNode)queryExpression;
@@ -122,6 +123,17 @@ public class CreateViewNode extends DDLStatementNode
         this.existenceCheck = other.existenceCheck;
     }
 
+    /**
+     * Freeze the columns, ordering and row limits along with this node.
+     */
+    void freezeUnvisited(FrozenNodes.Freezer freezer) throws StandardException {
+        super.freezeUnvisited(freezer);
+        freezer.freeze(resultColumns);
+        freezer.freeze(orderByList);
+        freezer.freeze(offset);
+        freezer.freeze(fetchFirst);
+    }
+
     /**
      * Convert this object to a String.  See comments in QueryTreeNode.java
      * for how this should be done for tree printing.
@@ -211,4 +223,9 @@ public class CreateViewNode extends DDLStatementNode
     {
         return existenceCheck;
     }
+
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitCreateViewNode(this);
+    }
+
 }
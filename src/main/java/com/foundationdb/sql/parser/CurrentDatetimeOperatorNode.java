@@ -67,6 +67,7 @@ public class CurrentDatetimeOperatorNode extends ValueNode
     private Field field;
 
     public void init(Object field) {
+        checkNotFrozen();
         this.field = (Field)field;
     }
 
@@ -99,4 +100,9 @@ public class CurrentDatetimeOperatorNode extends ValueNode
         }
         return false;
     }
+
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitCurrentDatetimeOperatorNode(this);
+    }
+
 }
@@ -65,6 +65,7 @@ public class CurrentOfNode extends FromTable
     // initializer
     //
     public void init(Object correlationName, Object cursor, Object tableProperties) {
+        checkNotFrozen();
         super.init(correlationName, tableProperties);
         cursorName = (String)cursor;
     }
@@ -107,4 +108,8 @@ public class CurrentOfNode extends FromTable
         return cursorName;
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitCurrentOfNode(this);
+    }
+
 }
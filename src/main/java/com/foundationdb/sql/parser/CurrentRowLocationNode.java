@@ -39,6 +39,8 @@
 
 package com.foundationdb.sql.parser;
 
+import com.foundationdb.sql.StandardException;
+
 /**
  * The CurrentRowLocation operator is used by DELETE and UPDATE to get the
  * RowLocation of the current row for the target table.  The bind() operations
@@ -51,4 +53,9 @@ public class CurrentRowLocationNode extends ValueNode
     protected boolean isEquivalent(ValueNode o) {
         return false;
     }
+
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitCurrentRowLocationNode(this);
+    }
+
 }
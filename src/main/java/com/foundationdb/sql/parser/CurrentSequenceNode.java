@@ -55,6 +55,7 @@ public class CurrentSequenceNode extends ValueNode
      * @throws StandardException Thrown on error
      */
     public void init(Object sequenceName) throws StandardException {
+        checkNotFrozen();
         this.sequenceName = (TableName)sequenceName;
     }
 
@@ -74,6 +75,14 @@ public class CurrentSequenceNode extends ValueNode
                                                                  getParserContext());
     }
 
+    /**
+     * Freeze the sequence name along with this node.
+     */
+    void freezeUnvisited(FrozenNodes.Freezer freezer) throws StandardException {
+        super.freezeUnvisited(freezer);
+        freezer.freeze(sequenceName);
+    }
+
     /**
      * Convert this object to a String.  See comments in QueryTreeNode.java
      * for how this should be done for tree printing.
@@ -91,4 +100,9 @@ public class CurrentSequenceNode extends ValueNode
     }
 
     
+
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitCurrentSequenceNode(this);
+    }
+
 }
@@ -100,6 +100,7 @@ public class CursorNode extends DMLStatementNode
                      Object fetchFirst,
                      Object updateMode,
                      Object updatableColumns) {
+        checkNotFrozen();
         init(resultSet);
         this.name = (String)name;
         this.statementType = (String)statementType;
@@ -130,7 +131,23 @@ public class CursorNode extends DMLStatementNode
         this.updatableColumns = other.updatableColumns;
     }
 
+    /**
+     * Clear this node for reuse.
+     */
+    protected void reset() {
+        super.reset();
+        name = null;
+        orderByList = null;
+        offset = null;
+        fetchFirst = null;
+        statementType = null;
+        updateMode = null;
+        scanIsolationLevel = IsolationLevel.UNSPECIFIED_ISOLATION_LEVEL;
+        updatableColumns = null;
+    }
+
     public void setScanIsolationLevel(IsolationLevel isolationLevel) {
+        checkNotFrozen();
         this.scanIsolationLevel = isolationLevel;
     }
 
@@ -229,4 +246,8 @@ public class CursorNode extends DMLStatementNode
         return updatableColumns;
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitCursorNode(this);
+    }
+
 }
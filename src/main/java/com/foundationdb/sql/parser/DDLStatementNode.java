@@ -65,6 +65,7 @@ public abstract class DDLStatementNode extends StatementNode
     boolean implicitCreateSchema;
 
     public void init(Object objectName) throws StandardException {
+        checkNotFrozen();
         initAndCheck(objectName);
     }
 
@@ -91,6 +92,14 @@ public abstract class DDLStatementNode extends StatementNode
         this.implicitCreateSchema = other.implicitCreateSchema;
     }
 
+    /**
+     * Freeze the object name along with this node.
+     */
+    void freezeUnvisited(FrozenNodes.Freezer freezer) throws StandardException {
+        super.freezeUnvisited(freezer);
+        freezer.freeze(objectName);
+    }
+
     /**
      * A DDL statement is always atomic
      *
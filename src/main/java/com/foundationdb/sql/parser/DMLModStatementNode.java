@@ -61,6 +61,7 @@ public abstract class DMLModStatementNode extends DMLStatementNode
      *                                  DML statement
      */
     public void init(Object resultSet) {
+        checkNotFrozen();
         super.init(resultSet);
         statementType = getStatementType();
     }
@@ -74,6 +75,7 @@ public abstract class DMLModStatementNode extends DMLStatementNode
      *                                          (rather than inheriting it).
      */
     public void init(Object resultSet, Object statementType) {
+        checkNotFrozen();
         super.init(resultSet);
         this.statementType = ((Integer)statementType).intValue();
     }
@@ -95,6 +97,14 @@ public abstract class DMLModStatementNode extends DMLStatementNode
                 .copyNode(other.returningColumnList, getParserContext());
     }
 
+    /**
+     * Freeze the target table function along with this node.
+     */
+    void freezeUnvisited(FrozenNodes.Freezer freezer) throws StandardException {
+        super.freezeUnvisited(freezer);
+        freezer.freeze(targetVTI);
+    }
+
     void setTarget(QueryTreeNode targetName) {
         if (targetName instanceof TableName) {
             this.targetTableName = (TableName)targetName;
@@ -124,6 +134,7 @@ public abstract class DMLModStatementNode extends DMLStatementNode
     }
 
     public void setReturningList(ResultColumnList returningColumnList) {
+        checkNotFrozen();
         this.returningColumnList = returningColumnList;
     }
 
@@ -80,6 +80,7 @@ public abstract class DMLStatementNode extends StatementNode
      */
 
     public void init(Object resultSet) {
+        checkNotFrozen();
         this.resultSet = (ResultSetNode)resultSet;
     }
 
@@ -94,6 +95,14 @@ public abstract class DMLStatementNode extends StatementNode
                                                                   getParserContext());
     }
 
+    /**
+     * Clear this node for reuse.
+     */
+    protected void reset() {
+        super.reset();
+        resultSet = null;
+    }
+
     /**
      * Prints the sub-nodes of this object.  See QueryTreeNode.java for
      * how tree printing is supposed to work.
@@ -33,6 +33,7 @@ public class DeallocateStatementNode extends StatementNode
      */
 
     public void init(Object name) {
+        checkNotFrozen();
         this.name = (String)name;
     }
     
@@ -66,4 +67,8 @@ public class DeallocateStatementNode extends StatementNode
         return "DEALLOCATE";
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitDeallocateStatementNode(this);
+    }
+
 }
@@ -36,6 +36,7 @@ public class DeclareStatementNode extends StatementNode
 
     public void init(Object name,
                      Object statement) {
+        checkNotFrozen();
         this.name = (String)name;
         this.statement = (StatementNode)statement;
     }
@@ -55,6 +56,7 @@ public class DeclareStatementNode extends StatementNode
         super.copyFrom(node);
         
         DeclareStatementNode other = (DeclareStatementNode)node;
+        this.name = other.name;
         this.statement = (StatementNode)getNodeFactory().copyNode(other.statement,
                                                                   getParserContext());
     }
@@ -102,4 +104,8 @@ public class DeclareStatementNode extends StatementNode
         statement = (StatementNode)statement.accept(v);
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitDeclareStatementNode(this);
+    }
+
 }
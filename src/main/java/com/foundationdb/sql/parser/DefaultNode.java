@@ -58,6 +58,7 @@ public  class DefaultNode extends ValueNode
      */
     public void init(Object defaultTree,
                      Object defaultText) {
+        checkNotFrozen();
         this.defaultTree = (ValueNode)defaultTree;
         this.defaultText = (String)defaultText;
     }
@@ -67,6 +68,7 @@ public  class DefaultNode extends ValueNode
      *
      */
     public void init(Object columnName) {
+        checkNotFrozen();
         this.columnName = (String)columnName;
     }
 
@@ -83,6 +85,14 @@ public  class DefaultNode extends ValueNode
                                                                 getParserContext());
     }
 
+    /**
+     * Freeze the default value along with this node.
+     */
+    void freezeUnvisited(FrozenNodes.Freezer freezer) throws StandardException {
+        super.freezeUnvisited(freezer);
+        freezer.freeze(defaultTree);
+    }
+
     /**
      * Get the text of the default.
      */
@@ -133,4 +143,9 @@ public  class DefaultNode extends ValueNode
     protected boolean isEquivalent(ValueNode other) {
         return false;
     }
+
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitDefaultNode(this);
+    }
+
 }
@@ -39,6 +39,8 @@
 
 package com.foundationdb.sql.parser;
 
+import com.foundationdb.sql.StandardException;
+
 /**
  * A DeleteNode represents a DELETE statement. It is the top-level node
  * for the statement.
@@ -62,6 +64,7 @@ public class DeleteNode extends DMLModStatementNode
     public void init(Object targetTableName,
                      Object queryExpression, 
                      Object returningList) {
+        checkNotFrozen();
         super.init(queryExpression);
         this.targetTableName = (TableName)targetTableName;
         this.returningColumnList = (ResultColumnList)returningList;
@@ -80,4 +83,9 @@ public class DeleteNode extends DMLModStatementNode
     protected final int getStatementType() {
         return StatementType.DELETE;
     }
+
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitDeleteNode(this);
+    }
+
 }
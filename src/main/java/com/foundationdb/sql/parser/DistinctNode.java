@@ -70,6 +70,7 @@ public class DistinctNode extends SingleChildResultSetNode
                      Object inSortedOrder,
                      Object tableProperties) 
             throws StandardException {
+        checkNotFrozen();
         super.init(childResult, tableProperties);
         this.inSortedOrder = ((Boolean)inSortedOrder).booleanValue();
     }
@@ -84,4 +85,8 @@ public class DistinctNode extends SingleChildResultSetNode
         this.inSortedOrder = other.inSortedOrder;
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitDistinctNode(this);
+    }
+
 }
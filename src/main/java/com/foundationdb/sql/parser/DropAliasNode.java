@@ -61,6 +61,7 @@ public class DropAliasNode extends DDLStatementNode
      * @exception StandardException
      */
     public void init(Object dropAliasName, Object aliasType, Object existenceCheck) throws StandardException {
+        checkNotFrozen();
         TableName dropItem = (TableName)dropAliasName;
         initAndCheck(dropItem);
         this.aliasType = (AliasInfo.Type)aliasType;
@@ -122,4 +123,8 @@ public class DropAliasNode extends DDLStatementNode
         return typeName;
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitDropAliasNode(this);
+    }
+
 }
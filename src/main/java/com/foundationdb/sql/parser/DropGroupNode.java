@@ -24,6 +24,7 @@ public class DropGroupNode extends DDLStatementNode {
 
     public void init(Object dropObjectName, Object ec)
             throws StandardException {
+        checkNotFrozen();
         initAndCheck(dropObjectName);
         this.existenceCheck = (ExistenceCheck)ec;
     }
@@ -59,4 +60,8 @@ public class DropGroupNode extends DDLStatementNode {
            "existenceCheck: " + existenceCheck + "\n";
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitDropGroupNode(this);
+    }
+
 }
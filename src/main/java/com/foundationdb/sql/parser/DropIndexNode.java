@@ -56,6 +56,7 @@ public class DropIndexNode extends DDLStatementNode
                      Object indexName,
                      Object ec)
             throws StandardException {
+        checkNotFrozen();
         initAndCheck((TableName)tableName);
         this.indexName = (String)indexName;
         this.existenceCheck = (ExistenceCheck)ec;
@@ -95,4 +96,9 @@ public class DropIndexNode extends DDLStatementNode
     {
         return existenceCheck;
     }
+
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitDropIndexNode(this);
+    }
+
 }
@@ -58,6 +58,7 @@ public class DropRoleNode extends DDLStatementNode
      *
      */
     public void init(Object roleName) throws StandardException {
+        checkNotFrozen();
         initAndCheck(null);
         this.roleName = (String)roleName;
     }
@@ -88,4 +89,8 @@ public class DropRoleNode extends DDLStatementNode
         return "DROP ROLE";
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitDropRoleNode(this);
+    }
+
 }
@@ -61,6 +61,7 @@ public class DropSchemaNode extends DDLStatementNode
      *
      */
     public void init(Object schemaName, Object dropBehavior, Object ec) throws StandardException {
+        checkNotFrozen();
         initAndCheck(null);
         this.schemaName = (String)schemaName;
         this.dropBehavior = ((Integer)dropBehavior).intValue();
@@ -109,4 +110,9 @@ public class DropSchemaNode extends DDLStatementNode
     {
         return existenceCheck;
     }
+
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitDropSchemaNode(this);
+    }
+
 }
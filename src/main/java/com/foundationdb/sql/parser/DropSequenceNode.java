@@ -57,6 +57,7 @@ public class DropSequenceNode extends DDLStatementNode
      * @throws StandardException
      */
     public void init(Object dropSequenceName, Object dropBehavior, Object ec) throws StandardException {
+        checkNotFrozen();
         dropItem = (TableName)dropSequenceName;
         initAndCheck(dropItem);
         this.dropBehavior = ((Integer)dropBehavior).intValue();
@@ -85,6 +86,14 @@ public class DropSequenceNode extends DDLStatementNode
                                                              getParserContext());
     }
 
+    /**
+     * Freeze the sequence name along with this node.
+     */
+    void freezeUnvisited(FrozenNodes.Freezer freezer) throws StandardException {
+        super.freezeUnvisited(freezer);
+        freezer.freeze(dropItem);
+    }
+
     public String statementToString() {
         return "DROP SEQUENCE ".concat(dropItem.getTableName());
     }
@@ -94,4 +103,9 @@ public class DropSequenceNode extends DDLStatementNode
                 "dropBehavior: " + dropBehavior + "\n"
                 + "existenceCheck: " + existenceCheck + "\n";
     }
+
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitDropSequenceNode(this);
+    }
+
 }
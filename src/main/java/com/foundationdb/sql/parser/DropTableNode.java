@@ -62,6 +62,7 @@ public class DropTableNode extends DDLStatementNode
 
     public void init(Object dropObjectName, Object dropBehavior, Object ec)
             throws StandardException {
+        checkNotFrozen();
         initAndCheck(dropObjectName);
         this.dropBehavior = ((Integer)dropBehavior).intValue();
         this.existenceCheck = (ExistenceCheck)ec;
@@ -102,4 +103,9 @@ public class DropTableNode extends DDLStatementNode
     public String statementToString() {
         return "DROP TABLE";
     }
+
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitDropTableNode(this);
+    }
+
 }
@@ -39,6 +39,8 @@
 
 package com.foundationdb.sql.parser;
 
+import com.foundationdb.sql.StandardException;
+
 /**
  * A DropTriggerNode is the root of a QueryTree that represents a DROP TRIGGER
  * statement.
@@ -50,4 +52,8 @@ public class DropTriggerNode extends DDLStatementNode
         return "DROP TRIGGER";
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitDropTriggerNode(this);
+    }
+
 }
@@ -59,6 +59,7 @@ public class DropViewNode extends DDLStatementNode
      */
 
     public void init(Object dropObjectName, Object ec) throws StandardException {
+        checkNotFrozen();
         initAndCheck(dropObjectName);
         this.existenceCheck = (ExistenceCheck)ec;
     }
@@ -80,4 +81,8 @@ public class DropViewNode extends DDLStatementNode
         return "DROP VIEW";
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitDropViewNode(this);
+    }
+
 }
@@ -36,6 +36,7 @@ public class ExecuteStatementNode extends StatementNode
 
     public void init(Object name,
                      Object parameterList) {
+        checkNotFrozen();
         this.name = (String)name;
         this.parameterList = (ValueNodeList)parameterList;
     }
@@ -102,4 +103,8 @@ public class ExecuteStatementNode extends StatementNode
         parameterList = (ValueNodeList)parameterList.accept(v);
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitExecuteStatementNode(this);
+    }
+
 }
@@ -41,6 +41,7 @@ public class ExplainStatementNode extends StatementNode
 
     public void init(Object statement,
                      Object detail) {
+        checkNotFrozen();
         this.statement = (StatementNode)statement;
         this.detail = (Detail)detail;
     }
@@ -107,4 +108,8 @@ public class ExplainStatementNode extends StatementNode
         return detail;
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitExplainStatementNode(this);
+    }
+
 }
@@ -34,6 +34,7 @@ public class ExplicitCollateNode extends ValueNode
      * @param collation The explicit collation
      */
     public void init(Object operand, Object collation) throws StandardException {
+        checkNotFrozen();
         this.operand = (ValueNode)operand;
         this.collation = (String)collation;
     }
@@ -122,4 +123,8 @@ public class ExplicitCollateNode extends ValueNode
         return false;
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitExplicitCollateNode(this);
+    }
+
 }
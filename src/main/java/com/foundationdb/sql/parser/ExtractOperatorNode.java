@@ -73,6 +73,7 @@ public class ExtractOperatorNode extends UnaryOperatorNode
      * @param operand The operand
      */
     public void init(Object field, Object operand) throws StandardException {
+        checkNotFrozen();
         extractField = (Field)field;
         super.init(operand,
                    "EXTRACT "+ extractField.fieldName,
@@ -94,4 +95,8 @@ public class ExtractOperatorNode extends UnaryOperatorNode
             super.toString();
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitExtractOperatorNode(this);
+    }
+
 }
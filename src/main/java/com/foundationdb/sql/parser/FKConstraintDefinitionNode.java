@@ -70,6 +70,7 @@ public class FKConstraintDefinitionNode extends ConstraintDefinitionNode
                      Object grouping,
                      Object deferrable,
                      Object initiallyDeferred) {
+        checkNotFrozen();
         super.init(constraintName,
                    ConstraintType.FOREIGN_KEY,
                    fkRcl, 
@@ -94,6 +95,7 @@ public class FKConstraintDefinitionNode extends ConstraintDefinitionNode
                      Object behavior,
                      Object grouping,
                      Object existenceCheck) {
+        checkNotFrozen();
         super.init(constraintName,
                    constraintType,
                    null,
@@ -126,6 +128,15 @@ public class FKConstraintDefinitionNode extends ConstraintDefinitionNode
         this.initiallyDeferred = other.initiallyDeferred;
     }
 
+    /**
+     * Freeze the referenced table and columns along with this node.
+     */
+    void freezeUnvisited(FrozenNodes.Freezer freezer) throws StandardException {
+        super.freezeUnvisited(freezer);
+        freezer.freeze(refTableName);
+        freezer.freeze(refRcl);
+    }
+
     public TableName getRefTableName() { 
         return refTableName; 
     }
@@ -167,4 +178,8 @@ public class FKConstraintDefinitionNode extends ConstraintDefinitionNode
     }
     
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitFKConstraintDefinitionNode(this);
+    }
+
 }
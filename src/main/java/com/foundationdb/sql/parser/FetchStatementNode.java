@@ -36,6 +36,7 @@ public class FetchStatementNode extends StatementNode
 
     public void init(Object name,
                      Object count) {
+        checkNotFrozen();
         this.name = (String)name;
         this.count = (Integer)count;
     }
@@ -76,4 +77,8 @@ public class FetchStatementNode extends StatementNode
         return "FETCH";
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitFetchStatementNode(this);
+    }
+
 }
@@ -0,0 +1,332 @@
+/**
+ * Copyright 2014 FoundationDB, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.foundationdb.sql.parser;
+
+import com.foundationdb.sql.StandardException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A compact, read-only copy of a parsed tree, for consumers that only
+ * look at the shape of statements and the names in them.
+ *
+ * Nodes are numbered in depth-first order, root first, and each node
+ * is a fixed run of <code>int</code>s in a single array: node type,
+ * parent, next sibling, begin and end offsets, and the index of a
+ * payload object. (The first child of a node, if any, is always the
+ * node after it.) The payload is the main name or value of the node,
+ * if it has one:
+ * <ul>
+ * <li>the name of a column reference, whose table name, if any, is
+ * a {@link NodeTypes#TABLE_NAME} child</li>
+ * <li>the full name of a table name or of the table of a base table,
+ * or the correlation name of another kind of table</li>
+ * <li>the name of a result column</li>
+ * <li>the value of a constant</li>
+ * <li>the <code>Integer</code> number of a parameter</li>
+ * <li>the operator of an operator node or the name of a method call</li>
+ * </ul>
+ *
+ * Other children are those a {@link Visitor} reaches, in the same order.
+ * Once built, the original tree may be dropped or, with a
+ * {@link RecyclingNodeFactory}, released.
+ *
+ * <pre>
+ * FlatTree tree = FlatTree.build(parser.parseStatement(sql));
+ * FlatTree.Cursor cursor = tree.cursor();
+ * do {
+ *     if (cursor.getNodeType() == NodeTypes.FROM_BASE_TABLE)
+ *         tables.add((String)cursor.getPayload());
+ * } while (cursor.next());
+ * </pre>
+ */
+public final class FlatTree
+{
+    /** The index of no node or no payload. */
+    public static final int NONE = -1;
+
+    // The ints of each node.
+    static final int NODE_TYPE = 0, PARENT = 1, NEXT_SIBLING = 2,
+        BEGIN_OFFSET = 3, END_OFFSET = 4, PAYLOAD = 5, NODE_INTS = 6;
+
+    private final int size;
+    private final int[] nodes;
+    private final Object[] payloads;
+
+    private FlatTree(Builder builder) {
+        size = builder.size;
+        nodes = Arrays.copyOf(builder.nodes, size * NODE_INTS);
+        payloads = builder.payloads.toArray();
+    }
+
+    /** Make a flat copy of the tree under <code>root</code>. */
+    public static FlatTree build(QueryTreeNode root) throws StandardException {
+        Builder builder = new Builder();
+        builder.build(root);
+        return new FlatTree(builder);
+    }
+
+    /** Get the number of nodes. Node 0 is the root. */
+    public int size() {
+        return size;
+    }
+
+    public int getNodeType(int index) {
+        return nodes[index * NODE_INTS + NODE_TYPE];
+    }
+
+    /** Get the parent of a node, or {@link #NONE} for the root. */
+    public int getParent(int index) {
+        return nodes[index * NODE_INTS + PARENT];
+    }
+
+    /** Get the first child of a node, or {@link #NONE}. */
+    public int getFirstChild(int index) {
+        int next = index + 1;
+        if ((next < size) && (nodes[next * NODE_INTS + PARENT] == index))
+            return next;
+        else
+            return NONE;
+    }
+
+    /** Get the next child of the same parent, or {@link #NONE}. */
+    public int getNextSibling(int index) {
+        return nodes[index * NODE_INTS + NEXT_SIBLING];
+    }
+
+    public int getBeginOffset(int index) {
+        return nodes[index * NODE_INTS + BEGIN_OFFSET];
+    }
+
+    public int getEndOffset(int index) {
+        return nodes[index * NODE_INTS + END_OFFSET];
+    }
+
+    /** Get the payload of a node, or <code>null</code>. */
+    public Object getPayload(int index) {
+        int payloadIndex = nodes[index * NODE_INTS + PAYLOAD];
+        return (payloadIndex == NONE) ? null : payloads[payloadIndex];
+    }
+
+    /** Get a new cursor on the root. */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /** A position in the tree that can be moved around it. */
+    public final class Cursor
+    {
+        private int index;
+
+        public int getIndex() {
+            return index;
+        }
+
+        public int getNodeType() {
+            return FlatTree.this.getNodeType(index);
+        }
+
+        public int getBeginOffset() {
+            return FlatTree.this.getBeginOffset(index);
+        }
+
+        public int getEndOffset() {
+            return FlatTree.this.getEndOffset(index);
+        }
+
+        public Object getPayload() {
+            return FlatTree.this.getPayload(index);
+        }
+
+        /** Get the number of ancestors of the current node. */
+        public int getDepth() {
+            int depth = 0;
+            for (int i = getParent(index); i != NONE; i = getParent(i)) {
+                depth++;
+            }
+            return depth;
+        }
+
+        /** Move to the given node. */
+        public void moveTo(int index) {
+            if ((index < 0) || (index >= size))
+                throw new IndexOutOfBoundsException("Node " + index + " of " + size);
+            this.index = index;
+        }
+
+        /** Move to the parent of the current node, if it has one. */
+        public boolean parent() {
+            return move(getParent(index));
+        }
+
+        /** Move to the first child of the current node, if it has any. */
+        public boolean firstChild() {
+            return move(getFirstChild(index));
+        }
+
+        /** Move to the next sibling of the current node, if it has one. */
+        public boolean nextSibling() {
+            return move(getNextSibling(index));
+        }
+
+        /** Move to the next node in depth-first order, if there is one. */
+        public boolean next() {
+            return move((index + 1 < size) ? index + 1 : NONE);
+        }
+
+        private boolean move(int to) {
+            if (to == NONE)
+                return false;
+            index = to;
+            return true;
+        }
+    }
+
+    /** Number nodes depth-first, taking each one's children from a visitor. */
+    static class Builder implements Visitor {
+        int size;
+        int[] nodes = new int[32 * NODE_INTS];
+        List<Object> payloads = new ArrayList<Object>();
+        private int[] lastChildren = new int[32];
+        private List<QueryTreeNode> children = new ArrayList<QueryTreeNode>();
+
+        void build(QueryTreeNode root) throws StandardException {
+            QueryTreeNode[] stack = new QueryTreeNode[16];
+            int[] stackParents = new int[16];
+            int depth = 0;
+            stack[depth] = root;
+            stackParents[depth] = NONE;
+            depth++;
+            while (depth > 0) {
+                depth--;
+                QueryTreeNode node = stack[depth];
+                stack[depth] = null;
+                int index = add(node, stackParents[depth]);
+                node.acceptChildren(this);
+                int nchildren = children.size();
+                if (depth + nchildren > stack.length) {
+                    int capacity = Math.max(stack.length * 2, depth + nchildren);
+                    stack = Arrays.copyOf(stack, capacity);
+                    stackParents = Arrays.copyOf(stackParents, capacity);
+                }
+                // Push in reverse, so the first child comes off next.
+                for (int i = nchildren - 1; i >= 0; i--) {
+                    stack[depth] = children.get(i);
+                    stackParents[depth] = index;
+                    depth++;
+                }
+                children.clear();
+            }
+        }
+
+        private int add(QueryTreeNode node, int parent) {
+            int index = add(node.getNodeType(), parent, 
+                            node.getBeginOffset(), node.getEndOffset(),
+                            payload(node));
+            if (node instanceof ColumnReference) {
+                TableName tableName = ((ColumnReference)node).getTableNameNode();
+                if (tableName != null)
+                    add(tableName.getNodeType(), index,
+                        tableName.getBeginOffset(), tableName.getEndOffset(),
+                        tableName.getFullTableName());
+            }
+            return index;
+        }
+
+        private int add(int nodeType, int parent, int beginOffset, int endOffset,
+                        Object payload) {
+            if (size == lastChildren.length) {
+                nodes = Arrays.copyOf(nodes, size * 2 * NODE_INTS);
+                lastChildren = Arrays.copyOf(lastChildren, size * 2);
+            }
+            int index = size++;
+            int base = index * NODE_INTS;
+            nodes[base + NODE_TYPE] = nodeType;
+            nodes[base + PARENT] = parent;
+            nodes[base + NEXT_SIBLING] = NONE;
+            nodes[base + BEGIN_OFFSET] = beginOffset;
+            nodes[base + END_OFFSET] = endOffset;
+            if (payload == null) {
+                nodes[base + PAYLOAD] = NONE;
+            }
+            else {
+                nodes[base + PAYLOAD] = payloads.size();
+                payloads.add(payload);
+            }
+            lastChildren[index] = NONE;
+            if (parent != NONE) {
+                int lastChild = lastChildren[parent];
+                if (lastChild != NONE)
+                    nodes[lastChild * NODE_INTS + NEXT_SIBLING] = index;
+                lastChildren[parent] = index;
+            }
+            return index;
+        }
+
+        static Object payload(QueryTreeNode node) {
+            if (node instanceof ColumnReference)
+                return ((ColumnReference)node).getColumnName();
+            if (node instanceof TableName)
+                return ((TableName)node).getFullTableName();
+            if (node instanceof FromBaseTable) {
+                TableName tableName = ((FromBaseTable)node).getOrigTableName();
+                if (tableName != null)
+                    return tableName.getFullTableName();
+            }
+            if (node instanceof FromTable)
+                return ((FromTable)node).getCorrelationName();
+            if (node instanceof ResultColumn)
+                return ((ResultColumn)node).getName();
+            if (node instanceof ConstantNode)
+                return ((ConstantNode)node).getValue();
+            if (node instanceof ParameterNode)
+                return Integer.valueOf(((ParameterNode)node).getParameterNumber());
+            if (node instanceof AggregateNode)
+                return ((AggregateNode)node).getAggregateName();
+            if (node instanceof BinaryOperatorNode)
+                return ((BinaryOperatorNode)node).getOperator();
+            if (node instanceof UnaryOperatorNode)
+                return ((UnaryOperatorNode)node).getOperator();
+            if (node instanceof MethodCallNode)
+                return ((MethodCallNode)node).getMethodName();
+            return null;
+        }
+
+        // Visitor collecting just the direct children of a node.
+
+        public Visitable visit(Visitable node) {
+            children.add((QueryTreeNode)node);
+            return node;
+        }
+
+        public boolean visitChildrenFirst(Visitable node) {
+            return false;
+        }
+
+        public boolean stopTraversal() {
+            return false;
+        }
+
+        public boolean skipChildren(Visitable node) {
+            return true;
+        }
+    }
+
+}
@@ -96,6 +96,7 @@ public class FromBaseTable extends FromTable
                      Object arg3,
                      Object arg4,
                      Object arg5) {
+        checkNotFrozen();
         init(arg2, arg4);
         tableName = (TableName)arg1;
         resultColumns = (ResultColumnList)arg3;
@@ -115,6 +116,7 @@ public class FromBaseTable extends FromTable
     public void init(Object arg1,
                      Object arg2,
                      Object arg3) {
+        checkNotFrozen();
         init(arg2, null);        
         tableName = (TableName)arg1;
         updateOrDelete = (UpdateOrDelete)arg3;
@@ -137,6 +139,26 @@ public class FromBaseTable extends FromTable
             getNodeFactory().copyNode(other.indexHints, getParserContext());
     }
 
+    /**
+     * Freeze the table name and template columns along with this node.
+     */
+    void freezeUnvisited(FrozenNodes.Freezer freezer) throws StandardException {
+        super.freezeUnvisited(freezer);
+        freezer.freeze(tableName);
+        freezer.freeze(templateColumns);
+    }
+
+    /**
+     * Clear this node for reuse.
+     */
+    protected void reset() {
+        super.reset();
+        tableName = null;
+        updateOrDelete = null;
+        templateColumns = null;
+        indexHints = null;
+    }
+
     /**
      * Convert this object to a String.  See comments in QueryTreeNode.java
      * for how this should be done for tree printing.
@@ -159,6 +181,7 @@ public class FromBaseTable extends FromTable
      * @param tableProperties The new table properties.
      */
     public void setTableProperties(Properties tableProperties) {
+        checkNotFrozen();
         this.tableProperties = tableProperties;
     }
 
@@ -239,4 +262,8 @@ public class FromBaseTable extends FromTable
         }
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitFromBaseTable(this);
+    }
+
 }
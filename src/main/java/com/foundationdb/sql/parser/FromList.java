@@ -67,6 +67,7 @@ public class FromList extends QueryTreeNodeList<FromTable>
     /** Initializer for a FromList */
 
     public void init(Object optimizeJoinOrder) {
+        checkNotFrozen();
         fixedJoinOrder = ! (((Boolean)optimizeJoinOrder).booleanValue());
         isTransparent = false;
     }
@@ -78,6 +79,7 @@ public class FromList extends QueryTreeNodeList<FromTable>
      */
     public void init(Object optimizeJoinOrder, Object fromTable)
             throws StandardException {
+        checkNotFrozen();
         init(optimizeJoinOrder);
 
         addFromTable((FromTable)fromTable);
@@ -95,6 +97,16 @@ public class FromList extends QueryTreeNodeList<FromTable>
         this.isTransparent = other.isTransparent;
     }
 
+    /**
+     * Clear this node for reuse.
+     */
+    protected void reset() {
+        super.reset();
+        properties = null;
+        fixedJoinOrder = false;
+        isTransparent = false;
+    }
+
     /**
      * Add a table to the FROM list.
      *
@@ -104,6 +116,7 @@ public class FromList extends QueryTreeNodeList<FromTable>
      */
 
     public void addFromTable(FromTable fromTable) throws StandardException {
+        checkNotFrozen();
         /* Don't worry about checking TableOperatorNodes since
          * they don't have exposed names.    This will potentially
          * allow duplicate exposed names in some degenerate cases,
@@ -142,7 +155,12 @@ public class FromList extends QueryTreeNodeList<FromTable>
      * @exception StandardException Thrown on error
      */
     public void setProperties(Properties props) throws StandardException {
+        checkNotFrozen();
         properties = props;
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitFromList(this);
+    }
+
 }
@@ -77,6 +77,7 @@ public class FromSubquery extends FromTable
                      Object derivedRCL,
                      Object tableProperties)
     {
+        checkNotFrozen();
         super.init(correlationName, tableProperties);
         this.subquery = (ResultSetNode)subquery;
         this.orderByList = (OrderByList)orderByList;
@@ -102,6 +103,15 @@ public class FromSubquery extends FromTable
                                                                getParserContext());
     }
 
+    /**
+     * Freeze the row limits along with this node.
+     */
+    void freezeUnvisited(FrozenNodes.Freezer freezer) throws StandardException {
+        super.freezeUnvisited(freezer);
+        freezer.freeze(offset);
+        freezer.freeze(fetchFirst);
+    }
+
     /**
      * Prints the sub-nodes of this object.  See QueryTreeNode.java for
      * how tree printing is supposed to work.
@@ -184,4 +194,8 @@ public class FromSubquery extends FromTable
         }
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitFromSubquery(this);
+    }
+
 }
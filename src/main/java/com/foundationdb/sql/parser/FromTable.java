@@ -69,6 +69,7 @@ public abstract class FromTable extends ResultSetNode
      * @param tableProperties Properties list associated with the table
      */
     public void init(Object correlationName, Object tableProperties) {
+        checkNotFrozen();
         this.correlationName = (String)correlationName;
         this.tableProperties = (Properties)tableProperties;
     }
@@ -88,6 +89,26 @@ public abstract class FromTable extends ResultSetNode
                                                                   getParserContext());
     }
 
+    /**
+     * Freeze the correlation and original table names along with this node.
+     */
+    void freezeUnvisited(FrozenNodes.Freezer freezer) throws StandardException {
+        super.freezeUnvisited(freezer);
+        freezer.freeze(corrTableName);
+        freezer.freeze(origTableName);
+    }
+
+    /**
+     * Clear this node for reuse.
+     */
+    protected void reset() {
+        super.reset();
+        tableProperties = null;
+        correlationName = null;
+        corrTableName = null;
+        origTableName = null;
+    }
+
     /**
      * Get this table's correlation name, if any.
      */
@@ -99,6 +120,7 @@ public abstract class FromTable extends ResultSetNode
      * Set this table's correlation name.
      */
     public void setCorrelationName(String correlationName) { 
+        checkNotFrozen();
         this.correlationName = correlationName; 
     }
 
@@ -144,6 +166,7 @@ public abstract class FromTable extends ResultSetNode
      *
      */
     public void setOrigTableName(TableName tableName) {
+        checkNotFrozen();
         this.origTableName = tableName;
     }
 
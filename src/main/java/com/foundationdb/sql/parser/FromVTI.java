@@ -65,6 +65,7 @@ public class FromVTI extends FromTable
                      Object derivedRCL,
                      Object tableProperties)
             throws StandardException {
+        checkNotFrozen();
         init(invocation,
              correlationName,
              derivedRCL,
@@ -87,6 +88,7 @@ public class FromVTI extends FromTable
                      Object tableProperties,
                      Object exposedTableName)
             throws StandardException {
+        checkNotFrozen();
         super.init(correlationName, tableProperties);
 
         this.methodCall = (MethodCallNode)invocation;
@@ -118,6 +120,15 @@ public class FromVTI extends FromTable
         this.isTarget = other.isTarget;
     }
 
+    /**
+     * Freeze the exposed name and subqueries along with this node.
+     */
+    void freezeUnvisited(FrozenNodes.Freezer freezer) throws StandardException {
+        super.freezeUnvisited(freezer);
+        freezer.freeze(exposedName);
+        freezer.freeze(subqueryList);
+    }
+
     /**
      * Convert this object to a String.  See comments in QueryTreeNode.java
      * for how this should be done for tree printing.
@@ -225,4 +236,8 @@ public class FromVTI extends FromTable
         }
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitFromVTI(this);
+    }
+
 }
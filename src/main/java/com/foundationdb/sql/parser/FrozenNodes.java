@@ -0,0 +1,264 @@
+/**
+ * Copyright 2014 FoundationDB, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.foundationdb.sql.parser;
+
+import com.foundationdb.sql.StandardException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Support for {@link QueryTreeNode#freeze} and {@link QueryTreeNode#thaw}.
+ *
+ * A frozen node is marked by having a {@link FrozenContext} in place of
+ * its parser context, so that freezing does not make every node bigger.
+ */
+class FrozenNodes
+{
+    private FrozenNodes() {
+    }
+
+    /** A parser context that passes everything on to another. */
+    static class WrappedContext implements SQLParserContext {
+        private final SQLParserContext context;
+
+        WrappedContext(SQLParserContext context) {
+            this.context = context;
+        }
+
+        public SQLParserContext getContext() {
+            return context;
+        }
+
+        public void checkStringLiteralLengthLimit(String image) throws StandardException {
+            context.checkStringLiteralLengthLimit(image);
+        }
+
+        public void checkIdentifierLengthLimit(String identifier) throws StandardException {
+            context.checkIdentifierLengthLimit(identifier);
+        }
+
+        public void setReturnParameterFlag() {
+            context.setReturnParameterFlag();
+        }
+
+        public void setMessageLocale(String locale) {
+            context.setMessageLocale(locale);
+        }
+
+        public NodeFactory getNodeFactory() {
+            return context.getNodeFactory();
+        }
+
+        public Map getPrintedObjectsMap() {
+            return context.getPrintedObjectsMap();
+        }
+
+        public boolean hasFeature(SQLParserFeature feature) {
+            return context.hasFeature(feature);
+        }
+
+        public IdentifierCase getIdentifierCase() {
+            return context.getIdentifierCase();
+        }
+    }
+
+    /** The context of a frozen node, standing in for its real one. */
+    static class FrozenContext extends WrappedContext {
+        FrozenContext(SQLParserContext context) {
+            super(context);
+        }
+    }
+
+    /** Freeze every node of a tree that is not already frozen. */
+    static class Freezer implements Visitor {
+        // Nearly always the whole tree has the same context.
+        private SQLParserContext lastContext;
+        private FrozenContext lastFrozen;
+
+        public Visitable visit(Visitable node) throws StandardException {
+            QueryTreeNode qtn = (QueryTreeNode)node;
+            if (!qtn.isFrozen()) {
+                SQLParserContext context = qtn.getParserContext();
+                if ((lastFrozen == null) || (context != lastContext)) {
+                    lastContext = context;
+                    lastFrozen = new FrozenContext(context);
+                }
+                qtn.markFrozen(lastFrozen);
+                qtn.freezeUnvisited(this);
+            }
+            return node;
+        }
+
+        /** Freeze a child that visitors do not reach, if there is one. */
+        void freeze(QueryTreeNode node) throws StandardException {
+            if (node != null)
+                node.accept(this);
+        }
+
+        public boolean visitChildrenFirst(Visitable node) {
+            return false;
+        }
+
+        public boolean stopTraversal() {
+            return false;
+        }
+
+        public boolean skipChildren(Visitable node) {
+            // A frozen node's children were frozen with it.
+            return ((QueryTreeNode)node).isFrozen();
+        }
+    }
+
+    /** The context of a node while it is being thawed. */
+    static class ThawContext extends WrappedContext {
+        private final NodeFactory nodeFactory;
+
+        ThawContext(SQLParserContext context) {
+            super(context);
+            nodeFactory = new SharingNodeFactory(this);
+        }
+
+        public NodeFactory getNodeFactory() {
+            return nodeFactory;
+        }
+    }
+
+    /**
+     * A node factory that copies a node without copying any frozen
+     * nodes under it, and gives new nodes the real parser context.
+     */
+    static class SharingNodeFactory extends NodeFactory {
+        private final ThawContext thawContext;
+
+        SharingNodeFactory(ThawContext thawContext) {
+            this.thawContext = thawContext;
+        }
+
+        public QueryTreeNode getNode(int nodeType, SQLParserContext pc)
+                throws StandardException {
+            if (pc == thawContext)
+                pc = thawContext.getContext();
+            return pc.getNodeFactory().getNode(nodeType, pc);
+        }
+
+        public QueryTreeNode copyNode(QueryTreeNode node, SQLParserContext pc)
+                throws StandardException {
+            if ((node != null) && node.isFrozen())
+                return node;
+            return super.copyNode(node, pc);
+        }
+
+        public Object copyUserData(QueryTreeNode node, Object userData)
+                throws StandardException {
+            return thawContext.getContext().getNodeFactory().copyUserData(node, userData);
+        }
+    }
+
+    static QueryTreeNode thaw(QueryTreeNode node) throws StandardException {
+        SQLParserContext context = node.getParserContext();
+        ThawContext thawContext = new ThawContext(context);
+        QueryTreeNode copy = context.getNodeFactory().getNode(node.getNodeType(),
+                                                              thawContext);
+        copy.copyFrom(node);
+        copy.setParserContext(context);
+        return copy;
+    }
+
+    static QueryTreeNode[] thawPath(QueryTreeNode root, QueryTreeNode target)
+            throws StandardException {
+        List<QueryTreeNode> path = new ArrayList<QueryTreeNode>();
+        if (!findPath(root, target, path))
+            return null;
+        QueryTreeNode[] result = new QueryTreeNode[path.size()];
+        for (int i = 0; i < result.length; i++) {
+            QueryTreeNode node = path.get(i);
+            QueryTreeNode copy = node.isFrozen() ? node.thaw() : node;
+            if ((i > 0) && (copy != node))
+                result[i-1].acceptChildren(new Replacer(node, copy));
+            result[i] = copy;
+        }
+        return result;
+    }
+
+    private static boolean findPath(QueryTreeNode node, QueryTreeNode target,
+                                    List<QueryTreeNode> path)
+            throws StandardException {
+        path.add(node);
+        if (node == target)
+            return true;
+        ChildCollector children = new ChildCollector();
+        node.acceptChildren(children);
+        for (QueryTreeNode child : children.children) {
+            if (findPath(child, target, path))
+                return true;
+        }
+        path.remove(path.size() - 1);
+        return false;
+    }
+
+    /** Collect the immediate children of a node. */
+    static class ChildCollector implements Visitor {
+        List<QueryTreeNode> children = new ArrayList<QueryTreeNode>();
+
+        public Visitable visit(Visitable node) {
+            children.add((QueryTreeNode)node);
+            return node;
+        }
+
+        public boolean visitChildrenFirst(Visitable node) {
+            return false;
+        }
+
+        public boolean stopTraversal() {
+            return false;
+        }
+
+        public boolean skipChildren(Visitable node) {
+            return true;
+        }
+    }
+
+    /** Put a thawed copy of a child in place of the frozen original. */
+    static class Replacer implements Visitor {
+        private final QueryTreeNode original, replacement;
+
+        Replacer(QueryTreeNode original, QueryTreeNode replacement) {
+            this.original = original;
+            this.replacement = replacement;
+        }
+
+        public Visitable visit(Visitable node) {
+            return (node == original) ? replacement : node;
+        }
+
+        public boolean visitChildrenFirst(Visitable node) {
+            return false;
+        }
+
+        public boolean stopTraversal() {
+            return false;
+        }
+
+        public boolean skipChildren(Visitable node) {
+            return true;
+        }
+    }
+
+}
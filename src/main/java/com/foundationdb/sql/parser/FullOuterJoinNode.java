@@ -65,6 +65,7 @@ public class FullOuterJoinNode extends JoinNode
                      Object usingClause,
                      Object tableProperties)
             throws StandardException {
+        checkNotFrozen();
         super.init(leftResult,
                    rightResult,
                    onClause,
@@ -73,4 +74,9 @@ public class FullOuterJoinNode extends JoinNode
                    tableProperties,
                    null);
     }
+
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitFullOuterJoinNode(this);
+    }
+
 }
@@ -0,0 +1,257 @@
+/**
+ * Copyright 2014 FoundationDB, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foundationdb.sql.parser;
+
+import com.foundationdb.sql.StandardException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Runs several read-only {@link Visitor}s over a tree in a single pass.
+ *
+ * Each visitor sees the same calls, in the same order relative to its
+ * own other calls, as it would from a traversal of its own, with its
+ * own {@link Visitor#visitChildrenFirst}, {@link Visitor#skipChildren}
+ * and {@link Visitor#stopTraversal} honored independently of the
+ * others, and a {@link SelectiveVisitor} kept out of subtrees without
+ * the types it wants. The pass only goes into a subtree if some visitor
+ * still wants to, and stops when they have all stopped.
+ *
+ * The visitors must not replace nodes: <code>visit</code> returning
+ * anything but the node it was given is an error.
+ *
+ * <pre>
+ * FusedVisitor fused = new FusedVisitor(parameters, tables, functions);
+ * stmt.accept(fused);
+ * </pre>
+ *
+ * It can also be given to {@link QueryTreeNode#acceptIteratively}. With
+ * {@link #setTiming} on, the time spent in each visitor is recorded,
+ * though reading the clock around every call slows the pass down.
+ */
+public class FusedVisitor implements Visitor
+{
+    private final Visitor[] visitors;
+    private final NodeTypeSet[] nodeTypes;
+
+    // The depth below which each visitor is skipping children, or -1.
+    private final int[] skipping;
+    private final boolean[] stopped;
+    private int nstopped;
+    // For each node from the root down to the current one, which
+    // visitors still have to visit it after its children.
+    private boolean[] pending;
+    private int depth;
+
+    private boolean timing;
+    private final long[] nanos;
+    private final long[] visits;
+
+    public FusedVisitor(Visitor... visitors) {
+        this(Arrays.asList(visitors));
+    }
+
+    public FusedVisitor(List<? extends Visitor> visitors) {
+        int n = visitors.size();
+        this.visitors = visitors.toArray(new Visitor[n]);
+        this.nodeTypes = new NodeTypeSet[n];
+        for (int i = 0; i < n; i++) {
+            if (this.visitors[i] instanceof SelectiveVisitor)
+                nodeTypes[i] = ((SelectiveVisitor)this.visitors[i]).getNodeTypes();
+        }
+        skipping = new int[n];
+        stopped = new boolean[n];
+        pending = new boolean[n * 16];
+        nanos = new long[n];
+        visits = new long[n];
+    }
+
+    public List<Visitor> getVisitors() {
+        return Collections.unmodifiableList(Arrays.asList(visitors));
+    }
+
+    public boolean isTiming() {
+        return timing;
+    }
+
+    /** Record how long each visitor takes. */
+    public void setTiming(boolean timing) {
+        this.timing = timing;
+    }
+
+    /** Get the time spent in the <code>index</code>'th visitor, in
+     * nanoseconds, if {@linkplain #setTiming timing} is on. */
+    public long getNanos(int index) {
+        return nanos[index];
+    }
+
+    /** Get the number of nodes the <code>index</code>'th visitor has visited. */
+    public long getVisits(int index) {
+        return visits[index];
+    }
+
+    public void resetStatistics() {
+        Arrays.fill(nanos, 0);
+        Arrays.fill(visits, 0);
+    }
+
+    /** Describe the work done by each visitor. */
+    public List<String> getStatistics() {
+        List<String> result = new ArrayList<String>(visitors.length);
+        for (int i = 0; i < visitors.length; i++) {
+            StringBuilder str = new StringBuilder();
+            str.append(visitors[i].getClass().getName())
+                .append(": ").append(visits[i]).append(" visits");
+            if (timing)
+                str.append(", ").append(nanos[i] / 1000).append(" us");
+            result.add(str.toString());
+        }
+        return result;
+    }
+
+    /* Visitor */
+
+    // Always asked for children first, so as to hear about a node both
+    // before its children, from skipChildren, and after, from visit.
+
+    public boolean visitChildrenFirst(Visitable node) {
+        return true;
+    }
+
+    public boolean skipChildren(Visitable node) throws StandardException {
+        boolean done = false;
+        try {
+            boolean result = enter(node);
+            done = true;
+            return result;
+        }
+        finally {
+            if (!done)
+                depth = 0;      // Abandon the pass.
+        }
+    }
+
+    public Visitable visit(Visitable node) throws StandardException {
+        boolean done = false;
+        try {
+            leave(node);
+            done = true;
+            return node;
+        }
+        finally {
+            if (!done)
+                depth = 0;
+        }
+    }
+
+    public boolean stopTraversal() {
+        return (nstopped == visitors.length);
+    }
+
+    /** Visit <code>node</code> on the way down.
+     * @return whether no visitor wants its children.
+     */
+    private boolean enter(Visitable node) throws StandardException {
+        // A pass ends when the root is left or everything has stopped.
+        if ((depth == 0) || (nstopped == visitors.length))
+            start();
+        int n = visitors.length;
+        int base = depth * n;
+        if (base + n > pending.length)
+            pending = Arrays.copyOf(pending, pending.length * 2);
+        boolean anyChildren = false;
+        for (int i = 0; i < n; i++) {
+            pending[base + i] = false;
+            if (stopped[i] || (skipping[i] >= 0))
+                continue;
+            Visitor v = visitors[i];
+            long start = (timing) ? System.nanoTime() : 0;
+            if ((nodeTypes[i] != null) && 
+                !((QueryTreeNode)node).mayContain(nodeTypes[i])) {
+                skipping[i] = depth;
+            }
+            else {
+                boolean first = v.visitChildrenFirst(node);
+                boolean skip = v.skipChildren(node);
+                if (first)
+                    pending[base + i] = true;
+                else if (!v.stopTraversal())
+                    visit(i, node);
+                if (v.stopTraversal()) {
+                    // Not even visited after its children, just as by accept.
+                    stopped[i] = true;
+                    nstopped++;
+                }
+                else if (skip)
+                    skipping[i] = depth;
+                else
+                    anyChildren = true;
+            }
+            if (timing)
+                nanos[i] += System.nanoTime() - start;
+        }
+        depth++;
+        return !anyChildren;
+    }
+
+    /** Visit <code>node</code> on the way up. */
+    private void leave(Visitable node) throws StandardException {
+        depth--;
+        int n = visitors.length;
+        int base = depth * n;
+        for (int i = 0; i < n; i++) {
+            if (skipping[i] == depth)
+                skipping[i] = -1;
+            if (pending[base + i]) {
+                Visitor v = visitors[i];
+                long start = (timing) ? System.nanoTime() : 0;
+                if (!v.stopTraversal()) {
+                    visit(i, node);
+                    if (v.stopTraversal() && !stopped[i]) {
+                        stopped[i] = true;
+                        nstopped++;
+                    }
+                }
+                if (timing)
+                    nanos[i] += System.nanoTime() - start;
+            }
+        }
+    }
+
+    private void visit(int i, Visitable node) throws StandardException {
+        visits[i]++;
+        if (visitors[i].visit(node) != node)
+            throw new IllegalStateException("Fused visitor cannot replace a node: " +
+                                            visitors[i]);
+    }
+
+    /** Get ready for a new pass. */
+    private void start() {
+        depth = 0;
+        nstopped = 0;
+        for (int i = 0; i < visitors.length; i++) {
+            skipping[i] = -1;
+            stopped[i] = visitors[i].stopTraversal();
+            if (stopped[i])
+                nstopped++;
+        }
+    }
+
+}
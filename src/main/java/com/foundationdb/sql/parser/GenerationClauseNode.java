@@ -51,6 +51,7 @@ public class GenerationClauseNode extends ValueNode
     private String expressionText;
 
     public void init(Object generationExpression, Object expressionText) {
+        checkNotFrozen();
         this.generationExpression = (ValueNode)generationExpression;
         this.expressionText = (String)expressionText;
     }
@@ -67,6 +68,14 @@ public class GenerationClauseNode extends ValueNode
         this.expressionText = other.expressionText;
     }
 
+    /**
+     * Freeze the generating expression along with this node.
+     */
+    void freezeUnvisited(FrozenNodes.Freezer freezer) throws StandardException {
+        super.freezeUnvisited(freezer);
+        freezer.freeze(generationExpression);
+    }
+
     /** Get the defining text of this generation clause */
     public String getExpressionText() { 
         return expressionText; 
@@ -105,4 +114,8 @@ public class GenerationClauseNode extends ValueNode
         generationExpression.treePrint(depth + 1);
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitGenerationClauseNode(this);
+    }
+
 }
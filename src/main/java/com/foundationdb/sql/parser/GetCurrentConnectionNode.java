@@ -39,6 +39,8 @@
 
 package com.foundationdb.sql.parser;
 
+import com.foundationdb.sql.StandardException;
+
 /**
  * This node represents a unary getCurrentConnection operator
  */
@@ -57,4 +59,8 @@ public final class GetCurrentConnectionNode extends JavaValueNode
         setJavaTypeName("java.sql.Connection");
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitGetCurrentConnectionNode(this);
+    }
+
 }
@@ -59,6 +59,7 @@ public class GrantNode extends DDLStatementNode
      * @param grantees List
      */
     public void init(Object privileges, Object grantees) {
+        checkNotFrozen();
         this.privileges = (PrivilegeNode)privileges;
         this.grantees = (List<String>)grantees;
     }
@@ -75,6 +76,14 @@ public class GrantNode extends DDLStatementNode
         this.grantees = other.grantees; // TODO: Clone?
     }
 
+    /**
+     * Freeze the privileges along with this node.
+     */
+    void freezeUnvisited(FrozenNodes.Freezer freezer) throws StandardException {
+        super.freezeUnvisited(freezer);
+        freezer.freeze(privileges);
+    }
+
     /**
      * Convert this object to a String.  See comments in QueryTreeNode.java
      * for how this should be done for tree printing.
@@ -98,4 +107,8 @@ public class GrantNode extends DDLStatementNode
         return "GRANT";
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitGrantNode(this);
+    }
+
 }
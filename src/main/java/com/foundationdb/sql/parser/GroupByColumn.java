@@ -55,6 +55,7 @@ public class GroupByColumn extends OrderedColumn
      * @param colRef The ColumnReference for the grouping column
      */
     public void init(Object colRef) {
+        checkNotFrozen();
         this.columnExpression = (ValueNode)colRef;
     }
 
@@ -99,6 +100,7 @@ public class GroupByColumn extends OrderedColumn
     }
 
     public void setColumnExpression(ValueNode cexpr) {
+        checkNotFrozen();
         this.columnExpression = cexpr;
 
     }
@@ -119,4 +121,8 @@ public class GroupByColumn extends OrderedColumn
         }
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitGroupByColumn(this);
+    }
+
 }
@@ -39,6 +39,8 @@
 
 package com.foundationdb.sql.parser;
 
+import com.foundationdb.sql.StandardException;
+
 /**
  * A GroupByList represents the list of expressions in a GROUP BY clause in
  * a SELECT statement.
@@ -68,6 +70,7 @@ public class GroupByList extends OrderedColumnList<GroupByColumn>
     }
 
     public void setRollup() {
+        checkNotFrozen();
         rollup = true;
     }
     public boolean isRollup() {
@@ -84,4 +87,8 @@ public class GroupByList extends OrderedColumnList<GroupByColumn>
         return super.toString();
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitGroupByList(this);
+    }
+
 }
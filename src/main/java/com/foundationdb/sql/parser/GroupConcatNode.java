@@ -32,6 +32,7 @@ public class GroupConcatNode extends AggregateNode
                      Object sep)
             throws StandardException
     {
+        checkNotFrozen();
         super.init(value,
                   aggClass,
                   distinct,
@@ -51,6 +52,15 @@ public class GroupConcatNode extends AggregateNode
         this.orderCols = (OrderByList) getNodeFactory().copyNode(other.orderCols,
                                                    getParserContext());
     }
+
+    /**
+     * Freeze the ordering list along with this node; visitors reach
+     * only its columns.
+     */
+    void freezeUnvisited(FrozenNodes.Freezer freezer) throws StandardException {
+        super.freezeUnvisited(freezer);
+        freezer.freeze(orderCols);
+    }
     
     @Override
     void acceptChildren(Visitor v) throws StandardException
@@ -94,4 +104,9 @@ public class GroupConcatNode extends AggregateNode
     {
         return orderCols;
     }
+
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitGroupConcatNode(this);
+    }
+
 }
@@ -73,6 +73,7 @@ public class HalfOuterJoinNode extends JoinNode
                      Object rightOuterJoin,
                      Object tableProperties)
             throws StandardException {
+        checkNotFrozen();
         super.init(leftResult,
                    rightResult,
                    onClause,
@@ -109,4 +110,8 @@ public class HalfOuterJoinNode extends JoinNode
             super.toString();
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitHalfOuterJoinNode(this);
+    }
+
 }
@@ -0,0 +1,189 @@
+/**
+ * Copyright 2014 FoundationDB, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.foundationdb.sql.parser;
+
+import com.foundationdb.sql.parser.SQLParserContext.IdentifierCase;
+
+import java.util.Locale;
+
+/**
+ * A table of the identifiers a parser has seen, so that each name is
+ * a single, already case-standardized <code>String</code> no matter
+ * how many times or in what case it appears.
+ *
+ * Lookup is by a range of characters, folded as it is compared, so a
+ * name already in the table costs no allocation. The table is open
+ * addressed and starts over once it holds {@link #MAX_ENTRIES} names.
+ *
+ * Not thread-safe; there is one per {@link SQLParser}.
+ */
+final class IdentifierTable
+{
+    static final int INITIAL_CAPACITY = 256;
+    static final int MAX_ENTRIES = 8192;
+
+    private String[] names;
+    private int[] hashes;
+    private int size;
+
+    public IdentifierTable() {
+        names = new String[INITIAL_CAPACITY];
+        hashes = new int[INITIAL_CAPACITY];
+    }
+
+    /** Get the number of names in the table. */
+    public int size() {
+        return size;
+    }
+
+    /** Forget all names. */
+    public void clear() {
+        if (size > 0) {
+            names = new String[INITIAL_CAPACITY];
+            hashes = new int[INITIAL_CAPACITY];
+            size = 0;
+        }
+    }
+
+    /** Get the canonical instance of the given name, as is. */
+    public String intern(String name) {
+        return intern(name, 0, name.length(), IdentifierCase.PRESERVE);
+    }
+
+    /**
+     * Get the canonical instance of the name made by standardizing
+     * the case of the characters of <code>text</code> from
+     * <code>begin</code> (inclusive) to <code>end</code> (exclusive).
+     */
+    public String intern(CharSequence text, int begin, int end, 
+                         IdentifierCase identifierCase) {
+        int hash = 0;
+        for (int i = begin; i < end; i++) {
+            char c = text.charAt(i);
+            if (c >= 0x80) {
+                if (identifierCase != IdentifierCase.PRESERVE) {
+                    // Case rules beyond ASCII can change the length.
+                    String folded = fold(text.subSequence(begin, end).toString(), 
+                                         identifierCase);
+                    return intern(folded, 0, folded.length(), IdentifierCase.PRESERVE);
+                }
+            }
+            else {
+                c = fold(c, identifierCase);
+            }
+            hash = hash * 31 + c;
+        }
+        int mask = names.length - 1;
+        int index = (hash ^ (hash >>> 16)) & mask;
+        while (true) {
+            String name = names[index];
+            if (name == null)
+                break;
+            if ((hashes[index] == hash) && 
+                matches(name, text, begin, end, identifierCase))
+                return name;
+            index = (index + 1) & mask;
+        }
+        String name;
+        if ((identifierCase == IdentifierCase.PRESERVE) && 
+            (text instanceof String) && (begin == 0) && (end == text.length())) {
+            name = (String)text;
+        }
+        else {
+            char[] chars = new char[end - begin];
+            for (int i = begin; i < end; i++) {
+                chars[i - begin] = fold(text.charAt(i), identifierCase);
+            }
+            name = new String(chars);
+        }
+        if ((size + 1) * 2 > names.length) {
+            if (size >= MAX_ENTRIES)
+                clear();
+            else
+                rehash(names.length * 2);
+            index = findEmpty(hash);
+        }
+        names[index] = name;
+        hashes[index] = hash;
+        size++;
+        return name;
+    }
+
+    private static boolean matches(String name, CharSequence text, int begin, int end,
+                                   IdentifierCase identifierCase) {
+        if (name.length() != end - begin)
+            return false;
+        for (int i = begin; i < end; i++) {
+            if (name.charAt(i - begin) != fold(text.charAt(i), identifierCase))
+                return false;
+        }
+        return true;
+    }
+
+    private void rehash(int capacity) {
+        String[] oldNames = names;
+        int[] oldHashes = hashes;
+        names = new String[capacity];
+        hashes = new int[capacity];
+        for (int i = 0; i < oldNames.length; i++) {
+            if (oldNames[i] != null) {
+                int index = findEmpty(oldHashes[i]);
+                names[index] = oldNames[i];
+                hashes[index] = oldHashes[i];
+            }
+        }
+    }
+
+    private int findEmpty(int hash) {
+        int mask = names.length - 1;
+        int index = (hash ^ (hash >>> 16)) & mask;
+        while (names[index] != null) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    /** Standardize the case of an ASCII character. */
+    private static char fold(char c, IdentifierCase identifierCase) {
+        switch (identifierCase) {
+        case UPPER:
+            if ((c >= 'a') && (c <= 'z'))
+                return (char)(c - ('a' - 'A'));
+            break;
+        case LOWER:
+            if ((c >= 'A') && (c <= 'Z'))
+                return (char)(c + ('a' - 'A'));
+            break;
+        }
+        return c;
+    }
+
+    private static String fold(String s, IdentifierCase identifierCase) {
+        switch (identifierCase) {
+        case UPPER:
+            // Always use the ENGLISH locale.
+            return s.toUpperCase(Locale.ENGLISH);
+        case LOWER:
+            return s.toLowerCase(Locale.ENGLISH);
+        case PRESERVE:
+        default:
+            return s;
+        }
+    }
+
+}
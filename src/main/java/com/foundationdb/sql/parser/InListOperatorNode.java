@@ -59,6 +59,7 @@ public final class InListOperatorNode extends ValueNode
     @Override
     public void init(Object leftOperand, Object rightOperandList) throws StandardException
     {
+        checkNotFrozen();
         if (leftOperand instanceof RowConstructorNode)
             this.leftOperand = (RowConstructorNode) leftOperand;
         else
@@ -136,6 +137,7 @@ public final class InListOperatorNode extends ValueNode
      */
     public void setLeftOperand(RowConstructorNode newLeftOperand)
     {
+        checkNotFrozen();
         leftOperand = newLeftOperand;
     }
 
@@ -157,6 +159,7 @@ public final class InListOperatorNode extends ValueNode
      */
     public void setRightOperandList(RowConstructorNode newRightOperandList)
     {
+        checkNotFrozen();
         rightOperandList = newRightOperandList;
     }
 
@@ -227,8 +230,12 @@ public final class InListOperatorNode extends ValueNode
     }
 
     public void setNegated(boolean negated) {
+        checkNotFrozen();
         this.negated = negated;
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitInListOperatorNode(this);
+    }
 
 }
@@ -35,6 +35,7 @@ public class IndexColumn extends QueryTreeNode
      */
     public void init(Object columnName,
                      Object ascending) {
+        checkNotFrozen();
         this.tableName = null;
         this.columnName = (String)columnName;
         this.ascending = ((Boolean)ascending).booleanValue();
@@ -50,6 +51,7 @@ public class IndexColumn extends QueryTreeNode
     public void init(Object tableName,
                      Object columnName,
                      Object ascending) {
+        checkNotFrozen();
         this.tableName = (TableName)tableName;
         this.columnName = (String)columnName;
         this.ascending = ((Boolean)ascending).booleanValue();
@@ -68,6 +70,14 @@ public class IndexColumn extends QueryTreeNode
         this.ascending = other.ascending;
     }
 
+    /**
+     * Freeze the table name along with this node.
+     */
+    void freezeUnvisited(FrozenNodes.Freezer freezer) throws StandardException {
+        super.freezeUnvisited(freezer);
+        freezer.freeze(tableName);
+    }
+
     /**
      * Convert this object to a String.  See comments in QueryTreeNode.java
      * for how this should be done for tree printing.
@@ -100,4 +110,8 @@ public class IndexColumn extends QueryTreeNode
         return ascending;
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitIndexColumn(this);
+    }
+
 }
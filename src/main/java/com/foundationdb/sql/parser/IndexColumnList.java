@@ -48,6 +48,7 @@ public class IndexColumnList extends QueryTreeNodeList<IndexColumn>
                               int firstArgumentPosition,
                               int nArguments) throws StandardException
     {
+        checkNotFrozen();
         if (functionApplication != null) {
             throw new StandardException("Cannot use multiple functions in one index definition");
         }
@@ -94,4 +95,9 @@ public class IndexColumnList extends QueryTreeNodeList<IndexColumn>
                             functionApplication.functionName, functionApplication.firstArgumentPosition, functionApplication.lastArgumentPosition)
             : super.toString();
     }
+
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitIndexColumnList(this);
+    }
+
 }
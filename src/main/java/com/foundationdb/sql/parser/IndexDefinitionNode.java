@@ -41,6 +41,7 @@ public class IndexDefinitionNode extends TableElementNode implements IndexDefini
                      Object joinType,
                      Object storageFormat)
         throws StandardException {
+        checkNotFrozen();
         super.init(indexName);
         this.unique = ((Boolean)unique).booleanValue();
         this.columnList = (IndexColumnList)columnList;
@@ -62,6 +63,15 @@ public class IndexDefinitionNode extends TableElementNode implements IndexDefini
                                                                           getParserContext());
     }
 
+    /**
+     * Freeze the columns and storage format along with this node.
+     */
+    void freezeUnvisited(FrozenNodes.Freezer freezer) throws StandardException {
+        super.freezeUnvisited(freezer);
+        freezer.freeze(columnList);
+        freezer.freeze(storageFormat);
+    }
+
     /**
      * Convert this object to a String.  See comments in QueryTreeNode.java
      * for how this should be done for tree printing.
@@ -88,6 +98,7 @@ public class IndexDefinitionNode extends TableElementNode implements IndexDefini
     }
 
     public void setUnique(boolean unique) {
+        checkNotFrozen();
         this.unique = unique;
     }
 
@@ -110,4 +121,9 @@ public class IndexDefinitionNode extends TableElementNode implements IndexDefini
     public StorageFormatNode getStorageFormat() {
         return storageFormat;
     }
+
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitIndexDefinitionNode(this);
+    }
+
 }
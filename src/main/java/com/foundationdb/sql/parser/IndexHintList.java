@@ -16,9 +16,16 @@
 
 package com.foundationdb.sql.parser;
 
+import com.foundationdb.sql.StandardException;
+
 /**
  * MySQL's index hints.
  */
 public class IndexHintList extends QueryTreeNodeList<IndexHintNode>
 {
+
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitIndexHintList(this);
+    }
+
 }
@@ -41,6 +41,7 @@ public class IndexHintNode extends QueryTreeNode
                      Object hintScope,
                      Object indexes)
     {
+        checkNotFrozen();
         this.hintType = (HintType)hintType;
         this.hintScope = (HintScope)hintScope;
         this.indexes = (List<String>)indexes;
@@ -81,4 +82,8 @@ public class IndexHintNode extends QueryTreeNode
             super.toString();
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitIndexHintNode(this);
+    }
+
 }
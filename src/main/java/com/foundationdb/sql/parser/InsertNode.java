@@ -97,6 +97,7 @@ public final class InsertNode extends DMLModStatementNode
                      Object offset,
                      Object fetchFirst,
                      Object returningList) {
+        checkNotFrozen();
         /* statementType gets set in super() before we've validated
          * any properties, so we've kludged the code to get the
          * right statementType for a bulk insert replace.
@@ -133,6 +134,16 @@ public final class InsertNode extends DMLModStatementNode
             getNodeFactory().copyNode(other.fetchFirst, getParserContext());
     }
 
+    /**
+     * Freeze the ordering and row limits along with this node.
+     */
+    void freezeUnvisited(FrozenNodes.Freezer freezer) throws StandardException {
+        super.freezeUnvisited(freezer);
+        freezer.freeze(orderByList);
+        freezer.freeze(offset);
+        freezer.freeze(fetchFirst);
+    }
+
     public String statementToString() {
         return "INSERT";
     }
@@ -225,4 +236,8 @@ public final class InsertNode extends DMLModStatementNode
         }
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitInsertNode(this);
+    }
+
 }
@@ -76,6 +76,7 @@ public class IntersectOrExceptNode extends SetOperatorNode
                      Object all,
                      Object tableProperties) 
             throws StandardException {
+        checkNotFrozen();
         super.init(leftResult, rightResult, all, tableProperties);
         this.opType = (OpType)opType;
     }
@@ -98,4 +99,8 @@ public class IntersectOrExceptNode extends SetOperatorNode
         return opType.operatorName;
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitIntersectOrExceptNode(this);
+    }
+
 }
@@ -55,6 +55,7 @@ public class IsNode extends BinaryLogicalOperatorNode
 
     public void init(Object leftOperand,
                      Object rightOperand) {
+        checkNotFrozen();
         super.init(leftOperand, rightOperand, "is");
     }
 
@@ -73,7 +74,12 @@ public class IsNode extends BinaryLogicalOperatorNode
     }
 
     public void toggleNegated() {
+        checkNotFrozen();
         notMe = !notMe;
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitIsNode(this);
+    }
+
 }
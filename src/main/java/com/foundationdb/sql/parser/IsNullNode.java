@@ -39,6 +39,8 @@
 
 package com.foundationdb.sql.parser;
 
+import com.foundationdb.sql.StandardException;
+
 /**
  * This node represents either a unary 
  * IS NULL or IS NOT NULL comparison operator
@@ -50,6 +52,7 @@ public final class IsNullNode extends UnaryComparisonOperatorNode
 
     public void setNodeType(int nodeType)
     {
+        checkNotFrozen();
         String operator;
         String methodName;
 
@@ -71,4 +74,8 @@ public final class IsNullNode extends UnaryComparisonOperatorNode
         super.setNodeType(nodeType);
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitIsNullNode(this);
+    }
+
 }
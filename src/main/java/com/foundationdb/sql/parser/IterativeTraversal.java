@@ -0,0 +1,297 @@
+/**
+ * Copyright 2014 FoundationDB, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foundationdb.sql.parser;
+
+import com.foundationdb.sql.StandardException;
+
+import java.util.Arrays;
+
+/**
+ * Walks a tree for a {@link Visitor} without the depth of the tree
+ * being limited by the depth of the thread's stack.
+ *
+ * The walk recurses through <code>acceptChildren</code>, just like
+ * {@link QueryTreeNode#accept}, down to {@link #MAX_RECURSION} levels,
+ * which is as deep as ordinary statements go. Below that, each subtree
+ * is walked with an explicit stack, taking each node's children by
+ * calling its <code>acceptChildren</code> with this object only to
+ * collect them.
+ *
+ * The visitor is called just as by {@link QueryTreeNode#accept}, except
+ * that in a subtree walked with the explicit stack a replacement
+ * returned for a child is put into its parent after all of its
+ * siblings have been visited, rather than right away, and that no more
+ * calls are made there once {@link Visitor#stopTraversal} is true.
+ *
+ * @see QueryTreeNode#acceptIteratively
+ */
+final class IterativeTraversal implements Visitor
+{
+    /** How many levels to recurse before switching to an explicit stack. */
+    static final int MAX_RECURSION = 256;
+
+    private final Visitor v;
+    private final int maxRecursion;
+    // The types a SelectiveVisitor wants, if it is one.
+    private final NodeTypeSet nodeTypes;
+    private int recursion;
+
+    // What child() does with the children of a node.
+    private static final int RECURSE = 0;
+    private static final int COLLECT = 1;
+    private static final int REPLACE = 2;
+    private int mode = RECURSE;
+
+    // The stack of frames for the explicit walk, one per node above the
+    // current one whose children are being walked. Made when first needed.
+    private int depth;
+    private QueryTreeNode[] nodes;
+    // The result of visiting the node, or the node itself if its
+    // children are visited first and it has not been visited yet.
+    private Visitable[] visited;
+    private boolean[] childrenFirst;
+    // Start of the node's children in the children stack and the
+    // next of them to walk.
+    private int[] firstChildren;
+    private int[] nextChildren;
+    private boolean[] replaced;
+
+    // The children of each frame's node, with the result of visiting
+    // each, filled in once one of them has been replaced.
+    private int nchildren;
+    private QueryTreeNode[] children;
+    private Visitable[] results;
+    // Position of the next child to be replaced.
+    private int replacing;
+
+    IterativeTraversal(Visitor v) {
+        this(v, MAX_RECURSION);
+    }
+
+    IterativeTraversal(Visitor v, int maxRecursion) {
+        this.v = v;
+        this.maxRecursion = maxRecursion;
+        this.nodeTypes = (v instanceof SelectiveVisitor) ?
+            ((SelectiveVisitor)v).getNodeTypes() : null;
+    }
+
+    Visitable traverse(QueryTreeNode root) throws StandardException {
+        return child(root);
+    }
+
+    /** Visit, collect or replace a child, as called by
+     * {@link QueryTreeNode#accept} from <code>acceptChildren</code>. */
+    Visitable child(QueryTreeNode node) throws StandardException {
+        switch (mode) {
+        case COLLECT:
+            if (nchildren == children.length) {
+                children = Arrays.copyOf(children, nchildren * 2);
+                results = Arrays.copyOf(results, nchildren * 2);
+            }
+            children[nchildren++] = node;
+            return node;
+        case REPLACE:
+            return results[replacing++];
+        default:
+            if (recursion < maxRecursion)
+                return recurse(node);
+            else
+                return walk(node);
+        }
+    }
+
+    /** Visit <code>node</code> and its children the way 
+     * {@link QueryTreeNode#accept} does. */
+    private Visitable recurse(QueryTreeNode node) throws StandardException {
+        if ((nodeTypes != null) && !node.mayContain(nodeTypes))
+            return node;
+        boolean first = v.visitChildrenFirst(node);
+        boolean skip = v.skipChildren(node);
+        if (first && !skip && !v.stopTraversal())
+            recurseChildren(node);
+        Visitable ret = visitNode(node);
+        if (!first && !skip && !v.stopTraversal())
+            recurseChildren(node);
+        return ret;
+    }
+
+    private void recurseChildren(QueryTreeNode node) throws StandardException {
+        recursion++;
+        try {
+            node.acceptChildren(this);
+        }
+        finally {
+            recursion--;
+        }
+    }
+
+    /** Visit <code>root</code> and everything below it with an explicit stack. */
+    private Visitable walk(QueryTreeNode root) throws StandardException {
+        if (nodes == null) {
+            nodes = new QueryTreeNode[16];
+            visited = new Visitable[16];
+            childrenFirst = new boolean[16];
+            firstChildren = new int[16];
+            nextChildren = new int[16];
+            replaced = new boolean[16];
+            children = new QueryTreeNode[64];
+            results = new Visitable[64];
+        }
+        QueryTreeNode node = root;
+        while (true) {
+            // Enter node, as far as its children.
+            Visitable ret;
+            if ((nodeTypes != null) && !node.mayContain(nodeTypes)) {
+                ret = node;
+            }
+            else {
+                boolean first = v.visitChildrenFirst(node);
+                boolean skip = v.skipChildren(node);
+                if (first) {
+                    if (!skip && !v.stopTraversal() && collectChildren(node)) {
+                        node = push(node, node, true);
+                        continue;
+                    }
+                    ret = visitNode(node);
+                }
+                else {
+                    ret = visitNode(node);
+                    if (!skip && !v.stopTraversal() && collectChildren(node)) {
+                        node = push(node, ret, false);
+                        continue;
+                    }
+                }
+            }
+            // Leave it and any parents whose children are all done.
+            while (true) {
+                if (depth == 0)
+                    return ret;
+                int top = depth - 1;
+                int slot = nextChildren[top] - 1;
+                if (ret != children[slot]) {
+                    if (!replaced[top]) {
+                        System.arraycopy(children, firstChildren[top], 
+                                         results, firstChildren[top],
+                                         nchildren - firstChildren[top]);
+                        replaced[top] = true;
+                    }
+                    results[slot] = ret;
+                }
+                if ((slot + 1 < nchildren) && !v.stopTraversal()) {
+                    nextChildren[top] = slot + 2;
+                    node = children[slot + 1];
+                    break;
+                }
+                QueryTreeNode parent = nodes[top];
+                if (replaced[top])
+                    replaceChildren(parent, firstChildren[top]);
+                nchildren = firstChildren[top];
+                ret = (childrenFirst[top]) ? visitNode(parent) : visited[top];
+                nodes[top] = null;
+                visited[top] = null;
+                depth = top;
+            }
+        }
+    }
+
+    private Visitable visitNode(QueryTreeNode node) throws StandardException {
+        if (v.stopTraversal())
+            return node;
+        Visitable ret = v.visit(node);
+        if ((ret != node) && node.isFrozen())
+            throw new IllegalStateException("Frozen node cannot be replaced");
+        if (ret != node)
+            QueryTreeNode.nodeReplaced(node, ret);
+        return ret;
+    }
+
+    /** Push a frame for <code>node</code>, whose children have just
+     * been collected.
+     * @return the first child
+     */
+    private QueryTreeNode push(QueryTreeNode node, Visitable ret, boolean first) {
+        if (depth == nodes.length) {
+            int capacity = depth * 2;
+            nodes = Arrays.copyOf(nodes, capacity);
+            visited = Arrays.copyOf(visited, capacity);
+            childrenFirst = Arrays.copyOf(childrenFirst, capacity);
+            nextChildren = Arrays.copyOf(nextChildren, capacity);
+            replaced = Arrays.copyOf(replaced, capacity);
+        }
+        int top = depth++;
+        nodes[top] = node;
+        visited[top] = ret;
+        childrenFirst[top] = first;
+        replaced[top] = false;
+        int firstChild = firstChildren[top];
+        nextChildren[top] = firstChild + 1;
+        return children[firstChild];
+    }
+
+    /** Collect the children of <code>node</code> above those already
+     * on the children stack, ready for {@link #push}.
+     * @return whether it has any.
+     */
+    private boolean collectChildren(QueryTreeNode node) throws StandardException {
+        int first = nchildren;
+        mode = COLLECT;
+        try {
+            node.acceptChildren(this);
+        }
+        finally {
+            mode = RECURSE;
+        }
+        if (nchildren == first)
+            return false;
+        if (depth == firstChildren.length)
+            firstChildren = Arrays.copyOf(firstChildren, depth * 2);
+        firstChildren[depth] = first;
+        return true;
+    }
+
+    /** Put the results of visiting the children of <code>node</code>,
+     * starting at <code>first</code>, in place of the children. */
+    private void replaceChildren(QueryTreeNode node, int first) 
+            throws StandardException {
+        replacing = first;
+        mode = REPLACE;
+        try {
+            node.acceptChildren(this);
+        }
+        finally {
+            mode = RECURSE;
+        }
+    }
+
+    /* Only called if a node's children are visited some other way. */
+
+    public Visitable visit(Visitable node) throws StandardException {
+        return child((QueryTreeNode)node);
+    }
+
+    public boolean visitChildrenFirst(Visitable node) {
+        return false;
+    }
+
+    public boolean stopTraversal() {
+        return false;
+    }
+
+    public boolean skipChildren(Visitable node) {
+        return true;
+    }
+}
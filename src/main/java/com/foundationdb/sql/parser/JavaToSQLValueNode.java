@@ -55,6 +55,7 @@ public class JavaToSQLValueNode extends ValueNode
      * @param value The Java value to convert to the SQL domain
      */
     public void init(Object value) {
+        checkNotFrozen();
         this.javaNode = (JavaValueNode)value;
     }
 
@@ -116,4 +117,8 @@ public class JavaToSQLValueNode extends ValueNode
         return false;
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitJavaToSQLValueNode(this);
+    }
+
 }
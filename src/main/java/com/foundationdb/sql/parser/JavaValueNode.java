@@ -113,6 +113,7 @@ public abstract class JavaValueNode extends QueryTreeNode
     }
 
     public void setJavaTypeName(String javaTypeName) {
+        checkNotFrozen();
         jsqlType = new JSQLType(javaTypeName);
     }
 
@@ -142,6 +143,7 @@ public abstract class JavaValueNode extends QueryTreeNode
      *                                       false otherwise
      */
     public void castToPrimitive(boolean booleanValue) {
+        checkNotFrozen();
         mustCastToPrimitive = booleanValue;
     }
 
@@ -190,6 +192,7 @@ public abstract class JavaValueNode extends QueryTreeNode
      * (void methods are only okay for CALL Statements)
      */
     public void markForCallStatement() {
+        checkNotFrozen();
         forCallStatement = true;
     }
 
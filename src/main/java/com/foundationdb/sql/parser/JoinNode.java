@@ -89,6 +89,7 @@ public class JoinNode extends TableOperatorNode
                      Object tableProperties,
                      Object joinOrderStrategyProperties)
             throws StandardException {
+        checkNotFrozen();
         super.init(leftResult, rightResult, tableProperties);
         resultColumns = (ResultColumnList)selectList;
         joinClause = (ValueNode)onClause;
@@ -148,6 +149,7 @@ public class JoinNode extends TableOperatorNode
         return joinClause;
     }
     public void setJoinClause(ValueNode joinClause) {
+        checkNotFrozen();
         this.joinClause = joinClause;
     }
 
@@ -155,6 +157,7 @@ public class JoinNode extends TableOperatorNode
         return usingClause;
     }
     public void setUsingClause(ResultColumnList usingClause) {
+        checkNotFrozen();
         this.usingClause = usingClause;
     }
 
@@ -251,4 +254,8 @@ public class JoinNode extends TableOperatorNode
         }
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitJoinNode(this);
+    }
+
 }
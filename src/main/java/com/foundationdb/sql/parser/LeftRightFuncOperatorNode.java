@@ -16,6 +16,8 @@
 
 package com.foundationdb.sql.parser;
 
+import com.foundationdb.sql.StandardException;
+
 import com.foundationdb.sql.types.ValueClassName;
 
 public class LeftRightFuncOperatorNode extends BinaryOperatorNode
@@ -23,6 +25,7 @@ public class LeftRightFuncOperatorNode extends BinaryOperatorNode
     @Override
     public void init (Object leftOperand, Object rightOperand)
     {
+        checkNotFrozen();
         super.init(leftOperand, rightOperand,
                 ValueClassName.StringDataValue, ValueClassName.NumberDataValue);
     }
@@ -30,6 +33,7 @@ public class LeftRightFuncOperatorNode extends BinaryOperatorNode
     @Override
     public void setNodeType(int nodeType) 
     {
+        checkNotFrozen();
         String op = null;
         String method = null;
         
@@ -50,4 +54,9 @@ public class LeftRightFuncOperatorNode extends BinaryOperatorNode
         setMethodName(method);
         super.setNodeType(nodeType);
     }
+
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitLeftRightFuncOperatorNode(this);
+    }
+
 }
@@ -39,6 +39,8 @@
 
 package com.foundationdb.sql.parser;
 
+import com.foundationdb.sql.StandardException;
+
 import com.foundationdb.sql.types.TypeId;
 
 import java.sql.Types;
@@ -54,6 +56,7 @@ public final class LengthOperatorNode extends UnaryOperatorNode
     private int parameterWidth;
 
     public void setNodeType(int nodeType) {
+        checkNotFrozen();
         String operator = null;
         String methodName = null;
 
@@ -71,4 +74,8 @@ public final class LengthOperatorNode extends UnaryOperatorNode
         super.setNodeType(nodeType);
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitLengthOperatorNode(this);
+    }
+
 }
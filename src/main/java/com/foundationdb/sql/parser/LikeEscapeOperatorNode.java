@@ -39,6 +39,8 @@
 
 package com.foundationdb.sql.parser;
 
+import com.foundationdb.sql.StandardException;
+
 /**
         This node represents a like comparison operator (no escape)
 
@@ -109,9 +111,14 @@ public final class LikeEscapeOperatorNode extends TernaryOperatorNode
                      Object leftOperand,
                      Object rightOperand)
     {
+        checkNotFrozen();
         /* By convention, the method name for the like operator is "like" */
         super.init(receiver, leftOperand, rightOperand, 
                    TernaryOperatorNode.OperatorType.LIKE, null); 
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitLikeEscapeOperatorNode(this);
+    }
+
 }
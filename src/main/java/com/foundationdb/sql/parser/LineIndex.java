@@ -0,0 +1,121 @@
+/**
+ * Copyright 2014 FoundationDB, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.foundationdb.sql.parser;
+
+import java.util.Arrays;
+
+/**
+ * A map between linear offsets into some SQL text and line and column
+ * numbers, for reporting positions such as {@link QueryTreeNode#getBeginOffset}.
+ *
+ * Lines end the same way as for the parser: with a newline, a carriage
+ * return and newline, or a carriage return on its own. Lines and columns
+ * are 1-based and a column counts characters, including a tab as one.
+ * The table of line starts is only built when first needed, after which
+ * each lookup is a binary search.
+ * @see SQLParser#getLineIndex
+ * @see SQLParserException#getLineIndex
+ */
+public final class LineIndex
+{
+    private final CharSequence text;
+    private volatile int[] lineStarts;
+
+    public LineIndex(CharSequence text) {
+        this.text = text;
+    }
+
+    /** Get the text being indexed. */
+    public CharSequence getText() {
+        return text;
+    }
+
+    /** Get the number of lines in the text. */
+    public int getLineCount() {
+        return lineStarts().length;
+    }
+
+    /** Get the offset of the first character of the given line. */
+    public int getLineStart(int line) {
+        int[] starts = lineStarts();
+        if ((line < 1) || (line > starts.length))
+            throw new IndexOutOfBoundsException("No line " + line);
+        return starts[line - 1];
+    }
+
+    /** Get the line containing the character at the given offset.
+     * The length of the text is allowed, as for the end of input.
+     */
+    public int getLine(int offset) {
+        int[] starts = lineStarts();
+        checkOffset(offset);
+        int index = Arrays.binarySearch(starts, offset);
+        if (index < 0)
+            index = -index - 2; // The line starting before it.
+        return index + 1;
+    }
+
+    /** Get the column of the character at the given offset. */
+    public int getColumn(int offset) {
+        return offset - getLineStart(getLine(offset)) + 1;
+    }
+
+    /** Get the offset of the given line and column. */
+    public int getOffset(int line, int column) {
+        if (column < 1)
+            throw new IndexOutOfBoundsException("No column " + column);
+        int offset = getLineStart(line) + column - 1;
+        checkOffset(offset);
+        return offset;
+    }
+
+    private void checkOffset(int offset) {
+        if ((offset < 0) || (offset > text.length()))
+            throw new IndexOutOfBoundsException("Offset " + offset + 
+                                                " outside text of length " + text.length());
+    }
+
+    private int[] lineStarts() {
+        int[] starts = lineStarts;
+        if (starts == null) {
+            starts = buildLineStarts(text);
+            lineStarts = starts;
+        }
+        return starts;
+    }
+
+    static int[] buildLineStarts(CharSequence text) {
+        int[] starts = new int[16];
+        int nlines = 1;         // starts[0] = 0
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char ch = text.charAt(i);
+            if (ch > '\r')
+                continue;
+            if ((ch == '\r') && (i + 1 < length) && (text.charAt(i + 1) == '\n'))
+                i++;
+            else if ((ch != '\n') && (ch != '\r'))
+                continue;
+            if (nlines == starts.length)
+                starts = Arrays.copyOf(starts, nlines * 2);
+            starts[nlines++] = i + 1;
+        }
+        return Arrays.copyOf(starts, nlines);
+    }
+
+}
@@ -59,6 +59,7 @@ public class LockTableNode extends MiscellaneousStatementNode
      * @param exclusiveMode boolean, whether or not to get an exclusive lock.
      */
     public void init(Object tableName, Object exclusiveMode) {
+        checkNotFrozen();
         this.tableName = (TableName)tableName;
         this.exclusiveMode = ((Boolean)exclusiveMode).booleanValue();
     }
@@ -75,6 +76,14 @@ public class LockTableNode extends MiscellaneousStatementNode
         this.exclusiveMode = other.exclusiveMode;
     }
 
+    /**
+     * Freeze the table name along with this node.
+     */
+    void freezeUnvisited(FrozenNodes.Freezer freezer) throws StandardException {
+        super.freezeUnvisited(freezer);
+        freezer.freeze(tableName);
+    }
+
     /**
      * Convert this object to a String.  See comments in QueryTreeNode.java
      * for how this should be done for tree printing.
@@ -92,4 +101,8 @@ public class LockTableNode extends MiscellaneousStatementNode
         return "LOCK TABLE";
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitLockTableNode(this);
+    }
+
 }
@@ -0,0 +1,147 @@
+/**
+ * Copyright 2014 FoundationDB, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foundationdb.sql.parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * {@link CharStream} that decodes a memory-mapped file.
+ *
+ * The file is mapped a window at a time and decoded straight into the
+ * stream's character buffer, so neither the file's bytes nor its
+ * characters are ever all on the heap.
+ * <pre>
+ * MappedFileCharStream stream = new MappedFileCharStream(new File("dump.sql"));
+ * SQLStatementReader statements = parser.parseStatements(stream);
+ * </pre>
+ */
+public class MappedFileCharStream extends BufferedCharStream
+{
+    public static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+    // Must hold any partial character left at the end of a window.
+    private static final int MIN_WINDOW_SIZE = 16;
+
+    private final String path;
+    private final RandomAccessFile file;
+    private final FileChannel channel;
+    private final long fileSize;
+    private final int windowSize;
+    private final CharsetDecoder decoder;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private boolean flushed;
+    // A decoding error found after some characters were decoded.
+    private IOException pendingError;
+
+    /** Open a UTF-8 file. */
+    public MappedFileCharStream(File file) throws IOException {
+        this(file, Charset.forName("UTF-8"), DEFAULT_WINDOW_SIZE, DEFAULT_BUFFER_SIZE);
+    }
+
+    public MappedFileCharStream(File file, Charset charset, 
+                                int windowSize, int bufferSize) 
+            throws IOException {
+        super(bufferSize);
+        if (windowSize < MIN_WINDOW_SIZE)
+            throw new IllegalArgumentException("Window size too small: " + windowSize);
+        this.path = file.getPath();
+        this.file = new RandomAccessFile(file, "r");
+        this.channel = this.file.getChannel();
+        this.fileSize = channel.size();
+        this.windowSize = windowSize;
+        this.decoder = charset.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPORT)
+            .onUnmappableCharacter(CodingErrorAction.REPORT);
+    }
+
+    @Override
+    protected int read(char[] cbuf, int off, int len) throws IOException {
+        if (pendingError != null)
+            throw pendingError;
+        if (flushed)
+            return -1;
+        CharBuffer out = CharBuffer.wrap(cbuf, off, len);
+        while (out.position() == off) {
+            if ((window == null) || 
+                ((window.remaining() < MIN_WINDOW_SIZE) && (windowEnd() < fileSize))) {
+                // Remap from the first byte not yet decoded, which
+                // may be partway through a character.
+                if (window != null)
+                    windowStart += window.position();
+                long size = Math.min(windowSize, fileSize - windowStart);
+                window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, size);
+            }
+            boolean endOfInput = (windowEnd() == fileSize);
+            CoderResult result = decoder.decode(window, out, endOfInput);
+            if (result.isError()) {
+                if (out.position() == off)
+                    throw decodeError(result);
+                // Return what did decode first.
+                pendingError = decodeError(result);
+                break;
+            }
+            if (endOfInput && result.isUnderflow()) {
+                result = decoder.flush(out);
+                if (result.isError())
+                    throw decodeError(result);
+                if (result.isUnderflow()) {
+                    flushed = true;
+                    break;
+                }
+            }
+        }
+        int nread = out.position() - off;
+        return ((nread == 0) && flushed) ? -1 : nread;
+    }
+
+    /** Get the error for input that cannot be decoded, with where in
+     * the file it is. */
+    private IOException decodeError(CoderResult result) {
+        IOException ex = new IOException((result.isMalformed() ? "Malformed" : "Unmappable") +
+                                         " input of " + result.length() + 
+                                         " bytes at offset " + (windowStart + window.position()) +
+                                         " of " + path);
+        try {
+            result.throwException();
+        }
+        catch (CharacterCodingException cause) {
+            ex.initCause(cause);
+        }
+        return ex;
+    }
+
+    private long windowEnd() {
+        return windowStart + window.limit();
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        file.close();
+    }
+
+}
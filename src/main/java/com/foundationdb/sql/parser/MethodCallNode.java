@@ -73,6 +73,7 @@ public abstract class MethodCallNode extends JavaValueNode
      * @param methodName The name of the method to call
      */
     public void init(Object methodName) {
+        checkNotFrozen();
         this.methodName = (String)methodName;
     }
 
@@ -107,6 +108,7 @@ public abstract class MethodCallNode extends JavaValueNode
     }
 
     public void setJavaClassName(String javaClassName) {
+        checkNotFrozen();
         this.javaClassName = javaClassName;
     }
 
@@ -122,6 +124,7 @@ public abstract class MethodCallNode extends JavaValueNode
      * @exception StandardException Thrown on error
      */
     public void addParms(List<ValueNode> parameterList) throws StandardException {
+        checkNotFrozen();
         methodParms = new JavaValueNode[parameterList.size()];
 
         int plSize = parameterList.size();
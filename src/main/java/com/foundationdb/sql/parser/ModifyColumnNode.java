@@ -55,6 +55,7 @@ public class ModifyColumnNode extends ColumnDefinitionNode
                      Object type,
                      Object autoIncrementInfo,
                      Object existenceCheck) throws StandardException {
+        checkNotFrozen();
         super.init(name, null, null, null);
         this.existenceCheck = (ExistenceCheck)existenceCheck;
     }
@@ -73,4 +74,9 @@ public class ModifyColumnNode extends ColumnDefinitionNode
         return ( (existenceCheck != null) ? "existence: " + existenceCheck + "\n" : "" ) +
             super.toString();
     }
+
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitModifyColumnNode(this);
+    }
+
 }
@@ -39,6 +39,8 @@
 
 package com.foundationdb.sql.parser;
 
+import com.foundationdb.sql.StandardException;
+
 /**
  * A NOPStatement node is for statements that don't do anything.    At the
  * time of this writing, the only statements that use it are
@@ -52,4 +54,8 @@ public class NOPStatementNode extends StatementNode
         return "NO-OP";
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitNOPStatementNode(this);
+    }
+
 }
@@ -66,6 +66,7 @@ public class NewInvocationNode extends MethodCallNode
                    Object params,
                    Object delimitedIdentifier) 
       throws StandardException {
+    checkNotFrozen();
     super.init("<init>");
     addParms((List<ValueNode>)params);
 
@@ -110,6 +111,7 @@ public class NewInvocationNode extends MethodCallNode
                    Object params,
                    Object delimitedIdentifier)
       throws StandardException {
+    checkNotFrozen();
     super.init("<init>");
     addParms((List<ValueNode>)params);
 
@@ -125,6 +127,7 @@ public class NewInvocationNode extends MethodCallNode
                    Object nothing1,
                    Object nothing2) throws StandardException
   {
+       checkNotFrozen();
        super.init((String)methodName);
         addParms((List<ValueNode>)params);
 
@@ -151,4 +154,8 @@ public class NewInvocationNode extends MethodCallNode
     return isBuiltinVTI; 
   }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitNewInvocationNode(this);
+    }
+
 }
@@ -44,8 +44,8 @@ package com.foundationdb.sql.parser;
  * that are used in NodeFactoryImpl.
  *
  * This class is not shipped. The names are used in
- * NodeFactoryImpl, mapped from int NodeTypes and used in
- * Class.forName calls.
+ * NodeFactoryImpl, mapped from int NodeTypes, as the reference
+ * for the class that its constructor table makes for each type.
  *
  * WARNING: WHEN ADDING NODE TYPES HERE, YOU MUST ALSO ADD
  * THEM TO tools/jar/DBMSnodes.properties
@@ -0,0 +1,77 @@
+/**
+ * Copyright 2014 FoundationDB, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foundationdb.sql.parser;
+
+import java.util.Arrays;
+
+/**
+ * A set of node types, as from {@link NodeTypes}, that a
+ * {@link SelectiveVisitor} is interested in.
+ */
+public final class NodeTypeSet
+{
+    private final int[] nodeTypes;
+    private final long bits;
+
+    private NodeTypeSet(int[] nodeTypes) {
+        this.nodeTypes = nodeTypes;
+        long bits = 0;
+        for (int nodeType : nodeTypes) {
+            bits |= NodeTypeSummary.bit(nodeType);
+        }
+        this.bits = bits;
+    }
+
+    /** Make a set of the given node types. */
+    public static NodeTypeSet of(int... nodeTypes) {
+        int[] sorted = nodeTypes.clone();
+        Arrays.sort(sorted);
+        return new NodeTypeSet(sorted);
+    }
+
+    /** Is the given node type in this set? */
+    public boolean contains(int nodeType) {
+        return (Arrays.binarySearch(nodeTypes, nodeType) >= 0);
+    }
+
+    /** Get the node types in this set, in order. */
+    public int[] getNodeTypes() {
+        return nodeTypes.clone();
+    }
+
+    /** Get the bits that stand for these types in a subtree summary. */
+    long getBits() {
+        return bits;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return ((obj instanceof NodeTypeSet) &&
+                Arrays.equals(nodeTypes, ((NodeTypeSet)obj).nodeTypes));
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(nodeTypes);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(nodeTypes);
+    }
+
+}
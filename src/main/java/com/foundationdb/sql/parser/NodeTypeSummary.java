@@ -0,0 +1,258 @@
+/**
+ * Copyright 2014 FoundationDB, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foundationdb.sql.parser;
+
+import com.foundationdb.sql.StandardException;
+
+import java.util.Arrays;
+
+/**
+ * Summaries of which node types occur in a subtree, so that a
+ * {@link SelectiveVisitor} need not be taken into subtrees that cannot
+ * contain any of the types it is looking for.
+ *
+ * A summary is a <code>long</code> with one bit for each of the node
+ * types most often looked for, or met on the way, and the remaining
+ * types sharing the last few bits. A summary may therefore claim a type
+ * that is not there, but never misses one that is.
+ *
+ * The summary of a node is worked out when first needed and kept in
+ * the node, along with the modification count of the {@link SQLParser}
+ * that made it. Every replacement by a visitor advances that count, as
+ * does every setter called on a node that has been summarized or
+ * indexed by a {@link TreeIndex}. Changes to other nodes, such as those
+ * of a tree still being parsed, cannot make any summary out of date,
+ * so other trees from the same parser keep theirs. A frozen tree has
+ * its summaries worked out when it is frozen. Nodes belonging to any
+ * other context, or to a different parser from the node above them,
+ * are summarized as containing anything.
+ *
+ * Working out summaries stores into the nodes of a tree that is not
+ * frozen, so it is only safe where changing the tree would be.
+ */
+final class NodeTypeSummary
+{
+    private NodeTypeSummary() {
+    }
+
+    /** A summary that matches every type. */
+    static final long ALL = -1L;
+
+    /** The stamp of a node that has never been summarized or indexed,
+     * whose changes therefore need not be counted. */
+    static final int UNWATCHED = 0;
+    /** The stamp of a node whose changes are counted, but which has no
+     * summary. Never a modification count. */
+    static final int WATCHED = -1;
+
+    private static final int[] DEDICATED = {
+        // Those most often looked for.
+        NodeTypes.PARAMETER_NODE,
+        NodeTypes.SUBQUERY_NODE,
+        NodeTypes.NEXT_SEQUENCE_NODE,
+        NodeTypes.CURRENT_SEQUENCE_NODE,
+        NodeTypes.AGGREGATE_NODE,
+        NodeTypes.GROUP_CONCAT_NODE,
+        NodeTypes.AGGREGATE_WINDOW_FUNCTION_NODE,
+        NodeTypes.ROW_NUMBER_FUNCTION_NODE,
+        NodeTypes.WINDOW_DEFINITION_NODE,
+        NodeTypes.COLUMN_REFERENCE,
+        NodeTypes.FROM_BASE_TABLE,
+        NodeTypes.FROM_SUBQUERY,
+        NodeTypes.JOIN_NODE,
+        NodeTypes.HALF_OUTER_JOIN_NODE,
+        NodeTypes.SELECT_NODE,
+        NodeTypes.UNION_NODE,
+        NodeTypes.STATIC_METHOD_CALL_NODE,
+        NodeTypes.JAVA_TO_SQL_VALUE_NODE,
+        NodeTypes.CURRENT_DATETIME_OPERATOR_NODE,
+        NodeTypes.CAST_NODE,
+        NodeTypes.CONDITIONAL_NODE,
+        NodeTypes.COALESCE_FUNCTION_NODE,
+        NodeTypes.IN_LIST_OPERATOR_NODE,
+        NodeTypes.LIKE_OPERATOR_NODE,
+        NodeTypes.BETWEEN_OPERATOR_NODE,
+        NodeTypes.UNTYPED_NULL_CONSTANT_NODE,
+        NodeTypes.ROW_CTOR_NODE,
+        // Those that make up most of any tree.
+        NodeTypes.AND_NODE,
+        NodeTypes.OR_NODE,
+        NodeTypes.NOT_NODE,
+        NodeTypes.RESULT_COLUMN,
+        NodeTypes.RESULT_COLUMN_LIST,
+        NodeTypes.VALUE_NODE_LIST,
+        NodeTypes.FROM_LIST,
+        NodeTypes.GROUP_BY_LIST,
+        NodeTypes.GROUP_BY_COLUMN,
+        NodeTypes.ORDER_BY_LIST,
+        NodeTypes.ORDER_BY_COLUMN,
+        NodeTypes.INT_CONSTANT_NODE,
+        NodeTypes.CHAR_CONSTANT_NODE,
+        NodeTypes.DECIMAL_CONSTANT_NODE,
+        NodeTypes.BOOLEAN_CONSTANT_NODE,
+        NodeTypes.BINARY_EQUALS_OPERATOR_NODE,
+        NodeTypes.BINARY_LESS_THAN_OPERATOR_NODE,
+        NodeTypes.BINARY_LESS_EQUALS_OPERATOR_NODE,
+        NodeTypes.BINARY_GREATER_THAN_OPERATOR_NODE,
+        NodeTypes.BINARY_GREATER_EQUALS_OPERATOR_NODE,
+        NodeTypes.BINARY_PLUS_OPERATOR_NODE,
+        NodeTypes.BINARY_MINUS_OPERATOR_NODE,
+        NodeTypes.BINARY_TIMES_OPERATOR_NODE,
+        NodeTypes.CURSOR_NODE,
+        NodeTypes.INSERT_NODE,
+        NodeTypes.UPDATE_NODE,
+        NodeTypes.DELETE_NODE,
+        NodeTypes.ROWS_RESULT_SET_NODE,
+        NodeTypes.ROW_RESULT_SET_NODE,
+    };
+
+    // Everything else shares the last bits.
+    private static final int SHARED_BITS = 64 - DEDICATED.length;
+
+    private static final byte[] BIT_POSITIONS = new byte[NodeTypes.FINAL_VALUE + 1];
+
+    static {
+        for (int i = 0; i < BIT_POSITIONS.length; i++) {
+            BIT_POSITIONS[i] = (byte)(DEDICATED.length + (i % SHARED_BITS));
+        }
+        for (int i = 0; i < DEDICATED.length; i++) {
+            BIT_POSITIONS[DEDICATED[i]] = (byte)i;
+        }
+    }
+
+    /** Get the bit standing for the given node type. */
+    static long bit(int nodeType) {
+        if ((nodeType >= 0) && (nodeType < BIT_POSITIONS.length))
+            return 1L << BIT_POSITIONS[nodeType];
+        else
+            return 1L << (DEDICATED.length + ((nodeType & 0x7FFFFFFF) % SHARED_BITS));
+    }
+
+    /** Get the summary of the types in the subtree under <code>root</code>. */
+    static long get(QueryTreeNode root) throws StandardException {
+        SQLParserContext pc = root.getRawParserContext();
+        if (pc instanceof FrozenNodes.FrozenContext)
+            return frozen(root);
+        if (!(pc instanceof SQLParser))
+            return ALL;
+        SQLParser parser = (SQLParser)pc;
+        if (root.getSubtreeNodeTypesStamp() == parser.getModifications()) {
+            long summary = root.getSubtreeNodeTypes();
+            if (summary != 0)
+                return summary;
+        }
+        return compute(root, parser);
+    }
+
+    /** Work out the summaries of a tree that has just been frozen. */
+    static void computeFrozen(QueryTreeNode root) throws StandardException {
+        if (root.getSubtreeNodeTypes() == 0)
+            compute(root, null);
+    }
+
+    private static long frozen(QueryTreeNode node) {
+        long summary = node.getSubtreeNodeTypes();
+        // Not worked out, because frozen some other way: assume anything.
+        return (summary != 0) ? summary : ALL;
+    }
+
+    /**
+     * Work out and remember the summaries of <code>root</code> and those
+     * of the nodes under it belonging to <code>parser</code>, or, if that
+     * is <code>null</code>, of the frozen nodes under it.
+     * The nodes are collected in preorder and then their bits passed up
+     * from the end, so that the depth of the tree does not matter.
+     */
+    private static long compute(QueryTreeNode root, SQLParser parser) 
+            throws StandardException {
+        QueryTreeNode[] nodes = new QueryTreeNode[16];
+        int[] parents = new int[16];
+        long[] summaries = new long[16];
+        boolean[] computed = new boolean[16];
+        int nnodes = 0;
+        QueryTreeNode[] stack = new QueryTreeNode[16];
+        int[] stackParents = new int[16];
+        int depth = 0;
+        FrozenNodes.ChildCollector collector = new FrozenNodes.ChildCollector();
+        stack[depth] = root;
+        stackParents[depth++] = -1;
+        while (depth > 0) {
+            QueryTreeNode node = stack[--depth];
+            int parent = stackParents[depth];
+            stack[depth] = null;
+            if (nnodes == nodes.length) {
+                int capacity = nnodes * 2;
+                nodes = Arrays.copyOf(nodes, capacity);
+                parents = Arrays.copyOf(parents, capacity);
+                summaries = Arrays.copyOf(summaries, capacity);
+                computed = Arrays.copyOf(computed, capacity);
+            }
+            int index = nnodes++;
+            nodes[index] = node;
+            parents[index] = parent;
+            computed[index] = false;
+            if (index > 0) {
+                long known = known(node, parser);
+                if (known != 0) {
+                    summaries[index] = known;
+                    continue;
+                }
+            }
+            summaries[index] = bit(node.getNodeType());
+            computed[index] = true;
+            collector.children.clear();
+            node.acceptChildren(collector);
+            int nchildren = collector.children.size();
+            if (depth + nchildren > stack.length) {
+                int capacity = Math.max(stack.length * 2, depth + nchildren);
+                stack = Arrays.copyOf(stack, capacity);
+                stackParents = Arrays.copyOf(stackParents, capacity);
+            }
+            // Push in reverse so that they come off in order.
+            for (int i = nchildren - 1; i >= 0; i--) {
+                stack[depth] = collector.children.get(i);
+                stackParents[depth++] = index;
+            }
+        }
+        for (int i = nnodes - 1; i > 0; i--) {
+            summaries[parents[i]] |= summaries[i];
+        }
+        int stamp = (parser == null) ? UNWATCHED : parser.getModifications();
+        for (int i = 0; i < nnodes; i++) {
+            if (computed[i])
+                nodes[i].setSubtreeNodeTypes(summaries[i], stamp);
+        }
+        return summaries[0];
+    }
+
+    /** Get the summary of a node below the root if it is already
+     * known or cannot be worked out, or else 0. */
+    private static long known(QueryTreeNode node, SQLParser parser) {
+        SQLParserContext pc = node.getRawParserContext();
+        if (pc instanceof FrozenNodes.FrozenContext) {
+            if (parser == null)
+                return node.getSubtreeNodeTypes(); // Frozen along with root?
+            return frozen(node);
+        }
+        if ((parser == null) || (pc != parser))
+            return ALL;
+        if (node.getSubtreeNodeTypesStamp() == parser.getModifications())
+            return node.getSubtreeNodeTypes();
+        return 0;
+    }
+
+}
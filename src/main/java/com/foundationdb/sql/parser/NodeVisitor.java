@@ -0,0 +1,206 @@
+/**
+ * Copyright 2014 FoundationDB, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foundationdb.sql.parser;
+
+import com.foundationdb.sql.StandardException;
+
+/**
+ * A visitor with a method for each concrete class of node, called by
+ * {@link QueryTreeNode#dispatch}, in place of a <code>switch</code> on
+ * {@link QueryTreeNode#getNodeType} followed by a cast.
+ *
+ * Unlike {@link Visitor}, this does not walk the tree: it is called for
+ * just the one node, and what to do with that node's children is up to it.
+ * Implementing this interface directly means that a new class of node
+ * will not compile until it is handled; {@link AbstractNodeVisitor}
+ * instead passes any node not handled on to the method for its superclass.
+ *
+ * The methods are kept in step with the node classes: every concrete
+ * subclass of {@link QueryTreeNode} in this package has one. Any other
+ * class of node that does not override {@link QueryTreeNode#dispatch}
+ * comes to {@link #visitDefault}.
+ *
+ * @param <R> the result of visiting a node
+ */
+public interface NodeVisitor<R>
+{
+    /** Called for a class of node without a method of its own. */
+    R visitDefault(QueryTreeNode node) throws StandardException;
+
+    R visitAggregateNode(AggregateNode node) throws StandardException;
+    R visitAggregateWindowFunctionNode(AggregateWindowFunctionNode node) throws StandardException;
+    R visitAllResultColumn(AllResultColumn node) throws StandardException;
+    R visitAlterDropIndexNode(AlterDropIndexNode node) throws StandardException;
+    R visitAlterServerNode(AlterServerNode node) throws StandardException;
+    R visitAlterTableNode(AlterTableNode node) throws StandardException;
+    R visitAlterTableRenameColumnNode(AlterTableRenameColumnNode node) throws StandardException;
+    R visitAlterTableRenameNode(AlterTableRenameNode node) throws StandardException;
+    R visitAndNode(AndNode node) throws StandardException;
+    R visitBaseColumnNode(BaseColumnNode node) throws StandardException;
+    R visitBetweenOperatorNode(BetweenOperatorNode node) throws StandardException;
+    R visitBinaryArithmeticOperatorNode(BinaryArithmeticOperatorNode node) throws StandardException;
+    R visitBinaryBitOperatorNode(BinaryBitOperatorNode node) throws StandardException;
+    R visitBinaryOperatorNode(BinaryOperatorNode node) throws StandardException;
+    R visitBinaryRelationalOperatorNode(BinaryRelationalOperatorNode node) throws StandardException;
+    R visitBitConstantNode(BitConstantNode node) throws StandardException;
+    R visitBooleanConstantNode(BooleanConstantNode node) throws StandardException;
+    R visitCallStatementNode(CallStatementNode node) throws StandardException;
+    R visitCastNode(CastNode node) throws StandardException;
+    R visitCharConstantNode(CharConstantNode node) throws StandardException;
+    R visitCloseStatementNode(CloseStatementNode node) throws StandardException;
+    R visitCoalesceFunctionNode(CoalesceFunctionNode node) throws StandardException;
+    R visitColumnDefinitionNode(ColumnDefinitionNode node) throws StandardException;
+    R visitColumnReference(ColumnReference node) throws StandardException;
+    R visitConcatenationOperatorNode(ConcatenationOperatorNode node) throws StandardException;
+    R visitConditionalNode(ConditionalNode node) throws StandardException;
+    R visitConstraintDefinitionNode(ConstraintDefinitionNode node) throws StandardException;
+    R visitCopyStatementNode(CopyStatementNode node) throws StandardException;
+    R visitCreateAliasNode(CreateAliasNode node) throws StandardException;
+    R visitCreateIndexNode(CreateIndexNode node) throws StandardException;
+    R visitCreateRoleNode(CreateRoleNode node) throws StandardException;
+    R visitCreateSchemaNode(CreateSchemaNode node) throws StandardException;
+    R visitCreateSequenceNode(CreateSequenceNode node) throws StandardException;
+    R visitCreateTableNode(CreateTableNode node) throws StandardException;
+    R visitCreateTriggerNode(CreateTriggerNode node) throws StandardException;
+    R visitCreateViewNode(CreateViewNode node) throws StandardException;
+    R visitCurrentDatetimeOperatorNode(CurrentDatetimeOperatorNode node) throws StandardException;
+    R visitCurrentOfNode(CurrentOfNode node) throws StandardException;
+    R visitCurrentRowLocationNode(CurrentRowLocationNode node) throws StandardException;
+    R visitCurrentSequenceNode(CurrentSequenceNode node) throws StandardException;
+    R visitCursorNode(CursorNode node) throws StandardException;
+    R visitDeallocateStatementNode(DeallocateStatementNode node) throws StandardException;
+    R visitDeclareStatementNode(DeclareStatementNode node) throws StandardException;
+    R visitDefaultNode(DefaultNode node) throws StandardException;
+    R visitDeleteNode(DeleteNode node) throws StandardException;
+    R visitDistinctNode(DistinctNode node) throws StandardException;
+    R visitDropAliasNode(DropAliasNode node) throws StandardException;
+    R visitDropGroupNode(DropGroupNode node) throws StandardException;
+    R visitDropIndexNode(DropIndexNode node) throws StandardException;
+    R visitDropRoleNode(DropRoleNode node) throws StandardException;
+    R visitDropSchemaNode(DropSchemaNode node) throws StandardException;
+    R visitDropSequenceNode(DropSequenceNode node) throws StandardException;
+    R visitDropTableNode(DropTableNode node) throws StandardException;
+    R visitDropTriggerNode(DropTriggerNode node) throws StandardException;
+    R visitDropViewNode(DropViewNode node) throws StandardException;
+    R visitExecuteStatementNode(ExecuteStatementNode node) throws StandardException;
+    R visitExplainStatementNode(ExplainStatementNode node) throws StandardException;
+    R visitExplicitCollateNode(ExplicitCollateNode node) throws StandardException;
+    R visitExtractOperatorNode(ExtractOperatorNode node) throws StandardException;
+    R visitFKConstraintDefinitionNode(FKConstraintDefinitionNode node) throws StandardException;
+    R visitFetchStatementNode(FetchStatementNode node) throws StandardException;
+    R visitFromBaseTable(FromBaseTable node) throws StandardException;
+    R visitFromList(FromList node) throws StandardException;
+    R visitFromSubquery(FromSubquery node) throws StandardException;
+    R visitFromVTI(FromVTI node) throws StandardException;
+    R visitFullOuterJoinNode(FullOuterJoinNode node) throws StandardException;
+    R visitGenerationClauseNode(GenerationClauseNode node) throws StandardException;
+    R visitGetCurrentConnectionNode(GetCurrentConnectionNode node) throws StandardException;
+    R visitGrantNode(GrantNode node) throws StandardException;
+    R visitGrantRoleNode(GrantRoleNode node) throws StandardException;
+    R visitGroupByColumn(GroupByColumn node) throws StandardException;
+    R visitGroupByList(GroupByList node) throws StandardException;
+    R visitGroupConcatNode(GroupConcatNode node) throws StandardException;
+    R visitHalfOuterJoinNode(HalfOuterJoinNode node) throws StandardException;
+    R visitInListOperatorNode(InListOperatorNode node) throws StandardException;
+    R visitIndexColumn(IndexColumn node) throws StandardException;
+    R visitIndexColumnList(IndexColumnList node) throws StandardException;
+    R visitIndexDefinitionNode(IndexDefinitionNode node) throws StandardException;
+    R visitIndexHintList(IndexHintList node) throws StandardException;
+    R visitIndexHintNode(IndexHintNode node) throws StandardException;
+    R visitInsertNode(InsertNode node) throws StandardException;
+    R visitIntersectOrExceptNode(IntersectOrExceptNode node) throws StandardException;
+    R visitIsNode(IsNode node) throws StandardException;
+    R visitIsNullNode(IsNullNode node) throws StandardException;
+    R visitJavaToSQLValueNode(JavaToSQLValueNode node) throws StandardException;
+    R visitJoinNode(JoinNode node) throws StandardException;
+    R visitLeftRightFuncOperatorNode(LeftRightFuncOperatorNode node) throws StandardException;
+    R visitLengthOperatorNode(LengthOperatorNode node) throws StandardException;
+    R visitLikeEscapeOperatorNode(LikeEscapeOperatorNode node) throws StandardException;
+    R visitLockTableNode(LockTableNode node) throws StandardException;
+    R visitModifyColumnNode(ModifyColumnNode node) throws StandardException;
+    R visitNOPStatementNode(NOPStatementNode node) throws StandardException;
+    R visitNewInvocationNode(NewInvocationNode node) throws StandardException;
+    R visitNextSequenceNode(NextSequenceNode node) throws StandardException;
+    R visitNonStaticMethodCallNode(NonStaticMethodCallNode node) throws StandardException;
+    R visitNotNode(NotNode node) throws StandardException;
+    R visitNumericConstantNode(NumericConstantNode node) throws StandardException;
+    R visitOctetLengthOperatorNode(OctetLengthOperatorNode node) throws StandardException;
+    R visitOrNode(OrNode node) throws StandardException;
+    R visitOrderByColumn(OrderByColumn node) throws StandardException;
+    R visitOrderByList(OrderByList node) throws StandardException;
+    R visitParameterNode(ParameterNode node) throws StandardException;
+    R visitPartitionByColumn(PartitionByColumn node) throws StandardException;
+    R visitPartitionByList(PartitionByList node) throws StandardException;
+    R visitPrepareStatementNode(PrepareStatementNode node) throws StandardException;
+    R visitPrivilegeNode(PrivilegeNode node) throws StandardException;
+    R visitRenameNode(RenameNode node) throws StandardException;
+    R visitResultColumn(ResultColumn node) throws StandardException;
+    R visitResultColumnList(ResultColumnList node) throws StandardException;
+    R visitRevokeNode(RevokeNode node) throws StandardException;
+    R visitRevokeRoleNode(RevokeRoleNode node) throws StandardException;
+    R visitRowConstructorNode(RowConstructorNode node) throws StandardException;
+    R visitRowCountNode(RowCountNode node) throws StandardException;
+    R visitRowNumberFunctionNode(RowNumberFunctionNode node) throws StandardException;
+    R visitRowResultSetNode(RowResultSetNode node) throws StandardException;
+    R visitRowsResultSetNode(RowsResultSetNode node) throws StandardException;
+    R visitSQLBooleanConstantNode(SQLBooleanConstantNode node) throws StandardException;
+    R visitSQLToJavaValueNode(SQLToJavaValueNode node) throws StandardException;
+    R visitSavepointNode(SavepointNode node) throws StandardException;
+    R visitSelectNode(SelectNode node) throws StandardException;
+    R visitSetConfigurationNode(SetConfigurationNode node) throws StandardException;
+    R visitSetConstraintsNode(SetConstraintsNode node) throws StandardException;
+    R visitSetRoleNode(SetRoleNode node) throws StandardException;
+    R visitSetSchemaNode(SetSchemaNode node) throws StandardException;
+    R visitSetTransactionAccessNode(SetTransactionAccessNode node) throws StandardException;
+    R visitSetTransactionIsolationNode(SetTransactionIsolationNode node) throws StandardException;
+    R visitShowConfigurationNode(ShowConfigurationNode node) throws StandardException;
+    R visitSimpleCaseNode(SimpleCaseNode node) throws StandardException;
+    R visitSimpleStringOperatorNode(SimpleStringOperatorNode node) throws StandardException;
+    R visitSpecialFunctionNode(SpecialFunctionNode node) throws StandardException;
+    R visitStaticClassFieldReferenceNode(StaticClassFieldReferenceNode node) throws StandardException;
+    R visitStaticMethodCallNode(StaticMethodCallNode node) throws StandardException;
+    R visitStorageFormatNode(StorageFormatNode node) throws StandardException;
+    R visitSubqueryList(SubqueryList node) throws StandardException;
+    R visitSubqueryNode(SubqueryNode node) throws StandardException;
+    R visitTableElementList(TableElementList node) throws StandardException;
+    R visitTableElementNode(TableElementNode node) throws StandardException;
+    R visitTableName(TableName node) throws StandardException;
+    R visitTableNameList(TableNameList node) throws StandardException;
+    R visitTablePrivilegesNode(TablePrivilegesNode node) throws StandardException;
+    R visitTernaryOperatorNode(TernaryOperatorNode node) throws StandardException;
+    R visitTestConstraintNode(TestConstraintNode node) throws StandardException;
+    R visitTimestampOperatorNode(TimestampOperatorNode node) throws StandardException;
+    R visitTransactionControlNode(TransactionControlNode node) throws StandardException;
+    R visitTrimOperatorNode(TrimOperatorNode node) throws StandardException;
+    R visitUnaryArithmeticOperatorNode(UnaryArithmeticOperatorNode node) throws StandardException;
+    R visitUnaryBitOperatorNode(UnaryBitOperatorNode node) throws StandardException;
+    R visitUnaryDateTimestampOperatorNode(UnaryDateTimestampOperatorNode node) throws StandardException;
+    R visitUnaryOperatorNode(UnaryOperatorNode node) throws StandardException;
+    R visitUnionNode(UnionNode node) throws StandardException;
+    R visitUntypedNullConstantNode(UntypedNullConstantNode node) throws StandardException;
+    R visitUpdateNode(UpdateNode node) throws StandardException;
+    R visitUserTypeConstantNode(UserTypeConstantNode node) throws StandardException;
+    R visitValueNodeList(ValueNodeList node) throws StandardException;
+    R visitVarbitConstantNode(VarbitConstantNode node) throws StandardException;
+    R visitVirtualColumnNode(VirtualColumnNode node) throws StandardException;
+    R visitWindowDefinitionNode(WindowDefinitionNode node) throws StandardException;
+    R visitWindowList(WindowList node) throws StandardException;
+    R visitWindowReferenceNode(WindowReferenceNode node) throws StandardException;
+    R visitXMLBinaryOperatorNode(XMLBinaryOperatorNode node) throws StandardException;
+    R visitXMLConstantNode(XMLConstantNode node) throws StandardException;
+    R visitXMLUnaryOperatorNode(XMLUnaryOperatorNode node) throws StandardException;
+}
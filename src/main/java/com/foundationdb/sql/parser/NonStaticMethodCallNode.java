@@ -61,6 +61,7 @@ public class NonStaticMethodCallNode extends MethodCallNode
      * @exception StandardException     Thrown on error
      */
     public void init(Object methodName, Object receiver) throws StandardException {
+        checkNotFrozen();
         super.init(methodName);
 
         /*
@@ -120,4 +121,9 @@ public class NonStaticMethodCallNode extends MethodCallNode
             receiver = (JavaValueNode)receiver.accept(v);
         }
     }
+
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitNonStaticMethodCallNode(this);
+    }
+
 }
@@ -57,7 +57,12 @@ public final class NotNode extends UnaryLogicalOperatorNode
      */
 
     public void init(Object operand) throws StandardException {
+        checkNotFrozen();
         super.init(operand, "not");
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitNotNode(this);
+    }
+
 }
@@ -55,6 +55,7 @@ public final class NumericConstantNode extends ConstantNode
      * @exception StandardException
      */
     public void init(Object arg1) throws StandardException {
+        checkNotFrozen();
         int precision = 0, scal = 0, maxwidth = 0;
         Boolean isNullable;
         boolean valueInP; // value in Predicate-- if TRUE a value was passed in
@@ -170,6 +171,82 @@ public final class NumericConstantNode extends ConstantNode
                 maxwidth);
     }
 
+    /**
+     * Get the node type for an exact numeric literal, which may have a
+     * leading sign: the narrower of INT_CONSTANT_NODE and
+     * LONGINT_CONSTANT_NODE that can hold it if it is a whole number,
+     * else DECIMAL_CONSTANT_NODE.
+     * This is decided from the number of digits and, only at the
+     * limits, by comparing them with the largest value.
+     */
+    static int exactNumericNodeType(CharSequence num) {
+        int len = num.length();
+        int start = 0;
+        boolean negative = false;
+        if (len > 0) {
+            char c = num.charAt(0);
+            if ((c == '-') || (c == '+')) {
+                negative = (c == '-');
+                start++;
+            }
+        }
+        if (start >= len)
+            return NodeTypes.DECIMAL_CONSTANT_NODE;
+        int first = -1;
+        for (int i = start; i < len; i++) {
+            char c = num.charAt(i);
+            if ((c < '0') || (c > '9'))
+                return NodeTypes.DECIMAL_CONSTANT_NODE;
+            if ((first < 0) && (c != '0'))
+                first = i;
+        }
+        if (first < 0)
+            return NodeTypes.INT_CONSTANT_NODE; // All zeros.
+        int ndigits = len - first;
+        if (ndigits < 10)
+            return NodeTypes.INT_CONSTANT_NODE;
+        if (ndigits == 10)
+            return digitsAtMost(num, first, negative ? "2147483648" : "2147483647") ?
+                NodeTypes.INT_CONSTANT_NODE : NodeTypes.LONGINT_CONSTANT_NODE;
+        if (ndigits < 19)
+            return NodeTypes.LONGINT_CONSTANT_NODE;
+        if ((ndigits == 19) &&
+            digitsAtMost(num, first, negative ? "9223372036854775808" : "9223372036854775807"))
+            return NodeTypes.LONGINT_CONSTANT_NODE;
+        return NodeTypes.DECIMAL_CONSTANT_NODE;
+    }
+
+    private static boolean digitsAtMost(CharSequence num, int start, String limit) {
+        for (int i = 0; i < limit.length(); i++) {
+            char c = num.charAt(start + i);
+            char l = limit.charAt(i);
+            if (c != l)
+                return (c < l);
+        }
+        return true;
+    }
+
+    /**
+     * Get the value of an exact numeric literal for which
+     * {@link #exactNumericNodeType} gave an integer type.
+     */
+    static long exactNumericLongValue(CharSequence num) {
+        int len = num.length();
+        int start = 0;
+        boolean negative = false;
+        char c = num.charAt(0);
+        if ((c == '-') || (c == '+')) {
+            negative = (c == '-');
+            start++;
+        }
+        // Accumulate negatively, so that Long.MIN_VALUE fits.
+        long result = 0;
+        for (int i = start; i < len; i++) {
+            result = result * 10 - (num.charAt(i) - '0');
+        }
+        return negative ? result : -result;
+    }
+
     /**
      * Return an Object representing the bind time value of this
      * expression tree.  If the expression tree does not evaluate to
@@ -186,4 +263,8 @@ public final class NumericConstantNode extends ConstantNode
         return value;
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitNumericConstantNode(this);
+    }
+
 }
@@ -58,7 +58,12 @@ public class OctetLengthOperatorNode extends UnaryOperatorNode
 	 * @param operand The operand of the node
 	 */
 	public void init(Object operand) throws StandardException {
+                    checkNotFrozen();
                     super.init(operand, "length", "getOctetLength");
 	}
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitOctetLengthOperatorNode(this);
+    }
+
 }
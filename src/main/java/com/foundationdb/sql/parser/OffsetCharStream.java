@@ -0,0 +1,107 @@
+/**
+ * Copyright 2014 FoundationDB, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foundationdb.sql.parser;
+
+import java.io.EOFException;
+import java.io.IOException;
+
+/**
+ * {@link CharStream} that only keeps track of offsets: no lines
+ * or columns and no token images, for scans that only need to
+ * know the kinds and positions of tokens.
+ */
+class OffsetCharStream implements CharStream
+{
+    private static final IOException EOF = new EOFException();
+    private static final char[] NO_CHARS = new char[0];
+
+    private String string;
+    private int length;
+    private int beginIndex, currentIndex; // 0-based, exclusive end.
+
+    void init(String string) {
+        this.string = string;
+        length = (string == null) ? 0 : string.length();
+        beginIndex = currentIndex = 0;
+    }
+
+    @Override
+    public char BeginToken() throws IOException {
+        beginIndex = currentIndex;
+        return readChar();
+    }
+
+    @Override
+    public char readChar() throws IOException {
+        if (currentIndex >= length)
+            throw EOF;
+        return string.charAt(currentIndex++);
+    }
+
+    @Override
+    public void backup(int amount) {
+        currentIndex -= amount;
+    }
+
+    @Override
+    public int getBeginOffset() {
+        return beginIndex;
+    }
+    @Override
+    public int getEndOffset() {
+        return currentIndex - 1;   // Want inclusive.
+    }
+
+    @Override
+    public int getBeginLine() {
+        return 0;
+    }
+    @Override
+    public int getBeginColumn() {
+        return 0;
+    }
+    @Override
+    public int getEndLine() {
+        return 0;
+    }
+    @Override
+    public int getEndColumn() {
+        return 0;
+    }
+    @Override
+    public int getLine() {
+        return 0;
+    }
+    @Override
+    public int getColumn() {
+        return 0;
+    }
+
+    @Override
+    public String GetImage() {
+        return "";
+    }
+
+    @Override
+    public char[] GetSuffix(int len) {
+        return NO_CHARS;
+    }
+
+    @Override
+    public void Done() {
+    }
+}
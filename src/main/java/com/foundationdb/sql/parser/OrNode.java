@@ -39,6 +39,8 @@
 
 package com.foundationdb.sql.parser;
 
+import com.foundationdb.sql.StandardException;
+
 public class OrNode extends BinaryLogicalOperatorNode
 {
     /**
@@ -49,8 +51,13 @@ public class OrNode extends BinaryLogicalOperatorNode
      */
 
     public void init(Object leftOperand, Object rightOperand) {
+        checkNotFrozen();
         super.init(leftOperand, rightOperand, "or");
         this.shortCircuitValue = true;
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitOrNode(this);
+    }
+
 }
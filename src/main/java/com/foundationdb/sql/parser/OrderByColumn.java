@@ -61,6 +61,7 @@ public class OrderByColumn extends OrderedColumn
      * @param expression Expression of this column
      */
     public void init(Object expression) {
+        checkNotFrozen();
         this.expression = (ValueNode)expression;
     }
 
@@ -112,6 +113,7 @@ public class OrderByColumn extends OrderedColumn
      * Mark the column as descending order
      */
     public void setDescending() {
+        checkNotFrozen();
         ascending = false;
     }
 
@@ -129,6 +131,7 @@ public class OrderByColumn extends OrderedColumn
      * Mark the column as ordered NULL values lower than non-NULL values.
      */
     public void setNullsOrderedLow() {
+        checkNotFrozen();
         nullsOrderedLow = true;
     }
 
@@ -157,4 +160,8 @@ public class OrderByColumn extends OrderedColumn
         }
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitOrderByColumn(this);
+    }
+
 }
@@ -39,6 +39,8 @@
 
 package com.foundationdb.sql.parser;
 
+import com.foundationdb.sql.StandardException;
+
 import java.util.Properties;
 
 /**
@@ -58,6 +60,7 @@ public class OrderByList extends OrderedColumnList<OrderByColumn>
        @param column The column to add to the list
     */
     public void addOrderByColumn(OrderByColumn column) {
+        checkNotFrozen();
         add(column);
 
         if (!column.isAscending())
@@ -73,6 +76,16 @@ public class OrderByList extends OrderedColumnList<OrderByColumn>
         return allAscending;
     }
 
+    /**
+     * Fill this node with a deep copy of the given node.
+     */
+    public void copyFrom(QueryTreeNode node) throws StandardException {
+        super.copyFrom(node);
+
+        OrderByList other = (OrderByList)node;
+        this.allAscending = other.allAscending;
+    }
+
     /**
        Get a column from the list
 
@@ -88,4 +101,8 @@ public class OrderByList extends OrderedColumnList<OrderByColumn>
             super.toString();
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitOrderByList(this);
+    }
+
 }
@@ -110,6 +110,7 @@ public abstract class OrderedColumn extends QueryTreeNode
      * Set the position of this column
      */
     public void setColumnPosition(int columnPosition) {
+        checkNotFrozen();
         this.columnPosition = columnPosition;
     }
 
@@ -0,0 +1,163 @@
+/**
+ * Copyright 2014 FoundationDB, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foundationdb.sql.parser;
+
+import com.foundationdb.sql.StandardException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Parse a script of semicolon-delimited statements on several threads.
+ *
+ * The script is first split into statements by the token manager
+ * alone, which is much cheaper than parsing. The statements are then
+ * divided into contiguous batches of about the same length, each parsed
+ * by its own {@link SQLParser} on the given executor. The result is the
+ * same as {@link SQLParser#parseStatements(String)}, in source order
+ * and with offsets and error positions relative to the whole script;
+ * if several statements have errors, the first one's is thrown.
+ * A script without any statements is an error, as it is there.
+ *
+ * The template's {@link SQLParser#setMaxTokens limits} apply to each
+ * batch separately, not to the whole script, so a script can have
+ * several times as many tokens or take several times as long as one
+ * parser would allow. Limit a script's length before handing it over
+ * if that matters.
+ *
+ * Each call makes new parsers, so that the trees it returns are not
+ * shared with any other thread, and calls may be concurrent.
+ */
+public class ParallelStatementParser
+{
+    private final SQLParser template;
+    private final ExecutorService executor;
+    private final int parallelism;
+
+    /** Make a parallel parser whose parsers are configured like
+     * <code>template</code>, running at most <code>parallelism</code>
+     * tasks at once on <code>executor</code>.
+     */
+    public ParallelStatementParser(SQLParser template, ExecutorService executor,
+                                   int parallelism) {
+        if (parallelism <= 0)
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        this.template = template;
+        this.executor = executor;
+        this.parallelism = parallelism;
+    }
+
+    /** Make a parallel parser using as many tasks as there are processors. */
+    public ParallelStatementParser(SQLParser template, ExecutorService executor) {
+        this(template, executor, Runtime.getRuntime().availableProcessors());
+    }
+
+    public SQLParser getTemplate() {
+        return template;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /** Make a new parser configured like the template. */
+    protected SQLParser newParser() {
+        SQLParser parser = new SQLParser();
+        parser.copySettings(template);
+        return parser;
+    }
+
+    /** Parse all the statements in <code>sqlText</code>. */
+    public List<StatementNode> parseStatements(String sqlText) throws StandardException {
+        int[] bounds = new SQLStatementSplitter(newParser()).split(sqlText);
+        int nstmts = bounds.length / 2;
+        int nbatches = Math.min(parallelism, nstmts);
+        if (nbatches <= 1)
+            return newParser().parseStatements(sqlText, 0, sqlText.length());
+        List<Batch> batches = new ArrayList<Batch>(nbatches);
+        int totalLength = bounds[bounds.length - 1] - bounds[0];
+        int start = 0;
+        for (int i = 0; i < nbatches; i++) {
+            int end;
+            if (i == nbatches - 1) {
+                end = nstmts;
+            }
+            else {
+                // Stop at the first statement that reaches this batch's
+                // share of the text, leaving at least one for each that follows.
+                int target = bounds[0] + (int)((long)totalLength * (i + 1) / nbatches);
+                end = start + 1;
+                while ((end < nstmts - (nbatches - i - 1)) && (bounds[end * 2 - 1] < target))
+                    end++;
+            }
+            batches.add(new Batch(sqlText, bounds, start, end));
+            start = end;
+        }
+        List<Future<List<StatementNode>>> futures;
+        try {
+            futures = executor.invokeAll(batches);
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new StandardException(ex);
+        }
+        List<StatementNode> result = new ArrayList<StatementNode>(nstmts);
+        for (Future<List<StatementNode>> future : futures) {
+            try {
+                result.addAll(future.get());
+            }
+            catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new StandardException(ex);
+            }
+            catch (ExecutionException ex) {
+                // Batches are in order, so this is the first error.
+                Throwable cause = ex.getCause();
+                if (cause instanceof StandardException)
+                    throw (StandardException)cause;
+                throw new StandardException(cause);
+            }
+        }
+        return result;
+    }
+
+    /** Parse some consecutive statements with a parser of their own. */
+    class Batch implements Callable<List<StatementNode>> {
+        private final String sqlText;
+        private final int[] bounds;
+        private final int start, end;
+
+        Batch(String sqlText, int[] bounds, int start, int end) {
+            this.sqlText = sqlText;
+            this.bounds = bounds;
+            this.start = start;
+            this.end = end;
+        }
+
+        public List<StatementNode> call() throws StandardException {
+            // The first and last batches take any text before the first
+            // statement or after the last, so it gets the same checks.
+            int beginOffset = (start == 0) ? 0 : bounds[start * 2];
+            int endOffset = (end * 2 == bounds.length) ? sqlText.length() : bounds[end * 2 - 1];
+            return newParser().parseStatements(sqlText, beginOffset, endOffset);
+        }
+    }
+}
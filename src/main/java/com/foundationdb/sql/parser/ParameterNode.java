@@ -70,6 +70,7 @@ public class ParameterNode extends ValueNode
      */
 
     public void init(Object parameterNumber, Object defaultValue) {
+        checkNotFrozen();
         this.parameterNumber = ((Integer)parameterNumber).intValue();
     }
 
@@ -85,6 +86,23 @@ public class ParameterNode extends ValueNode
             getNodeFactory().copyNode(other.returnOutputParameter, getParserContext());
     }
 
+    /**
+     * Freeze the return output parameter along with this node.
+     */
+    void freezeUnvisited(FrozenNodes.Freezer freezer) throws StandardException {
+        super.freezeUnvisited(freezer);
+        freezer.freeze(returnOutputParameter);
+    }
+
+    /**
+     * Clear this node for reuse.
+     */
+    protected void reset() {
+        super.reset();
+        parameterNumber = 0;
+        returnOutputParameter = null;
+    }
+
     /**
      * Get the parameter number
      *
@@ -100,6 +118,7 @@ public class ParameterNode extends ValueNode
      * ? = CALL myMethod())
      */
     public void setReturnOutputParam(ValueNode valueNode) {
+        checkNotFrozen();
         returnOutputParameter = valueNode;
     }
 
@@ -139,4 +158,8 @@ public class ParameterNode extends ValueNode
             super.toString();
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitParameterNode(this);
+    }
+
 }
@@ -0,0 +1,84 @@
+/**
+ * Copyright 2014 FoundationDB, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foundationdb.sql.parser;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The result of parsing through a {@link SQLTemplateCache}: a statement
+ * whose literals have been replaced by parameters, together with the
+ * values of those literals.
+ *
+ * The parameter list holds the synthetic parameters in order,
+ * and the value of parameter <i>n</i> is element <i>n</i> of the
+ * constant values. When the statement could not be parameterized,
+ * there are no values and the statement is exactly what
+ * {@link SQLParser#parseStatement} would have returned.
+ */
+public class ParameterizedStatement
+{
+    private final StatementNode statement;
+    private final List<ParameterNode> parameterList;
+    private final List<Object> constantValues;
+    private final String sqlText;
+
+    public ParameterizedStatement(StatementNode statement, 
+                                  List<ParameterNode> parameterList,
+                                  List<Object> constantValues,
+                                  String sqlText) {
+        this.statement = statement;
+        this.parameterList = parameterList;
+        this.constantValues = constantValues;
+        this.sqlText = sqlText;
+    }
+
+    public StatementNode getStatement() {
+        return statement;
+    }
+
+    public List<ParameterNode> getParameterList() {
+        return parameterList;
+    }
+
+    /** Get the values of the extracted literals, in order of appearance.
+     * Exact numerics are <code>Integer</code>, <code>Long</code> or
+     * <code>BigDecimal</code>, the same as the constant node the
+     * grammar would have made; approximate numerics are
+     * <code>Double</code>; strings are <code>String</code>.
+     */
+    public List<Object> getConstantValues() {
+        return constantValues;
+    }
+
+    /** Is this statement's parameter list made up of extracted literals? */
+    public boolean isParameterized() {
+        return !constantValues.isEmpty();
+    }
+
+    /** Get the text that was actually parsed, with <code>?</code> in
+     * place of each literal. Node offsets refer to this text.
+     */
+    public String getSQLText() {
+        return sqlText;
+    }
+
+    static ParameterizedStatement unparameterized(SQLParser parser, StatementNode statement) {
+        return new ParameterizedStatement(statement, parser.getParameterList(),
+                                          Collections.<Object>emptyList(), parser.getSQLText());
+    }
+}
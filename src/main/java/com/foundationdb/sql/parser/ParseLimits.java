@@ -0,0 +1,244 @@
+/**
+ * Copyright 2014 FoundationDB, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.foundationdb.sql.parser;
+
+import com.foundationdb.sql.parser.SQLParserLimitException.Limit;
+
+/**
+ * Limits on the work of a single parse and what has been used so far.
+ *
+ * The token manager reports each token and the node factory each node
+ * while a parse is running. Since neither can throw a checked
+ * exception, going over a limit throws {@link Exceeded}, which the
+ * parser turns into a {@link SQLParserLimitException}. Likewise, every
+ * so often they poll for cancellation, which throws {@link Cancelled}.
+ *
+ * Depth is limited two ways, each to the maximum depth. The token
+ * manager counts the parentheses open at the last token read, which
+ * includes tokens read ahead. The grammar counts the nesting of the
+ * productions that call themselves, at any point of the parse:
+ * <ul>
+ * <li>each value expression, that is, any operand that can hold
+ * <code>OR</code>, such as a select item, a condition, a parenthesized
+ * expression or a function argument;</li>
+ * <li>each <code>WHEN</code> of a <code>CASE</code>, since later ones
+ * are read within earlier ones;</li>
+ * <li>each query expression, that is, the statement's query, each
+ * subquery and each query after <code>UNION</code> or
+ * <code>EXCEPT</code>, and each query after <code>INTERSECT</code>;</li>
+ * <li>each table reference, that is, each <code>FROM</code> item and
+ * the right side of each <code>JOIN</code>.</li>
+ * </ul>
+ * So nesting without parentheses, such as <code>CASE</code> within
+ * <code>CASE</code> or a chain of <code>UNION</code>s, is limited too.
+ * Parenthesized nesting is caught by the token manager before any
+ * lookahead across it gets deep.
+ */
+class ParseLimits
+{
+    /** How often, in tokens, to look at the clock. */
+    static final int TOKENS_PER_CLOCK_CHECK = 64;
+    /** How often, in tokens or nodes, to check for cancellation. */
+    static final int POLL_INTERVAL = 64;
+
+    private int maxDepth = Integer.MAX_VALUE;
+    private int maxNodes = Integer.MAX_VALUE;
+    private int maxTokens = Integer.MAX_VALUE;
+    private long maxMillis = 0;
+
+    private boolean active, limited;
+    private volatile boolean cancelled;
+    private int parens, depth, nodes, tokens;
+    private Token lastToken;
+    private long deadline;
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+    public void setMaxDepth(int maxDepth) {
+        this.maxDepth = maxDepth;
+    }
+
+    public int getMaxNodes() {
+        return maxNodes;
+    }
+    public void setMaxNodes(int maxNodes) {
+        this.maxNodes = maxNodes;
+    }
+
+    public int getMaxTokens() {
+        return maxTokens;
+    }
+    public void setMaxTokens(int maxTokens) {
+        this.maxTokens = maxTokens;
+    }
+
+    public long getMaxMillis() {
+        return maxMillis;
+    }
+    public void setMaxMillis(long maxMillis) {
+        this.maxMillis = maxMillis;
+    }
+
+    void copyFrom(ParseLimits other) {
+        maxDepth = other.maxDepth;
+        maxNodes = other.maxNodes;
+        maxTokens = other.maxTokens;
+        maxMillis = other.maxMillis;
+    }
+
+    /** Start counting for a new parse. */
+    void start() {
+        parens = depth = nodes = tokens = 0;
+        lastToken = null;
+        if (maxMillis > 0)
+            deadline = System.nanoTime() + maxMillis * 1000000;
+        limited = (maxDepth < Integer.MAX_VALUE) || (maxNodes < Integer.MAX_VALUE) ||
+            (maxTokens < Integer.MAX_VALUE) || (maxMillis > 0);
+        cancelled = false;
+        active = true;
+    }
+
+    /** Stop counting, so that nodes made after the parse are free. */
+    void stop() {
+        active = false;
+    }
+
+    /** Ask the running parse, if any, to stop. May be called from any thread. */
+    void cancel() {
+        cancelled = true;
+    }
+
+    /** Forget a cancellation that came after the last parse. */
+    void clearCancel() {
+        cancelled = false;
+    }
+
+    /** Stop if cancelled or if the parsing thread has been interrupted. */
+    private void poll() {
+        if (cancelled || Thread.currentThread().isInterrupted())
+            throw new Cancelled(lastToken);
+    }
+
+    /** Count a token read by the token manager. */
+    void tokenRead(Token token) {
+        if (!active) return;
+        lastToken = token;
+        if ((++tokens % POLL_INTERVAL) == 0)
+            poll();
+        if (!limited) return;
+        if (tokens > maxTokens)
+            throw new Exceeded(Limit.TOKENS, "Too many tokens: more than " + maxTokens,
+                               lastToken);
+        switch (token.kind) {
+        case SQLGrammarConstants.LEFT_PAREN:
+            if (++parens > maxDepth)
+                throw new Exceeded(Limit.DEPTH, "Nesting too deep: more than " + maxDepth,
+                                   lastToken);
+            break;
+        case SQLGrammarConstants.RIGHT_PAREN:
+            parens--;
+            break;
+        }
+        if (((tokens % TOKENS_PER_CLOCK_CHECK) == 0) && (maxMillis > 0) &&
+            (System.nanoTime() - deadline > 0))
+            throw new Exceeded(Limit.TIME, "Parse took too long: more than " + 
+                               maxMillis + " ms", lastToken);
+    }
+
+    /** Count the start of a level of nesting in the grammar, at
+     * <code>token</code>. */
+    void enterNesting(Token token) {
+        if (!(active && limited)) return;
+        if (++depth > maxDepth)
+            throw new Exceeded(Limit.DEPTH, "Nesting too deep: more than " + maxDepth,
+                               token);
+    }
+
+    /** Count the end of a level of nesting in the grammar. */
+    void exitNesting() {
+        if (!(active && limited)) return;
+        depth--;
+    }
+
+    /** Count a node made by the node factory. */
+    void nodeCreated() {
+        if (!active) return;
+        if ((++nodes % POLL_INTERVAL) == 0)
+            poll();
+        if (nodes > maxNodes)
+            throw new Exceeded(Limit.NODES, "Too many nodes: more than " + maxNodes,
+                               lastToken);
+    }
+
+    /** A limit was gone over, at <code>token</code>, if any. */
+    static class Exceeded extends RuntimeException {
+        private final Limit limit;
+        private final Token token;
+
+        Exceeded(Limit limit, String message, Token token) {
+            super(message);
+            this.limit = limit;
+            this.token = token;
+        }
+
+        public Limit getLimit() {
+            return limit;
+        }
+
+        public int getOffset() {
+            return offset(token);
+        }
+
+        /** Get the line of the token, or 0 if its positions were not kept. */
+        public int getLine() {
+            return (token == null) ? 0 : token.beginLine;
+        }
+
+        public int getColumn() {
+            return (token == null) ? 0 : token.beginColumn;
+        }
+    }
+
+    /** The parse was cancelled, at <code>token</code>, if any. */
+    static class Cancelled extends RuntimeException {
+        private final Token token;
+
+        Cancelled(Token token) {
+            super("Parse cancelled");
+            this.token = token;
+        }
+
+        public int getOffset() {
+            return offset(token);
+        }
+
+        /** Get the line of the token, or 0 if its positions were not kept. */
+        public int getLine() {
+            return (token == null) ? 0 : token.beginLine;
+        }
+
+        public int getColumn() {
+            return (token == null) ? 0 : token.beginColumn;
+        }
+    }
+
+    private static int offset(Token token) {
+        return (token == null) ? 0 : token.beginOffset;
+    }
+}
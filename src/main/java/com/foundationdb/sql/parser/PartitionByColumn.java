@@ -32,6 +32,7 @@ public class PartitionByColumn extends OrderedColumn
      * @param colRef The ColumnReference for the parition column
      */
     public void init(Object colRef) {
+        checkNotFrozen();
         this.columnExpression = (ValueNode)colRef;
     }
 
@@ -82,4 +83,8 @@ public class PartitionByColumn extends OrderedColumn
         }
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitPartitionByColumn(this);
+    }
+
 }
@@ -16,6 +16,8 @@
 
 package com.foundationdb.sql.parser;
 
+import com.foundationdb.sql.StandardException;
+
 /**
  * A PartitionByList represents the list of expressions in a PARTITION BY clause in
  * an OVER or WINDOW.
@@ -24,4 +26,9 @@ package com.foundationdb.sql.parser;
 
 public class PartitionByList extends OrderedColumnList<PartitionByColumn>
 {
+
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitPartitionByList(this);
+    }
+
 }
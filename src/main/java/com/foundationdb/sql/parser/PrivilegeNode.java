@@ -73,6 +73,7 @@ public class PrivilegeNode extends QueryTreeNode
     public void init(Object objectType, Object objectOfPrivilege, 
                      Object specificPrivileges)
             throws StandardException {
+        checkNotFrozen();
         this.objectType = (ObjectType)objectType;
         switch(this.objectType) {
         case TABLE_PRIVILEGES:
@@ -100,6 +101,7 @@ public class PrivilegeNode extends QueryTreeNode
      */
     public void init(Object objectType, Object objectName, Object privilege, 
                      Object restrict) {
+        checkNotFrozen();
         this.objectType = (ObjectType)objectType;
         this.objectName = (TableName)objectName;
         this.privilege = (String)privilege;
@@ -129,4 +131,17 @@ public class PrivilegeNode extends QueryTreeNode
         this.restrict = other.restrict;
     }
 
+    /**
+     * Freeze the object name and table privileges along with this node.
+     */
+    void freezeUnvisited(FrozenNodes.Freezer freezer) throws StandardException {
+        super.freezeUnvisited(freezer);
+        freezer.freeze(objectName);
+        freezer.freeze(specificPrivileges);
+    }
+
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitPrivilegeNode(this);
+    }
+
 }
@@ -70,13 +70,20 @@ public abstract class QueryTreeNode implements Visitable
     private SQLParserContext pc;
     private Object userData;
 
+    // Which node types occur in this subtree, if worked out, and when,
+    // or whether changes need counting. See NodeTypeSummary.
+    private long subtreeNodeTypes;
+    private int subtreeNodeTypesStamp;
+
     /**
      * Set the parser context for this node.
      * 
      * @param pc The SQLParserContext
      */
     public void setParserContext(SQLParserContext pc) {
+        checkNotFrozen();
         this.pc = pc;
+        this.subtreeNodeTypes = 0;
     }
 
     /**
@@ -85,6 +92,13 @@ public abstract class QueryTreeNode implements Visitable
      * @return The current SQLParserContext.
      */
     public SQLParserContext getParserContext() {
+        if (pc instanceof FrozenNodes.FrozenContext)
+            return ((FrozenNodes.FrozenContext)pc).getContext();
+        return pc;
+    }
+
+    /** Get the parser context without unwrapping a frozen one. */
+    SQLParserContext getRawParserContext() {
         return pc;
     }
 
@@ -92,6 +106,7 @@ public abstract class QueryTreeNode implements Visitable
      * Set the user data associated with this node.
      */
     public void setUserData(Object userData) {
+        checkNotFrozen();
         this.userData = userData;
     }
 
@@ -102,6 +117,140 @@ public abstract class QueryTreeNode implements Visitable
         return userData;
     }
 
+    /**
+     * Make this node and every node reached from it by a {@link Visitor}
+     * immutable, so that the tree can be shared by any number of threads
+     * without copying. Afterwards setters throw
+     * <code>IllegalStateException</code>, lists are unmodifiable and
+     * visitors cannot replace nodes.
+     *
+     * Child nodes that visitors do not reach, such as the
+     * {@link TableName} of a {@link ColumnReference}, are frozen too.
+     * Freezing does not itself publish the tree: hand it to other
+     * threads through a <code>volatile</code> or <code>final</code>
+     * field, a lock or a concurrent collection, after which they can read
+     * it without further synchronization.
+     * @see #thaw
+     */
+    public void freeze() throws StandardException {
+        if (!isFrozen()) {
+            accept(new FrozenNodes.Freezer());
+            NodeTypeSummary.computeFrozen(this);
+        }
+    }
+
+    /** Has this node been frozen? */
+    public boolean isFrozen() {
+        return (pc instanceof FrozenNodes.FrozenContext);
+    }
+
+    /**
+     * Get a modifiable copy of this frozen node. Unlike
+     * {@link NodeFactory#copyNode}, the copy shares its frozen children
+     * with this node instead of copying them.
+     * @see #thawPath
+     */
+    public QueryTreeNode thaw() throws StandardException {
+        if (!isFrozen())
+            throw new IllegalStateException("Node is not frozen");
+        return FrozenNodes.thaw(this);
+    }
+
+    /**
+     * Get modifiable copies of the nodes on the path from this node down
+     * to <code>target</code>, each linked into its parent's copy in
+     * place of the original, so that <code>target</code> can be changed
+     * without copying the rest of the tree.
+     * Nodes on the path that are not frozen are used as they are.
+     * @return the nodes on the path, starting with the replacement for
+     * this node and ending with the one for <code>target</code>, or
+     * <code>null</code> if <code>target</code> is not reached from this node.
+     */
+    public QueryTreeNode[] thawPath(QueryTreeNode target) throws StandardException {
+        return FrozenNodes.thawPath(this, target);
+    }
+
+    /**
+     * Check that this node can be changed.
+     * Setters of subclasses should call this before changing a field.
+     * This also tells the parser, if the node has been summarized or
+     * indexed, that summaries of which node types occur where and
+     * {@link TreeIndex}es may be out of date, so other code that changes
+     * the children of a node should call it as well.
+     * @throws IllegalStateException if the node has been frozen.
+     */
+    protected final void checkNotFrozen() {
+        if (isFrozen())
+            throw new IllegalStateException("Node is frozen");
+        if ((subtreeNodeTypesStamp != NodeTypeSummary.UNWATCHED) &&
+            (pc instanceof SQLParser))
+            ((SQLParser)pc).nodeModified();
+    }
+
+    /** Note that a visitor has replaced <code>node</code> with
+     * <code>replacement</code> in the node above it. The node above has
+     * been summarized or indexed only if <code>node</code> has. */
+    static void nodeReplaced(QueryTreeNode node, Visitable replacement) {
+        if ((node.subtreeNodeTypesStamp != NodeTypeSummary.UNWATCHED) &&
+            (node.pc instanceof SQLParser))
+            ((SQLParser)node.pc).nodeModified();
+        if (replacement instanceof QueryTreeNode) {
+            QueryTreeNode rnode = (QueryTreeNode)replacement;
+            if ((rnode.pc != node.pc) && 
+                (rnode.subtreeNodeTypesStamp != NodeTypeSummary.UNWATCHED) &&
+                (rnode.pc instanceof SQLParser))
+                ((SQLParser)rnode.pc).nodeModified();
+        }
+    }
+
+    /**
+     * Might a node of one of the given types be in the subtree under
+     * this node? The answer is worked out the first time and then kept
+     * until the tree is changed.
+     * Unless the tree is frozen, this stores into its nodes, so, as
+     * with any other change, no other thread may be using the tree.
+     * @return <code>false</code> only if there is certainly none.
+     * @see SelectiveVisitor
+     */
+    public boolean mayContain(NodeTypeSet nodeTypes) throws StandardException {
+        return ((NodeTypeSummary.get(this) & nodeTypes.getBits()) != 0);
+    }
+
+    long getSubtreeNodeTypes() {
+        return subtreeNodeTypes;
+    }
+
+    int getSubtreeNodeTypesStamp() {
+        return subtreeNodeTypesStamp;
+    }
+
+    void setSubtreeNodeTypes(long nodeTypes, int stamp) {
+        this.subtreeNodeTypes = nodeTypes;
+        this.subtreeNodeTypesStamp = stamp;
+    }
+
+    /** Have changes to this node counted from now on, though it has not
+     * been summarized. */
+    void watchModifications() {
+        if (subtreeNodeTypesStamp == NodeTypeSummary.UNWATCHED)
+            subtreeNodeTypesStamp = NodeTypeSummary.WATCHED;
+    }
+
+    /**
+     * Mark just this node as frozen.
+     * Subclasses with mutable collections should make them unmodifiable.
+     */
+    void markFrozen(FrozenNodes.FrozenContext frozen) {
+        this.pc = frozen;
+    }
+
+    /**
+     * Freeze the child nodes that visitors do not reach.
+     * Subclasses with such children must override this.
+     */
+    void freezeUnvisited(FrozenNodes.Freezer freezer) throws StandardException {
+    }
+
     /**
      * Gets the NodeFactory for this database.
      *
@@ -114,12 +263,32 @@ public abstract class QueryTreeNode implements Visitable
 
     /**
      * Fill this node with a deep copy of the given node.
-     * Specific node classes must override to deep copy their data.
+     * Specific node classes must override to deep copy their data,
+     * calling <code>super.copyFrom</code> first.
      */
     public void copyFrom(QueryTreeNode other) throws StandardException {
+        checkNotFrozen();
+        this.beginOffset = other.beginOffset;
+        this.endOffset = other.endOffset;
         this.userData = getNodeFactory().copyUserData(this, other.userData);
     }
 
+    /**
+     * Clear this node back to its state when constructed, so that a
+     * {@link NodeFactory} can give it out again for another tree.
+     * Node classes that are reused must override this to clear any
+     * fields they add and call <code>super.reset()</code>.
+     * The node type and parser context are left to the factory.
+     * @see RecyclingNodeFactory
+     */
+    protected void reset() {
+        this.beginOffset = -1;
+        this.endOffset = -1;
+        this.userData = null;
+        this.subtreeNodeTypes = 0;
+        this.subtreeNodeTypesStamp = NodeTypeSummary.UNWATCHED;
+    }
+
     /**
      * Gets the beginning offset of the SQL substring which this
      * query node represents.
@@ -139,6 +308,7 @@ public abstract class QueryTreeNode implements Visitable
      *
      */
     public void setBeginOffset(int beginOffset) {
+        checkNotFrozen();
         this.beginOffset = beginOffset;
     }
 
@@ -161,6 +331,7 @@ public abstract class QueryTreeNode implements Visitable
      *
      */
     public void setEndOffset(int endOffset) {
+        checkNotFrozen();
         this.endOffset = endOffset;
     }
 
@@ -423,6 +594,7 @@ public abstract class QueryTreeNode implements Visitable
      * @param nodeType The node type.
      */
     public void setNodeType(int nodeType) {
+        checkNotFrozen();
         this.nodeType = nodeType;
     }
 
@@ -453,6 +625,12 @@ public abstract class QueryTreeNode implements Visitable
      * @exception StandardException on error
      */
     public final Visitable accept(Visitor v) throws StandardException {
+        if (v instanceof IterativeTraversal)
+            return ((IterativeTraversal)v).child(this);
+        if ((v instanceof SelectiveVisitor) && 
+            !mayContain(((SelectiveVisitor)v).getNodeTypes()))
+            return this;
+
         final boolean childrenFirst = v.visitChildrenFirst(this);
         final boolean skipChildren = v.skipChildren(this);
 
@@ -461,6 +639,10 @@ public abstract class QueryTreeNode implements Visitable
         }
 
         final Visitable ret = v.stopTraversal() ? this : v.visit(this);
+        if ((ret != this) && isFrozen() && !(v instanceof FrozenNodes.Replacer))
+            throw new IllegalStateException("Frozen node cannot be replaced");
+        if (ret != this)
+            nodeReplaced(this, ret);
 
         if (!childrenFirst && !skipChildren && !v.stopTraversal()) {
             acceptChildren(v);
@@ -469,6 +651,36 @@ public abstract class QueryTreeNode implements Visitable
         return ret;
     }
 
+    /**
+     * Accept a visitor like {@link #accept(Visitor)}, but walking the
+     * tree with an explicit stack, so that very deep trees, such as
+     * long chains of <code>AND</code>s, do not overflow the thread's stack.
+     * A replacement for a child is put into its parent once all of its
+     * siblings have been visited, rather than straight away.
+     *
+     * @param v the visitor
+     *
+     * @exception StandardException on error
+     */
+    public final Visitable acceptIteratively(Visitor v) throws StandardException {
+        return new IterativeTraversal(v).traverse(this);
+    }
+
+    /**
+     * Call the method of <code>visitor</code> for the class of this
+     * node, such as {@link NodeVisitor#visitSelectNode} for a
+     * {@link SelectNode}. Every class of node in this package overrides
+     * this; for any other, {@link NodeVisitor#visitDefault} is called.
+     *
+     * @param visitor the visitor
+     * @return the result of the visitor's method
+     *
+     * @exception StandardException on error
+     */
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitDefault(this);
+    }
+
     /**
      * Accept a visitor on all child nodes. All sub-classes that add fields
      * that should be visited, should override this method and call
@@ -624,6 +836,7 @@ public abstract class QueryTreeNode implements Visitable
      * @exception StandardException Thrown on error
      */
     public void init(Object arg1) throws StandardException {
+        checkNotFrozen();
         assert false : "Single-argument init() not implemented for " + getClass().getName();
     }
 
@@ -636,6 +849,7 @@ public abstract class QueryTreeNode implements Visitable
     public void init(Object arg1,
                      Object arg2) 
             throws StandardException {
+        checkNotFrozen();
         assert false : "Two-argument init() not implemented for " + getClass().getName();
     }
 
@@ -648,6 +862,7 @@ public abstract class QueryTreeNode implements Visitable
                      Object arg2,
                      Object arg3) 
             throws StandardException {
+        checkNotFrozen();
         assert false : "Three-argument init() not implemented for " + getClass().getName();
     }
 
@@ -661,6 +876,7 @@ public abstract class QueryTreeNode implements Visitable
                      Object arg3,
                      Object arg4) 
             throws StandardException {
+        checkNotFrozen();
         assert false : "Four-argument init() not implemented for " + getClass().getName();
     }
 
@@ -675,6 +891,7 @@ public abstract class QueryTreeNode implements Visitable
                      Object arg4,
                      Object arg5) 
             throws StandardException {
+        checkNotFrozen();
         assert false : "Five-argument init() not implemented for " + getClass().getName();
     }
 
@@ -690,6 +907,7 @@ public abstract class QueryTreeNode implements Visitable
                      Object arg5,
                      Object arg6) 
             throws StandardException {
+        checkNotFrozen();
         assert false : "Six-argument init() not implemented for " + getClass().getName();
     }
 
@@ -706,6 +924,7 @@ public abstract class QueryTreeNode implements Visitable
                      Object arg6,
                      Object arg7) 
             throws StandardException {
+        checkNotFrozen();
         assert false : "Seven-argument init() not implemented for " + getClass().getName();
     }
 
@@ -723,6 +942,7 @@ public abstract class QueryTreeNode implements Visitable
                      Object arg7,
                      Object arg8) 
             throws StandardException {
+        checkNotFrozen();
         assert false : "Eight-argument init() not implemented for " + getClass().getName();
     }
 
@@ -741,6 +961,7 @@ public abstract class QueryTreeNode implements Visitable
                      Object arg8,
                      Object arg9) 
             throws StandardException {
+        checkNotFrozen();
         assert false : "Nine-argument init() not implemented for " + getClass().getName();
     }
 
@@ -760,6 +981,7 @@ public abstract class QueryTreeNode implements Visitable
                      Object arg9,
                      Object arg10) 
             throws StandardException {
+        checkNotFrozen();
         assert false : "Ten-argument init() not implemented for " + getClass().getName();
     }
 
@@ -780,6 +1002,7 @@ public abstract class QueryTreeNode implements Visitable
                      Object arg10,
                      Object arg11) 
             throws StandardException {
+        checkNotFrozen();
         assert false : "Eleven-argument init() not implemented for " + getClass().getName();
     }
 
@@ -801,6 +1024,7 @@ public abstract class QueryTreeNode implements Visitable
                      Object arg11,
                      Object arg12) 
             throws StandardException {
+        checkNotFrozen();
         assert false : "Twelve-argument init() not implemented for " + getClass().getName();
     }
 
@@ -823,6 +1047,7 @@ public abstract class QueryTreeNode implements Visitable
                      Object arg12,
                      Object arg13) 
             throws StandardException {
+        checkNotFrozen();
         assert false : "Thirteen-argument init() not implemented for " + getClass().getName();
     }
 
@@ -846,6 +1071,7 @@ public abstract class QueryTreeNode implements Visitable
                      Object arg13,
                      Object arg14) 
             throws StandardException {
+        checkNotFrozen();
         assert false : "Fourteen-argument init() not implemented for " + getClass().getName();
     }
 
@@ -42,6 +42,7 @@ package com.foundationdb.sql.parser;
 import com.foundationdb.sql.StandardException;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
@@ -75,14 +76,17 @@ public abstract class QueryTreeNodeList<N extends QueryTreeNode>
     }
 
     public void add(N n) {
+        checkNotFrozen();
         list.add(n);
     }
 
     public final N remove(int index) {
+        checkNotFrozen();
         return list.remove(index);
     }
 
     public final void remove(N n) {
+        checkNotFrozen();
         list.remove(n);
     }
 
@@ -91,18 +95,22 @@ public abstract class QueryTreeNodeList<N extends QueryTreeNode>
     }
 
     public final void set(int index, N n) {
+        checkNotFrozen();
         list.set(index, n);
     }
 
     public final void add(int index, N n) {
+        checkNotFrozen();
         list.add(index, n);
     }
 
     public final void addAll(QueryTreeNodeList<N> other) {
+        checkNotFrozen();
         list.addAll(other.list);
     }
 
     public final void clear() {
+        checkNotFrozen();
         list.clear();
     }
 
@@ -111,6 +119,7 @@ public abstract class QueryTreeNodeList<N extends QueryTreeNode>
     }
 
     public final void destructiveAddAll(QueryTreeNodeList<N> other) {
+        checkNotFrozen();
         addAll(other);
         other.clear();
     }
@@ -126,6 +135,22 @@ public abstract class QueryTreeNodeList<N extends QueryTreeNode>
             list.add((N)getNodeFactory().copyNode(n, getParserContext()));
     }
 
+    /**
+     * Mark this list frozen and make it unmodifiable.
+     */
+    void markFrozen(FrozenNodes.FrozenContext frozen) {
+        super.markFrozen(frozen);
+        list = Collections.unmodifiableList(list);
+    }
+
+    /**
+     * Clear this node for reuse.
+     */
+    protected void reset() {
+        super.reset();
+        list.clear();
+    }
+
     /**
      * Prints the sub-nodes of this object.  See QueryTreeNode.java for
      * how tree printing is supposed to work.
@@ -151,7 +176,10 @@ public abstract class QueryTreeNodeList<N extends QueryTreeNode>
 
         int size = size();
         for (int index = 0; index < size; index++) {
-            set(index, (N)get(index).accept(v));
+            N elt = get(index);
+            N visited = (N)elt.accept(v);
+            if (visited != elt)
+                set(index, visited);
         }
     }
 }
@@ -0,0 +1,53 @@
+/**
+ * Copyright 2014 FoundationDB, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foundationdb.sql.parser;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * {@link CharStream} that reads incrementally from a {@link Reader}.
+ * @see BufferedCharStream
+ */
+public class ReaderCharStream extends BufferedCharStream
+{
+    private final Reader reader;
+
+    public ReaderCharStream(Reader reader) {
+        this(reader, DEFAULT_BUFFER_SIZE);
+    }
+
+    public ReaderCharStream(Reader reader, int bufferSize) {
+        super(bufferSize);
+        this.reader = reader;
+    }
+
+    public Reader getReader() {
+        return reader;
+    }
+
+    @Override
+    protected int read(char[] cbuf, int off, int len) throws IOException {
+        return reader.read(cbuf, off, len);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+}
@@ -0,0 +1,275 @@
+/**
+ * Copyright 2014 FoundationDB, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.foundationdb.sql.parser;
+
+import com.foundationdb.sql.StandardException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A {@link NodeFactory} that reuses the nodes of trees that are given
+ * back to it, for servers that parse, compile and drop a statement
+ * for each request.
+ *
+ * <pre>
+ * RecyclingNodeFactory nodeFactory = new RecyclingNodeFactory();
+ * parser.setNodeFactory(nodeFactory);
+ * ...
+ * StatementNode stmt = parser.parseStatement(sql);
+ * try {
+ *     ...
+ * }
+ * finally {
+ *     nodeFactory.release(stmt);
+ * }
+ * </pre>
+ *
+ * The node classes that make up most ordinary DML are reused, after
+ * {@link QueryTreeNode#reset}; others are left to the garbage
+ * collector. Every node of a released tree is cut off from its parser,
+ * so that anything that goes through its parser context, such as
+ * {@link QueryTreeNode#getNodeFactory}, throws
+ * <code>IllegalStateException</code>. With assertions enabled,
+ * nodes are also checked for changes since their release as they are
+ * given out again.
+ *
+ * Like the parser that uses it, this is not thread-safe.
+ */
+public class RecyclingNodeFactory extends NodeFactory
+{
+    /** Default number of free nodes kept of each type. */
+    public static final int DEFAULT_MAX_FREE = 256;
+
+    private static final Set<Class<?>> RECYCLED_CLASSES = new HashSet<Class<?>>(
+        Arrays.<Class<?>>asList(AndNode.class,
+                                BinaryRelationalOperatorNode.class,
+                                CharConstantNode.class,
+                                ColumnReference.class,
+                                CursorNode.class,
+                                FromBaseTable.class,
+                                FromList.class,
+                                NumericConstantNode.class,
+                                OrNode.class,
+                                ParameterNode.class,
+                                ResultColumn.class,
+                                ResultColumnList.class,
+                                SelectNode.class,
+                                TableName.class,
+                                ValueNodeList.class));
+
+    /** The parser context of released nodes. */
+    static final SQLParserContext RELEASED = new ReleasedContext();
+
+    private final int maxFree;
+    // Class made for each node type, once one has been made.
+    private final Class<?>[] typeClasses = new Class<?>[NodeTypes.FINAL_VALUE+1];
+    private final boolean[] recycled = new boolean[NodeTypes.FINAL_VALUE+1];
+    private final QueryTreeNode[][] freeNodes = new QueryTreeNode[NodeTypes.FINAL_VALUE+1][];
+    private final int[] freeCounts = new int[NodeTypes.FINAL_VALUE+1];
+    private final ReleaseCollector collector = new ReleaseCollector();
+    private long createdCount, reusedCount;
+
+    public RecyclingNodeFactory() {
+        this(DEFAULT_MAX_FREE);
+    }
+
+    /** Make a factory that keeps at most <code>maxFree</code> released
+     * nodes of each type. */
+    public RecyclingNodeFactory(int maxFree) {
+        if (maxFree < 0)
+            throw new IllegalArgumentException("Free list size must not be negative: " + maxFree);
+        this.maxFree = maxFree;
+    }
+
+    /** Will released nodes of the given class be reused? */
+    public static boolean isRecycled(Class<?> nodeClass) {
+        return RECYCLED_CLASSES.contains(nodeClass);
+    }
+
+    public QueryTreeNode getNode(int nodeType, SQLParserContext pc)
+            throws StandardException {
+        NodeFactoryImpl.countNode(pc);
+        QueryTreeNode node;
+        if ((nodeType < 0) || (nodeType >= freeCounts.length)) {
+            node = NodeFactoryImpl.newNode(nodeType); // Throws.
+        }
+        else if (freeCounts[nodeType] > 0) {
+            int index = --freeCounts[nodeType];
+            node = freeNodes[nodeType][index];
+            freeNodes[nodeType][index] = null;
+            assert isUnchanged(node) : "Node changed after release: " + node.getClass().getName();
+            reusedCount++;
+        }
+        else {
+            node = NodeFactoryImpl.newNode(nodeType);
+            if (typeClasses[nodeType] == null) {
+                typeClasses[nodeType] = node.getClass();
+                recycled[nodeType] = isRecycled(node.getClass());
+            }
+            createdCount++;
+        }
+        node.setParserContext(pc);
+        node.setNodeType(nodeType);
+        return node;
+    }
+
+    /**
+     * Give back a tree, which must not be used again.
+     * All the nodes reachable from <code>node</code> are released and
+     * those of reused classes are reset and kept for later trees.
+     * Releasing a tree a second time does nothing.
+     * Frozen nodes are left alone, since other trees may share them.
+     */
+    public void release(QueryTreeNode node) throws StandardException {
+        if ((node == null) || (node.getParserContext() == RELEASED))
+            return;
+        List<QueryTreeNode> nodes = collector.nodes;
+        try {
+            node.accept(collector);
+            for (int i = 0; i < nodes.size(); i++) {
+                QueryTreeNode released = nodes.get(i);
+                int nodeType = released.getNodeType();
+                if ((nodeType < 0) || (nodeType >= freeCounts.length) ||
+                    !recycled[nodeType] ||
+                    (released.getClass() != typeClasses[nodeType]))
+                    continue;
+                int index = freeCounts[nodeType];
+                if (index >= maxFree)
+                    continue;
+                QueryTreeNode[] free = freeNodes[nodeType];
+                if (free == null) {
+                    free = new QueryTreeNode[Math.min(maxFree, 16)];
+                    freeNodes[nodeType] = free;
+                }
+                else if (index >= free.length) {
+                    free = Arrays.copyOf(free, Math.min(maxFree, free.length * 2));
+                    freeNodes[nodeType] = free;
+                }
+                released.reset();
+                free[index] = released;
+                freeCounts[nodeType] = index + 1;
+            }
+        }
+        finally {
+            nodes.clear();
+        }
+    }
+
+    /** Get the number of nodes made new. */
+    public long getCreatedCount() {
+        return createdCount;
+    }
+
+    /** Get the number of released nodes given out again. */
+    public long getReusedCount() {
+        return reusedCount;
+    }
+
+    /** Get the number of released nodes waiting to be reused. */
+    public int getFreeCount() {
+        int count = 0;
+        for (int freeCount : freeCounts) {
+            count += freeCount;
+        }
+        return count;
+    }
+
+    /** Drop all free nodes. */
+    public void clear() {
+        Arrays.fill(freeNodes, null);
+        Arrays.fill(freeCounts, 0);
+    }
+
+    private static boolean isUnchanged(QueryTreeNode node) {
+        return ((node.getParserContext() == RELEASED) &&
+                (node.getBeginOffset() == -1) && (node.getEndOffset() == -1) &&
+                (node.getUserData() == null));
+    }
+
+    /** Find every node of a tree once, cutting each off as it goes. */
+    static class ReleaseCollector implements Visitor {
+        List<QueryTreeNode> nodes = new ArrayList<QueryTreeNode>();
+
+        public Visitable visit(Visitable node) {
+            QueryTreeNode treeNode = (QueryTreeNode)node;
+            if ((treeNode.getParserContext() != RELEASED) && !treeNode.isFrozen()) {
+                treeNode.setParserContext(RELEASED);
+                nodes.add(treeNode);
+            }
+            return node;
+        }
+
+        public boolean visitChildrenFirst(Visitable node) {
+            return false;
+        }
+
+        public boolean stopTraversal() {
+            return false;
+        }
+
+        public boolean skipChildren(Visitable node) {
+            // Already reached by another path, or shared with other trees.
+            QueryTreeNode treeNode = (QueryTreeNode)node;
+            return ((treeNode.getParserContext() == RELEASED) || treeNode.isFrozen());
+        }
+    }
+
+    static class ReleasedContext implements SQLParserContext {
+        private static IllegalStateException released() {
+            return new IllegalStateException("Node used after release");
+        }
+
+        public void checkStringLiteralLengthLimit(String image) {
+            throw released();
+        }
+
+        public void checkIdentifierLengthLimit(String identifier) {
+            throw released();
+        }
+
+        public void setReturnParameterFlag() {
+            throw released();
+        }
+
+        public void setMessageLocale(String locale) {
+            throw released();
+        }
+
+        public NodeFactory getNodeFactory() {
+            throw released();
+        }
+
+        public Map getPrintedObjectsMap() {
+            throw released();
+        }
+
+        public boolean hasFeature(SQLParserFeature feature) {
+            throw released();
+        }
+
+        public IdentifierCase getIdentifierCase() {
+            throw released();
+        }
+    }
+
+}
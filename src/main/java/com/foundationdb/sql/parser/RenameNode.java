@@ -92,6 +92,7 @@ public class RenameNode extends DDLStatementNode
                      Object usedAlterTable,
                      Object renamingWhat)
             throws StandardException {
+        checkNotFrozen();
         this.usedAlterTable = ((Boolean)usedAlterTable).booleanValue();
         this.renamingWhat = (RenameType)renamingWhat;
 
@@ -165,6 +166,14 @@ public class RenameNode extends DDLStatementNode
         this.renamingWhat = other.renamingWhat;
     }
 
+    /**
+     * Freeze the new table name along with this node.
+     */
+    void freezeUnvisited(FrozenNodes.Freezer freezer) throws StandardException {
+        super.freezeUnvisited(freezer);
+        freezer.freeze(newTableName);
+    }
+
     /**
      * Convert this object to a String.  See comments in QueryTreeNode.java
      * for how this should be done for tree printing.
@@ -225,4 +234,8 @@ public class RenameNode extends DDLStatementNode
         }
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitRenameNode(this);
+    }
+
 }
@@ -123,6 +123,7 @@ public class ResultColumn extends ValueNode
      * </ul>
      */
     public void init(Object arg1, Object arg2) throws StandardException {
+        checkNotFrozen();
         // RESOLVE: This is something of a hack - it is not obvious that
         // the first argument being null means it should be treated as
         // a String.
@@ -179,6 +180,22 @@ public class ResultColumn extends ValueNode
         this.isNameGenerated = other.isNameGenerated;
     }
 
+    /**
+     * Clear this node for reuse.
+     */
+    protected void reset() {
+        super.reset();
+        name = null;
+        exposedName = null;
+        tableName = null;
+        expression = null;
+        defaultColumn = false;
+        autoincrement = false;
+        reference = null;
+        virtualColumnId = 0;
+        isNameGenerated = false;
+    }
+
     /**
      * Returns TRUE if the ResultColumn is standing in for a DEFAULT keyword in
      * an insert/update statement.
@@ -188,6 +205,7 @@ public class ResultColumn extends ValueNode
     }
 
     public void setDefaultColumn(boolean value) {
+        checkNotFrozen();
         defaultColumn = value;
     }
 
@@ -259,6 +277,7 @@ public class ResultColumn extends ValueNode
      */
 
     public void setExpression(ValueNode expression) {
+        checkNotFrozen();
         this.expression = expression;
     }
 
@@ -293,6 +312,7 @@ public class ResultColumn extends ValueNode
      */
 
     public void setName(String name) {
+        checkNotFrozen();
         if (this.name == null) {
             this.name = name;
         }
@@ -315,6 +335,7 @@ public class ResultColumn extends ValueNode
      * Set that this result column name is generated.
      */
     public void setNameGenerated(boolean value) {
+        checkNotFrozen();
         isNameGenerated = value;
     }
 
@@ -325,6 +346,7 @@ public class ResultColumn extends ValueNode
      */
 
     public void adjustVirtualColumnId(int adjust) {
+        checkNotFrozen();
         virtualColumnId += adjust;
     }
 
@@ -335,6 +357,7 @@ public class ResultColumn extends ValueNode
      */
 
     public void setVirtualColumnId(int id) {
+        checkNotFrozen();
         virtualColumnId = id;
     }
 
@@ -392,7 +415,7 @@ public class ResultColumn extends ValueNode
         super.acceptChildren(v);
 
         if (expression != null) {
-            setExpression((ValueNode)expression.accept(v));
+            expression = (ValueNode)expression.accept(v);
         }
         if (reference != null) {
             reference = (ColumnReference)reference.accept(v);
@@ -418,4 +441,9 @@ public class ResultColumn extends ValueNode
         return false;
     }
         
+
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitResultColumn(this);
+    }
+
 }
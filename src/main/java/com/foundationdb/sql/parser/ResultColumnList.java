@@ -83,6 +83,16 @@ public class ResultColumnList extends QueryTreeNodeList<ResultColumn>
     public ResultColumnList() {
     }
 
+    /**
+     * Clear this node for reuse.
+     */
+    protected void reset() {
+        super.reset();
+        orderBySelect = 0;
+        forUpdate = false;
+        initialListSize = 0;
+    }
+
     /**
      * Add a ResultColumn (at this point, ResultColumn or
      * AllResultColumn) to the list
@@ -91,6 +101,7 @@ public class ResultColumnList extends QueryTreeNodeList<ResultColumn>
      */
 
     public void addResultColumn(ResultColumn resultColumn) {
+        checkNotFrozen();
         /* Lists are 0-based, ResultColumns are 1-based */
         resultColumn.setVirtualColumnId(size() + 1);
         add(resultColumn);
@@ -106,6 +117,7 @@ public class ResultColumnList extends QueryTreeNodeList<ResultColumn>
      */
     public void appendResultColumns(ResultColumnList resultColumns,
                                     boolean destructiveCopy) {
+        checkNotFrozen();
         int oldSize = size();
         int newID = oldSize + 1;
 
@@ -229,6 +241,7 @@ public class ResultColumnList extends QueryTreeNodeList<ResultColumn>
      * @param joinColumns The list of join columns
      */
     public void removeJoinColumns(ResultColumnList joinColumns) {
+        checkNotFrozen();
         for (ResultColumn joinRC : joinColumns) {
             String columnName = joinRC.getName();
             ResultColumn rightRC = getResultColumn(columnName);
@@ -288,4 +301,8 @@ public class ResultColumnList extends QueryTreeNodeList<ResultColumn>
         return super.toString();
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitResultColumnList(this);
+    }
+
 }
@@ -66,6 +66,15 @@ public abstract class ResultSetNode extends QueryTreeNode
         this.insertSource = other.insertSource;
     }
 
+    /**
+     * Clear this node for reuse.
+     */
+    protected void reset() {
+        super.reset();
+        resultColumns = null;
+        insertSource = false;
+    }
+
     /**
      * Convert this object to a String.  See comments in QueryTreeNode.java
      * for how this should be done for tree printing.
@@ -81,6 +90,7 @@ public abstract class ResultSetNode extends QueryTreeNode
      * Remember that this node is the source result set for an INSERT.
      */
     public void setInsertSource() {
+        checkNotFrozen();
         insertSource = true;
     }
 
@@ -90,6 +100,7 @@ public abstract class ResultSetNode extends QueryTreeNode
      * @param newRCL The new ResultColumnList for this ResultSetNode
      */
     public void setResultColumns(ResultColumnList newRCL) {
+        checkNotFrozen();
         resultColumns = newRCL;
     }
 
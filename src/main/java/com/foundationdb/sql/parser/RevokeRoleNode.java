@@ -59,6 +59,7 @@ public class RevokeRoleNode extends DDLStatementNode
      * @param grantees list of strings containing grantee names
      */
     public void init(Object roles, Object grantees) throws StandardException {
+        checkNotFrozen();
         initAndCheck(null);
         this.roles = (List<String>)roles;
         this.grantees = (List<String>)grantees;
@@ -109,4 +110,8 @@ public class RevokeRoleNode extends DDLStatementNode
         return "REVOKE role";
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitRevokeRoleNode(this);
+    }
+
 }
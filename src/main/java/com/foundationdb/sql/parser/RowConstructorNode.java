@@ -25,6 +25,7 @@ public class RowConstructorNode extends ValueNode
     @Override
     public void init(Object list, Object count)
     {
+        checkNotFrozen();
         this.list = (ValueNodeList)list;
         depth = ((int[])count)[0];
     }
@@ -90,4 +91,9 @@ public class RowConstructorNode extends ValueNode
     {
         return list.size();
     }
+
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitRowConstructorNode(this);
+    }
+
 }
@@ -70,6 +70,7 @@ public final class RowCountNode extends SingleChildResultSetNode
                      Object offset,
                      Object fetchFirst)
             throws StandardException {
+        checkNotFrozen();
 
         init(childResult, null);
         resultColumns = (ResultColumnList)rcl;
@@ -91,6 +92,15 @@ public final class RowCountNode extends SingleChildResultSetNode
                                                                getParserContext());
     }
 
+    /**
+     * Freeze the row limits along with this node.
+     */
+    void freezeUnvisited(FrozenNodes.Freezer freezer) throws StandardException {
+        super.freezeUnvisited(freezer);
+        freezer.freeze(offset);
+        freezer.freeze(fetchFirst);
+    }
+
     /**
      * Convert this object to a String.  See comments in QueryTreeNode.java
      * for how this should be done for tree printing.
@@ -104,4 +114,8 @@ public final class RowCountNode extends SingleChildResultSetNode
             super.toString();
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitRowCountNode(this);
+    }
+
 }
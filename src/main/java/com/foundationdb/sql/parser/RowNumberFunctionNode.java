@@ -58,6 +58,7 @@ public final class RowNumberFunctionNode extends WindowFunctionNode
      * @exception StandardException
      */
     public void init(Object arg1, Object arg2) throws StandardException {
+        checkNotFrozen();
         super.init(arg1, "ROW_NUMBER", arg2);
         setType(TypeId.getBuiltInTypeId(Types.BIGINT),
                 TypeId.LONGINT_PRECISION,
@@ -66,4 +67,8 @@ public final class RowNumberFunctionNode extends WindowFunctionNode
                 TypeId.LONGINT_MAXWIDTH);
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitRowNumberFunctionNode(this);
+    }
+
 }
@@ -39,6 +39,8 @@
 
 package com.foundationdb.sql.parser;
 
+import com.foundationdb.sql.StandardException;
+
 /**
  * A RowResultSetNode represents the result set for a single row VALUES clause.
  *
@@ -54,6 +56,7 @@ public class RowResultSetNode extends FromTable
      * @param tableProperties Properties list associated with the table
      */
     public void init(Object valuesClause, Object tableProperties) {
+        checkNotFrozen();
         super.init(null, tableProperties);
         resultColumns = (ResultColumnList)valuesClause;
         if (resultColumns != null)
@@ -86,4 +89,8 @@ public class RowResultSetNode extends FromTable
         super.printSubNodes(depth);
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitRowResultSetNode(this);
+    }
+
 }
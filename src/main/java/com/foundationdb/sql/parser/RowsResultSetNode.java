@@ -19,6 +19,7 @@ package com.foundationdb.sql.parser;
 import com.foundationdb.sql.StandardException;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -36,6 +37,7 @@ public class RowsResultSetNode extends FromTable
      * @param firstRow The initial row.
      */
     public void init(Object firstRow) throws StandardException {
+        checkNotFrozen();
         super.init(null, tableProperties);
         RowResultSetNode row = (RowResultSetNode)firstRow;
         rows = new ArrayList<RowResultSetNode>();
@@ -49,6 +51,7 @@ public class RowsResultSetNode extends FromTable
     }
 
     public void addRow(RowResultSetNode row) {
+        checkNotFrozen();
         rows.add(row);
     }
 
@@ -68,6 +71,14 @@ public class RowsResultSetNode extends FromTable
             rows.add((RowResultSetNode)getNodeFactory().copyNode(row, getParserContext()));
     }
 
+    /**
+     * Mark this node frozen and make its rows unmodifiable.
+     */
+    void markFrozen(FrozenNodes.FrozenContext frozen) {
+        super.markFrozen(frozen);
+        rows = Collections.unmodifiableList(rows);
+    }
+
     /**
      * Prints the sub-nodes of this object.  See QueryTreeNode.java for
      * how tree printing is supposed to work.
@@ -96,8 +107,15 @@ public class RowsResultSetNode extends FromTable
 
         int size = rows.size();
         for (int index = 0; index < size; index++) {
-            rows.set(index, (RowResultSetNode)rows.get(index).accept(v));
+            RowResultSetNode row = rows.get(index);
+            RowResultSetNode visited = (RowResultSetNode)row.accept(v);
+            if (visited != row)
+                rows.set(index, visited);
         }
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitRowsResultSetNode(this);
+    }
+
 }
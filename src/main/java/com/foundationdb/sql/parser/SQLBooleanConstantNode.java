@@ -53,6 +53,7 @@ public class SQLBooleanConstantNode extends ConstantNode
      */
 
     public void init(Object newValue) throws StandardException {
+        checkNotFrozen();
         String strVal = (String)newValue;
         Boolean val = null;
 
@@ -74,4 +75,8 @@ public class SQLBooleanConstantNode extends ConstantNode
         setValue(val);
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitSQLBooleanConstantNode(this);
+    }
+
 }
@@ -27,6 +27,7 @@ package com.foundationdb.sql.parser;
 
 import com.foundationdb.sql.StandardException;
 
+import java.io.Reader;
 import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.HashMap;
@@ -36,6 +37,7 @@ import java.util.Set;
 
 public class SQLParser implements SQLParserContext {
     private String sqlText;
+    private LineIndex lineIndex;
     private List<ParameterNode> parameterList;
     private boolean returnParameterFlag;
     private Map printedObjectsMap;
@@ -43,6 +45,8 @@ public class SQLParser implements SQLParserContext {
 
     private StringCharStream charStream = null;
     private SQLGrammar parser = null;
+    // Outlives any one grammar, which is discarded after some errors.
+    private final IdentifierTable identifierTable = new IdentifierTable();
 
     private int maxStringLiteralLength = 65535;
     /* Identifiers (Constraint, Cursor, Function/Procedure, Index,
@@ -51,6 +55,10 @@ public class SQLParser implements SQLParserContext {
      */ 
     private int maxIdentifierLength = 128;
 
+    private boolean lazyPositions = false;
+
+    private final ParseLimits parseLimits = new ParseLimits();
+
     // TODO: Needs much more thought.
     private String messageLocale = null;
 
@@ -67,11 +75,17 @@ public class SQLParser implements SQLParserContext {
 
     NodeFactory nodeFactory;
 
+    private SQLStatementCache statementCache = null;
+
+    // Advanced whenever one of this parser's nodes that has been
+    // summarized or indexed is changed. Always positive.
+    private int modifications = 1;
+
     /** Make a new parser.
      * Parser can be reused.
      */
     public SQLParser() {
-        nodeFactory = new NodeFactoryImpl();
+        nodeFactory = NodeFactoryImpl.getInstance();
     }
 
     /** Return the SQL string this parser just parsed. */
@@ -79,6 +93,17 @@ public class SQLParser implements SQLParserContext {
         return sqlText;
     }
 
+    /** Get the map between offsets and lines of the SQL string this
+     * parser just parsed.
+     * @return the index or <code>null</code> if statements were read
+     * from a stream.
+     */
+    public LineIndex getLineIndex() {
+        if ((lineIndex == null) && (sqlText != null))
+            lineIndex = new LineIndex(sqlText);
+        return lineIndex;
+    }
+
     /** Return the parameters to the parsed statement. */
     public List<ParameterNode> getParameterList() {
         return parameterList;
@@ -98,58 +123,202 @@ public class SQLParser implements SQLParserContext {
 
     /** Normal external parser entry. */
     public StatementNode parseStatement(String sqlText) throws StandardException {
+        return parseStatement(sqlText, statementCache);
+    }
+
+    /** Parse a single statement, consulting the given cache. */
+    StatementNode parseStatement(String sqlText, SQLStatementCache statementCache)
+            throws StandardException {
+        if (statementCache != null) {
+            List<ParameterNode> cachedParameters = new ArrayList<ParameterNode>();
+            StatementNode cached = statementCache.get(this, sqlText, cachedParameters);
+            if (cached != null) {
+                resetState(sqlText);
+                parameterList = cachedParameters;
+                return cached;
+            }
+        }
+        StatementNode result;
         try {
+            parseLimits.start();
             reinit(sqlText);
-            return parser.parseStatement(sqlText, parameterList);
+            result = parser.parseStatement(sqlText, parameterList);
         }
         catch (ParseException ex) {
-            throw new SQLParserException(standardizeEol(ex.getMessage()),
+            ex = withTokenPositions(ex);
+            throw new SQLParserException(parseErrorMessage(ex, sqlText),
                                          ex, 
-                                         tokenErrorPosition(ex.currentToken, sqlText));
+                                         tokenErrorPosition(ex.currentToken),
+                                         getLineIndex());
         }
         catch (TokenMgrError ex) {
             // Throw away the cached parser.
             parser = null;
-            if (ex.errorCode == TokenMgrError.LEXICAL_ERROR)
-                throw new SQLParserException(ex.getMessage(),
-                                             ex,
-                                             lineColumnErrorPosition(ex.errorLine,
-                                                                     ex.errorColumn,
-                                                                     sqlText));
-            else
-                throw new StandardException(ex);
+            // Token images were not kept, so scan again for the message.
+            throw lexicalError(sqlText, 0, sqlText.length(), ex);
+        }
+        catch (ParseLimits.Exceeded ex) {
+            throw limitError(ex);
+        }
+        catch (ParseLimits.Cancelled ex) {
+            throw new SQLParserCancelledException(ex.getMessage(), ex.getOffset() + 1,
+                                                  getLineIndex());
         }
+        finally {
+            parseLimits.stop();
+        }
+        if (statementCache != null)
+            statementCache.put(this, sqlText, result, parameterList);
+        return result;
     }
 
     /** Parse multiple statements delimited by semicolons. */
     public List<StatementNode> parseStatements(String sqlText) throws StandardException {
         try {
+            parseLimits.start();
             reinit(sqlText);
             return parser.parseStatements(sqlText);
         }
         catch (ParseException ex) {
-            throw new SQLParserException(standardizeEol(ex.getMessage()),
+            ex = withTokenPositions(ex);
+            throw new SQLParserException(parseErrorMessage(ex, sqlText),
                                          ex, 
-                                         tokenErrorPosition(ex.currentToken, sqlText));
+                                         tokenErrorPosition(ex.currentToken),
+                                         getLineIndex());
         }
         catch (TokenMgrError ex) {
             // Throw away the cached parser.
             parser = null;
-            if (ex.errorCode == TokenMgrError.LEXICAL_ERROR)
-                throw new SQLParserException(ex.getMessage(),
-                                             ex,
-                                             lineColumnErrorPosition(ex.errorLine,
-                                                                     ex.errorColumn,
-                                                                     sqlText));
-            else
-                throw new StandardException(ex);
+            // Token images were not kept, so scan again for the message.
+            throw lexicalError(sqlText, 0, sqlText.length(), ex);
+        }
+        catch (ParseLimits.Exceeded ex) {
+            throw limitError(ex);
+        }
+        catch (ParseLimits.Cancelled ex) {
+            throw new SQLParserCancelledException(ex.getMessage(), ex.getOffset() + 1,
+                                                  getLineIndex());
+        }
+        finally {
+            parseLimits.stop();
         }
     }
 
+    /** Parse the statements between <code>beginOffset</code> and
+     * <code>endOffset</code> (exclusive) of a larger text. Offsets in
+     * the result and in any error are relative to the whole text.
+     * The parser's limits apply to just these statements, as they
+     * would to a text of their own. The text between the offsets is
+     * treated exactly like a whole text, so that empty text is an error.
+     */
+    List<StatementNode> parseStatements(String sqlText, int beginOffset, int endOffset)
+            throws StandardException {
+        try {
+            parseLimits.start();
+            if (charStream == null) {
+                charStream = new StringCharStream(sqlText);
+            }
+            charStream.setLazyImages(true);
+            charStream.setLazyPositions(lazyPositions);
+            charStream.ReInit(sqlText, beginOffset, endOffset);
+            resetState(sqlText);
+            reinitGrammar(charStream);
+            return parser.parseStatements(sqlText);
+        }
+        catch (ParseException ex) {
+            ex = withTokenPositions(ex);
+            throw new SQLParserException(parseErrorMessage(ex, sqlText),
+                                         ex, 
+                                         (ex.currentToken == null) ? beginOffset :
+                                         ex.currentToken.next.beginOffset + 1,
+                                         getLineIndex());
+        }
+        catch (TokenMgrError ex) {
+            // Throw away the cached parser.
+            parser = null;
+            // Token images were not kept, so scan again for the message.
+            throw lexicalError(sqlText, beginOffset, endOffset, ex);
+        }
+        catch (ParseLimits.Exceeded ex) {
+            throw limitError(ex);
+        }
+        catch (ParseLimits.Cancelled ex) {
+            throw new SQLParserCancelledException(ex.getMessage(), ex.getOffset() + 1,
+                                                  getLineIndex());
+        }
+        finally {
+            parseLimits.stop();
+        }
+    }
+
+    /** Copy the features and limits of another parser. */
+    void copySettings(SQLParser other) {
+        features.clear();
+        features.addAll(other.getFeatures());
+        setMaxStringLiteralLength(other.getMaxStringLiteralLength());
+        setMaxIdentifierLength(other.getMaxIdentifierLength());
+        setLazyPositions(other.isLazyPositions());
+        parseLimits.copyFrom(other.parseLimits);
+        setMessageLocale(other.getMessageLocale());
+    }
+
+    /** Give this parser, which is being used again, the settings of
+     * <code>other</code>, the given node factory and statement cache,
+     * and no cancellation.
+     */
+    void resetSettings(SQLParser other, NodeFactory nodeFactory,
+                       SQLStatementCache statementCache) {
+        copySettings(other);
+        setNodeFactory(nodeFactory);
+        setStatementCache(statementCache);
+        parseLimits.clearCancel();
+    }
+
+    /** Get the message for a parse error, with the images of the tokens
+     * it shows, which may have been left to be taken from the text.
+     */
+    static String parseErrorMessage(ParseException ex, CharSequence sqlText) {
+        if ((ex.currentToken != null) && (ex.expectedTokenSequences != null)) {
+            boolean missing = false;
+            for (Token token = ex.currentToken.next; token != null; token = token.next) {
+                if (token.image == StringCharStream.NO_IMAGE) {
+                    token.image = sqlText.subSequence(token.beginOffset, 
+                                                      token.endOffset + 1).toString();
+                    missing = true;
+                }
+            }
+            if (missing)
+                ex = new ParseException(ex.currentToken, ex.expectedTokenSequences, 
+                                        ex.tokenImage);
+        }
+        return standardizeEol(ex.getMessage());
+    }
+
+    /** Get a parse error whose tokens have the lines and columns that
+     * the stream left to be worked out when needed.
+     */
+    private ParseException withTokenPositions(ParseException ex) {
+        if ((ex.currentToken == null) || !charStream.isLazyPositions())
+            return ex;
+        for (Token token = ex.currentToken.next; token != null; token = token.next) {
+            charStream.setPositions(token);
+        }
+        if (ex.expectedTokenSequences == null)
+            return ex;
+        return new ParseException(ex.currentToken, ex.expectedTokenSequences, 
+                                  ex.tokenImage);
+    }
+
+    /** Get the error for a parse that went over one of its limits. */
+    private SQLParserException limitError(ParseLimits.Exceeded ex) {
+        return new SQLParserLimitException(ex.getMessage(), ex.getLimit(),
+                                           ex.getOffset() + 1, getLineIndex());
+    }
+
     /** Undo ParseException.initialise()'s eol handling. 
      * Want something platform independent.
      */
-    private static String standardizeEol(String msg) {
+    static String standardizeEol(String msg) {
         String eol = System.getProperty("line.separator", "\n");
         if (eol.equals("\n"))
             return msg;
@@ -158,41 +327,156 @@ public class SQLParser implements SQLParserContext {
     }
 
     /** Translate position of token into linear position. */
-    private static int tokenErrorPosition(Token token, String sql) {
+    private int tokenErrorPosition(Token token) {
         if (token == null) return 0;
-        return lineColumnErrorPosition(token.next.beginLine, token.next.beginColumn, sql);
+        return lineColumnErrorPosition(token.next.beginLine, token.next.beginColumn);
     }
 
     /** Translate line position into linear position. */
-    private static int lineColumnErrorPosition(int line, int column, String sql) {
-        if (line <= 0) return 0;
-        int position = 0;
-        while (line-- > 1) {
-            position = sql.indexOf('\n', position);
-            if (position < 0)
-                return 0;
-            position++;
-        }
-        position += column;
-        return position;
+    private int lineColumnErrorPosition(int line, int column) {
+        return lineColumnErrorPosition(getLineIndex(), line, column);
+    }
+
+    private static int lineColumnErrorPosition(LineIndex index, int line, int column) {
+        if ((line <= 0) || (line > index.getLineCount())) return 0;
+        return index.getLineStart(line) + column;
+    }
+
+    /** Parse statements delimited by semicolons from a stream, one at
+     * a time, without holding the whole input in memory.
+     * This parser is in use until the returned reader is finished with.
+     */
+    public SQLStatementReader parseStatements(Reader reader) throws StandardException {
+        return parseStatements(new ReaderCharStream(reader));
+    }
+
+    /** Parse statements delimited by semicolons from a stream, such as
+     * a {@link MappedFileCharStream}, one at a time.
+     * This parser is in use until the returned reader is finished with.
+     */
+    public SQLStatementReader parseStatements(BufferedCharStream stream) throws StandardException {
+        return new SQLStatementReader(this, stream);
     }
 
     protected void reinit(String sqlText) throws StandardException {
-        this.sqlText = sqlText;
+        reinit(sqlText, true, lazyPositions);
+    }
+
+    /** Get ready to read <code>sqlText</code>. If <code>lazyImages</code>,
+     * tokens only get an image when the grammar asks for it. If
+     * <code>lazyPositions</code>, tokens only get a line and column
+     * when needed for an error.
+     */
+    private void reinit(String sqlText, boolean lazyImages, boolean lazyPositions)
+            throws StandardException {
+        if (charStream == null) {
+            charStream = new StringCharStream(sqlText);
+        }
+        else {
+            charStream.ReInit(sqlText);
+        }
+        charStream.setLazyImages(lazyImages);
+        charStream.setLazyPositions(lazyPositions);
+        // State first, since the grammar reads the first token.
+        resetState(sqlText);
+        reinitGrammar(charStream);
+    }
+
+    /** Get the grammar ready to read statements from <code>stream</code>.
+     * This reads the first token, so a {@link TokenMgrError} thrown
+     * here must be followed by {@link #discardGrammar}.
+     */
+    SQLGrammar startStatements(BufferedCharStream stream) {
+        // State first, since the grammar reads the first token.
+        resetState(null);
+        reinitGrammar(stream);
+        parser.startStatements(stream.getRetainedText());
+        return parser;
+    }
+
+    private void reinitGrammar(CharStream stream) {
         if (parser == null) {
             // Construct parser + token manager with all references
             // correct before anything real is parsed. Otherwise very
             // first token might get NPE trying to check feature.
             parser = new SQLGrammar(new StringCharStream(""));
             parser.setParserContext(this);
+            parser.setIdentifierTable(identifierTable);
+            parser.setParseLimits(parseLimits);
         }
-        if (charStream == null) {
-            charStream = new StringCharStream(sqlText);
+        parser.ReInit(stream);
+    }
+
+    /** Get this parser's grammar ready to return the tokens of
+     * <code>sqlText</code> from <code>getNextToken</code>, for scans
+     * that do not parse. (The grammar has already taken the first
+     * token from its token manager.)
+     * These scans only use token offsets, so tokens never get a line
+     * and column.
+     * A {@link TokenMgrError} thrown by either leaves the grammar
+     * unusable and must be followed by {@link #discardGrammar}.
+     */
+    SQLGrammar startTokens(String sqlText) throws StandardException {
+        reinit(sqlText, false, true);
+        return parser;
+    }
+
+    /** Get the error for a lexical error found by a scan of the text
+     * between <code>beginOffset</code> and <code>endOffset</code> that
+     * does not keep line and column, by scanning that again with this
+     * parser. The grammar is thrown away afterwards.
+     */
+    StandardException lexicalError(String sqlText, int beginOffset, int endOffset,
+                                   TokenMgrError ex) {
+        parseLimits.stop();
+        reinitGrammar(new StringCharStream(""));
+        SQLGrammarTokenManager tokens = parser.token_source;
+        parser = null;
+        return lexicalError(tokens, sqlText, beginOffset, endOffset, ex, getLineIndex());
+    }
+
+    /** Get the error for a lexical error found by a scan of
+     * <code>sqlText</code> that does not keep line and column, by
+     * scanning it again with <code>tokens</code>, which is left reading
+     * from a stream of its own.
+     */
+    static StandardException lexicalError(SQLGrammarTokenManager tokens, String sqlText, 
+                                          TokenMgrError ex, LineIndex lineIndex) {
+        return lexicalError(tokens, sqlText, 0, sqlText.length(), ex, lineIndex);
+    }
+
+    private static StandardException lexicalError(SQLGrammarTokenManager tokens, 
+                                                  String sqlText, 
+                                                  int beginOffset, int endOffset,
+                                                  TokenMgrError ex, LineIndex lineIndex) {
+        StringCharStream stream = new StringCharStream(sqlText);
+        stream.ReInit(sqlText, beginOffset, endOffset);
+        tokens.ReInit(stream);
+        try {
+            while (tokens.getNextToken().kind != SQLGrammarConstants.EOF) {
+            }
         }
-        else {
-            charStream.ReInit(sqlText);
+        catch (TokenMgrError ex2) {
+            if (ex2.errorCode == TokenMgrError.LEXICAL_ERROR)
+                return new SQLParserException(ex2.getMessage(),
+                                              ex2,
+                                              lineColumnErrorPosition(lineIndex,
+                                                                      ex2.errorLine,
+                                                                      ex2.errorColumn),
+                                              lineIndex);
+            ex = ex2;
         }
-        parser.ReInit(charStream);
+        return new StandardException(ex);
+    }
+
+    /** Throw away the cached grammar, so that the next parse makes a new one. */
+    void discardGrammar() {
+        parser = null;
+    }
+
+    private void resetState(String sqlText) {
+        this.sqlText = sqlText;
+        lineIndex = null;
         parameterList = new ArrayList<ParameterNode>();
         returnParameterFlag = false;
         printedObjectsMap = null;
@@ -224,6 +508,20 @@ public class SQLParser implements SQLParserContext {
         maxIdentifierLength = maxLength;
     }
 
+    /** Whether tokens only get a line and column when an error is reported. */
+    public boolean isLazyPositions() {
+        return lazyPositions;
+    }
+    /** Set whether tokens only get a line and column when an error is
+     * reported. This makes the lexer faster. Results and error
+     * messages are the same, but tokens read by the grammar have a
+     * line and column of <code>0</code>, for anything that looks at
+     * them before then.
+     */
+    public void setLazyPositions(boolean lazyPositions) {
+        this.lazyPositions = lazyPositions;
+    }
+
     /**
      * Check that identifier is not too long.
      */
@@ -233,6 +531,81 @@ public class SQLParser implements SQLParserContext {
             throw new StandardException("Identifier too long: '" + identifier + "'");
     }
 
+    /** Get maximum nesting depth. */
+    public int getMaxDepth() {
+        return parseLimits.getMaxDepth();
+    }
+    /** Set maximum nesting depth. This limits both the parentheses
+     * open at once and the nesting of the expressions,
+     * <code>CASE</code> branches, queries and table references that
+     * the grammar reads recursively, including those not in
+     * parentheses, such as a chain of <code>UNION</code>s.
+     */
+    public void setMaxDepth(int maxDepth) {
+        parseLimits.setMaxDepth(maxDepth);
+    }
+
+    /** Get maximum number of nodes made by one parse. */
+    public int getMaxNodes() {
+        return parseLimits.getMaxNodes();
+    }
+    /** Set maximum number of nodes made by one parse.
+     * Counted by the node factory's <code>getNode</code>.
+     */
+    public void setMaxNodes(int maxNodes) {
+        parseLimits.setMaxNodes(maxNodes);
+    }
+
+    /** Get maximum number of tokens read by one parse. */
+    public int getMaxTokens() {
+        return parseLimits.getMaxTokens();
+    }
+    /** Set maximum number of tokens read by one parse. */
+    public void setMaxTokens(int maxTokens) {
+        parseLimits.setMaxTokens(maxTokens);
+    }
+
+    /** Get maximum elapsed time of one parse in milliseconds, or
+     * <code>0</code> for no limit. */
+    public long getMaxParseMillis() {
+        return parseLimits.getMaxMillis();
+    }
+    /** Set maximum elapsed time of one parse in milliseconds, or
+     * <code>0</code> for no limit.
+     * The clock is only checked every so many tokens.
+     */
+    public void setMaxParseMillis(long maxMillis) {
+        parseLimits.setMaxMillis(maxMillis);
+    }
+
+    /**
+     * Stop the parse that this parser is running in another thread.
+     * The parse throws a {@link SQLParserCancelledException} soon
+     * after, from the token manager or node factory, and the parser can
+     * then be used again. Does nothing if no parse is running: a
+     * parse that starts afterwards is not affected. Interrupting the
+     * parsing thread also stops the parse, and is not lost if it
+     * comes before the parse starts.
+     */
+    public void cancel() {
+        parseLimits.cancel();
+    }
+
+    ParseLimits getParseLimits() {
+        return parseLimits;
+    }
+
+    /** Note that one of this parser's nodes has changed. */
+    void nodeModified() {
+        if (++modifications <= 0)
+            modifications = 1;
+    }
+
+    /** Get the number of changes to this parser's nodes. */
+    int getModifications() {
+        return modifications;
+    }
+
     public void setReturnParameterFlag() {
         returnParameterFlag = true;
     }
@@ -252,6 +625,20 @@ public class SQLParser implements SQLParserContext {
     /** Set the node factory. */
     public void setNodeFactory(NodeFactory nodeFactory) {
         this.nodeFactory = nodeFactory;
+        if (parser != null)
+            parser.setParserContext(this); // Grammar keeps its own reference.
+    }
+
+    /** Get the cache of parsed statements, if any. */
+    public SQLStatementCache getStatementCache() {
+        return statementCache;
+    }
+
+    /** Set a cache of parsed statements to be consulted by
+     * {@link #parseStatement}. May be shared with other parsers.
+     */
+    public void setStatementCache(SQLStatementCache statementCache) {
+        this.statementCache = statementCache;
     }
 
     /**
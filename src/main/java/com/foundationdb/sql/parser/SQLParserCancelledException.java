@@ -0,0 +1,35 @@
+/**
+ * Copyright 2014 FoundationDB, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foundationdb.sql.parser;
+
+/**
+ * A parse that was stopped by {@link SQLParser#cancel} or by
+ * interrupting the parsing thread.
+ * The parser is left ready for the next statement.
+ */
+public class SQLParserCancelledException extends SQLParserException
+{
+    public SQLParserCancelledException(String msg, int errorPosition,
+                                       LineIndex lineIndex) {
+        super(msg, null, errorPosition, lineIndex);
+    }
+
+    public SQLParserCancelledException(String msg, int errorPosition,
+                                       int errorLine, int errorColumn) {
+        super(msg, null, errorPosition, errorLine, errorColumn);
+    }
+}
@@ -21,13 +21,61 @@ import com.foundationdb.sql.StandardException;
 public class SQLParserException extends StandardException
 {
     private int errorPosition;
+    private transient LineIndex lineIndex;
+    private int errorLine, errorColumn;
 
     public SQLParserException(String msg, Throwable cause, int errorPosition) {
         super(msg, cause);
         this.errorPosition = errorPosition;
     }
 
+    public SQLParserException(String msg, Throwable cause, int errorPosition,
+                              LineIndex lineIndex) {
+        this(msg, cause, errorPosition);
+        this.lineIndex = lineIndex;
+    }
+
+    /** An error in text that is not kept, such as a stream, at a
+     * known line and column.
+     */
+    public SQLParserException(String msg, Throwable cause, int errorPosition,
+                              int errorLine, int errorColumn) {
+        this(msg, cause, errorPosition);
+        this.errorLine = errorLine;
+        this.errorColumn = errorColumn;
+    }
+
+    /** Get the 1-based position of the error in the SQL text, or 0 if
+     * not known.
+     */
     public int getErrorPosition() {
         return errorPosition;
     }
+
+    /** Get the map between offsets and lines of the SQL text, if known. */
+    public LineIndex getLineIndex() {
+        return lineIndex;
+    }
+
+    /** Get the line of the error position, or 0 if not known. */
+    public int getErrorLine() {
+        if (lineIndex == null)
+            return errorLine;
+        if (!hasErrorOffset())
+            return 0;
+        return lineIndex.getLine(errorPosition - 1);
+    }
+
+    /** Get the column of the error position, or 0 if not known. */
+    public int getErrorColumn() {
+        if (lineIndex == null)
+            return errorColumn;
+        if (!hasErrorOffset())
+            return 0;
+        return lineIndex.getColumn(errorPosition - 1);
+    }
+
+    private boolean hasErrorOffset() {
+        return ((errorPosition > 0) && (errorPosition <= lineIndex.getText().length() + 1));
+    }
 }
@@ -0,0 +1,55 @@
+/**
+ * Copyright 2014 FoundationDB, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.foundationdb.sql.parser;
+
+/**
+ * A parse that was stopped for going over one of the limits set on
+ * the {@link SQLParser}.
+ */
+public class SQLParserLimitException extends SQLParserException
+{
+    public enum Limit {
+        /** {@link SQLParser#setMaxDepth}. */
+        DEPTH,
+        /** {@link SQLParser#setMaxNodes}. */
+        NODES,
+        /** {@link SQLParser#setMaxTokens}. */
+        TOKENS,
+        /** {@link SQLParser#setMaxParseMillis}. */
+        TIME
+    }
+
+    private final Limit limit;
+
+    public SQLParserLimitException(String msg, Limit limit, int errorPosition,
+                                   LineIndex lineIndex) {
+        super(msg, null, errorPosition, lineIndex);
+        this.limit = limit;
+    }
+
+    public SQLParserLimitException(String msg, Limit limit, int errorPosition,
+                                   int errorLine, int errorColumn) {
+        super(msg, null, errorPosition, errorLine, errorColumn);
+        this.limit = limit;
+    }
+
+    /** Get the limit that was gone over. */
+    public Limit getLimit() {
+        return limit;
+    }
+}
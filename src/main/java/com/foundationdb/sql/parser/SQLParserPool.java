@@ -0,0 +1,276 @@
+/**
+ * Copyright 2014 FoundationDB, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foundationdb.sql.parser;
+
+import com.foundationdb.sql.StandardException;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A fixed-size pool of {@link SQLParser}s that can be shared between threads.
+ *
+ * A <code>SQLParser</code> is not thread-safe, but it is reusable and
+ * keeps its grammar and token manager between statements. The pool
+ * creates all its parsers up front, configured like a template parser,
+ * and hands each one out to a single borrower at a time.
+ *
+ * <pre>
+ * SQLParser parser = pool.borrow();
+ * try {
+ *     StatementNode stmt = parser.parseStatement(sql);
+ *     List&lt;ParameterNode&gt; params = parser.getParameterList();
+ *     ...
+ * }
+ * finally {
+ *     pool.release(parser);
+ * }
+ * </pre>
+ *
+ * Nodes remember the parser that made them as their
+ * {@link SQLParserContext}, so a tree should be finished with (or
+ * copied with {@link NodeFactory#copyNode}) before its parser is
+ * released.
+ */
+public class SQLParserPool
+{
+    private final SQLParser template;
+    private final int size;
+    private final BlockingQueue<SQLParser> available;
+    // Every parser of the pool, with the node factory it started with.
+    private final Map<SQLParser,NodeFactory> owned;
+    private final Set<SQLParser> borrowed;
+
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong waitCount = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    /** Make a pool of <code>size</code> parsers with default settings. */
+    public SQLParserPool(int size) throws StandardException {
+        this(new SQLParser(), size);
+    }
+
+    /** Make a pool of <code>size</code> parsers, each with the
+     * same features and limits as <code>template</code>.
+     * The template itself is not handed out and should not be changed
+     * after the pool is made.
+     */
+    public SQLParserPool(SQLParser template, int size) throws StandardException {
+        if (size <= 0)
+            throw new IllegalArgumentException("Pool size must be positive: " + size);
+        this.template = template;
+        this.size = size;
+        this.available = new ArrayBlockingQueue<SQLParser>(size);
+        this.owned = new IdentityHashMap<SQLParser,NodeFactory>(size);
+        this.borrowed = Collections.synchronizedSet(
+            Collections.newSetFromMap(new IdentityHashMap<SQLParser,Boolean>(size)));
+        for (int i = 0; i < size; i++) {
+            SQLParser parser = newParser();
+            owned.put(parser, parser.getNodeFactory());
+            available.add(parser);
+        }
+    }
+
+    /** Get the parser whose settings the pooled parsers copy. */
+    public SQLParser getTemplate() {
+        return template;
+    }
+
+    /** Get the number of parsers in the pool. */
+    public int getSize() {
+        return size;
+    }
+
+    /** Get the number of parsers not currently borrowed. */
+    public int getAvailable() {
+        return available.size();
+    }
+
+    /**
+     * Make a new parser for the pool, configured like the template,
+     * with its grammar already constructed.
+     * Subclasses with their own {@link NodeFactory} should override this
+     * to install a separate one in each parser.
+     */
+    protected SQLParser newParser() throws StandardException {
+        SQLParser parser = new SQLParser();
+        parser.copySettings(template);
+        parser.setStatementCache(template.getStatementCache());
+        parser.reinit("");
+        return parser;
+    }
+
+    /**
+     * Borrow a parser, waiting for one to be released if they are all in use.
+     * @see #release
+     */
+    public SQLParser borrow() throws StandardException {
+        SQLParser parser = available.poll();
+        if (parser == null) {
+            long start = System.nanoTime();
+            try {
+                parser = available.take();
+            }
+            catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new StandardException(ex);
+            }
+            recordWait(System.nanoTime() - start);
+        }
+        borrowed.add(parser);
+        borrowCount.incrementAndGet();
+        return parser;
+    }
+
+    /**
+     * Borrow a parser, waiting at most the given time for one to be released.
+     * @return the parser or <code>null</code> if none became available in time.
+     */
+    public SQLParser borrow(long timeout, TimeUnit unit) throws StandardException {
+        SQLParser parser = available.poll();
+        if (parser == null) {
+            long start = System.nanoTime();
+            try {
+                parser = available.poll(timeout, unit);
+            }
+            catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new StandardException(ex);
+            }
+            recordWait(System.nanoTime() - start);
+            if (parser == null)
+                return null;
+        }
+        borrowed.add(parser);
+        borrowCount.incrementAndGet();
+        return parser;
+    }
+
+    /** Return a borrowed parser to the pool. Any changes the borrower
+     * made to its features, limits, node factory or statement cache are
+     * undone, and any cancellation is forgotten.
+     * @throws IllegalArgumentException if the parser is not from this pool.
+     * @throws IllegalStateException if the parser is not borrowed.
+     */
+    public void release(SQLParser parser) {
+        if (!owned.containsKey(parser))
+            throw new IllegalArgumentException("Parser does not belong to this pool");
+        if (!borrowed.remove(parser))
+            throw new IllegalStateException("Parser is not borrowed; released twice?");
+        parser.resetSettings(template, owned.get(parser), template.getStatementCache());
+        if (!available.offer(parser))
+            throw new IllegalStateException("Pool is already full; parser released twice?");
+    }
+
+    /**
+     * Parse a single statement with a pooled parser.
+     * The result is copied into <code>context</code>, so that it does
+     * not depend on the borrowed parser once that is back in the pool.
+     * @see #parseStatement(String,SQLParserContext,List)
+     */
+    public StatementNode parseStatement(String sqlText, SQLParserContext context)
+            throws StandardException {
+        return parseStatement(sqlText, context, null);
+    }
+
+    /**
+     * Parse a single statement with a pooled parser, copying the result
+     * into <code>context</code>. The statement's parameters are added
+     * to <code>parameterList</code>, if not <code>null</code>, in order.
+     * These are the parameters of the copy.
+     */
+    public StatementNode parseStatement(String sqlText, SQLParserContext context,
+                                        List<ParameterNode> parameterList)
+            throws StandardException {
+        SQLParser parser = borrow();
+        try {
+            StatementNode stmt = parser.parseStatement(sqlText);
+            NodeFactory nodeFactory = context.getNodeFactory();
+            StatementNode copy = (StatementNode)nodeFactory.copyNode(stmt, context);
+            if (parameterList != null) {
+                List<ParameterNode> parameters = parser.getParameterList();
+                if (!parameters.isEmpty()) {
+                    SQLStatementCache.ParameterCollector original =
+                        new SQLStatementCache.ParameterCollector();
+                    stmt.accept(original);
+                    SQLStatementCache.ParameterCollector copied =
+                        new SQLStatementCache.ParameterCollector();
+                    copy.accept(copied);
+                    for (ParameterNode param : parameters) {
+                        int position = original.indexOf(param);
+                        if (position >= 0)
+                            parameterList.add(copied.parameters.get(position));
+                        else
+                            parameterList.add((ParameterNode)
+                                              nodeFactory.copyNode(param, context));
+                    }
+                }
+            }
+            return copy;
+        }
+        finally {
+            release(parser);
+        }
+    }
+
+    private void recordWait(long nanos) {
+        waitCount.incrementAndGet();
+        totalWaitNanos.addAndGet(nanos);
+        while (true) {
+            long max = maxWaitNanos.get();
+            if ((nanos <= max) || maxWaitNanos.compareAndSet(max, nanos))
+                break;
+        }
+    }
+
+    /** Get the number of successful borrows. */
+    public long getBorrowCount() {
+        return borrowCount.get();
+    }
+
+    /** Get the number of borrows that had to wait for a parser. */
+    public long getWaitCount() {
+        return waitCount.get();
+    }
+
+    /** Get the total time borrowers have spent waiting, in nanoseconds. */
+    public long getTotalWaitNanos() {
+        return totalWaitNanos.get();
+    }
+
+    /** Get the longest time any borrower has waited, in nanoseconds. */
+    public long getMaxWaitNanos() {
+        return maxWaitNanos.get();
+    }
+
+    /** Reset the borrow statistics. */
+    public void resetStatistics() {
+        borrowCount.set(0);
+        waitCount.set(0);
+        totalWaitNanos.set(0);
+        maxWaitNanos.set(0);
+    }
+
+}
@@ -0,0 +1,316 @@
+/**
+ * Copyright 2014 FoundationDB, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foundationdb.sql.parser;
+
+import com.foundationdb.sql.StandardException;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A bounded, least-recently-used cache of parsed statements keyed by
+ * their SQL text and the configuration of the parser that parsed them.
+ *
+ * Install with {@link SQLParser#setStatementCache}. A cache may be
+ * shared by any number of parsers, including those of a
+ * {@link SQLParserPool}; parsers with different features or limits
+ * never share entries.
+ *
+ * The cache keeps its own copy of each statement and hands every
+ * caller a fresh deep copy made with {@link NodeFactory#copyNode}, so
+ * returned trees can be modified freely.
+ */
+public class SQLStatementCache
+{
+    /** Rough retained size of one node, for estimating entry size. */
+    public static final int ESTIMATED_NODE_BYTES = 96;
+    /** Rough fixed overhead of one entry. */
+    public static final int ESTIMATED_ENTRY_BYTES = 128;
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final LinkedHashMap<Key,Entry> entries;
+    private long estimatedBytes;
+    private long hits, misses, evictions;
+
+    /** Make a cache holding at most <code>maxEntries</code> statements
+     * and at most (approximately) <code>maxBytes</code> of trees.
+     */
+    public SQLStatementCache(int maxEntries, long maxBytes) {
+        if (maxEntries <= 0)
+            throw new IllegalArgumentException("Cache size must be positive: " + maxEntries);
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.entries = new LinkedHashMap<Key,Entry>(16, 0.75f, true);
+    }
+
+    /** Make a cache limited only by entry count. */
+    public SQLStatementCache(int maxEntries) {
+        this(maxEntries, Long.MAX_VALUE);
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * Get a private copy of the cached statement for the given text,
+     * parsed by a parser configured like <code>parser</code>.
+     * The copy belongs to <code>parser</code> and its parameters are
+     * returned in <code>parameterList</code>.
+     * @return the copy or <code>null</code> if not cached.
+     */
+    StatementNode get(SQLParser parser, String sqlText,
+                      List<ParameterNode> parameterList)
+            throws StandardException {
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(new Key(parser, sqlText));
+            if (entry == null) {
+                misses++;
+                return null;
+            }
+            hits++;
+        }
+        return entry.copy(parser, parameterList);
+    }
+
+    /**
+     * Remember a freshly parsed statement. The cache makes its own
+     * copy, leaving the original to the caller.
+     */
+    void put(SQLParser parser, String sqlText,
+             StatementNode statement, List<ParameterNode> parameterList)
+            throws StandardException {
+        Entry entry = new Entry(parser, sqlText, statement, parameterList);
+        if (entry.estimatedBytes > maxBytes)
+            return;             // Would only evict everything else.
+        Key key = new Key(parser, sqlText);
+        synchronized (this) {
+            Entry old = entries.put(key, entry);
+            if (old != null)
+                estimatedBytes -= old.estimatedBytes;
+            estimatedBytes += entry.estimatedBytes;
+            Iterator<Entry> iter = entries.values().iterator();
+            while ((entries.size() > maxEntries) || (estimatedBytes > maxBytes)) {
+                Entry eldest = iter.next();
+                iter.remove();
+                estimatedBytes -= eldest.estimatedBytes;
+                evictions++;
+            }
+        }
+    }
+
+    /** Forget any statement for the given text. */
+    void remove(SQLParser parser, String sqlText) {
+        Key key = new Key(parser, sqlText);
+        synchronized (this) {
+            Entry old = entries.remove(key);
+            if (old != null)
+                estimatedBytes -= old.estimatedBytes;
+        }
+    }
+
+    /** Remove all entries. Statistics are not reset. */
+    public synchronized void clear() {
+        entries.clear();
+        estimatedBytes = 0;
+    }
+
+    public synchronized int getEntryCount() {
+        return entries.size();
+    }
+
+    /** Get the approximate bytes retained by cached trees. */
+    public synchronized long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+
+    public synchronized void resetStatistics() {
+        hits = misses = evictions = 0;
+    }
+
+    /** Everything about a parser that can change the result of a parse. */
+    static class Key {
+        private final String sqlText;
+        private final Set<SQLParserFeature> features;
+        private final SQLParserContext.IdentifierCase identifierCase;
+        private final int maxStringLiteralLength, maxIdentifierLength;
+        // A statement parsed under looser limits might fail under these.
+        private final int maxDepth, maxNodes, maxTokens;
+        private final long maxParseMillis;
+        private final int hashCode;
+
+        Key(SQLParser parser, String sqlText) {
+            this.sqlText = sqlText;
+            Set<SQLParserFeature> parserFeatures = parser.getFeatures();
+            this.features = parserFeatures.isEmpty() ?
+                EnumSet.noneOf(SQLParserFeature.class) : EnumSet.copyOf(parserFeatures);
+            this.identifierCase = parser.getIdentifierCase();
+            this.maxStringLiteralLength = parser.getMaxStringLiteralLength();
+            this.maxIdentifierLength = parser.getMaxIdentifierLength();
+            this.maxDepth = parser.getMaxDepth();
+            this.maxNodes = parser.getMaxNodes();
+            this.maxTokens = parser.getMaxTokens();
+            this.maxParseMillis = parser.getMaxParseMillis();
+            int hash = sqlText.hashCode();
+            hash = hash * 31 + features.hashCode();
+            hash = hash * 31 + identifierCase.hashCode();
+            hash = hash * 31 + maxStringLiteralLength;
+            hash = hash * 31 + maxIdentifierLength;
+            hash = hash * 31 + maxDepth;
+            hash = hash * 31 + maxNodes;
+            hash = hash * 31 + maxTokens;
+            hash = hash * 31 + (int)(maxParseMillis ^ (maxParseMillis >>> 32));
+            this.hashCode = hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) return false;
+            Key other = (Key)obj;
+            return ((hashCode == other.hashCode) &&
+                    sqlText.equals(other.sqlText) &&
+                    features.equals(other.features) &&
+                    (identifierCase == other.identifierCase) &&
+                    (maxStringLiteralLength == other.maxStringLiteralLength) &&
+                    (maxIdentifierLength == other.maxIdentifierLength) &&
+                    (maxDepth == other.maxDepth) &&
+                    (maxNodes == other.maxNodes) &&
+                    (maxTokens == other.maxTokens) &&
+                    (maxParseMillis == other.maxParseMillis));
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    static class Entry {
+        private final StatementNode statement;
+        // For each parameter in the original list, its position among
+        // the ParameterNodes in a traversal of the tree, or -1 with
+        // its own copy in detachedParameters.
+        private final int[] parameterPositions;
+        private final ParameterNode[] detachedParameters;
+        private final int estimatedBytes;
+
+        Entry(SQLParser parser, String sqlText,
+              StatementNode statement, List<ParameterNode> parameterList)
+                throws StandardException {
+            NodeFactory nodeFactory = parser.getNodeFactory();
+            this.statement = (StatementNode)nodeFactory.copyNode(statement, parser);
+            ParameterCollector collector = new ParameterCollector();
+            statement.accept(collector);
+            int nparams = parameterList.size();
+            parameterPositions = new int[nparams];
+            ParameterNode[] detached = null;
+            for (int i = 0; i < nparams; i++) {
+                ParameterNode param = parameterList.get(i);
+                int position = collector.indexOf(param);
+                parameterPositions[i] = position;
+                if (position < 0) {
+                    if (detached == null)
+                        detached = new ParameterNode[nparams];
+                    detached[i] = (ParameterNode)nodeFactory.copyNode(param, parser);
+                }
+            }
+            detachedParameters = detached;
+            estimatedBytes = ESTIMATED_ENTRY_BYTES + sqlText.length() * 2 +
+                collector.nodeCount * ESTIMATED_NODE_BYTES;
+        }
+
+        StatementNode copy(SQLParser parser, List<ParameterNode> parameterList)
+                throws StandardException {
+            NodeFactory nodeFactory = parser.getNodeFactory();
+            StatementNode result = (StatementNode)nodeFactory.copyNode(statement, parser);
+            if (parameterPositions.length > 0) {
+                ParameterCollector collector = new ParameterCollector();
+                result.accept(collector);
+                for (int i = 0; i < parameterPositions.length; i++) {
+                    int position = parameterPositions[i];
+                    if (position >= 0)
+                        parameterList.add(collector.parameters.get(position));
+                    else
+                        parameterList.add((ParameterNode)
+                                          nodeFactory.copyNode(detachedParameters[i], parser));
+                }
+            }
+            return result;
+        }
+    }
+
+    /** Count the nodes of a tree and find its parameters in order. */
+    static class ParameterCollector implements Visitor {
+        List<ParameterNode> parameters = new ArrayList<ParameterNode>();
+        int nodeCount;
+        private IdentityHashMap<ParameterNode,Integer> positions;
+
+        public Visitable visit(Visitable node) {
+            nodeCount++;
+            if (node instanceof ParameterNode)
+                parameters.add((ParameterNode)node);
+            return node;
+        }
+
+        public boolean visitChildrenFirst(Visitable node) {
+            return false;
+        }
+
+        public boolean stopTraversal() {
+            return false;
+        }
+
+        public boolean skipChildren(Visitable node) {
+            return false;
+        }
+
+        int indexOf(ParameterNode param) {
+            if (positions == null) {
+                positions = new IdentityHashMap<ParameterNode,Integer>(parameters.size());
+                for (int i = 0; i < parameters.size(); i++)
+                    positions.put(parameters.get(i), i);
+            }
+            Integer position = positions.get(param);
+            return (position == null) ? -1 : position;
+        }
+    }
+
+}
@@ -0,0 +1,153 @@
+/**
+ * Copyright 2014 FoundationDB, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foundationdb.sql.parser;
+
+import com.foundationdb.sql.StandardException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Statements parsed one at a time from a stream of semicolon-delimited
+ * statements, as returned by {@link SQLParser#parseStatements(Reader)}.
+ *
+ * <pre>
+ * SQLStatementReader statements = parser.parseStatements(reader);
+ * try {
+ *     StatementNode stmt;
+ *     while ((stmt = statements.nextStatement()) != null) {
+ *         ...
+ *     }
+ * }
+ * finally {
+ *     statements.close();
+ * }
+ * </pre>
+ *
+ * Nothing is kept of statements already returned, so a script of any
+ * size can be processed in the space needed for its largest statement.
+ * Statement and error offsets are absolute positions in the whole input.
+ * Error lines and columns are those of the token manager, which counts
+ * a tab as reaching the next multiple of eight columns.
+ * Parameters are not allowed and input without any statement is an
+ * error, as with {@link SQLParser#parseStatements(String)}.
+ * An error reading or decoding the input is reported as such, rather
+ * than as a parse error where the input stopped.
+ */
+public class SQLStatementReader implements Closeable
+{
+    private final SQLParser parser;
+    private final BufferedCharStream stream;
+    // Started by the first statement, which reads the first token.
+    private SQLGrammar grammar;
+    private final Token[] tokenHolder = new Token[1];
+    private boolean done;
+
+    SQLStatementReader(SQLParser parser, BufferedCharStream stream) {
+        this.parser = parser;
+        this.stream = stream;
+    }
+
+    /** Get the parser that makes the statements. */
+    public SQLParser getParser() {
+        return parser;
+    }
+
+    /** Parse the next statement.
+     * @return the statement or <code>null</code> at the end of input.
+     */
+    public StatementNode nextStatement() throws StandardException {
+        if (done)
+            return null;
+        StatementNode result;
+        try {
+            parser.getParseLimits().start();
+            boolean first = (grammar == null);
+            if (first)
+                grammar = parser.startStatements(stream);
+            stream.discardBefore(grammar.getToken(1).beginOffset);
+            result = grammar.parseNextStatement(tokenHolder, first);
+        }
+        catch (ParseException ex) {
+            done = true;
+            checkReadError();
+            String msg = SQLParser.parseErrorMessage(ex, stream.getRetainedText());
+            if (ex.currentToken == null)
+                throw new SQLParserException(msg, ex, 0);
+            Token token = ex.currentToken.next;
+            throw new SQLParserException(msg, ex, token.beginOffset + 1,
+                                         token.beginLine, token.beginColumn);
+        }
+        catch (TokenMgrError ex) {
+            done = true;
+            // Throw away the cached parser.
+            parser.discardGrammar();
+            checkReadError();
+            if (ex.errorCode == TokenMgrError.LEXICAL_ERROR)
+                throw new SQLParserException(ex.getMessage(), ex, lexicalErrorPosition(ex),
+                                             ex.errorLine, ex.errorColumn);
+            else
+                throw new StandardException(ex);
+        }
+        catch (ParseLimits.Exceeded ex) {
+            done = true;
+            throw new SQLParserLimitException(ex.getMessage(), ex.getLimit(),
+                                              ex.getOffset() + 1,
+                                              ex.getLine(), ex.getColumn());
+        }
+        catch (ParseLimits.Cancelled ex) {
+            done = true;
+            throw new SQLParserCancelledException(ex.getMessage(), ex.getOffset() + 1,
+                                                  ex.getLine(), ex.getColumn());
+        }
+        finally {
+            parser.getParseLimits().stop();
+        }
+        // A statement ended by a semicolon is whole, even if reading
+        // failed after it.
+        if ((result == null) || (grammar.getToken(0).kind == SQLGrammarConstants.EOF))
+            checkReadError();
+        if (result == null)
+            done = true;
+        return result;
+    }
+
+    /** Translate the line and column of a lexical error into a
+     * position, the way {@link SQLParser} does for a string.
+     */
+    private int lexicalErrorPosition(TokenMgrError ex) {
+        int lineStart = stream.getLineStartOffset(ex.errorLine);
+        if (lineStart < 0)
+            return stream.getEndOffset() + 1;
+        return lineStart + ex.errorColumn;
+    }
+
+    private void checkReadError() throws StandardException {
+        if (stream.getIOException() != null) {
+            // Reading stopped early, which looked like the end.
+            done = true;
+            throw new StandardException(stream.getIOException());
+        }
+    }
+
+    /** Close the underlying reader. */
+    public void close() throws IOException {
+        done = true;
+        stream.close();
+    }
+}
@@ -0,0 +1,116 @@
+/**
+ * Copyright 2014 FoundationDB, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foundationdb.sql.parser;
+
+import com.foundationdb.sql.StandardException;
+
+import java.util.Arrays;
+
+/**
+ * Find the boundaries of semicolon-delimited statements with just the
+ * grammar's token manager (through a {@link SQLTokenizer}), without
+ * parsing them or making any nodes.
+ *
+ * Since it uses the same lexical rules as the parser, semicolons
+ * inside string literals, delimited identifiers and (nested) comments
+ * are skipped, and the features of the parser it is made from are
+ * honored. Semicolons between a trigger's <code>BEGIN ATOMIC</code> and
+ * <code>END</code> do not end the statement.
+ *
+ * A splitter is reusable, but not thread-safe.
+ */
+public class SQLStatementSplitter
+{
+    private final SQLTokenizer tokenizer;
+
+    /** Make a splitter for the default features. */
+    public SQLStatementSplitter() {
+        this(new SQLParser());
+    }
+
+    /** Make a splitter with the same features as <code>parser</code>. */
+    public SQLStatementSplitter(SQLParser parser) {
+        tokenizer = new SQLTokenizer(parser);
+    }
+
+    /**
+     * Split <code>sqlText</code> into statements. Empty statements
+     * (nothing but whitespace and comments) are left out.
+     * @return for each statement, its begin offset (inclusive) and end offset
+     * (exclusive), one after another.
+     */
+    public int[] split(String sqlText) throws StandardException {
+        int[] result = new int[16];
+        int count = 0;
+        int begin = -1, end = -1;
+        // CASE ... END is counted too, to find the right END.
+        int depth = 0;
+        int prevKind = -1;
+        tokenizer.reset(sqlText);
+        try {
+            while (true) {
+                boolean more = tokenizer.next();
+                int kind = tokenizer.getKind();
+                if (!more ||
+                    ((kind == SQLGrammarConstants.SEMICOLON) && (depth == 0))) {
+                    if (begin >= 0) {
+                        if (count + 2 > result.length)
+                            result = Arrays.copyOf(result, result.length * 2);
+                        result[count++] = begin;
+                        result[count++] = end;
+                        begin = -1;
+                    }
+                    if (!more)
+                        break;
+                }
+                else {
+                    switch (kind) {
+                    case SQLGrammarConstants.CASE:
+                        depth++;
+                        break;
+                    case SQLGrammarConstants.ATOMIC:
+                        if (prevKind == SQLGrammarConstants.BEGIN)
+                            depth++;
+                        break;
+                    case SQLGrammarConstants.END:
+                        if (depth > 0)
+                            depth--;
+                        break;
+                    }
+                    if (begin < 0)
+                        begin = tokenizer.getBeginOffset();
+                    end = tokenizer.getEndOffset();
+                }
+                prevKind = kind;
+            }
+        }
+        finally {
+            tokenizer.reset(null);
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /** Get the number of statements found by {@link #split}. */
+    public static int getStatementCount(int[] bounds) {
+        return bounds.length / 2;
+    }
+
+    /** Get the text of statement <code>n</code>. */
+    public static String getStatement(String sqlText, int[] bounds, int n) {
+        return sqlText.substring(bounds[n * 2], bounds[n * 2 + 1]);
+    }
+}
@@ -0,0 +1,263 @@
+/**
+ * Copyright 2014 FoundationDB, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foundationdb.sql.parser;
+
+import com.foundationdb.sql.StandardException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * A cache of statements with their literals replaced by parameters,
+ * so that one parse serves every statement that differs only in
+ * the values of numeric and character string constants.
+ *
+ * <pre>
+ * ParameterizedStatement ps = cache.parseStatement(parser, "SELECT * FROM t WHERE id = 42");
+ * ps.getSQLText();        // SELECT * FROM t WHERE id = ?
+ * ps.getConstantValues(); // [42]
+ * </pre>
+ *
+ * Only DML statements (queries, <code>INSERT</code>, <code>UPDATE</code>
+ * and <code>DELETE</code>) without parameters of their own are
+ * parameterized. Nor is a statement whose template does not parse, as
+ * with a literal that is part of a type or a typed literal
+ * (<code>DATE '2014-01-01'</code>), or whose template has a
+ * parameter in place of an ordinal <code>ORDER BY</code> or
+ * <code>GROUP BY</code> column. These are parsed normally, and the
+ * template texts that failed are remembered to avoid trying again.
+ *
+ * Templates are held in a {@link SQLStatementCache}, which can be
+ * used to inspect hit rates.
+ */
+public class SQLTemplateCache
+{
+    private final SQLStatementCache templates;
+    private final LinkedHashMap<SQLStatementCache.Key,Boolean> rejected;
+    private final int maxRejected;
+    private long unparameterized;
+
+    /** Make a cache of at most <code>maxEntries</code> templates
+     * (and as many remembered failures). */
+    public SQLTemplateCache(int maxEntries) {
+        this(new SQLStatementCache(maxEntries), maxEntries);
+    }
+
+    /** Make a cache keeping templates in the given statement cache,
+     * which should not be shared with parsers as their own cache,
+     * remembering at most <code>maxRejected</code> failed templates. */
+    public SQLTemplateCache(SQLStatementCache templates, int maxRejected) {
+        this.templates = templates;
+        this.maxRejected = maxRejected;
+        this.rejected = new LinkedHashMap<SQLStatementCache.Key,Boolean>(16, 0.75f, true);
+    }
+
+    /** Get the cache of template trees. */
+    public SQLStatementCache getTemplates() {
+        return templates;
+    }
+
+    /** Get the number of statements that were parsed without
+     * parameterizing them. */
+    public synchronized long getUnparameterizedCount() {
+        return unparameterized;
+    }
+
+    public synchronized int getRejectedCount() {
+        return rejected.size();
+    }
+
+    /**
+     * Parse a single statement with <code>parser</code>, replacing its
+     * literals with parameters if possible.
+     * Afterwards, the parser's SQL text and parameter list are those
+     * of the result.
+     * A cancelled parse or one that exceeds the parser's limits is
+     * reported as such, and the template is not remembered as failed.
+     */
+    public ParameterizedStatement parseStatement(SQLParser parser, String sqlText)
+            throws StandardException {
+        List<Object> values = new ArrayList<Object>();
+        String templateText = extractLiterals(parser, sqlText, values);
+        if ((templateText != null) && !values.isEmpty()) {
+            SQLStatementCache.Key key = new SQLStatementCache.Key(parser, templateText);
+            if (!isRejected(key)) {
+                StatementNode stmt;
+                try {
+                    stmt = parser.parseStatement(templateText, templates);
+                }
+                catch (SQLParserCancelledException ex) {
+                    throw ex;
+                }
+                catch (SQLParserLimitException ex) {
+                    // Says nothing about whether the template parses.
+                    throw ex;
+                }
+                catch (StandardException ex) {
+                    stmt = null;
+                }
+                if ((stmt != null) && isTemplate(stmt)) {
+                    return new ParameterizedStatement(stmt, parser.getParameterList(),
+                                                      values, templateText);
+                }
+                reject(parser, key, templateText);
+            }
+        }
+        synchronized (this) {
+            unparameterized++;
+        }
+        StatementNode stmt = parser.parseStatement(sqlText);
+        return ParameterizedStatement.unparameterized(parser, stmt);
+    }
+
+    /** Forget all templates and failures. Statistics are not reset. */
+    public void clear() {
+        templates.clear();
+        synchronized (this) {
+            rejected.clear();
+        }
+    }
+
+    public synchronized void resetStatistics() {
+        unparameterized = 0;
+        templates.resetStatistics();
+    }
+
+    /**
+     * Lex <code>sqlText</code>, adding the value of each literal to
+     * <code>values</code>.
+     * @return the text with each literal replaced by <code>?</code>
+     * or <code>null</code> if the statement has parameters of its own
+     * or does not lex.
+     */
+    protected String extractLiterals(SQLParser parser, String sqlText, 
+                                     List<Object> values)
+            throws StandardException {
+        StringBuilder template = null;
+        int copied = 0;
+        try {
+            SQLGrammar tokens = parser.startTokens(sqlText);
+            while (true) {
+                Token token = tokens.getNextToken();
+                Object value;
+                switch (token.kind) {
+                case SQLGrammarConstants.EOF:
+                    if (template == null)
+                        return sqlText;
+                    template.append(sqlText, copied, sqlText.length());
+                    return template.toString();
+                case SQLGrammarConstants.QUESTION_MARK:
+                case SQLGrammarConstants.DOLLAR_N:
+                    return null;
+                case SQLGrammarConstants.EXACT_NUMERIC:
+                    value = exactNumericValue(token.image);
+                    break;
+                case SQLGrammarConstants.APPROXIMATE_NUMERIC:
+                    value = Double.valueOf(token.image);
+                    break;
+                case SQLGrammarConstants.SINGLEQUOTED_STRING:
+                    parser.checkStringLiteralLengthLimit(token.image);
+                    value = compressQuotes(token.image);
+                    break;
+                default:
+                    continue;
+                }
+                values.add(value);
+                if (template == null)
+                    template = new StringBuilder(sqlText.length());
+                template.append(sqlText, copied, token.beginOffset).append('?');
+                copied = token.endOffset + 1;
+            }
+        }
+        catch (TokenMgrError ex) {
+            // Let the normal parse report it.
+            parser.discardGrammar();
+            return null;
+        }
+        catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    /** Is a parsed template something that can be cached? */
+    protected boolean isTemplate(StatementNode stmt) throws StandardException {
+        if (!(stmt instanceof DMLStatementNode))
+            return false;
+        final boolean[] ordinal = new boolean[1];
+        stmt.accept(new Visitor() {
+                public Visitable visit(Visitable node) {
+                    if (((node instanceof OrderByColumn) &&
+                         (((OrderByColumn)node).getExpression() instanceof ParameterNode)) ||
+                        ((node instanceof GroupByColumn) &&
+                         (((GroupByColumn)node).getColumnExpression() instanceof ParameterNode)))
+                        ordinal[0] = true;
+                    return node;
+                }
+                public boolean visitChildrenFirst(Visitable node) {
+                    return false;
+                }
+                public boolean stopTraversal() {
+                    return ordinal[0];
+                }
+                public boolean skipChildren(Visitable node) {
+                    return false;
+                }
+            });
+        return !ordinal[0];
+    }
+
+    private synchronized boolean isRejected(SQLStatementCache.Key key) {
+        return (rejected.get(key) != null);
+    }
+
+    private void reject(SQLParser parser, SQLStatementCache.Key key, String templateText) 
+            throws StandardException {
+        templates.remove(parser, templateText);
+        synchronized (this) {
+            rejected.put(key, Boolean.TRUE);
+            Iterator<SQLStatementCache.Key> iter = rejected.keySet().iterator();
+            while (rejected.size() > maxRejected) {
+                iter.next();
+                iter.remove();
+            }
+        }
+    }
+
+    /** Get an exact numeric literal as the same type of value as the
+     * constant node the grammar would make for it. */
+    static Object exactNumericValue(String image) {
+        switch (NumericConstantNode.exactNumericNodeType(image)) {
+        case NodeTypes.INT_CONSTANT_NODE:
+            return Integer.valueOf((int)NumericConstantNode.exactNumericLongValue(image));
+        case NodeTypes.LONGINT_CONSTANT_NODE:
+            return Long.valueOf(NumericConstantNode.exactNumericLongValue(image));
+        default:
+            return new BigDecimal(image);
+        }
+    }
+
+    /** Trim off the leading and trailing ', and compress all '' to '. */
+    static String compressQuotes(String image) {
+        String value = image.substring(1, image.length() - 1);
+        if (value.indexOf('\'') < 0)
+            return value;
+        return value.replace("''", "'");
+    }
+}
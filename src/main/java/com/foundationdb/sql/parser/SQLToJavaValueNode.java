@@ -59,6 +59,7 @@ public class SQLToJavaValueNode extends JavaValueNode
      */
 
     public void init(Object value) {
+        checkNotFrozen();
         this.value = (ValueNode)value;
     }
 
@@ -105,6 +106,7 @@ public class SQLToJavaValueNode extends JavaValueNode
     }
 
     public void setSQLValueNode(ValueNode value) {
+        checkNotFrozen();
         this.value = value;
     }
 
@@ -130,4 +132,9 @@ public class SQLToJavaValueNode extends JavaValueNode
             value = (ValueNode)value.accept(v);
         }
     }
+
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitSQLToJavaValueNode(this);
+    }
+
 }
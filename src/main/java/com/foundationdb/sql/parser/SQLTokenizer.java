@@ -0,0 +1,197 @@
+/**
+ * Copyright 2014 FoundationDB, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foundationdb.sql.parser;
+
+import com.foundationdb.sql.StandardException;
+
+/**
+ * Lexical scan of SQL text, using the parser's own token rules,
+ * without parsing it.
+ *
+ * The tokenizer is itself a cursor over the tokens of the current text
+ * and can be reused for any number of texts:
+ * <pre>
+ * SQLTokenizer tokens = new SQLTokenizer(parser);
+ * tokens.reset(sql);
+ * while (tokens.next()) {
+ *     if (tokens.getCategory() == SQLTokenizer.Category.STRING)
+ *         highlight(tokens.getBeginOffset(), tokens.getEndOffset());
+ * }
+ * </pre>
+ *
+ * Whitespace and comments are skipped, so the text between one token's
+ * end and the next one's beginning is made up of them.
+ * Token images are not kept; {@link #getImage} takes one from the
+ * text on request. A tokenizer is not thread-safe.
+ */
+public class SQLTokenizer
+{
+    /** Broad kinds of token. */
+    public static enum Category {
+        /** A reserved or non-reserved keyword, even where the parser
+         * would take a non-reserved one as an identifier. */
+        KEYWORD, 
+        /** A regular or delimited identifier. */
+        IDENTIFIER, 
+        /** A character or hex string literal. */
+        STRING, 
+        /** A numeric literal. */
+        NUMBER, 
+        /** A <code>?</code> or <code>$<i>n</i></code> parameter marker. */
+        PARAMETER,
+        /** Punctuation and operators. */
+        OPERATOR
+    }
+
+    private static final Category[] CATEGORIES = categories();
+
+    private final OffsetCharStream charStream;
+    private final SQLGrammarTokenManager tokenManager;
+    private String sqlText;
+    private int kind, beginOffset, endOffset;
+
+    /** Make a tokenizer for the default features. */
+    public SQLTokenizer() {
+        this(new SQLParser());
+    }
+
+    /** Make a tokenizer with the same features as <code>parser</code>. */
+    public SQLTokenizer(SQLParser parser) {
+        // The token manager consults the grammar for features.
+        SQLGrammar grammar = new SQLGrammar(new StringCharStream(""));
+        grammar.setParserContext(parser);
+        charStream = new OffsetCharStream();
+        tokenManager = new SQLGrammarTokenManager(grammar, charStream);
+    }
+
+    /** Start scanning <code>sqlText</code>, before its first token. */
+    public void reset(String sqlText) {
+        this.sqlText = sqlText;
+        charStream.init(sqlText);
+        tokenManager.ReInit(charStream);
+        kind = -1;
+        beginOffset = endOffset = 0;
+    }
+
+    /** Get the text being scanned. */
+    public String getSQLText() {
+        return sqlText;
+    }
+
+    /** Advance to the next token.
+     * @return <code>false</code> at the end of the text.
+     */
+    public boolean next() throws StandardException {
+        if (kind == SQLGrammarConstants.EOF)
+            return false;
+        Token token;
+        try {
+            token = tokenManager.getNextToken();
+        }
+        catch (TokenMgrError ex) {
+            kind = SQLGrammarConstants.EOF;
+            // Scan again keeping lines and columns, leaving the
+            // parser whose features are used alone.
+            throw SQLParser.lexicalError(tokenManager, sqlText, ex, 
+                                         new LineIndex(sqlText));
+        }
+        kind = token.kind;
+        beginOffset = token.beginOffset;
+        endOffset = token.endOffset + 1;
+        return (kind != SQLGrammarConstants.EOF);
+    }
+
+    /** Get the grammar's kind of the current token. Kinds are only
+     * meaningful for comparison with each other and with {@link #getKind(String)}. */
+    public int getKind() {
+        return kind;
+    }
+
+    /** Get the category of the current token. */
+    public Category getCategory() {
+        if (kind <= SQLGrammarConstants.EOF)
+            return null;
+        return CATEGORIES[kind];
+    }
+
+    /** Get the name of the current token's kind, which is the keyword
+     * or operator itself or a name like <code>IDENTIFIER</code>. */
+    public String getKindName() {
+        return getKindName(kind);
+    }
+
+    /** Get the offset of the current token's first character. */
+    public int getBeginOffset() {
+        return beginOffset;
+    }
+
+    /** Get the offset just past the current token's last character. */
+    public int getEndOffset() {
+        return endOffset;
+    }
+
+    /** Get the text of the current token. */
+    public String getImage() {
+        return sqlText.substring(beginOffset, endOffset);
+    }
+
+    /** Get the name of a kind of token. */
+    public static String getKindName(int kind) {
+        String image = SQLGrammarConstants.tokenImage[kind];
+        // Literal tokens are quoted; named ones are in angle brackets.
+        return image.substring(1, image.length() - 1);
+    }
+
+    /** Get the kind of token with the given name, as returned by
+     * {@link #getKindName}, or -1 if there is none. Keywords are
+     * lowercase.
+     */
+    public static int getKind(String name) {
+        for (int i = 0; i < SQLGrammarConstants.tokenImage.length; i++) {
+            if (name.equals(getKindName(i)))
+                return i;
+        }
+        return -1;
+    }
+
+    private static Category[] categories() {
+        String[] images = SQLGrammarConstants.tokenImage;
+        Category[] result = new Category[images.length];
+        for (int i = 0; i < images.length; i++) {
+            String image = images[i];
+            if ((image.charAt(0) == '"') && Character.isLetter(image.charAt(1)))
+                result[i] = Category.KEYWORD;
+            else
+                result[i] = Category.OPERATOR;
+        }
+        result[SQLGrammarConstants.IDENTIFIER] = Category.IDENTIFIER;
+        result[SQLGrammarConstants.BACKQUOTED_IDENTIFIER] = Category.IDENTIFIER;
+        result[SQLGrammarConstants.DOUBLEQUOTED_IDENTIFIER] = Category.IDENTIFIER;
+        result[SQLGrammarConstants.SINGLEQUOTED_STRING] = Category.STRING;
+        result[SQLGrammarConstants.DOUBLEQUOTED_STRING] = Category.STRING;
+        result[SQLGrammarConstants.ESCAPEQUOTED_STRING] = Category.STRING;
+        result[SQLGrammarConstants.DOUBLEDOLLAR_STRING] = Category.STRING;
+        result[SQLGrammarConstants.HEX_STRING] = Category.STRING;
+        result[SQLGrammarConstants.EXACT_NUMERIC] = Category.NUMBER;
+        result[SQLGrammarConstants.APPROXIMATE_NUMERIC] = Category.NUMBER;
+        result[SQLGrammarConstants.UINT] = Category.NUMBER;
+        result[SQLGrammarConstants.LENGTH_MODIFIER] = Category.NUMBER;
+        result[SQLGrammarConstants.QUESTION_MARK] = Category.PARAMETER;
+        result[SQLGrammarConstants.DOLLAR_N] = Category.PARAMETER;
+        return result;
+    }
+}
@@ -66,6 +66,7 @@ public class SavepointNode extends DDLStatementNode
     public void init(Object objectName,
                      Object statementType)
             throws StandardException {
+        checkNotFrozen();
         initAndCheck(null);
         this.savepointName = (String)objectName;
         this.statementType = (StatementType)statementType;
@@ -109,4 +110,8 @@ public class SavepointNode extends DDLStatementNode
         }
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitSavepointNode(this);
+    }
+
 }
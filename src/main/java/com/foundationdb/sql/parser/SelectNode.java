@@ -95,6 +95,7 @@ public class SelectNode extends ResultSetNode
                      Object havingClause,
                      Object windowDefinitionList)
             throws StandardException {
+        checkNotFrozen();
         /* RESOLVE - remove aggregateList from constructor.
          * Consider adding selectAggregates and whereAggregates 
          */
@@ -139,6 +140,21 @@ public class SelectNode extends ResultSetNode
                                                                  getParserContext());
     }
 
+    /**
+     * Clear this node for reuse.
+     */
+    protected void reset() {
+        super.reset();
+        fromList = null;
+        whereClause = null;
+        groupByList = null;
+        windows = null;
+        isDistinct = false;
+        isStraightJoin = false;
+        cacheHint = null;
+        havingClause = null;
+    }
+
     /**
      * Convert this object to a String.  See comments in QueryTreeNode.java
      * for how this should be done for tree printing.
@@ -157,10 +173,12 @@ public class SelectNode extends ResultSetNode
     }
 
     public void makeDistinct() {
+        checkNotFrozen();
         isDistinct = true;
     }
 
     public void clearDistinct() {
+        checkNotFrozen();
         isDistinct = false;
     }
 
@@ -169,6 +187,7 @@ public class SelectNode extends ResultSetNode
     }
 
     public void makeStraightJoin() {
+        checkNotFrozen();
         isStraightJoin = true;
     }
 
@@ -177,6 +196,7 @@ public class SelectNode extends ResultSetNode
     }
 
     public void setCacheHint(Boolean cacheHint) {
+        checkNotFrozen();
         this.cacheHint = cacheHint;
     }
 
@@ -240,6 +260,7 @@ public class SelectNode extends ResultSetNode
     }
 
     public void setWhereClause(ValueNode whereClause) {
+        checkNotFrozen();
         this.whereClause = whereClause;
     }
 
@@ -252,6 +273,7 @@ public class SelectNode extends ResultSetNode
     }
 
     public void setHavingClause(ValueNode havingClause) {
+        checkNotFrozen();
         this.havingClause = havingClause;
     }
 
@@ -304,4 +326,8 @@ public class SelectNode extends ResultSetNode
         return windows;
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitSelectNode(this);
+    }
+
 }
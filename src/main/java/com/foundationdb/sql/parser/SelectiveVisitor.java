@@ -0,0 +1,39 @@
+/**
+ * Copyright 2014 FoundationDB, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foundationdb.sql.parser;
+
+/**
+ * A {@link Visitor} that is only interested in nodes of certain types.
+ *
+ * {@link QueryTreeNode#accept} and {@link QueryTreeNode#acceptIteratively}
+ * do not take such a visitor into a subtree that cannot contain a node of
+ * one of its types: no method of the visitor is called for any node of
+ * the subtree, including its root. The visitor is still called for other
+ * nodes on the way to the ones it wants, so should check the type itself.
+ *
+ * Which types occur under a node is worked out the first time it is
+ * needed and kept until the parser that made the tree sees a change, so
+ * this is best for visitors that do not themselves change the tree and
+ * run over the same tree more than once, or over a frozen one.
+ * It is only done for trees made by an {@link SQLParser}; others are
+ * visited in full.
+ */
+public interface SelectiveVisitor extends Visitor
+{
+    /** Get the types of node this visitor wants to visit. */
+    NodeTypeSet getNodeTypes();
+}
@@ -34,6 +34,7 @@ public class SetConfigurationNode extends StatementNode
      */
     public void init(Object variable,
                      Object value) {
+        checkNotFrozen();
         this.variable = (String)variable;
         this.value = (String)value;
     }
@@ -74,4 +75,8 @@ public class SetConfigurationNode extends StatementNode
         return "SET " + variable;
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitSetConfigurationNode(this);
+    }
+
 }
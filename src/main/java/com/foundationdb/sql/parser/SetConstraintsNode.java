@@ -38,6 +38,7 @@ public class SetConstraintsNode extends StatementNode
     public void init(Object all,
                      Object constraints,
                      Object deferred) {
+        checkNotFrozen();
         this.all = (Boolean)all;
         this.constraints = (TableNameList)constraints;
         this.deferred = (Boolean)deferred;
@@ -115,4 +116,8 @@ public class SetConstraintsNode extends StatementNode
         return "SET CONSTRAINTS";
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitSetConstraintsNode(this);
+    }
+
 }
@@ -78,6 +78,7 @@ public abstract class SetOperatorNode extends TableOperatorNode
                      Object all,
                      Object tableProperties)
             throws StandardException {
+        checkNotFrozen();
         super.init(leftResult, rightResult, tableProperties);
         this.all = ((Boolean)all).booleanValue();
 
@@ -114,6 +115,16 @@ public abstract class SetOperatorNode extends TableOperatorNode
                                                                getParserContext());
     }
 
+    /**
+     * Freeze the ordering and row limits along with this node.
+     */
+    void freezeUnvisited(FrozenNodes.Freezer freezer) throws StandardException {
+        super.freezeUnvisited(freezer);
+        freezer.freeze(orderByList);
+        freezer.freeze(offset);
+        freezer.freeze(fetchFirst);
+    }
+
     /**
      * Convert this object to a String.  See comments in QueryTreeNode.java
      * for how this should be done for tree printing.
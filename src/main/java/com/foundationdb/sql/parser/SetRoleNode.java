@@ -59,6 +59,7 @@ public class SetRoleNode extends MiscellaneousStatementNode
      *
      */
     public void init(Object roleName, Object type) {
+        checkNotFrozen();
         this.name = (String)roleName;
         if (type != null) {
             this.type = ((Integer)type).intValue();
@@ -94,4 +95,8 @@ public class SetRoleNode extends MiscellaneousStatementNode
         return "SET ROLE";
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitSetRoleNode(this);
+    }
+
 }
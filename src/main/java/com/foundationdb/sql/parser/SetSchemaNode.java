@@ -63,6 +63,7 @@ public class SetSchemaNode extends MiscellaneousStatementNode
      *
      */
     public void init(Object schemaName, Object type) {
+        checkNotFrozen();
         this.name = (String)schemaName;
         if (type != null)
             this.type = ((Integer)type).intValue();
@@ -104,4 +105,9 @@ public class SetSchemaNode extends MiscellaneousStatementNode
     public int statementType() {
         return type;
     }
+
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitSetSchemaNode(this);
+    }
+
 }
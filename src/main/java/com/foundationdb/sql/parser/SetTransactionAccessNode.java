@@ -60,6 +60,7 @@ public class SetTransactionAccessNode extends TransactionStatementNode
      */
     public void init(Object current,
                      Object accessMode) {
+        checkNotFrozen();
         this.current = (Boolean)current;
         this.accessMode = (AccessMode)accessMode;
     }
@@ -103,4 +104,8 @@ public class SetTransactionAccessNode extends TransactionStatementNode
             return "SET SESSION CHARACTERISTICS AS TRANSACTION";
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitSetTransactionAccessNode(this);
+    }
+
 }
@@ -60,6 +60,7 @@ public class SetTransactionIsolationNode extends TransactionStatementNode
      */
     public void init(Object current,
                      Object isolationLevel) {
+        checkNotFrozen();
         this.current = (Boolean)current;
         this.isolationLevel = (IsolationLevel)isolationLevel;
     }
@@ -103,4 +104,8 @@ public class SetTransactionIsolationNode extends TransactionStatementNode
             return "SET SESSION CHARACTERISTICS AS TRANSACTION ISOLATION LEVEL";
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitSetTransactionIsolationNode(this);
+    }
+
 }
@@ -32,6 +32,7 @@ public class ShowConfigurationNode extends StatementNode
      * @param variable name of the variable
      */
     public void init(Object variable) {
+        checkNotFrozen();
         this.variable = (String)variable;
     }
 
@@ -65,4 +66,8 @@ public class ShowConfigurationNode extends StatementNode
         return "SHOW " + variable;
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitShowConfigurationNode(this);
+    }
+
 }
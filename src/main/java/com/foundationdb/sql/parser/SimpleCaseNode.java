@@ -35,6 +35,7 @@ public class SimpleCaseNode extends ValueNode
      */
 
     public void init(Object operand) throws StandardException {
+        checkNotFrozen();
         this.operand = (ValueNode)operand;
         this.caseOperands = (ValueNodeList)getNodeFactory().getNode(NodeTypes.VALUE_NODE_LIST,
                                                                     getParserContext());
@@ -79,6 +80,7 @@ public class SimpleCaseNode extends ValueNode
     }
 
     public void setElseValue(ValueNode elseValue) {
+        checkNotFrozen();
         this.elseValue = elseValue;
     }
 
@@ -160,4 +162,8 @@ public class SimpleCaseNode extends ValueNode
         return false;
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitSimpleCaseNode(this);
+    }
+
 }
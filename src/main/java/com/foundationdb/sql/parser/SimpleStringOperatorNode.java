@@ -56,7 +56,12 @@ public class SimpleStringOperatorNode extends UnaryOperatorNode
      */
 
     public void init(Object operand, Object methodName) throws StandardException {
+        checkNotFrozen();
         super.init(operand, methodName, methodName);
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitSimpleStringOperatorNode(this);
+    }
+
 }
@@ -61,6 +61,7 @@ abstract class SingleChildResultSetNode extends FromTable
      */
 
     public void init(Object childResult, Object tableProperties) {
+        checkNotFrozen();
         /* correlationName is always null */
         super.init(null, tableProperties);
         this.childResult = (ResultSetNode)childResult;
@@ -39,6 +39,8 @@
 
 package com.foundationdb.sql.parser;
 
+import com.foundationdb.sql.StandardException;
+
 import java.sql.Types;
 
 /**
@@ -96,4 +98,8 @@ public class SpecialFunctionNode extends ValueNode
         return false;
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitSpecialFunctionNode(this);
+    }
+
 }
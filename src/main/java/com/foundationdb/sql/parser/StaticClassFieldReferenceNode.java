@@ -68,6 +68,7 @@ public final class StaticClassFieldReferenceNode extends JavaValueNode
     public void init(Object javaClassName, 
                      Object fieldName, 
                      Object classNameDelimitedIdentifier) {
+        checkNotFrozen();
         this.fieldName = (String)fieldName;
         this.javaClassName = (String)javaClassName;
         this.classNameDelimitedIdentifier = ((Boolean)classNameDelimitedIdentifier).booleanValue();
@@ -85,4 +86,8 @@ public final class StaticClassFieldReferenceNode extends JavaValueNode
         this.classNameDelimitedIdentifier = other.classNameDelimitedIdentifier;
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitStaticClassFieldReferenceNode(this);
+    }
+
 }
@@ -101,6 +101,7 @@ public class StaticMethodCallNode extends MethodCallNode
      * @param javaClassName The name of the java class that the static method belongs to.
      */
     public void init(Object methodName, Object javaClassName) {
+        checkNotFrozen();
         if (methodName instanceof String)
             init(methodName);
         else {
@@ -126,6 +127,14 @@ public class StaticMethodCallNode extends MethodCallNode
                                                                   getParserContext());
     }
 
+    /**
+     * Freeze the procedure name along with this node.
+     */
+    void freezeUnvisited(FrozenNodes.Freezer freezer) throws StandardException {
+        super.freezeUnvisited(freezer);
+        freezer.freeze(procedureName);
+    }
+
     /**
      * Convert this object to a String.  See comments in QueryTreeNode.java
      * for how this should be done for tree printing.
@@ -139,4 +148,8 @@ public class StaticMethodCallNode extends MethodCallNode
             super.toString();
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitStaticMethodCallNode(this);
+    }
+
 }
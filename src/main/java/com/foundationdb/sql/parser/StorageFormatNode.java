@@ -18,6 +18,7 @@ package com.foundationdb.sql.parser;
 
 import com.foundationdb.sql.StandardException;
 
+import java.util.Collections;
 import java.util.Map;
 import java.util.TreeMap;
 
@@ -35,6 +36,7 @@ public class StorageFormatNode extends QueryTreeNode
      * @param format (a String)
      */
     public void init(Object format) throws StandardException {
+        checkNotFrozen();
         this.format = (String)format;
     }
 
@@ -47,6 +49,7 @@ public class StorageFormatNode extends QueryTreeNode
     }
 
     public void addOption(String key, String value) throws StandardException {
+        checkNotFrozen();
         if (options.containsKey(key))
             throw new StandardException("Option " + key + " specified more than once.");
         options.put(key, value);
@@ -63,6 +66,14 @@ public class StorageFormatNode extends QueryTreeNode
         options.putAll(other.options);
     }
 
+    /**
+     * Mark this node frozen and make its options unmodifiable.
+     */
+    void markFrozen(FrozenNodes.FrozenContext frozen) {
+        super.markFrozen(frozen);
+        options = Collections.unmodifiableMap(options);
+    }
+
     /**
      * Convert this object to a String.  See comments in QueryTreeNode.java
      * for how this should be done for tree printing.
@@ -80,4 +91,8 @@ public class StorageFormatNode extends QueryTreeNode
         return str.toString();
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitStorageFormatNode(this);
+    }
+
 }
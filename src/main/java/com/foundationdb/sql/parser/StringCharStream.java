@@ -26,13 +26,23 @@ public class StringCharStream implements CharStream
 {
     private static final IOException EOF = new EOFException();
 
+    /** The image of a token whose image was not taken from the string.
+     * Distinct from any other empty string; compare with <code>==</code>.
+     */
+    static final String NO_IMAGE = new String();
+
     private String string;
+    private int endIndex;       // Limit of the part of string being read.
     private int beginIndex, currentIndex; // 0-based, exclusive end.
     private int currentLine, currentColumn; // 1-based.
     // End represents the position of the last character returned, and
     // in particular if a newline was returned, it at the end of the
     // previous line.
     private int beginLine, beginColumn, endLine, endColumn;
+    private boolean lazyImages, lazyPositions;
+    // With lazyPositions, lines and columns are found when needed by
+    // scanning forward from the last place asked for.
+    private int scanIndex, scanLine, scanColumn;
     
     public StringCharStream(String string) {
         init(string);
@@ -42,15 +52,77 @@ public class StringCharStream implements CharStream
         init(string);
     }
 
+    /** Read just the characters of <code>string</code> from
+     * <code>beginIndex</code> (inclusive) to <code>endIndex</code>
+     * (exclusive), keeping offsets, lines and columns relative to the
+     * whole string. Unless positions are already lazy, this scans the
+     * string up to <code>beginIndex</code> for its line and column.
+     */
+    public void ReInit(String string, int beginIndex, int endIndex) {
+        init(string);
+        this.beginIndex = this.currentIndex = beginIndex;
+        this.endIndex = endIndex;
+        if (!lazyPositions) {
+            scanTo(beginIndex);
+            currentLine = beginLine = endLine = scanLine;
+            currentColumn = beginColumn = endColumn = scanColumn;
+        }
+    }
+
+    /** If set, tokens are made with {@link #NO_IMAGE}, to take the
+     * real one from the string only if the grammar needs it.
+     */
+    public void setLazyImages(boolean lazyImages) {
+        this.lazyImages = lazyImages;
+    }
+
+    /** If set, only offsets are kept up to date as characters are
+     * read, and lines and columns are reported as 0, as by
+     * {@link OffsetCharStream}. They are worked out from offsets by
+     * {@link #setPositions} only when needed, as for an error.
+     */
+    public void setLazyPositions(boolean lazyPositions) {
+        this.lazyPositions = lazyPositions;
+    }
+
+    public boolean isLazyPositions() {
+        return lazyPositions;
+    }
+
+    /** Set the line and column of a token read from this stream
+     * from its offsets.
+     */
+    void setPositions(Token token) {
+        scanTo(token.beginOffset);
+        token.beginLine = scanLine;
+        token.beginColumn = scanColumn;
+        if (token.endOffset < 0) {
+            token.endLine = token.endColumn = 1;
+            return;
+        }
+        scanTo(token.endOffset);
+        token.endLine = scanLine;
+        token.endColumn = scanColumn;
+        if (string.charAt(token.endOffset) == '\t')
+            token.endColumn += (8 - (scanColumn & 7));
+    }
+
     private void init(String string) {
         this.string = string;
-        beginIndex = currentIndex = 0;
+        endIndex = string.length();
+        scanIndex = beginIndex = currentIndex = 0;
         currentLine = currentColumn = beginLine = beginColumn = endLine = endColumn = 1;
+        scanLine = scanColumn = 1;
     }
     
     @Override
     public char BeginToken() throws java.io.IOException {
         beginIndex = currentIndex;
+        if (lazyPositions) {
+            if (currentIndex >= endIndex)
+                throw EOF;
+            return string.charAt(currentIndex++);
+        }
         beginLine = currentLine;
         beginColumn = currentColumn;
         return readChar();
@@ -58,9 +130,11 @@ public class StringCharStream implements CharStream
 
     @Override
     public char readChar() throws java.io.IOException {
-        if (currentIndex >= string.length())
+        if (currentIndex >= endIndex)
             throw EOF;
 
+        if (lazyPositions)
+            return string.charAt(currentIndex++);
         return advance();
     }
 
@@ -68,6 +142,10 @@ public class StringCharStream implements CharStream
     public void backup(int amount) {
         int target = currentIndex - amount;
         assert (target >= beginIndex);
+        if (lazyPositions) {
+            currentIndex = target;
+            return;
+        }
         currentIndex = beginIndex;
         currentLine = beginLine;
         currentColumn = beginColumn;
@@ -81,7 +159,7 @@ public class StringCharStream implements CharStream
         char ch = string.charAt(currentIndex++);
         switch (ch) {
         case '\r':
-            if ((currentIndex < string.length()) &&
+            if ((currentIndex < endIndex) &&
                 (string.charAt(currentIndex) == '\n')) {
                 currentColumn++;
                 break;
@@ -102,6 +180,42 @@ public class StringCharStream implements CharStream
         return ch;
     }
 
+    /** Scan to just before the character at <code>index</code>,
+     * adjusting line / column the same way as {@link #advance}.
+     */
+    private void scanTo(int index) {
+        if (index < scanIndex) {
+            scanIndex = 0;
+            scanLine = scanColumn = 1;
+        }
+        while (scanIndex < index) {
+            char ch = string.charAt(scanIndex++);
+            if (ch > '\r') {
+                scanColumn++;
+                continue;
+            }
+            switch (ch) {
+            case '\r':
+                if ((scanIndex < endIndex) &&
+                    (string.charAt(scanIndex) == '\n')) {
+                    scanColumn++;
+                    break;
+                }
+                /* else falls through (bare CR) */
+            case '\n':
+                scanLine++;
+                scanColumn = 1;
+                break;
+            case '\t':
+                scanColumn += (8 - (scanColumn & 7)) + 1;
+                break;
+            default:
+                scanColumn++;
+                break;
+            }
+        }
+    }
+
     @Override
     public int getBeginOffset() {
         return beginIndex;
@@ -113,19 +227,27 @@ public class StringCharStream implements CharStream
 
     @Override
     public int getBeginLine() {
+        if (lazyPositions)
+            return 0;
         return beginLine;
     }
     @Override
     public int getBeginColumn() {
+        if (lazyPositions)
+            return 0;
         return beginColumn;
     }
 
     @Override
     public int getEndLine() {
+        if (lazyPositions)
+            return 0;
         return endLine;
     }
     @Override
     public int getEndColumn() {
+        if (lazyPositions)
+            return 0;
         return endColumn;
     }
 
@@ -140,6 +262,8 @@ public class StringCharStream implements CharStream
 
     @Override
     public String GetImage() {
+        if (lazyImages)
+            return NO_IMAGE;
         return string.substring(beginIndex, currentIndex);
     }
 
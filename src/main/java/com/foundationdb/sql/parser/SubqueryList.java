@@ -60,4 +60,8 @@ public class SubqueryList extends QueryTreeNodeList<SubqueryNode>
         add(subqueryNode);
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitSubqueryList(this);
+    }
+
 }
@@ -130,6 +130,7 @@ public class SubqueryNode extends ValueNode
                      Object orderCols,
                      Object offset,
                      Object fetchFirst) {
+        checkNotFrozen();
         this.resultSet = (ResultSetNode)resultSet;
         this.subqueryType = (SubqueryType)subqueryType;
         this.orderByList = (OrderByList)orderCols;
@@ -247,6 +248,7 @@ public class SubqueryNode extends ValueNode
     }
 
     public void setResultSet(ResultSetNode resultSet) {
+        checkNotFrozen();
         this.resultSet = resultSet;
     }
 
@@ -265,6 +267,7 @@ public class SubqueryNode extends ValueNode
      * @param subqueryType of this subquery.
      */
     public void setSubqueryType(SubqueryType subqueryType) {
+        checkNotFrozen();
         this.subqueryType = subqueryType;
     }
                 
@@ -309,4 +312,8 @@ public class SubqueryNode extends ValueNode
         return leftOperand;
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitSubqueryNode(this);
+    }
+
 }
@@ -39,6 +39,8 @@
 
 package com.foundationdb.sql.parser;
 
+import com.foundationdb.sql.StandardException;
+
 /**
  * A TableElementList represents the list of columns and other table elements
  * such as constraints in a CREATE TABLE or ALTER TABLE statement.
@@ -57,4 +59,8 @@ public class TableElementList extends QueryTreeNodeList<TableElementNode>
         add(tableElement);
     } 
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitTableElementList(this);
+    }
+
 }
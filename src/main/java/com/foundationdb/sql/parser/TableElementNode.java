@@ -73,6 +73,7 @@ public class TableElementNode extends QueryTreeNode
      */
 
     public void init(Object name) {
+        checkNotFrozen();
         this.name = (String)name;
     }
 
@@ -83,6 +84,7 @@ public class TableElementNode extends QueryTreeNode
      */
 
     public void init(Object name, Object elementType) {
+        checkNotFrozen();
         this.name = (String)name;
         this.elementType = (ElementType)elementType;
     }
@@ -199,4 +201,8 @@ public class TableElementNode extends QueryTreeNode
         }
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitTableElementNode(this);
+    }
+
 }
@@ -65,6 +65,7 @@ public class TableName extends QueryTreeNode
      */
 
     public void init(Object schemaName, Object tableName) {
+        checkNotFrozen();
         hasSchema = schemaName != null;
         this.schemaName = (String)schemaName;
         this.tableName = (String)tableName;
@@ -84,6 +85,7 @@ public class TableName extends QueryTreeNode
                       Object tableName, 
                       Object tokBeginOffset,
                       Object tokEndOffset) {
+        checkNotFrozen();
         init(schemaName, tableName);
         this.setBeginOffset(((Integer)tokBeginOffset).intValue());
         this.setEndOffset(((Integer)tokEndOffset).intValue());
@@ -101,6 +103,16 @@ public class TableName extends QueryTreeNode
         this.hasSchema = other.hasSchema;
     }
 
+    /**
+     * Clear this node for reuse.
+     */
+    protected void reset() {
+        super.reset();
+        tableName = null;
+        schemaName = null;
+        hasSchema = false;
+    }
+
     /**
      * Get the table name (without the schema name).
      *
@@ -138,6 +150,7 @@ public class TableName extends QueryTreeNode
      */
 
     public void setSchemaName(String schemaName) {
+        checkNotFrozen();
         this.schemaName = schemaName;
         this.hasSchema = schemaName != null;
     }
@@ -247,4 +260,8 @@ public class TableName extends QueryTreeNode
         return this.getFullTableName().equals(that.getFullTableName());
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitTableName(this);
+    }
+
 }
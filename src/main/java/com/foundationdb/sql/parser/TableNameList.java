@@ -16,10 +16,17 @@
 
 package com.foundationdb.sql.parser;
 
+import com.foundationdb.sql.StandardException;
+
 /**
  * List of TableName
  *
  */
 public class TableNameList extends QueryTreeNodeList<TableName>
 {
+
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitTableNameList(this);
+    }
+
 }
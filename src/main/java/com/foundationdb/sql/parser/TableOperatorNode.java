@@ -70,6 +70,7 @@ abstract class TableOperatorNode extends FromTable
                      Object rightResultSet,
                      Object tableProperties)
             throws StandardException {
+        checkNotFrozen();
         /* correlationName is always null */
         init(null, tableProperties);
         this.leftResultSet = (ResultSetNode)leftResultSet;
@@ -141,10 +142,12 @@ abstract class TableOperatorNode extends FromTable
     }
 
     public void setLeftResultSet(ResultSetNode leftResultSet) {
+        checkNotFrozen();
         this.leftResultSet =    leftResultSet;
     }
 
     public void setRightResultSet(ResultSetNode rightResultSet) {
+        checkNotFrozen();
         this.rightResultSet =    rightResultSet;
     }
 
@@ -158,6 +161,7 @@ abstract class TableOperatorNode extends FromTable
     }
 
     public void setLeftmostResultSet(ResultSetNode newLeftResultSet) {
+        checkNotFrozen();
         if (leftResultSet instanceof TableOperatorNode) {
             ((TableOperatorNode)leftResultSet).setLeftmostResultSet(newLeftResultSet);
         }
@@ -188,6 +192,7 @@ abstract class TableOperatorNode extends FromTable
      * @param nestedInParens Whether or not this node is nested in parens.
      */
     public void setNestedInParens(boolean nestedInParens) {
+        checkNotFrozen();
     }
 
     /**
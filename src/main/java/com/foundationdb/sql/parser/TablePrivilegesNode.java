@@ -63,6 +63,7 @@ public class TablePrivilegesNode extends QueryTreeNode
      * Add all actions
      */
     public void addAll() {
+        checkNotFrozen();
         for (int i = 0; i < ACTION_COUNT; i++) {
             actionAllowed[i] = true;
             columnLists[i] = null;
@@ -78,6 +79,7 @@ public class TablePrivilegesNode extends QueryTreeNode
      * @exception StandardException standard error policy.
      */
     public void addAction(int action, ResultColumnList privilegeColumnList) {
+        checkNotFrozen();
         actionAllowed[action] = true;
         if (privilegeColumnList == null)
             columnLists[action] = null;
@@ -87,4 +89,17 @@ public class TablePrivilegesNode extends QueryTreeNode
             columnLists[action].appendResultColumns(privilegeColumnList, false);
     }
 
+    /**
+     * Freeze the column lists along with this node.
+     */
+    void freezeUnvisited(FrozenNodes.Freezer freezer) throws StandardException {
+        super.freezeUnvisited(freezer);
+        for (ResultColumnList columnList : columnLists)
+            freezer.freeze(columnList);
+    }
+
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitTablePrivilegesNode(this);
+    }
+
 }
@@ -131,6 +131,7 @@ public class TernaryOperatorNode extends ValueNode
                      Object rightOperand,
                      Object operatorType,
                      Object trimType) {
+        checkNotFrozen();
         this.receiver = (ValueNode)receiver;
         this.leftOperand = (ValueNode)leftOperand;
         this.rightOperand = (ValueNode)rightOperand;
@@ -221,6 +222,7 @@ public class TernaryOperatorNode extends ValueNode
     }
 
     public void setReceiver(ValueNode receiver) {
+        checkNotFrozen();
         this.receiver = receiver;
     }
 
@@ -230,6 +232,7 @@ public class TernaryOperatorNode extends ValueNode
      * @param newLeftOperand The new leftOperand
      */
     public void setLeftOperand(ValueNode newLeftOperand) {
+        checkNotFrozen();
         leftOperand = newLeftOperand;
     }
 
@@ -248,6 +251,7 @@ public class TernaryOperatorNode extends ValueNode
      * @param newRightOperand The new rightOperand
      */
     public void setRightOperand(ValueNode newRightOperand) {
+        checkNotFrozen();
         rightOperand = newRightOperand;
     }
 
@@ -302,4 +306,8 @@ public class TernaryOperatorNode extends ValueNode
         return false;
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitTernaryOperatorNode(this);
+    }
+
 }
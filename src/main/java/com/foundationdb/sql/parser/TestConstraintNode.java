@@ -68,6 +68,7 @@ public class TestConstraintNode extends UnaryLogicalOperatorNode
                      Object tableName,
                      Object constraintName) 
             throws StandardException {
+        checkNotFrozen();
         super.init(booleanValue, "throwExceptionIfFalse");
         this.sqlState = (String)sqlState;
         this.tableName = (String)tableName;
@@ -86,4 +87,8 @@ public class TestConstraintNode extends UnaryLogicalOperatorNode
         this.constraintName = other.constraintName;
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitTestConstraintNode(this);
+    }
+
 }
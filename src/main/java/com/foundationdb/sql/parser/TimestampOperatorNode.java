@@ -39,6 +39,8 @@
 
 package com.foundationdb.sql.parser;
 
+import com.foundationdb.sql.StandardException;
+
 /**
  * The TimestampOperatorNode class implements the timestamp( date, time) function.
  */
@@ -54,10 +56,15 @@ public class TimestampOperatorNode extends BinaryOperatorNode
      */
 
     public void init(Object date, Object time) {
+        checkNotFrozen();
         leftOperand = (ValueNode)date;
         rightOperand = (ValueNode)time;
         operator = "timestamp";
         methodName = "timestamp";
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitTimestampOperatorNode(this);
+    }
+
 }
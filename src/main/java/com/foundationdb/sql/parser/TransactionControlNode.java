@@ -39,6 +39,7 @@ public class TransactionControlNode extends TransactionStatementNode
 
     public void init(Object operation)
             throws StandardException {
+        checkNotFrozen();
         this.operation = (Operation)operation;
     }
 
@@ -82,4 +83,8 @@ public class TransactionControlNode extends TransactionStatementNode
         }
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitTransactionControlNode(this);
+    }
+
 }
@@ -0,0 +1,294 @@
+/**
+ * Copyright 2014 FoundationDB, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foundationdb.sql.parser;
+
+import com.foundationdb.sql.StandardException;
+
+import java.util.Arrays;
+
+/**
+ * An index of the nodes of a tree, giving the parent, depth and
+ * position among its siblings of each, since nodes do not point to
+ * their parents.
+ *
+ * The index is built the first time it is asked anything, in a single
+ * walk of the tree, and is kept in arrays, with the nodes themselves
+ * found by identity in an open-addressed table. The children of a node
+ * are those a {@link Visitor} reaches, in the same order.
+ *
+ * The index notices when a tree made by an {@link SQLParser} is changed
+ * through the setters or by a visitor replacing nodes, and builds itself
+ * again when next asked. Changes to other trees of the same parser that
+ * have been indexed or summarized (see {@link QueryTreeNode#mayContain})
+ * also cause a rebuild; parsing more statements does not. It never
+ * needs rebuilding for a frozen tree. For a tree containing nodes with
+ * some other kind of {@link SQLParserContext}, call {@link #invalidate}
+ * after changing it.
+ *
+ * Building the index marks the nodes of a tree that is not frozen, so
+ * that their changes are noticed. Like changing the tree, this is not
+ * safe while other threads use it; share a frozen tree instead.
+ *
+ * <pre>
+ * TreeIndex index = new TreeIndex(stmt);
+ * SelectNode select = index.getAncestor(columnReference, SelectNode.class);
+ * </pre>
+ */
+public final class TreeIndex
+{
+    /** Returned for a node that is not in the tree. */
+    public static final int NONE = -1;
+
+    private final QueryTreeNode root;
+
+    private boolean built;
+    private int size;
+    // Nodes in depth-first order, root first, and for each the index
+    // of its parent, its depth and its position among its siblings.
+    private QueryTreeNode[] nodes;
+    private int[] parents, depths, ordinals;
+    // Open-addressed identity hash table from node to its index + 1.
+    private QueryTreeNode[] keys;
+    private int[] values;
+
+    // The parsers whose nodes are in the tree and their modification
+    // counts when it was built, or null if changes cannot be seen.
+    private SQLParser[] parsers;
+    private int[] modifications;
+
+    /** Make an index of the tree under <code>root</code>. */
+    public TreeIndex(QueryTreeNode root) {
+        this.root = root;
+    }
+
+    public QueryTreeNode getRoot() {
+        return root;
+    }
+
+    /** Forget everything, so that the index is built again when next needed. */
+    public void invalidate() {
+        built = false;
+        nodes = keys = null;
+        parents = depths = ordinals = values = null;
+        parsers = null;
+        modifications = null;
+    }
+
+    /** Get the number of nodes in the tree. */
+    public int size() throws StandardException {
+        check();
+        return size;
+    }
+
+    /** Is the given node in the tree? */
+    public boolean contains(QueryTreeNode node) throws StandardException {
+        return (indexOf(node) != NONE);
+    }
+
+    /** Get the parent of a node, or <code>null</code> for the root or
+     * a node not in the tree. */
+    public QueryTreeNode getParent(QueryTreeNode node) throws StandardException {
+        int index = indexOf(node);
+        if (index == NONE)
+            return null;
+        int parent = parents[index];
+        return (parent == NONE) ? null : nodes[parent];
+    }
+
+    /** Get the number of nodes above a node, or {@link #NONE} if it is
+     * not in the tree. */
+    public int getDepth(QueryTreeNode node) throws StandardException {
+        int index = indexOf(node);
+        return (index == NONE) ? NONE : depths[index];
+    }
+
+    /** Get the position of a node among the children of its parent,
+     * starting at zero, or {@link #NONE} if it is not in the tree. */
+    public int getChildOrdinal(QueryTreeNode node) throws StandardException {
+        int index = indexOf(node);
+        return (index == NONE) ? NONE : ordinals[index];
+    }
+
+    /**
+     * Get the nearest node above <code>node</code> of the given class,
+     * such as the {@link SelectNode} of a {@link ColumnReference} or the
+     * {@link ResultColumn} of an expression.
+     * @return the ancestor or <code>null</code> if there is none.
+     */
+    public <T extends QueryTreeNode> T getAncestor(QueryTreeNode node, Class<T> nodeClass) 
+            throws StandardException {
+        int index = indexOf(node);
+        if (index == NONE)
+            return null;
+        for (int i = parents[index]; i != NONE; i = parents[i]) {
+            if (nodeClass.isInstance(nodes[i]))
+                return nodeClass.cast(nodes[i]);
+        }
+        return null;
+    }
+
+    /**
+     * Get the nearest node above <code>node</code> of the given
+     * {@link NodeTypes node type}.
+     * @return the ancestor or <code>null</code> if there is none.
+     */
+    public QueryTreeNode getAncestor(QueryTreeNode node, int nodeType) 
+            throws StandardException {
+        int index = indexOf(node);
+        if (index == NONE)
+            return null;
+        for (int i = parents[index]; i != NONE; i = parents[i]) {
+            if (nodes[i].getNodeType() == nodeType)
+                return nodes[i];
+        }
+        return null;
+    }
+
+    private int indexOf(QueryTreeNode node) throws StandardException {
+        check();
+        int mask = keys.length - 1;
+        int slot = hash(node) & mask;
+        while (true) {
+            QueryTreeNode key = keys[slot];
+            if (key == node)
+                return values[slot] - 1;
+            if (key == null)
+                return NONE;
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private static int hash(QueryTreeNode node) {
+        int h = System.identityHashCode(node);
+        // Spread the bits, as HashMap does.
+        return h ^ (h >>> 16);
+    }
+
+    /** Build the index if not built or out of date. */
+    private void check() throws StandardException {
+        if (built && (parsers != null)) {
+            for (int i = 0; i < parsers.length; i++) {
+                if (parsers[i].getModifications() != modifications[i]) {
+                    built = false;
+                    break;
+                }
+            }
+        }
+        if (!built)
+            build();
+    }
+
+    private void build() throws StandardException {
+        size = 0;
+        nodes = new QueryTreeNode[32];
+        parents = new int[32];
+        depths = new int[32];
+        ordinals = new int[32];
+        parsers = new SQLParser[0];
+        boolean watched = true;
+        QueryTreeNode[] stack = new QueryTreeNode[16];
+        int[] stackParents = new int[16];
+        int[] stackOrdinals = new int[16];
+        int depth = 0;
+        FrozenNodes.ChildCollector collector = new FrozenNodes.ChildCollector();
+        stack[depth] = root;
+        stackParents[depth] = NONE;
+        stackOrdinals[depth] = 0;
+        depth++;
+        while (depth > 0) {
+            depth--;
+            QueryTreeNode node = stack[depth];
+            stack[depth] = null;
+            int parent = stackParents[depth];
+            if (size == nodes.length) {
+                int capacity = size * 2;
+                nodes = Arrays.copyOf(nodes, capacity);
+                parents = Arrays.copyOf(parents, capacity);
+                depths = Arrays.copyOf(depths, capacity);
+                ordinals = Arrays.copyOf(ordinals, capacity);
+            }
+            int index = size++;
+            nodes[index] = node;
+            parents[index] = parent;
+            depths[index] = (parent == NONE) ? 0 : depths[parent] + 1;
+            ordinals[index] = stackOrdinals[depth];
+            SQLParserContext pc = node.getRawParserContext();
+            if (pc instanceof SQLParser) {
+                watch((SQLParser)pc);
+                node.watchModifications();
+            }
+            else if (!(pc instanceof FrozenNodes.FrozenContext))
+                watched = false;
+            collector.children.clear();
+            node.acceptChildren(collector);
+            int nchildren = collector.children.size();
+            if (depth + nchildren > stack.length) {
+                int capacity = Math.max(stack.length * 2, depth + nchildren);
+                stack = Arrays.copyOf(stack, capacity);
+                stackParents = Arrays.copyOf(stackParents, capacity);
+                stackOrdinals = Arrays.copyOf(stackOrdinals, capacity);
+            }
+            // Push in reverse, so the first child comes off next.
+            for (int i = nchildren - 1; i >= 0; i--) {
+                stack[depth] = collector.children.get(i);
+                stackParents[depth] = index;
+                stackOrdinals[depth] = i;
+                depth++;
+            }
+        }
+        int capacity = Integer.highestOneBit(size * 2 + 1) * 2;
+        keys = new QueryTreeNode[capacity];
+        values = new int[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < size; i++) {
+            QueryTreeNode node = nodes[i];
+            int slot = hash(node) & mask;
+            while (true) {
+                QueryTreeNode key = keys[slot];
+                if (key == null) {
+                    keys[slot] = node;
+                    values[slot] = i + 1;
+                    break;
+                }
+                if (key == node)
+                    break;      // Reached twice: keep the first.
+                slot = (slot + 1) & mask;
+            }
+        }
+        if (watched) {
+            modifications = new int[parsers.length];
+            for (int i = 0; i < parsers.length; i++) {
+                modifications[i] = parsers[i].getModifications();
+            }
+        }
+        else {
+            parsers = null;
+            modifications = null;
+        }
+        built = true;
+    }
+
+    private void watch(SQLParser parser) {
+        for (SQLParser watching : parsers) {
+            if (watching == parser)
+                return;
+        }
+        parsers = Arrays.copyOf(parsers, parsers.length + 1);
+        parsers[parsers.length - 1] = parser;
+    }
+
+}
@@ -16,6 +16,8 @@
 
 package com.foundationdb.sql.parser;
 
+import com.foundationdb.sql.StandardException;
+
 import com.foundationdb.sql.types.ValueClassName;
 
 public class TrimOperatorNode extends BinaryOperatorNode
@@ -23,6 +25,7 @@ public class TrimOperatorNode extends BinaryOperatorNode
     @Override
     public void init(Object trimSource, Object trimChar, Object operatorType)
     {   
+        checkNotFrozen();
         BinaryOperatorNode.OperatorType optype = (BinaryOperatorNode.OperatorType)operatorType;
         switch(optype)
         {
@@ -37,4 +40,9 @@ public class TrimOperatorNode extends BinaryOperatorNode
                                     ValueClassName.StringDataValue);
         }
     }
+
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitTrimOperatorNode(this);
+    }
+
 }
@@ -68,6 +68,7 @@ public class UnaryArithmeticOperatorNode extends UnaryOperatorNode
      * @param operand The operand of the node
      */
     public void init(Object operand) throws StandardException {
+        checkNotFrozen();
         switch(getNodeType()) {
         case NodeTypes.UNARY_PLUS_OPERATOR_NODE:
             operatorType = OperatorType.PLUS;
@@ -98,4 +99,8 @@ public class UnaryArithmeticOperatorNode extends UnaryOperatorNode
         this.operatorType = other.operatorType;
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitUnaryArithmeticOperatorNode(this);
+    }
+
 }
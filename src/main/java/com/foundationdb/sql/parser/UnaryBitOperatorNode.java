@@ -32,6 +32,7 @@ public class UnaryBitOperatorNode extends UnaryOperatorNode
      * @param operand The operand of the node
      */
     public void init(Object operand) throws StandardException {
+        checkNotFrozen();
         init(operand, "~", "bitnot");
     }
         
@@ -42,4 +43,8 @@ public class UnaryBitOperatorNode extends UnaryOperatorNode
         super.copyFrom(node);
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitUnaryBitOperatorNode(this);
+    }
+
 }
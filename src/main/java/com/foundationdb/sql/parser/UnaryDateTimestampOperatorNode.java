@@ -64,6 +64,7 @@ public class UnaryDateTimestampOperatorNode extends UnaryOperatorNode
      */
 
     public void init(Object operand, Object targetType) throws StandardException {
+        checkNotFrozen();
         setType((DataTypeDescriptor)targetType);
         switch(getType().getJDBCTypeId()) {
         case Types.DATE:
@@ -84,4 +85,9 @@ public class UnaryDateTimestampOperatorNode extends UnaryOperatorNode
         }
     }
         
+
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitUnaryDateTimestampOperatorNode(this);
+    }
+
 }
@@ -55,6 +55,7 @@ public abstract class UnaryLogicalOperatorNode extends UnaryOperatorNode
     public void init(Object operand,
                      Object methodName) 
             throws StandardException {
+        checkNotFrozen();
         /* For logical operators, the operator and method names are the same */
         super.init(operand, methodName, methodName);
     }
@@ -76,6 +76,7 @@ public class UnaryOperatorNode extends ValueNode
                      Object operatorOrOpType,
                      Object methodNameOrAddedArgs) 
             throws StandardException {
+        checkNotFrozen();
         this.operand = (ValueNode)operand;
         this.operator = (String)operatorOrOpType;
         this.methodName = (String)methodNameOrAddedArgs;
@@ -87,6 +88,7 @@ public class UnaryOperatorNode extends ValueNode
      * @param operand The operand of the node
      */
     public void init(Object operand) throws StandardException {
+        checkNotFrozen();
         this.operand = (ValueNode)operand;
     }
 
@@ -175,6 +177,7 @@ public class UnaryOperatorNode extends ValueNode
     }
 
     public void setOperand(ValueNode operand) {
+        checkNotFrozen();
         this.operand = operand;
     }
 
@@ -209,4 +212,8 @@ public class UnaryOperatorNode extends ValueNode
         return false;
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitUnaryOperatorNode(this);
+    }
+
 }
@@ -72,6 +72,7 @@ public class UnionNode extends SetOperatorNode
                      Object all,
                      Object tableConstructor,
                      Object tableProperties) throws StandardException {
+        checkNotFrozen();
         super.init(leftResult, rightResult, all, tableProperties);
 
         /* Is this a UNION ALL for a table constructor? */
@@ -93,6 +94,7 @@ public class UnionNode extends SetOperatorNode
      * Mark this as the top node of a table constructor.
      */
     public void markTopTableConstructor() {
+        checkNotFrozen();
         topTableConstructor = true;
     }
 
@@ -118,4 +120,8 @@ public class UnionNode extends SetOperatorNode
         return "UNION";
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitUnionNode(this);
+    }
+
 }
@@ -39,6 +39,8 @@
 
 package com.foundationdb.sql.parser;
 
+import com.foundationdb.sql.StandardException;
+
 /**
  * An UntypedNullConstantNode represents a SQL NULL before it has
  * been bound.  The bind() operation will replace the UntypedNullConstantNodes
@@ -56,4 +58,8 @@ public final class UntypedNullConstantNode extends ConstantNode
         super();
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitUntypedNullConstantNode(this);
+    }
+
 }
@@ -39,6 +39,8 @@
 
 package com.foundationdb.sql.parser;
 
+import com.foundationdb.sql.StandardException;
+
 /**
  * An UpdateNode represents an UPDATE statement.    It is the top node of the
  * query tree for that statement.
@@ -62,6 +64,7 @@ public final class UpdateNode extends DMLModStatementNode
     public void init(Object targetTableName,
                      Object resultSet,
                      Object returningList) {
+        checkNotFrozen();
         super.init(resultSet);
         this.targetTableName = (TableName)targetTableName;
         this.returningColumnList = (ResultColumnList)returningList;
@@ -81,4 +84,8 @@ public final class UpdateNode extends DMLModStatementNode
         return StatementType.UPDATE;
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitUpdateNode(this);
+    }
+
 }
@@ -91,6 +91,7 @@ public class UserTypeConstantNode extends ConstantNode
      * @exception StandardException thrown on failure
      */
     public void init(Object arg1) throws StandardException {
+        checkNotFrozen();
         if (arg1 instanceof TypeId) {
             super.init(arg1,
                        Boolean.TRUE,
@@ -170,4 +171,8 @@ public class UserTypeConstantNode extends ConstantNode
         return value;
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitUserTypeConstantNode(this);
+    }
+
 }
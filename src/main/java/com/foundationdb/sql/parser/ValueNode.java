@@ -105,6 +105,7 @@ public abstract class ValueNode extends QueryTreeNode
                      Object isNullable,
                      Object maximumWidth)
             throws StandardException {
+        checkNotFrozen();
         setType(new DataTypeDescriptor((TypeId)typeId,
                                        ((Integer)precision).intValue(),
                                        ((Integer)scale).intValue(),
@@ -122,6 +123,14 @@ public abstract class ValueNode extends QueryTreeNode
         this.type = other.type;
     }
 
+    /**
+     * Clear this node for reuse.
+     */
+    protected void reset() {
+        super.reset();
+        type = null;
+    }
+
     /**
      * Convert this object to a String.  See comments in QueryTreeNode.java
      * for how this should be done for tree printing.
@@ -150,6 +159,7 @@ public abstract class ValueNode extends QueryTreeNode
      * @throws StandardException 
      */
     public void setNullability(boolean nullability) throws StandardException {
+        checkNotFrozen();
         setType(getType().getNullabilityType(nullability));
     }
 
@@ -174,6 +184,7 @@ public abstract class ValueNode extends QueryTreeNode
      */
 
     public void setType(DataTypeDescriptor type) throws StandardException {
+        checkNotFrozen();
         this.type = type;
     }
 
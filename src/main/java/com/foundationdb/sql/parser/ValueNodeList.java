@@ -109,4 +109,8 @@ public class ValueNodeList extends QueryTreeNodeList<ValueNode>
         return true;
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitValueNodeList(this);
+    }
+
 }
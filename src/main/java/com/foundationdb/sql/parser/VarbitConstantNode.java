@@ -52,9 +52,14 @@ public final class VarbitConstantNode extends BitConstantNode
      */
 
     public void init(Object arg1) throws StandardException {
+        checkNotFrozen();
         init(arg1,
              Boolean.TRUE,
              0);
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitVarbitConstantNode(this);
+    }
+
 }
@@ -78,6 +78,7 @@ public class VirtualColumnNode extends ValueNode
                      Object sourceColumn,
                      Object columnId) 
             throws StandardException {
+        checkNotFrozen();
         ResultColumn source = (ResultColumn)sourceColumn;
         this.sourceResultSet = (ResultSetNode)sourceResultSet;
         this.sourceColumn = source;
@@ -99,6 +100,15 @@ public class VirtualColumnNode extends ValueNode
         this.columnId = other.columnId;
     }
 
+    /**
+     * Freeze the source result set and column along with this node.
+     */
+    void freezeUnvisited(FrozenNodes.Freezer freezer) throws StandardException {
+        super.freezeUnvisited(freezer);
+        freezer.freeze(sourceResultSet);
+        freezer.freeze(sourceColumn);
+    }
+
     /**
      * Prints the sub-nodes of this object.  See QueryTreeNode.java for
      * how tree printing is supposed to work.
@@ -168,6 +178,7 @@ public class VirtualColumnNode extends ValueNode
     }
         
     public void setType(DataTypeDescriptor dtd) throws StandardException {
+        checkNotFrozen();
         sourceColumn.setType(dtd);
     }
         
@@ -179,4 +190,8 @@ public class VirtualColumnNode extends ValueNode
         return false;
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitVirtualColumnNode(this);
+    }
+
 }
@@ -72,6 +72,7 @@ public final class WindowDefinitionNode extends WindowNode
      * @exception StandardException
      */
     public void init(Object arg1, Object arg2, Object arg3) throws StandardException {
+        checkNotFrozen();
         String name = (String)arg1;
 
         partitionByList = (PartitionByList)arg2;
@@ -101,6 +102,15 @@ public final class WindowDefinitionNode extends WindowNode
                                                                   getParserContext());
     }
 
+    /**
+     * Freeze the partitioning and ordering along with this node.
+     */
+    void freezeUnvisited(FrozenNodes.Freezer freezer) throws StandardException {
+        super.freezeUnvisited(freezer);
+        freezer.freeze(partitionByList);
+        freezer.freeze(orderByList);
+    }
+
     /**
      * java.lang.Object override.
      * @see QueryTreeNode#toString
@@ -183,4 +193,8 @@ public final class WindowDefinitionNode extends WindowNode
         return partitionByList;
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitWindowDefinitionNode(this);
+    }
+
 }
@@ -55,6 +55,7 @@ public abstract class WindowFunctionNode extends UnaryOperatorNode
      * @exception StandardException
      */
     public void init(Object arg1, Object arg2, Object arg3) throws StandardException {
+        checkNotFrozen();
         super.init(arg1, arg2, null);
         this.window = (WindowNode)arg3;
     }
@@ -70,6 +71,14 @@ public abstract class WindowFunctionNode extends UnaryOperatorNode
                                                             getParserContext());
     }
 
+    /**
+     * Freeze the window along with this node.
+     */
+    void freezeUnvisited(FrozenNodes.Freezer freezer) throws StandardException {
+        super.freezeUnvisited(freezer);
+        freezer.freeze(window);
+    }
+
     /**
      * ValueNode override.
      * @see ValueNode#isConstantExpression
@@ -90,6 +99,7 @@ public abstract class WindowFunctionNode extends UnaryOperatorNode
      * @param wdn window definition
      */
     public void setWindow(WindowDefinitionNode wdn) {
+        checkNotFrozen();
         this.window = wdn;
     }
 
@@ -39,6 +39,8 @@
 
 package com.foundationdb.sql.parser;
 
+import com.foundationdb.sql.StandardException;
+
 /**
  * A WindowList represents the list of windows (definitions) for a table
  * expression, either defined explicitly in a WINDOW clause, or inline in the
@@ -54,4 +56,9 @@ public class WindowList extends QueryTreeNodeList<WindowDefinitionNode>
     public void addWindow(WindowDefinitionNode window) {
         add(window);
     }
+
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitWindowList(this);
+    }
+
 }
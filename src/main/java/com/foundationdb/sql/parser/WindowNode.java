@@ -62,6 +62,7 @@ public abstract class WindowNode extends QueryTreeNode
      * @exception StandardException
      */
     public void init(Object arg1) throws StandardException {
+        checkNotFrozen();
         windowName = (String)arg1;
     }
 
@@ -54,6 +54,7 @@ public final class WindowReferenceNode extends WindowNode
      * @exception StandardException
      */
     public void init(Object arg1) throws StandardException {
+        checkNotFrozen();
         super.init(arg1);
     }
 
@@ -62,4 +63,8 @@ public final class WindowReferenceNode extends WindowNode
             super.toString();
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitWindowReferenceNode(this);
+    }
+
 }
@@ -102,6 +102,7 @@ public class XMLBinaryOperatorNode extends BinaryOperatorNode
     public void init(Object leftOperand,
                      Object rightOperand,
                      Object opType) {
+        checkNotFrozen();
         this.leftOperand = (ValueNode)leftOperand;
         this.rightOperand = (ValueNode)rightOperand;
         OperatorType operatorType = (OperatorType)opType;
@@ -112,4 +113,8 @@ public class XMLBinaryOperatorNode extends BinaryOperatorNode
         this.resultInterfaceType = operatorType.resultType;
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitXMLBinaryOperatorNode(this);
+    }
+
 }
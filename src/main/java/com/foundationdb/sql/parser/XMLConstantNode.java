@@ -51,6 +51,7 @@ public final class XMLConstantNode extends ConstantNode
      * @exception StandardException
      */
     public void init(Object arg1) throws StandardException {
+        checkNotFrozen();
         super.init(arg1,
                    Boolean.TRUE,
                    0);
@@ -71,4 +72,8 @@ public final class XMLConstantNode extends ConstantNode
         return value;
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitXMLConstantNode(this);
+    }
+
 }
@@ -92,6 +92,7 @@ public class XMLUnaryOperatorNode extends UnaryOperatorNode
                      Object operatorType,
                      Object addedArgs) 
             throws StandardException {
+        checkNotFrozen();
         this.operand = (ValueNode)operand;
         this.operatorType = (OperatorType)operatorType;
         this.operator = this.operatorType.operator;
@@ -112,4 +113,8 @@ public class XMLUnaryOperatorNode extends UnaryOperatorNode
         this.additionalArgs = other.additionalArgs; // TODO: Clone?
     }
 
+    public <R> R dispatch(NodeVisitor<R> visitor) throws StandardException {
+        return visitor.visitXMLUnaryOperatorNode(this);
+    }
+
 }
@@ -31,289 +31,705 @@ public class NodeToString
     }
 
     public String toString(QueryTreeNode node) throws StandardException {
-        switch (node.getNodeType()) {
-        case NodeTypes.CREATE_TABLE_NODE:
-            return createTableNode((CreateTableNode)node);
-        case NodeTypes.CREATE_VIEW_NODE:
-            return createViewNode((CreateViewNode)node);
-        case NodeTypes.DROP_TABLE_NODE:
-            return dropTableNode((DropTableNode)node);
-        case NodeTypes.DROP_VIEW_NODE:
-            return dropViewNode((DropViewNode)node);
-        case NodeTypes.DROP_TRIGGER_NODE:
-            return dropTriggerNode((DropTriggerNode)node);
-        case NodeTypes.DROP_INDEX_NODE:
-            return dropIndexNode((DropIndexNode)node);
-        case NodeTypes.EXPLAIN_STATEMENT_NODE:
-            return explainStatementNode((ExplainStatementNode)node);
-        case NodeTypes.TRANSACTION_CONTROL_NODE:
-            return transactionControlNode((TransactionControlNode)node);
-        case NodeTypes.SET_TRANSACTION_ISOLATION_NODE:
-            return setTransactionIsolationNode((SetTransactionIsolationNode)node);
-        case NodeTypes.SET_TRANSACTION_ACCESS_NODE:
-            return setTransactionAccessNode((SetTransactionAccessNode)node);
-        case NodeTypes.SET_CONSTRAINTS_NODE:
-            return setConstraintsNode((SetConstraintsNode)node);
-        case NodeTypes.SET_CONFIGURATION_NODE:
-            return setConfigurationNode((SetConfigurationNode)node);
-        case NodeTypes.SHOW_CONFIGURATION_NODE:
-            return showConfigurationNode((ShowConfigurationNode)node);
-        case NodeTypes.TABLE_ELEMENT_LIST:
-            return tableElementList((TableElementList)node);
-        case NodeTypes.TABLE_NAME_LIST:
-            return tableNameList((TableNameList)node);
-        case NodeTypes.COLUMN_DEFINITION_NODE:
-            return columnDefinitionNode((ColumnDefinitionNode)node);
-        case NodeTypes.CONSTRAINT_DEFINITION_NODE:
-            return constraintDefinitionNode((ConstraintDefinitionNode)node);
-        case NodeTypes.FK_CONSTRAINT_DEFINITION_NODE:
-            return fkConstraintDefinitionNode((FKConstraintDefinitionNode)node);
-        case NodeTypes.CREATE_INDEX_NODE:
-            return createIndexNode((CreateIndexNode)node);
-        case NodeTypes.INDEX_COLUMN_LIST:
-            return indexColumnList((IndexColumnList)node);
-        case NodeTypes.INDEX_COLUMN:
-            return indexColumn((IndexColumn)node);
-        case NodeTypes.STORAGE_FORMAT_NODE:
-            return storageFormatNode((StorageFormatNode)node);
-        case NodeTypes.CREATE_ALIAS_NODE:
-            return createAliasNode((CreateAliasNode)node);
-        case NodeTypes.RENAME_NODE:
-            return renameNode((RenameNode)node);
-        case NodeTypes.CURSOR_NODE:
-            return cursorNode((CursorNode)node);
-        case NodeTypes.SELECT_NODE:
-            return selectNode((SelectNode)node);
-        case NodeTypes.INSERT_NODE:
-            return insertNode((InsertNode)node);
-        case NodeTypes.UPDATE_NODE:
-            return updateNode((UpdateNode)node);
-        case NodeTypes.DELETE_NODE:
-            return deleteNode((DeleteNode)node);
-        case NodeTypes.SUBQUERY_NODE:
-            return subqueryNode((SubqueryNode)node);
-        case NodeTypes.RESULT_COLUMN_LIST:
-            return resultColumnList((ResultColumnList)node);
-        case NodeTypes.RESULT_COLUMN:
-            return resultColumn((ResultColumn)node);
-        case NodeTypes.ALL_RESULT_COLUMN:
-            return allResultColumn((AllResultColumn)node);
-        case NodeTypes.FROM_LIST:
-            return fromList((FromList)node);
-        case NodeTypes.JOIN_NODE:
-        case NodeTypes.HALF_OUTER_JOIN_NODE:
-        case NodeTypes.FULL_OUTER_JOIN_NODE:
-            return joinNode((JoinNode)node);
-        case NodeTypes.UNION_NODE:
-            return unionNode((UnionNode)node);
-        case NodeTypes.GROUP_BY_LIST:
-            return groupByList((GroupByList)node);
-        case NodeTypes.GROUP_CONCAT_NODE:
-            return groupConcat((GroupConcatNode)node);
-        case NodeTypes.ORDER_BY_LIST:
-            return orderByList((OrderByList)node);
-        case NodeTypes.VALUE_NODE_LIST:
-            return valueNodeList((ValueNodeList)node);
-        case NodeTypes.FROM_BASE_TABLE:
-            return fromBaseTable((FromBaseTable)node);
-        case NodeTypes.FROM_SUBQUERY:
-            return fromSubquery((FromSubquery)node);
-        case NodeTypes.TABLE_NAME:
-            return tableName((TableName)node);
-        case NodeTypes.COLUMN_REFERENCE:
-            return columnReference((ColumnReference)node);
-        case NodeTypes.VIRTUAL_COLUMN_NODE:
-            return virtualColumnNode((VirtualColumnNode)node);
-        case NodeTypes.ROW_RESULT_SET_NODE:
-            return rowResultSetNode((RowResultSetNode)node);
-        case NodeTypes.ROWS_RESULT_SET_NODE:
-            return rowsResultSetNode((RowsResultSetNode)node);
-        case NodeTypes.GROUP_BY_COLUMN:
-            return groupByColumn((GroupByColumn)node);
-        case NodeTypes.ORDER_BY_COLUMN:
-            return orderByColumn((OrderByColumn)node);
-        case NodeTypes.PARTITION_BY_LIST:
-            return partitionByList((PartitionByList)node);
-        case NodeTypes.PARTITION_BY_COLUMN:
-            return partitionByColumn((PartitionByColumn)node);
-        case NodeTypes.WINDOW_DEFINITION_NODE:
-            return windowDefinitionNode((WindowDefinitionNode)node);
-        case NodeTypes.WINDOW_REFERENCE_NODE:
-            return windowReferenceNode((WindowReferenceNode)node);
-        case NodeTypes.AGGREGATE_WINDOW_FUNCTION_NODE:
-            return aggregateWindowFunctionNode((AggregateWindowFunctionNode)node);
-        case NodeTypes.ROW_NUMBER_FUNCTION_NODE:
-            return rowNumberFunctionNode((RowNumberFunctionNode)node);
-        case NodeTypes.AND_NODE:
-        case NodeTypes.OR_NODE:
-            return binaryLogicalOperatorNode((BinaryLogicalOperatorNode)node);
-        case NodeTypes.BINARY_EQUALS_OPERATOR_NODE:
-        case NodeTypes.BINARY_NOT_EQUALS_OPERATOR_NODE:
-        case NodeTypes.BINARY_GREATER_THAN_OPERATOR_NODE:
-        case NodeTypes.BINARY_GREATER_EQUALS_OPERATOR_NODE:
-        case NodeTypes.BINARY_LESS_THAN_OPERATOR_NODE:
-        case NodeTypes.BINARY_LESS_EQUALS_OPERATOR_NODE:
-            return binaryComparisonOperatorNode((BinaryComparisonOperatorNode)node);
-        case NodeTypes.BINARY_PLUS_OPERATOR_NODE:
-        case NodeTypes.BINARY_TIMES_OPERATOR_NODE:
-        case NodeTypes.BINARY_DIVIDE_OPERATOR_NODE:
-        case NodeTypes.BINARY_DIV_OPERATOR_NODE:
-        case NodeTypes.BINARY_MINUS_OPERATOR_NODE:
-        case NodeTypes.MOD_OPERATOR_NODE:
-            return binaryArithmeticOperatorNode((BinaryArithmeticOperatorNode)node);
-        case NodeTypes.BINARY_BIT_OPERATOR_NODE:
-            return binaryBitOperatorNode((BinaryBitOperatorNode)node);
-        case NodeTypes.CONCATENATION_OPERATOR_NODE:
-            return concatenationOperatorNode((ConcatenationOperatorNode)node);
-        case NodeTypes.NOT_NODE:
-            return notNode((NotNode)node);
-        case NodeTypes.IS_NULL_NODE:
-        case NodeTypes.IS_NOT_NULL_NODE:
-            return isNullNode((IsNullNode)node);
-        case NodeTypes.IS_NODE:
-            return isNode((IsNode)node);
-        case NodeTypes.ABSOLUTE_OPERATOR_NODE:
-        case NodeTypes.SQRT_OPERATOR_NODE:
-            return unaryArithmeticOperatorNode((UnaryArithmeticOperatorNode)node);
-        case NodeTypes.UNARY_PLUS_OPERATOR_NODE:
-        case NodeTypes.UNARY_MINUS_OPERATOR_NODE:
-            return unaryPrefixOperatorNode((UnaryArithmeticOperatorNode)node);
-        case NodeTypes.UNARY_BITNOT_OPERATOR_NODE:
-            return unaryBitOperatorNode((UnaryBitOperatorNode)node);
-        case NodeTypes.UNARY_DATE_TIMESTAMP_OPERATOR_NODE:
-          return unaryDateTimestampOperatorNode((UnaryDateTimestampOperatorNode)node);
-        case NodeTypes.TIMESTAMP_OPERATOR_NODE:
-          return timestampOperatorNode((TimestampOperatorNode)node);
-        case NodeTypes.EXTRACT_OPERATOR_NODE:
-          return extractOperatorNode((ExtractOperatorNode)node);
-        case NodeTypes.CHAR_LENGTH_OPERATOR_NODE:
-          return lengthOperatorNode((LengthOperatorNode)node);
-        case NodeTypes.OCTET_LENGTH_OPERATOR_NODE:
-          return octetLengthOperatorNode((OctetLengthOperatorNode)node);
-        case NodeTypes.RIGHT_FN_NODE:
-        case NodeTypes.LEFT_FN_NODE:
-            return leftRightFuncOperatorNode((LeftRightFuncOperatorNode)node);
-        case NodeTypes.SIMPLE_STRING_OPERATOR_NODE:
-            return simpleStringOperatorNode((SimpleStringOperatorNode)node);
-        case NodeTypes.LIKE_OPERATOR_NODE:
-            return likeEscapeOperatorNode((LikeEscapeOperatorNode)node);
-        case NodeTypes.LOCATE_FUNCTION_NODE:
-        case NodeTypes.SUBSTRING_OPERATOR_NODE:
-            return ternaryOperatorNode((TernaryOperatorNode)node);
-        case NodeTypes.TIMESTAMP_ADD_FN_NODE:
-        case NodeTypes.TIMESTAMP_DIFF_FN_NODE:
-            return timestampFunctionNode((TernaryOperatorNode)node);
-        case NodeTypes.TRIM_OPERATOR_NODE:
-            return trimOperatorNode((TrimOperatorNode)node);
-        case NodeTypes.IN_LIST_OPERATOR_NODE:
-            return inListOperatorNode((InListOperatorNode)node);
-        case NodeTypes.ROW_CTOR_NODE:
-            return rowCtorNode((RowConstructorNode)node);
-        case NodeTypes.BETWEEN_OPERATOR_NODE:
-            return betweenOperatorNode((BetweenOperatorNode)node);
-        case NodeTypes.CONDITIONAL_NODE:
-            return conditionalNode((ConditionalNode)node);
-        case NodeTypes.SIMPLE_CASE_NODE:
-            return simpleCaseNode((SimpleCaseNode)node);
-        case NodeTypes.COALESCE_FUNCTION_NODE:
-            return coalesceFunctionNode((CoalesceFunctionNode)node);
-        case NodeTypes.AGGREGATE_NODE:
-            return aggregateNode((AggregateNode)node);
-        case NodeTypes.UNTYPED_NULL_CONSTANT_NODE:
-        case NodeTypes.SQL_BOOLEAN_CONSTANT_NODE:
-        case NodeTypes.BOOLEAN_CONSTANT_NODE:
-        case NodeTypes.BIT_CONSTANT_NODE:
-        case NodeTypes.VARBIT_CONSTANT_NODE:
-        case NodeTypes.CHAR_CONSTANT_NODE:
-        case NodeTypes.DECIMAL_CONSTANT_NODE:
-        case NodeTypes.DOUBLE_CONSTANT_NODE:
-        case NodeTypes.FLOAT_CONSTANT_NODE:
-        case NodeTypes.INT_CONSTANT_NODE:
-        case NodeTypes.LONGINT_CONSTANT_NODE:
-        case NodeTypes.LONGVARBIT_CONSTANT_NODE:
-        case NodeTypes.LONGVARCHAR_CONSTANT_NODE:
-        case NodeTypes.SMALLINT_CONSTANT_NODE:
-        case NodeTypes.TINYINT_CONSTANT_NODE:
-        case NodeTypes.USERTYPE_CONSTANT_NODE:
-        case NodeTypes.VARCHAR_CONSTANT_NODE:
-        case NodeTypes.BLOB_CONSTANT_NODE:
-        case NodeTypes.CLOB_CONSTANT_NODE:
-        case NodeTypes.XML_CONSTANT_NODE:
-            return constantNode((ConstantNode)node);
-        case NodeTypes.PARAMETER_NODE:
-            return parameterNode((ParameterNode)node);
-        case NodeTypes.DEFAULT_NODE:
-            return defaultNode((DefaultNode)node);
-        case NodeTypes.USER_NODE:
-            return "USER";
-        case NodeTypes.CURRENT_USER_NODE:
-            return "CURRENT_USER";
-        case NodeTypes.SESSION_USER_NODE:
-            return "SESSION_USER";
-        case NodeTypes.SYSTEM_USER_NODE:
-            return "SYSTEM_USER";
-        case NodeTypes.CURRENT_ISOLATION_NODE:
-            return "CURRENT ISOLATION";
-        case NodeTypes.IDENTITY_VAL_NODE:
-            return "IDENTITY_VAL_LOCAL()";
-        case NodeTypes.CURRENT_SCHEMA_NODE:
-            return "CURRENT SCHEMA";
-        case NodeTypes.CURRENT_ROLE_NODE:
-            return "CURRENT_ROLE";
-        case NodeTypes.CURRENT_DATETIME_OPERATOR_NODE:
-            return currentDatetimeOperatorNode((CurrentDatetimeOperatorNode)node);
-        case NodeTypes.CAST_NODE:
-            return castNode((CastNode)node);
-        case NodeTypes.EXPLICIT_COLLATE_NODE:
-            return explicitCollateNode((ExplicitCollateNode)node);
-        case NodeTypes.NEXT_SEQUENCE_NODE:
-            return nextSequenceNode((NextSequenceNode)node);
-        case NodeTypes.CURRENT_SEQUENCE_NODE:
-            return currentSequenceNode((CurrentSequenceNode)node);
-        case NodeTypes.JAVA_TO_SQL_VALUE_NODE:
-            return javaToSQLValueNode((JavaToSQLValueNode)node);
-        case NodeTypes.SQL_TO_JAVA_VALUE_NODE:
-            return sqlToJavaValueNode((SQLToJavaValueNode)node);
-        case NodeTypes.STATIC_METHOD_CALL_NODE:
-            return staticMethodCallNode((StaticMethodCallNode)node);
-        case NodeTypes.CALL_STATEMENT_NODE:
-            return callStatementNode((CallStatementNode)node);
-        case NodeTypes.INDEX_DEFINITION_NODE:
-            return indexDefinitionNode((IndexDefinitionNode)node);
-        case NodeTypes.DECLARE_STATEMENT_NODE:
-            return declareStatementNode((DeclareStatementNode)node);
-        case NodeTypes.FETCH_STATEMENT_NODE:
-            return fetchStatementNode((FetchStatementNode)node);
-        case NodeTypes.CLOSE_STATEMENT_NODE:
-            return closeStatementNode((CloseStatementNode)node);
-        case NodeTypes.PREPARE_STATEMENT_NODE:
-            return prepareStatementNode((PrepareStatementNode)node);
-        case NodeTypes.EXECUTE_STATEMENT_NODE:
-            return executeStatementNode((ExecuteStatementNode)node);
-        case NodeTypes.DEALLOCATE_STATEMENT_NODE:
-            return deallocateStatementNode((DeallocateStatementNode)node);
-        case NodeTypes.COPY_STATEMENT_NODE:
-            return copyStatementNode((CopyStatementNode)node);
-        case NodeTypes.CREATE_SCHEMA_NODE:
-            return createSchemaNode((CreateSchemaNode)node);
-        case NodeTypes.DROP_SEQUENCE_NODE:
-            return dropSequenceNode((DropSequenceNode)node);
-        case NodeTypes.ALTER_TABLE_NODE:
-            return alterTableNode((AlterTableNode)node);
-        case NodeTypes.AT_RENAME_COLUMN_NODE:
-            return alterTableRenameColumnNode((AlterTableRenameColumnNode)node);
-        case NodeTypes.DROP_COLUMN_NODE:
-        case NodeTypes.MODIFY_COLUMN_TYPE_NODE:
-        case NodeTypes.MODIFY_COLUMN_DEFAULT_NODE:
-        case NodeTypes.MODIFY_COLUMN_CONSTRAINT_NODE:
-        case NodeTypes.MODIFY_COLUMN_CONSTRAINT_NOT_NULL_NODE:
-            return modifyColumnNode((ModifyColumnNode)node);
-        case NodeTypes.AT_DROP_INDEX_NODE:
-            return alterDropIndexNode((AlterDropIndexNode)node);
-        case NodeTypes.NEW_INVOCATION_NODE:
-            return newInvocationNode((NewInvocationNode)node);
-        default:
-            return "**UNKNOWN(" + node.getNodeType() +")**";
+        return node.dispatch(dispatcher);
+    }
+
+    protected String unknownNode(QueryTreeNode node) throws StandardException {
+        return "**UNKNOWN(" + node.getNodeType() +")**";
+    }
+
+    private final NodeVisitor<String> dispatcher = new Dispatcher();
+
+    /** Call the method for each kind of node. Some classes of node
+     * stand for more than one node type, written differently. */
+    private class Dispatcher implements NodeVisitor<String> {
+        public String visitDefault(QueryTreeNode node) throws StandardException {
+            return unknownNode(node);
+        }
+
+        public String visitAggregateNode(AggregateNode node) throws StandardException {
+            return aggregateNode(node);
+        }
+
+        public String visitAggregateWindowFunctionNode(AggregateWindowFunctionNode node) throws StandardException {
+            return aggregateWindowFunctionNode(node);
+        }
+
+        public String visitAllResultColumn(AllResultColumn node) throws StandardException {
+            return allResultColumn(node);
+        }
+
+        public String visitAlterDropIndexNode(AlterDropIndexNode node) throws StandardException {
+            return alterDropIndexNode(node);
+        }
+
+        public String visitAlterServerNode(AlterServerNode node) throws StandardException {
+            return unknownNode(node);
+        }
+
+        public String visitAlterTableNode(AlterTableNode node) throws StandardException {
+            return alterTableNode(node);
+        }
+
+        public String visitAlterTableRenameColumnNode(AlterTableRenameColumnNode node) throws StandardException {
+            return alterTableRenameColumnNode(node);
+        }
+
+        public String visitAlterTableRenameNode(AlterTableRenameNode node) throws StandardException {
+            return unknownNode(node);
+        }
+
+        public String visitAndNode(AndNode node) throws StandardException {
+            return binaryLogicalOperatorNode(node);
+        }
+
+        public String visitBaseColumnNode(BaseColumnNode node) throws StandardException {
+            return unknownNode(node);
+        }
+
+        public String visitBetweenOperatorNode(BetweenOperatorNode node) throws StandardException {
+            return betweenOperatorNode(node);
+        }
+
+        public String visitBinaryArithmeticOperatorNode(BinaryArithmeticOperatorNode node) throws StandardException {
+            return binaryArithmeticOperatorNode(node);
+        }
+
+        public String visitBinaryBitOperatorNode(BinaryBitOperatorNode node) throws StandardException {
+            return binaryBitOperatorNode(node);
+        }
+
+        public String visitBinaryOperatorNode(BinaryOperatorNode node) throws StandardException {
+            return unknownNode(node);
+        }
+
+        public String visitBinaryRelationalOperatorNode(BinaryRelationalOperatorNode node) throws StandardException {
+            return binaryComparisonOperatorNode(node);
+        }
+
+        public String visitBitConstantNode(BitConstantNode node) throws StandardException {
+            return constantNode(node);
+        }
+
+        public String visitBooleanConstantNode(BooleanConstantNode node) throws StandardException {
+            return constantNode(node);
+        }
+
+        public String visitCallStatementNode(CallStatementNode node) throws StandardException {
+            return callStatementNode(node);
+        }
+
+        public String visitCastNode(CastNode node) throws StandardException {
+            return castNode(node);
+        }
+
+        public String visitCharConstantNode(CharConstantNode node) throws StandardException {
+            return constantNode(node);
+        }
+
+        public String visitCloseStatementNode(CloseStatementNode node) throws StandardException {
+            return closeStatementNode(node);
+        }
+
+        public String visitCoalesceFunctionNode(CoalesceFunctionNode node) throws StandardException {
+            return coalesceFunctionNode(node);
+        }
+
+        public String visitColumnDefinitionNode(ColumnDefinitionNode node) throws StandardException {
+            return columnDefinitionNode(node);
+        }
+
+        public String visitColumnReference(ColumnReference node) throws StandardException {
+            return columnReference(node);
+        }
+
+        public String visitConcatenationOperatorNode(ConcatenationOperatorNode node) throws StandardException {
+            return concatenationOperatorNode(node);
+        }
+
+        public String visitConditionalNode(ConditionalNode node) throws StandardException {
+            return conditionalNode(node);
+        }
+
+        public String visitConstraintDefinitionNode(ConstraintDefinitionNode node) throws StandardException {
+            return constraintDefinitionNode(node);
+        }
+
+        public String visitCopyStatementNode(CopyStatementNode node) throws StandardException {
+            return copyStatementNode(node);
+        }
+
+        public String visitCreateAliasNode(CreateAliasNode node) throws StandardException {
+            return createAliasNode(node);
+        }
+
+        public String visitCreateIndexNode(CreateIndexNode node) throws StandardException {
+            return createIndexNode(node);
+        }
+
+        public String visitCreateRoleNode(CreateRoleNode node) throws StandardException {
+            return unknownNode(node);
+        }
+
+        public String visitCreateSchemaNode(CreateSchemaNode node) throws StandardException {
+            return createSchemaNode(node);
+        }
+
+        public String visitCreateSequenceNode(CreateSequenceNode node) throws StandardException {
+            return unknownNode(node);
+        }
+
+        public String visitCreateTableNode(CreateTableNode node) throws StandardException {
+            return createTableNode(node);
+        }
+
+        public String visitCreateTriggerNode(CreateTriggerNode node) throws StandardException {
+            return unknownNode(node);
+        }
+
+        public String visitCreateViewNode(CreateViewNode node) throws StandardException {
+            return createViewNode(node);
+        }
+
+        public String visitCurrentDatetimeOperatorNode(CurrentDatetimeOperatorNode node) throws StandardException {
+            return currentDatetimeOperatorNode(node);
+        }
+
+        public String visitCurrentOfNode(CurrentOfNode node) throws StandardException {
+            return unknownNode(node);
+        }
+
+        public String visitCurrentRowLocationNode(CurrentRowLocationNode node) throws StandardException {
+            return unknownNode(node);
+        }
+
+        public String visitCurrentSequenceNode(CurrentSequenceNode node) throws StandardException {
+            return currentSequenceNode(node);
+        }
+
+        public String visitCursorNode(CursorNode node) throws StandardException {
+            return cursorNode(node);
+        }
+
+        public String visitDeallocateStatementNode(DeallocateStatementNode node) throws StandardException {
+            return deallocateStatementNode(node);
+        }
+
+        public String visitDeclareStatementNode(DeclareStatementNode node) throws StandardException {
+            return declareStatementNode(node);
+        }
+
+        public String visitDefaultNode(DefaultNode node) throws StandardException {
+            return defaultNode(node);
+        }
+
+        public String visitDeleteNode(DeleteNode node) throws StandardException {
+            return deleteNode(node);
+        }
+
+        public String visitDistinctNode(DistinctNode node) throws StandardException {
+            return unknownNode(node);
+        }
+
+        public String visitDropAliasNode(DropAliasNode node) throws StandardException {
+            return unknownNode(node);
+        }
+
+        public String visitDropGroupNode(DropGroupNode node) throws StandardException {
+            return unknownNode(node);
+        }
+
+        public String visitDropIndexNode(DropIndexNode node) throws StandardException {
+            return dropIndexNode(node);
+        }
+
+        public String visitDropRoleNode(DropRoleNode node) throws StandardException {
+            return unknownNode(node);
+        }
+
+        public String visitDropSchemaNode(DropSchemaNode node) throws StandardException {
+            return unknownNode(node);
+        }
+
+        public String visitDropSequenceNode(DropSequenceNode node) throws StandardException {
+            return dropSequenceNode(node);
+        }
+
+        public String visitDropTableNode(DropTableNode node) throws StandardException {
+            return dropTableNode(node);
+        }
+
+        public String visitDropTriggerNode(DropTriggerNode node) throws StandardException {
+            return dropTriggerNode(node);
+        }
+
+        public String visitDropViewNode(DropViewNode node) throws StandardException {
+            return dropViewNode(node);
+        }
+
+        public String visitExecuteStatementNode(ExecuteStatementNode node) throws StandardException {
+            return executeStatementNode(node);
+        }
+
+        public String visitExplainStatementNode(ExplainStatementNode node) throws StandardException {
+            return explainStatementNode(node);
+        }
+
+        public String visitExplicitCollateNode(ExplicitCollateNode node) throws StandardException {
+            return explicitCollateNode(node);
+        }
+
+        public String visitExtractOperatorNode(ExtractOperatorNode node) throws StandardException {
+            return extractOperatorNode(node);
+        }
+
+        public String visitFKConstraintDefinitionNode(FKConstraintDefinitionNode node) throws StandardException {
+            return fkConstraintDefinitionNode(node);
+        }
+
+        public String visitFetchStatementNode(FetchStatementNode node) throws StandardException {
+            return fetchStatementNode(node);
+        }
+
+        public String visitFromBaseTable(FromBaseTable node) throws StandardException {
+            return fromBaseTable(node);
+        }
+
+        public String visitFromList(FromList node) throws StandardException {
+            return fromList(node);
+        }
+
+        public String visitFromSubquery(FromSubquery node) throws StandardException {
+            return fromSubquery(node);
+        }
+
+        public String visitFromVTI(FromVTI node) throws StandardException {
+            return unknownNode(node);
+        }
+
+        public String visitFullOuterJoinNode(FullOuterJoinNode node) throws StandardException {
+            return joinNode(node);
+        }
+
+        public String visitGenerationClauseNode(GenerationClauseNode node) throws StandardException {
+            return unknownNode(node);
+        }
+
+        public String visitGetCurrentConnectionNode(GetCurrentConnectionNode node) throws StandardException {
+            return unknownNode(node);
+        }
+
+        public String visitGrantNode(GrantNode node) throws StandardException {
+            return unknownNode(node);
+        }
+
+        public String visitGrantRoleNode(GrantRoleNode node) throws StandardException {
+            return unknownNode(node);
+        }
+
+        public String visitGroupByColumn(GroupByColumn node) throws StandardException {
+            return groupByColumn(node);
+        }
+
+        public String visitGroupByList(GroupByList node) throws StandardException {
+            return groupByList(node);
+        }
+
+        public String visitGroupConcatNode(GroupConcatNode node) throws StandardException {
+            return groupConcat(node);
+        }
+
+        public String visitHalfOuterJoinNode(HalfOuterJoinNode node) throws StandardException {
+            return joinNode(node);
+        }
+
+        public String visitInListOperatorNode(InListOperatorNode node) throws StandardException {
+            return inListOperatorNode(node);
+        }
+
+        public String visitIndexColumn(IndexColumn node) throws StandardException {
+            return indexColumn(node);
+        }
+
+        public String visitIndexColumnList(IndexColumnList node) throws StandardException {
+            return indexColumnList(node);
+        }
+
+        public String visitIndexDefinitionNode(IndexDefinitionNode node) throws StandardException {
+            return indexDefinitionNode(node);
+        }
+
+        public String visitIndexHintList(IndexHintList node) throws StandardException {
+            return unknownNode(node);
+        }
+
+        public String visitIndexHintNode(IndexHintNode node) throws StandardException {
+            return unknownNode(node);
+        }
+
+        public String visitInsertNode(InsertNode node) throws StandardException {
+            return insertNode(node);
+        }
+
+        public String visitIntersectOrExceptNode(IntersectOrExceptNode node) throws StandardException {
+            return unknownNode(node);
+        }
+
+        public String visitIsNode(IsNode node) throws StandardException {
+            return isNode(node);
+        }
+
+        public String visitIsNullNode(IsNullNode node) throws StandardException {
+            return isNullNode(node);
+        }
+
+        public String visitJavaToSQLValueNode(JavaToSQLValueNode node) throws StandardException {
+            return javaToSQLValueNode(node);
+        }
+
+        public String visitJoinNode(JoinNode node) throws StandardException {
+            return joinNode(node);
+        }
+
+        public String visitLeftRightFuncOperatorNode(LeftRightFuncOperatorNode node) throws StandardException {
+            return leftRightFuncOperatorNode(node);
+        }
+
+        public String visitLengthOperatorNode(LengthOperatorNode node) throws StandardException {
+            return lengthOperatorNode(node);
+        }
+
+        public String visitLikeEscapeOperatorNode(LikeEscapeOperatorNode node) throws StandardException {
+            return likeEscapeOperatorNode(node);
+        }
+
+        public String visitLockTableNode(LockTableNode node) throws StandardException {
+            return unknownNode(node);
+        }
+
+        public String visitModifyColumnNode(ModifyColumnNode node) throws StandardException {
+            return modifyColumnNode(node);
+        }
+
+        public String visitNOPStatementNode(NOPStatementNode node) throws StandardException {
+            return unknownNode(node);
+        }
+
+        public String visitNewInvocationNode(NewInvocationNode node) throws StandardException {
+            return newInvocationNode(node);
+        }
+
+        public String visitNextSequenceNode(NextSequenceNode node) throws StandardException {
+            return nextSequenceNode(node);
+        }
+
+        public String visitNonStaticMethodCallNode(NonStaticMethodCallNode node) throws StandardException {
+            return unknownNode(node);
+        }
+
+        public String visitNotNode(NotNode node) throws StandardException {
+            return notNode(node);
+        }
+
+        public String visitNumericConstantNode(NumericConstantNode node) throws StandardException {
+            return constantNode(node);
+        }
+
+        public String visitOctetLengthOperatorNode(OctetLengthOperatorNode node) throws StandardException {
+            return octetLengthOperatorNode(node);
+        }
+
+        public String visitOrNode(OrNode node) throws StandardException {
+            return binaryLogicalOperatorNode(node);
+        }
+
+        public String visitOrderByColumn(OrderByColumn node) throws StandardException {
+            return orderByColumn(node);
+        }
+
+        public String visitOrderByList(OrderByList node) throws StandardException {
+            return orderByList(node);
+        }
+
+        public String visitParameterNode(ParameterNode node) throws StandardException {
+            return parameterNode(node);
+        }
+
+        public String visitPartitionByColumn(PartitionByColumn node) throws StandardException {
+            return partitionByColumn(node);
+        }
+
+        public String visitPartitionByList(PartitionByList node) throws StandardException {
+            return partitionByList(node);
+        }
+
+        public String visitPrepareStatementNode(PrepareStatementNode node) throws StandardException {
+            return prepareStatementNode(node);
+        }
+
+        public String visitPrivilegeNode(PrivilegeNode node) throws StandardException {
+            return unknownNode(node);
+        }
+
+        public String visitRenameNode(RenameNode node) throws StandardException {
+            return renameNode(node);
+        }
+
+        public String visitResultColumn(ResultColumn node) throws StandardException {
+            return resultColumn(node);
+        }
+
+        public String visitResultColumnList(ResultColumnList node) throws StandardException {
+            return resultColumnList(node);
+        }
+
+        public String visitRevokeNode(RevokeNode node) throws StandardException {
+            return unknownNode(node);
+        }
+
+        public String visitRevokeRoleNode(RevokeRoleNode node) throws StandardException {
+            return unknownNode(node);
+        }
+
+        public String visitRowConstructorNode(RowConstructorNode node) throws StandardException {
+            return rowCtorNode(node);
+        }
+
+        public String visitRowCountNode(RowCountNode node) throws StandardException {
+            return unknownNode(node);
+        }
+
+        public String visitRowNumberFunctionNode(RowNumberFunctionNode node) throws StandardException {
+            return rowNumberFunctionNode(node);
+        }
+
+        public String visitRowResultSetNode(RowResultSetNode node) throws StandardException {
+            return rowResultSetNode(node);
+        }
+
+        public String visitRowsResultSetNode(RowsResultSetNode node) throws StandardException {
+            return rowsResultSetNode(node);
+        }
+
+        public String visitSQLBooleanConstantNode(SQLBooleanConstantNode node) throws StandardException {
+            return constantNode(node);
+        }
+
+        public String visitSQLToJavaValueNode(SQLToJavaValueNode node) throws StandardException {
+            return sqlToJavaValueNode(node);
+        }
+
+        public String visitSavepointNode(SavepointNode node) throws StandardException {
+            return unknownNode(node);
+        }
+
+        public String visitSelectNode(SelectNode node) throws StandardException {
+            return selectNode(node);
+        }
+
+        public String visitSetConfigurationNode(SetConfigurationNode node) throws StandardException {
+            return setConfigurationNode(node);
+        }
+
+        public String visitSetConstraintsNode(SetConstraintsNode node) throws StandardException {
+            return setConstraintsNode(node);
+        }
+
+        public String visitSetRoleNode(SetRoleNode node) throws StandardException {
+            return unknownNode(node);
+        }
+
+        public String visitSetSchemaNode(SetSchemaNode node) throws StandardException {
+            return unknownNode(node);
+        }
+
+        public String visitSetTransactionAccessNode(SetTransactionAccessNode node) throws StandardException {
+            return setTransactionAccessNode(node);
+        }
+
+        public String visitSetTransactionIsolationNode(SetTransactionIsolationNode node) throws StandardException {
+            return setTransactionIsolationNode(node);
+        }
+
+        public String visitShowConfigurationNode(ShowConfigurationNode node) throws StandardException {
+            return showConfigurationNode(node);
+        }
+
+        public String visitSimpleCaseNode(SimpleCaseNode node) throws StandardException {
+            return simpleCaseNode(node);
+        }
+
+        public String visitSimpleStringOperatorNode(SimpleStringOperatorNode node) throws StandardException {
+            return simpleStringOperatorNode(node);
+        }
+
+        public String visitSpecialFunctionNode(SpecialFunctionNode node) throws StandardException {
+            switch (node.getNodeType()) {
+            case NodeTypes.USER_NODE:
+                return "USER";
+            case NodeTypes.CURRENT_USER_NODE:
+                return "CURRENT_USER";
+            case NodeTypes.SESSION_USER_NODE:
+                return "SESSION_USER";
+            case NodeTypes.SYSTEM_USER_NODE:
+                return "SYSTEM_USER";
+            case NodeTypes.CURRENT_ISOLATION_NODE:
+                return "CURRENT ISOLATION";
+            case NodeTypes.IDENTITY_VAL_NODE:
+                return "IDENTITY_VAL_LOCAL()";
+            case NodeTypes.CURRENT_SCHEMA_NODE:
+                return "CURRENT SCHEMA";
+            case NodeTypes.CURRENT_ROLE_NODE:
+                return "CURRENT_ROLE";
+            default:
+                return unknownNode(node);
+            }
+        }
+
+        public String visitStaticClassFieldReferenceNode(StaticClassFieldReferenceNode node) throws StandardException {
+            return unknownNode(node);
+        }
+
+        public String visitStaticMethodCallNode(StaticMethodCallNode node) throws StandardException {
+            return staticMethodCallNode(node);
+        }
+
+        public String visitStorageFormatNode(StorageFormatNode node) throws StandardException {
+            return storageFormatNode(node);
+        }
+
+        public String visitSubqueryList(SubqueryList node) throws StandardException {
+            return unknownNode(node);
+        }
+
+        public String visitSubqueryNode(SubqueryNode node) throws StandardException {
+            return subqueryNode(node);
+        }
+
+        public String visitTableElementList(TableElementList node) throws StandardException {
+            return tableElementList(node);
+        }
+
+        public String visitTableElementNode(TableElementNode node) throws StandardException {
+            return unknownNode(node);
+        }
+
+        public String visitTableName(TableName node) throws StandardException {
+            return tableName(node);
+        }
+
+        public String visitTableNameList(TableNameList node) throws StandardException {
+            return tableNameList(node);
+        }
+
+        public String visitTablePrivilegesNode(TablePrivilegesNode node) throws StandardException {
+            return unknownNode(node);
+        }
+
+        public String visitTernaryOperatorNode(TernaryOperatorNode node) throws StandardException {
+            switch (node.getNodeType()) {
+            case NodeTypes.LOCATE_FUNCTION_NODE:
+            case NodeTypes.SUBSTRING_OPERATOR_NODE:
+                return ternaryOperatorNode(node);
+            case NodeTypes.TIMESTAMP_ADD_FN_NODE:
+            case NodeTypes.TIMESTAMP_DIFF_FN_NODE:
+                return timestampFunctionNode(node);
+            default:
+                return unknownNode(node);
+            }
+        }
+
+        public String visitTestConstraintNode(TestConstraintNode node) throws StandardException {
+            return unknownNode(node);
+        }
+
+        public String visitTimestampOperatorNode(TimestampOperatorNode node) throws StandardException {
+            return timestampOperatorNode(node);
+        }
+
+        public String visitTransactionControlNode(TransactionControlNode node) throws StandardException {
+            return transactionControlNode(node);
+        }
+
+        public String visitTrimOperatorNode(TrimOperatorNode node) throws StandardException {
+            return trimOperatorNode(node);
+        }
+
+        public String visitUnaryArithmeticOperatorNode(UnaryArithmeticOperatorNode node) throws StandardException {
+            switch (node.getNodeType()) {
+            case NodeTypes.ABSOLUTE_OPERATOR_NODE:
+            case NodeTypes.SQRT_OPERATOR_NODE:
+                return unaryArithmeticOperatorNode(node);
+            case NodeTypes.UNARY_PLUS_OPERATOR_NODE:
+            case NodeTypes.UNARY_MINUS_OPERATOR_NODE:
+                return unaryPrefixOperatorNode(node);
+            default:
+                return unknownNode(node);
+            }
+        }
+
+        public String visitUnaryBitOperatorNode(UnaryBitOperatorNode node) throws StandardException {
+            return unaryBitOperatorNode(node);
+        }
+
+        public String visitUnaryDateTimestampOperatorNode(UnaryDateTimestampOperatorNode node) throws StandardException {
+            return unaryDateTimestampOperatorNode(node);
+        }
+
+        public String visitUnaryOperatorNode(UnaryOperatorNode node) throws StandardException {
+            return unknownNode(node);
+        }
+
+        public String visitUnionNode(UnionNode node) throws StandardException {
+            return unionNode(node);
+        }
+
+        public String visitUntypedNullConstantNode(UntypedNullConstantNode node) throws StandardException {
+            return constantNode(node);
+        }
+
+        public String visitUpdateNode(UpdateNode node) throws StandardException {
+            return updateNode(node);
+        }
+
+        public String visitUserTypeConstantNode(UserTypeConstantNode node) throws StandardException {
+            return constantNode(node);
+        }
+
+        public String visitValueNodeList(ValueNodeList node) throws StandardException {
+            return valueNodeList(node);
+        }
+
+        public String visitVarbitConstantNode(VarbitConstantNode node) throws StandardException {
+            return constantNode(node);
+        }
+
+        public String visitVirtualColumnNode(VirtualColumnNode node) throws StandardException {
+            return virtualColumnNode(node);
+        }
+
+        public String visitWindowDefinitionNode(WindowDefinitionNode node) throws StandardException {
+            return windowDefinitionNode(node);
+        }
+
+        public String visitWindowList(WindowList node) throws StandardException {
+            return unknownNode(node);
+        }
+
+        public String visitWindowReferenceNode(WindowReferenceNode node) throws StandardException {
+            return windowReferenceNode(node);
+        }
+
+        public String visitXMLBinaryOperatorNode(XMLBinaryOperatorNode node) throws StandardException {
+            return unknownNode(node);
+        }
+
+        public String visitXMLConstantNode(XMLConstantNode node) throws StandardException {
+            return constantNode(node);
+        }
+
+        public String visitXMLUnaryOperatorNode(XMLUnaryOperatorNode node) throws StandardException {
+            return unknownNode(node);
         }
     }
 
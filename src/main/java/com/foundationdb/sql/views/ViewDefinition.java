@@ -24,6 +24,7 @@ public class ViewDefinition
 {
     private CreateViewNode definition;
     private FromSubquery subquery;
+    private volatile FromSubquery sharedSubquery;
 
     /**
      * Parse the given SQL as CREATE VIEW and remember the definition.
@@ -82,8 +83,34 @@ public class ViewDefinition
         return subquery;
     }
 
+    /**
+     * Get the view as a frozen subquery, which can be shared by any
+     * number of callers and threads without copying.
+     * It is made from the original subquery when first asked for,
+     * so any binding of {@link #getSubquery} should come before that.
+     * Use {@link QueryTreeNode#thawPath} to change part of it.
+     */
+    public FromSubquery getSharedSubquery() throws StandardException {
+        FromSubquery shared = sharedSubquery;
+        if (shared == null) {
+            synchronized (this) {
+                shared = sharedSubquery;
+                if (shared == null) {
+                    shared = (FromSubquery)
+                        subquery.getNodeFactory().copyNode(subquery,
+                                                           subquery.getParserContext());
+                    shared.freeze();
+                    sharedSubquery = shared;
+                }
+            }
+        }
+        return shared;
+    }
+
     /**
      * Get the view as an equivalent subquery belonging to the given context.
+     * This is a deep copy; when the result will only be read, or only
+     * partly changed, {@link #getSharedSubquery} is cheaper.
      */
     public FromSubquery copySubquery(SQLParserContext parserContext) 
             throws StandardException {
@@ -98,6 +125,7 @@ public class ViewDefinition
     @Deprecated
     public FromSubquery getSubquery(Visitor binder) throws StandardException {
         subquery = (FromSubquery)subquery.accept(binder);
+        sharedSubquery = null;
         return copySubquery(subquery.getParserContext());
     }
 
@@ -0,0 +1,142 @@
+/**
+ * Copyright 2014 FoundationDB, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.foundationdb.sql.parser;
+
+import com.foundationdb.sql.StandardException;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class FlatTreeTest
+{
+    private static final String SQL =
+        "SELECT a, t.b AS bb, 'x' FROM s.t WHERE a = ? AND b IN (1, 2) ORDER BY a";
+
+    @Test
+    public void depthFirstOrder() throws StandardException {
+        StatementNode stmt = new SQLParser().parseStatement(SQL);
+        final List<QueryTreeNode> nodes = new ArrayList<QueryTreeNode>();
+        stmt.accept(new Visitor() {
+                public Visitable visit(Visitable n) {
+                    nodes.add((QueryTreeNode)n);
+                    return n;
+                }
+                public boolean visitChildrenFirst(Visitable n) {
+                    return false;
+                }
+                public boolean stopTraversal() {
+                    return false;
+                }
+                public boolean skipChildren(Visitable n) {
+                    return false;
+                }
+            });
+        FlatTree tree = FlatTree.build(stmt);
+        int i = 0;
+        for (QueryTreeNode node : nodes) {
+            assertEquals(node.getNodeType(), tree.getNodeType(i));
+            assertEquals(node.getBeginOffset(), tree.getBeginOffset(i));
+            assertEquals(node.getEndOffset(), tree.getEndOffset(i));
+            i++;
+            if ((node instanceof ColumnReference) && 
+                (((ColumnReference)node).getTableNameNode() != null)) {
+                assertEquals(NodeTypes.TABLE_NAME, tree.getNodeType(i));
+                assertEquals(i - 1, tree.getParent(i));
+                i++;
+            }
+        }
+        assertEquals(i, tree.size());
+    }
+
+    @Test
+    public void links() throws StandardException {
+        FlatTree tree = FlatTree.build(new SQLParser().parseStatement(SQL));
+        assertEquals(FlatTree.NONE, tree.getParent(0));
+        int nchildren = 0;
+        for (int i = 0; i < tree.size(); i++) {
+            int prev = i;
+            for (int c = tree.getFirstChild(i); c != FlatTree.NONE; c = tree.getNextSibling(c)) {
+                assertEquals(i, tree.getParent(c));
+                assertTrue(c > prev);
+                prev = c;
+                nchildren++;
+            }
+        }
+        assertEquals(tree.size() - 1, nchildren);
+    }
+
+    @Test
+    public void payloads() throws StandardException {
+        FlatTree tree = FlatTree.build(new SQLParser().parseStatement(SQL));
+        List<Object> tables = new ArrayList<Object>();
+        List<Object> columns = new ArrayList<Object>();
+        List<Object> constants = new ArrayList<Object>();
+        FlatTree.Cursor cursor = tree.cursor();
+        do {
+            switch (cursor.getNodeType()) {
+            case NodeTypes.FROM_BASE_TABLE:
+                tables.add(cursor.getPayload());
+                break;
+            case NodeTypes.COLUMN_REFERENCE:
+                {
+                    Object column = cursor.getPayload();
+                    if (cursor.firstChild()) {
+                        assertEquals(NodeTypes.TABLE_NAME, cursor.getNodeType());
+                        column = cursor.getPayload() + "." + column;
+                    }
+                    columns.add(column);
+                }
+                break;
+            case NodeTypes.INT_CONSTANT_NODE:
+            case NodeTypes.CHAR_CONSTANT_NODE:
+            case NodeTypes.PARAMETER_NODE:
+                constants.add(cursor.getPayload());
+                break;
+            }
+        } while (cursor.next());
+        assertEquals("[s.t]", tables.toString());
+        assertTrue(columns.contains("t.b"));
+        assertTrue(columns.contains("a"));
+        assertEquals("[x, 0, 1, 2]", constants.toString());
+    }
+
+    @Test
+    public void cursorMoves() throws StandardException {
+        FlatTree tree = FlatTree.build(new SQLParser().parseStatement(SQL));
+        FlatTree.Cursor cursor = tree.cursor();
+        assertEquals(NodeTypes.CURSOR_NODE, cursor.getNodeType());
+        assertFalse(cursor.parent());
+        assertFalse(cursor.nextSibling());
+        assertTrue(cursor.firstChild());
+        assertEquals(1, cursor.getDepth());
+        int child = cursor.getIndex();
+        while (cursor.firstChild()) {
+        }
+        assertFalse(cursor.firstChild());
+        while (cursor.getDepth() > 1) {
+            assertTrue(cursor.parent());
+        }
+        assertEquals(child, cursor.getIndex());
+        cursor.moveTo(tree.size() - 1);
+        assertFalse(cursor.next());
+    }
+
+}
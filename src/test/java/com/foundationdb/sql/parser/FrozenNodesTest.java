@@ -0,0 +1,318 @@
+/**
+ * Copyright 2014 FoundationDB, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.foundationdb.sql.parser;
+
+import com.foundationdb.sql.StandardException;
+import com.foundationdb.sql.unparser.NodeToString;
+import com.foundationdb.sql.views.ViewDefinition;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static com.foundationdb.sql.parser.SQLStatementCacheTest.treeString;
+
+public class FrozenNodesTest
+{
+    private static final String SQL =
+        "SELECT a, b + 1 FROM t WHERE c = 2 AND d IN (SELECT e FROM u WHERE f = 3)";
+
+    private SQLParser parser;
+    private StatementNode stmt;
+
+    @Before
+    public void before() throws StandardException {
+        parser = new SQLParser();
+        stmt = parser.parseStatement(SQL);
+    }
+
+    @Test
+    public void freezeWholeTree() throws StandardException {
+        stmt.freeze();
+        List<QueryTreeNode> nodes = nodes(stmt);
+        assertTrue(nodes.size() > 20);
+        for (QueryTreeNode node : nodes) {
+            assertTrue(node.toString(), node.isFrozen());
+            assertSame(parser, node.getParserContext());
+        }
+        assertEquals(treeString(new SQLParser().parseStatement(SQL)), treeString(stmt));
+    }
+
+    @Test(expected=IllegalStateException.class)
+    public void setterThrows() throws StandardException {
+        stmt.freeze();
+        select(stmt).setWhereClause(null);
+    }
+
+    @Test(expected=IllegalStateException.class)
+    public void unvisitedChildThrows() throws StandardException {
+        StatementNode qualified = parser.parseStatement("SELECT t.a FROM t");
+        qualified.freeze();
+        ColumnReference column = (ColumnReference)
+            select(qualified).getResultColumns().get(0).getExpression();
+        column.getTableNameNode().setSchemaName("s");
+    }
+
+    @Test(expected=IllegalStateException.class)
+    public void listAddThrows() throws StandardException {
+        stmt.freeze();
+        ResultColumnList rcl = select(stmt).getResultColumns();
+        rcl.add(rcl.get(0));
+    }
+
+    @Test(expected=UnsupportedOperationException.class)
+    public void listIteratorRemoveThrows() throws StandardException {
+        stmt.freeze();
+        java.util.Iterator<ResultColumn> iter = select(stmt).getResultColumns().iterator();
+        iter.next();
+        iter.remove();
+    }
+
+    @Test(expected=IllegalStateException.class)
+    public void replacingVisitorThrows() throws StandardException {
+        stmt.freeze();
+        stmt.accept(new NodeVisitor() {
+                public Visitable visit(Visitable node) throws StandardException {
+                    if (node instanceof NumericConstantNode)
+                        return parser.getNodeFactory().getNode(NodeTypes.INT_CONSTANT_NODE,
+                                                               0, parser);
+                    return node;
+                }
+            });
+    }
+
+    @Test
+    public void thawSharesChildren() throws StandardException {
+        stmt.freeze();
+        SelectNode select = select(stmt);
+        SelectNode copy = (SelectNode)select.thaw();
+        assertFalse(copy.isFrozen());
+        assertNotSame(select, copy);
+        assertSame(select.getWhereClause(), copy.getWhereClause());
+        assertSame(select.getFromList(), copy.getFromList());
+        copy.setWhereClause(null);
+        assertNotNull(select.getWhereClause());
+    }
+
+    @Test
+    public void thawPathCopiesOnlyPath() throws StandardException {
+        NodeToString unparser = new NodeToString();
+        String before = unparser.toString(stmt);
+        stmt.freeze();
+        List<QueryTreeNode> original = nodes(stmt);
+        ConstantNode three = null;
+        for (QueryTreeNode node : original) {
+            if ((node instanceof ConstantNode) &&
+                Integer.valueOf(3).equals(((ConstantNode)node).getValue()))
+                three = (ConstantNode)node;
+        }
+        QueryTreeNode[] path = stmt.thawPath(three);
+        for (QueryTreeNode node : path) {
+            assertFalse(node.isFrozen());
+        }
+        StatementNode changed = (StatementNode)path[0];
+        ((ConstantNode)path[path.length-1]).setValue(4);
+        assertEquals(before, unparser.toString(stmt));
+        assertEquals(before.replace("3", "4"), unparser.toString(changed));
+        List<QueryTreeNode> changedNodes = nodes(changed);
+        assertEquals(original.size(), changedNodes.size());
+        int shared = 0;
+        for (int i = 0; i < original.size(); i++) {
+            if (original.get(i) == changedNodes.get(i))
+                shared++;
+        }
+        assertEquals(original.size() - path.length, shared);
+        assertNull(stmt.thawPath(parser.parseStatement("SELECT 1")));
+    }
+
+    @Test
+    public void concurrentReaders() throws Exception {
+        stmt.freeze();
+        final int expected = nodes(stmt).size();
+        final List<Throwable> errors = new ArrayList<Throwable>();
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread() {
+                    @Override
+                    public void run() {
+                        try {
+                            for (int j = 0; j < 1000; j++) {
+                                assertEquals(expected, nodes(stmt).size());
+                            }
+                        }
+                        catch (Throwable ex) {
+                            synchronized (errors) {
+                                errors.add(ex);
+                            }
+                        }
+                    }
+                };
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals("[]", errors.toString());
+    }
+
+    @Test
+    public void releaseLeavesFrozen() throws StandardException {
+        RecyclingNodeFactory factory = new RecyclingNodeFactory();
+        parser.setNodeFactory(factory);
+        StatementNode frozen = parser.parseStatement(SQL);
+        frozen.freeze();
+        QueryTreeNode copy = frozen.thaw();
+        factory.release(copy);
+        assertEquals(treeString(stmt), treeString(frozen));
+    }
+
+    @Test
+    public void sharedViewSubquery() throws StandardException {
+        ViewDefinition view = new ViewDefinition("CREATE VIEW v AS " + SQL, parser);
+        FromSubquery shared = view.getSharedSubquery();
+        assertTrue(shared.isFrozen());
+        assertSame(shared, view.getSharedSubquery());
+        assertFalse(view.getSubquery().isFrozen());
+        assertFalse(view.copySubquery(parser).isFrozen());
+    }
+
+    private static final String[] MUTATOR_SQL = {
+        "SELECT DISTINCT a, b + 1, f(c) FROM t WHERE c IS NULL AND d IN (1, 2) UNION SELECT x, y, z FROM v",
+        "SELECT CASE a WHEN 1 THEN 'x' ELSE 'y' END, LEFT(b, 2) FROM t GROUP BY a, b ORDER BY 1 DESC",
+        "INSERT INTO t VALUES (1, 2), (3, 4)",
+        "UPDATE t SET a = a + 1 WHERE b IS NOT TRUE",
+        "CREATE TABLE t2 AS SELECT * FROM t WITH DATA",
+        "CREATE TABLE t3 (a INT) STORAGE_FORMAT tuple (k = 'v')",
+        "GRANT SELECT, UPDATE (a) ON t TO u",
+        "CREATE INDEX i ON t(a, b)",
+    };
+
+    private static final String[] MUTATOR_PREFIXES = {
+        "set", "add", "remove", "clear", "mark", "make", "toggle", 
+        "cast", "apply", "adjust", "append", "destructive", "init", "copyFrom"
+    };
+
+    @Test
+    public void everyMutatorThrows() throws Exception {
+        java.util.Set<String> classes = new java.util.TreeSet<String>();
+        int calls = 0;
+        for (String sql : MUTATOR_SQL) {
+            StatementNode root = parser.parseStatement(sql);
+            root.freeze();
+            for (QueryTreeNode node : nodes(root)) {
+                for (java.lang.reflect.Method method : node.getClass().getMethods()) {
+                    if (java.lang.reflect.Modifier.isStatic(method.getModifiers()) ||
+                        (method.getDeclaringClass() == Object.class) ||
+                        !isMutator(method.getName()))
+                        continue;
+                    Class<?>[] types = method.getParameterTypes();
+                    Object[] args = new Object[types.length];
+                    for (int i = 0; i < types.length; i++)
+                        args[i] = defaultValue(types[i]);
+                    try {
+                        method.invoke(node, args);
+                        fail(method + " did not throw");
+                    }
+                    catch (java.lang.reflect.InvocationTargetException ex) {
+                        assertTrue(method + " threw " + ex.getCause(),
+                                   ex.getCause() instanceof IllegalStateException);
+                    }
+                    classes.add(node.getClass().getSimpleName());
+                    calls++;
+                }
+            }
+        }
+        assertTrue(calls > 100);
+        for (String name : new String[] {
+                "SelectNode", "UnionNode", "RowsResultSetNode", "StaticMethodCallNode",
+                "IsNode", "IsNullNode", "LeftRightFuncOperatorNode", "ResultColumnList", 
+                "OrderByList", "FromList", "CreateTableNode", "StorageFormatNode"
+            }) {
+            assertTrue(name, classes.contains(name));
+        }
+    }
+
+    @Test(expected=UnsupportedOperationException.class)
+    public void frozenRowsUnmodifiable() throws StandardException {
+        StatementNode values = parser.parseStatement("VALUES (1, 2), (3, 4)");
+        values.freeze();
+        ((RowsResultSetNode)((CursorNode)values).getResultSetNode()).getRows().clear();
+    }
+
+    private static boolean isMutator(String name) {
+        if (name.equals("makeTableName"))
+            return false;       // A factory method.
+        for (String prefix : MUTATOR_PREFIXES) {
+            if (name.startsWith(prefix))
+                return true;
+        }
+        return false;
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == Boolean.TYPE)
+            return Boolean.FALSE;
+        if (type == Character.TYPE)
+            return Character.valueOf('\0');
+        if (type == Byte.TYPE)
+            return Byte.valueOf((byte)0);
+        if (type == Short.TYPE)
+            return Short.valueOf((short)0);
+        if (type == Integer.TYPE)
+            return Integer.valueOf(0);
+        if (type == Long.TYPE)
+            return Long.valueOf(0);
+        if (type == Float.TYPE)
+            return Float.valueOf(0);
+        if (type == Double.TYPE)
+            return Double.valueOf(0);
+        return null;
+    }
+
+    private static SelectNode select(StatementNode stmt) {
+        return (SelectNode)((CursorNode)stmt).getResultSetNode();
+    }
+
+    private static List<QueryTreeNode> nodes(QueryTreeNode root) throws StandardException {
+        final List<QueryTreeNode> nodes = new ArrayList<QueryTreeNode>();
+        root.accept(new NodeVisitor() {
+                public Visitable visit(Visitable node) {
+                    nodes.add((QueryTreeNode)node);
+                    return node;
+                }
+            });
+        return nodes;
+    }
+
+    abstract static class NodeVisitor implements Visitor {
+        public boolean visitChildrenFirst(Visitable node) {
+            return false;
+        }
+
+        public boolean stopTraversal() {
+            return false;
+        }
+
+        public boolean skipChildren(Visitable node) {
+            return false;
+        }
+    }
+
+}
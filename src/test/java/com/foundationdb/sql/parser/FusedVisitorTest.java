@@ -0,0 +1,129 @@
+/**
+ * Copyright 2014 FoundationDB, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foundationdb.sql.parser;
+
+import com.foundationdb.sql.StandardException;
+import com.foundationdb.sql.parser.IterativeTraversalTest.Recorder;
+import com.foundationdb.sql.parser.NodeTypePruningTest.Finder;
+import com.foundationdb.sql.parser.NodeTypePruningTest.SelectiveFinder;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class FusedVisitorTest
+{
+    private static final String[] SQL = {
+        "SELECT a, b + 1 FROM t WHERE c = ? AND d IN (SELECT e FROM u WHERE f = ?)",
+        "SELECT x.a, COUNT(*) FROM t x INNER JOIN u y ON x.id = y.id GROUP BY x.a HAVING COUNT(*) > 1 ORDER BY 2",
+        "INSERT INTO t(a, b) VALUES(1, 'x'), (2, CASE WHEN ? THEN 'y' ELSE NULL END)",
+        "UPDATE t SET a = a + 1 WHERE b BETWEEN 1 AND 10 OR c LIKE 'z%'",
+    };
+
+    private SQLParser parser;
+
+    @Before
+    public void before() {
+        parser = new SQLParser();
+    }
+
+    @Test
+    public void sameCallsAsSeparate() throws StandardException {
+        for (String sql : SQL) {
+            StatementNode stmt = parser.parseStatement(sql);
+            for (boolean iteratively : new boolean[] { false, true }) {
+                Recorder[] fused = recorders();
+                FusedVisitor visitor = new FusedVisitor(fused);
+                if (iteratively)
+                    stmt.acceptIteratively(visitor);
+                else
+                    stmt.accept(visitor);
+                Recorder[] separate = recorders();
+                for (int i = 0; i < separate.length; i++) {
+                    stmt.accept(separate[i]);
+                    assertEquals(sql, separate[i].calls, fused[i].calls);
+                    assertEquals(separate[i].visits().size(), visitor.getVisits(i));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void stopsIndependently() throws StandardException {
+        StatementNode stmt = parser.parseStatement(SQL[0]);
+        Recorder early = new Recorder(false, -1);
+        early.stopAfter = 3;
+        Recorder late = new Recorder(true, -1);
+        late.stopAfter = 10;
+        Recorder all = new Recorder(false, -1);
+        FusedVisitor visitor = new FusedVisitor(early, late, all);
+        stmt.accept(visitor);
+        assertEquals(3, early.visits().size());
+        assertEquals(10, late.visits().size());
+        Recorder separate = new Recorder(true, -1);
+        separate.stopAfter = 10;
+        stmt.accept(separate);
+        assertEquals(separate.visits(), late.visits());
+        separate = new Recorder(false, -1);
+        stmt.accept(separate);
+        assertEquals(separate.visits(), all.visits());
+        assertFalse(visitor.stopTraversal());
+    }
+
+    @Test
+    public void selective() throws StandardException {
+        StatementNode stmt = parser.parseStatement(SQL[0]);
+        NodeTypeSet set = NodeTypeSet.of(NodeTypes.PARAMETER_NODE);
+        Finder all = new Finder(set);
+        SelectiveFinder selective = new SelectiveFinder(set);
+        stmt.accept(new FusedVisitor(all, selective));
+        assertEquals(2, selective.found.size());
+        assertEquals(all.found, selective.found);
+        assertTrue(selective.visited < all.visited);
+    }
+
+    @Test
+    public void reusable() throws StandardException {
+        StatementNode stmt = parser.parseStatement(SQL[1]);
+        Recorder recorder = new Recorder(false, NodeTypes.FROM_LIST);
+        FusedVisitor visitor = new FusedVisitor(recorder);
+        visitor.setTiming(true);
+        stmt.accept(visitor);
+        long visits = visitor.getVisits(0);
+        assertTrue(visitor.getNanos(0) > 0);
+        stmt.accept(visitor);
+        assertEquals(visits * 2, visitor.getVisits(0));
+        visitor.resetStatistics();
+        assertEquals(0, visitor.getNanos(0));
+        assertEquals(1, visitor.getStatistics().size());
+    }
+
+    @Test(expected=IllegalStateException.class)
+    public void cannotReplace() throws StandardException {
+        StatementNode stmt = parser.parseStatement("SELECT a + 1 FROM t");
+        stmt.accept(new FusedVisitor(new IterativeTraversalTest.Doubler(false)));
+    }
+
+    protected static Recorder[] recorders() {
+        return new Recorder[] {
+            new Recorder(false, -1),
+            new Recorder(true, -1),
+            new Recorder(false, NodeTypes.SUBQUERY_NODE),
+            new Recorder(true, NodeTypes.FROM_LIST),
+        };
+    }
+}
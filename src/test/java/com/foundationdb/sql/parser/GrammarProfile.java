@@ -0,0 +1,430 @@
+/**
+ * Copyright 2014 FoundationDB, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foundationdb.sql.parser;
+
+import com.foundationdb.sql.StandardException;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counts of the work done by the grammar over a corpus of statements:
+ * production entries, syntactic lookaheads and how many of them fail,
+ * and tokens scanned ahead (calls to <code>jj_scan_token</code>), to
+ * find where restructuring the grammar would pay off.
+ *
+ * The counts come from the trace of a parser generated with JavaCC's
+ * <code>DEBUG_PARSER</code> and <code>DEBUG_LOOKAHEAD</code> options,
+ * which the <code>grammar-profile</code> Maven profile turns on. This
+ * is a development tool, kept with the tests and not in the jar:
+ * <pre>
+ * mvn -P grammar-profile clean test-compile
+ * java -cp target/classes:target/test-classes com.foundationdb.sql.parser.GrammarProfile corpus.sql ...
+ * </pre>
+ * Such a build traces every parse to standard output, so it is only
+ * good for profiling. While a statement is being profiled, what the
+ * profiling thread writes to standard output is counted instead.
+ * Other threads' output still goes to standard output, but only one
+ * thread may profile at a time. With an ordinary build, statements
+ * are still parsed, but nothing is counted (see {@link #isInstrumented}).
+ *
+ * The report does not cover semantic lookahead, which JavaCC does not
+ * trace. That includes plain <code>getToken(i).kind</code> tests and
+ * also the grammar's lookahead helpers, the methods such as
+ * <code>rowValueConstructorListFollows</code> and
+ * <code>joinedTableExpressionFollows</code> that walk any number of
+ * tokens ahead with <code>getToken</code>. Their work is in neither
+ * the scanned token counts nor the failed lookaheads.
+ */
+public class GrammarProfile
+{
+    static final String LOOKING_AHEAD = "(LOOKING AHEAD...)";
+    static final String LOOKAHEAD_FAILED = "(LOOKAHEAD FAILED)";
+    static final String LOOKAHEAD_SUCCEEDED = "(LOOKAHEAD SUCCEEDED)";
+
+    /** The counts for one production. */
+    public static class Production {
+        private final String name;
+        private long calls, lookaheads, lookaheadFailures, tokensScanned;
+
+        Production(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /** Get the number of times the production was entered to parse. */
+        public long getCalls() {
+            return calls;
+        }
+
+        /** Get the number of times the production was entered to look ahead. */
+        public long getLookaheads() {
+            return lookaheads;
+        }
+
+        /** Get the number of lookaheads into the production that did not match. */
+        public long getLookaheadFailures() {
+            return lookaheadFailures;
+        }
+
+        /** Get the number of tokens scanned ahead while deciding
+         * within the production or looking ahead into it.
+         * Each token is counted once for every alternative tried.
+         */
+        public long getTokensScanned() {
+            return tokensScanned;
+        }
+    }
+
+    private final Map<String,Production> productions = new HashMap<String,Production>();
+    private long statements, errors, tokensConsumed, tokensScanned, lookaheadFailures;
+    private long maxStatementFailures;
+    private String maxStatementFailuresSQL;
+
+    // State of the trace of the current statement.
+    private final List<Production> callStack = new ArrayList<Production>();
+    private final List<Production> lookaheadStack = new ArrayList<Production>();
+    private long statementFailures;
+
+    /** Has any traced parse been seen? */
+    public boolean isInstrumented() {
+        return !productions.isEmpty();
+    }
+
+    /** Parse a statement with <code>parser</code>, counting its trace. 
+     * The parser should not have a statement cache.
+     */
+    public StatementNode parseStatement(SQLParser parser, String sqlText)
+            throws StandardException {
+        TraceStream trace = new TraceStream();
+        callStack.clear();
+        lookaheadStack.clear();
+        statementFailures = 0;
+        PrintStream out = captureOut(trace);
+        try {
+            return parser.parseStatement(sqlText);
+        }
+        catch (StandardException ex) {
+            errors++;
+            throw ex;
+        }
+        finally {
+            System.setOut(out);
+            trace.close();
+            statements++;
+            if (statementFailures > maxStatementFailures) {
+                maxStatementFailures = statementFailures;
+                maxStatementFailuresSQL = sqlText;
+            }
+        }
+    }
+
+    /** Count one line of trace. */
+    void traceLine(String line) {
+        line = line.trim();
+        if (line.startsWith("Call:")) {
+            String name = line.substring(5).trim();
+            if (name.endsWith(LOOKING_AHEAD)) {
+                Production production = getProduction(name, LOOKING_AHEAD);
+                production.lookaheads++;
+                lookaheadStack.add(production);
+            }
+            else {
+                Production production = getProduction(name, null);
+                production.calls++;
+                lookaheadStack.clear();
+                callStack.add(production);
+            }
+        }
+        else if (line.startsWith("Return:")) {
+            String name = line.substring(7).trim();
+            if (name.endsWith(LOOKAHEAD_FAILED)) {
+                Production production = getProduction(name, LOOKAHEAD_FAILED);
+                production.lookaheadFailures++;
+                lookaheadFailures++;
+                statementFailures++;
+                popTo(lookaheadStack, production);
+            }
+            else if (name.endsWith(LOOKAHEAD_SUCCEEDED)) {
+                popTo(lookaheadStack, getProduction(name, LOOKAHEAD_SUCCEEDED));
+            }
+            else {
+                // A successful lookahead can end by throwing, without
+                // returning from the productions it was in.
+                lookaheadStack.clear();
+                popTo(callStack, getProduction(name, null));
+            }
+        }
+        else if (line.startsWith("Visited token:")) {
+            tokensScanned++;
+            Production deciding = null;
+            if (!callStack.isEmpty()) {
+                deciding = callStack.get(callStack.size() - 1);
+                deciding.tokensScanned++;
+            }
+            for (int i = 0; i < lookaheadStack.size(); i++) {
+                Production production = lookaheadStack.get(i);
+                if ((production != deciding) &&
+                    (lookaheadStack.indexOf(production) == i))
+                    production.tokensScanned++;
+            }
+        }
+        else if (line.startsWith("Consumed token:")) {
+            tokensConsumed++;
+            lookaheadStack.clear();
+        }
+    }
+
+    protected Production getProduction(String name, String suffix) {
+        if (suffix != null)
+            name = name.substring(0, name.length() - suffix.length());
+        Production production = productions.get(name);
+        if (production == null) {
+            production = new Production(name);
+            productions.put(name, production);
+        }
+        return production;
+    }
+
+    /** Remove the last occurrence of <code>production</code> and
+     * anything after it. */
+    private static void popTo(List<Production> stack, Production production) {
+        int index = stack.lastIndexOf(production);
+        if (index >= 0)
+            stack.subList(index, stack.size()).clear();
+    }
+
+    /** Get the productions seen, most tokens scanned first. */
+    public List<Production> getProductions() {
+        List<Production> result = new ArrayList<Production>(productions.values());
+        Collections.sort(result, new Comparator<Production>() {
+                public int compare(Production p1, Production p2) {
+                    if (p1.tokensScanned != p2.tokensScanned)
+                        return (p1.tokensScanned > p2.tokensScanned) ? -1 : +1;
+                    if (p1.lookaheadFailures != p2.lookaheadFailures)
+                        return (p1.lookaheadFailures > p2.lookaheadFailures) ? -1 : +1;
+                    if (p1.calls != p2.calls)
+                        return (p1.calls > p2.calls) ? -1 : +1;
+                    return p1.name.compareTo(p2.name);
+                }
+            });
+        return result;
+    }
+
+    public long getStatements() {
+        return statements;
+    }
+
+    /** Get the number of statements that did not parse. */
+    public long getErrors() {
+        return errors;
+    }
+
+    /** Get the number of tokens consumed by productions. */
+    public long getTokensConsumed() {
+        return tokensConsumed;
+    }
+
+    /** Get the number of tokens scanned by syntactic lookahead,
+     * once for every alternative tried. */
+    public long getTokensScanned() {
+        return tokensScanned;
+    }
+
+    /** Get the number of syntactic lookaheads that did not match. */
+    public long getLookaheadFailures() {
+        return lookaheadFailures;
+    }
+
+    /** Get the most failed lookaheads in a single statement. */
+    public long getMaxStatementFailures() {
+        return maxStatementFailures;
+    }
+
+    /** Write a report with at most <code>limit</code> productions. */
+    public void report(PrintWriter out, int limit) {
+        if (!isInstrumented()) {
+            out.println("Parser was not built with tracing (mvn -P grammar-profile).");
+        }
+        out.println(String.format("Statements: %d (%d errors)", statements, errors));
+        out.println(String.format("Tokens consumed: %d, scanned ahead: %d (%.2f per consumed)",
+                                  tokensConsumed, tokensScanned,
+                                  (tokensConsumed == 0) ? 0.0 : 
+                                  (double)tokensScanned / tokensConsumed));
+        out.println(String.format("Failed lookaheads: %d (%.2f per statement, at most %d)",
+                                  lookaheadFailures,
+                                  (statements == 0) ? 0.0 : 
+                                  (double)lookaheadFailures / statements,
+                                  maxStatementFailures));
+        if (maxStatementFailuresSQL != null)
+            out.println("  in: " + maxStatementFailuresSQL);
+        out.println();
+        out.println(String.format("%-40s %10s %10s %10s %10s %10s",
+                                  "Production", "Calls", "Lookaheads", "Failed", 
+                                  "Scanned", "Per call"));
+        int n = 0;
+        for (Production production : getProductions()) {
+            if (n++ >= limit) break;
+            long entries = production.calls + production.lookaheads;
+            out.println(String.format("%-40s %10d %10d %10d %10d %10.1f",
+                                      production.name, production.calls, 
+                                      production.lookaheads, production.lookaheadFailures,
+                                      production.tokensScanned,
+                                      (entries == 0) ? 0.0 :
+                                      (double)production.tokensScanned / entries));
+        }
+        out.flush();
+    }
+
+    /** Profile the statements in each of the given files and report. */
+    public static void main(String[] args) throws IOException {
+        SQLParser parser = new SQLParser();
+        SQLStatementSplitter splitter = new SQLStatementSplitter(parser);
+        GrammarProfile profile = new GrammarProfile();
+        for (String arg : args) {
+            String sqlText = readFile(new File(arg));
+            try {
+                int[] bounds;
+                // The splitter's tokens are traced too, but not wanted.
+                PrintStream out = captureOut(new OutputStream() {
+                        @Override
+                        public void write(int b) {
+                        }
+                    });
+                try {
+                    bounds = splitter.split(sqlText);
+                }
+                finally {
+                    System.setOut(out);
+                }
+                int count = SQLStatementSplitter.getStatementCount(bounds);
+                for (int i = 0; i < count; i++) {
+                    String sql = SQLStatementSplitter.getStatement(sqlText, bounds, i);
+                    try {
+                        profile.parseStatement(parser, sql);
+                    }
+                    catch (StandardException ex) {
+                        System.err.println(arg + ": " + ex.getMessage());
+                    }
+                }
+            }
+            catch (StandardException ex) {
+                System.err.println(arg + ": " + ex.getMessage());
+            }
+        }
+        profile.report(new PrintWriter(System.out), 50);
+    }
+
+    private static String readFile(File file) throws IOException {
+        Reader reader = new InputStreamReader(new FileInputStream(file), "UTF-8");
+        try {
+            StringBuilder str = new StringBuilder();
+            char[] buf = new char[4096];
+            while (true) {
+                int nc = reader.read(buf);
+                if (nc < 0) break;
+                str.append(buf, 0, nc);
+            }
+            return str.toString();
+        }
+        finally {
+            reader.close();
+        }
+    }
+
+    /** Send what this thread writes to standard output to
+     * <code>trace</code> until standard output is set back to the
+     * stream returned. */
+    static PrintStream captureOut(OutputStream trace) {
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(new ThreadOutputStream(Thread.currentThread(),
+                                                             trace, out),
+                                      true));
+        return out;
+    }
+
+    /** Sends the output of one thread to one stream and that of all
+     * others to another. */
+    static class ThreadOutputStream extends OutputStream {
+        private final Thread thread;
+        private final OutputStream mine, others;
+
+        ThreadOutputStream(Thread thread, OutputStream mine, OutputStream others) {
+            this.thread = thread;
+            this.mine = mine;
+            this.others = others;
+        }
+
+        private OutputStream current() {
+            return (Thread.currentThread() == thread) ? mine : others;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            current().write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            current().write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            others.flush();
+        }
+    }
+
+    /** Collects the trace a line at a time. */
+    class TraceStream extends OutputStream {
+        private final StringBuilder line = new StringBuilder();
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                traceLine(line.toString());
+                line.setLength(0);
+            }
+            else if (b != '\r') {
+                line.append((char)b);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (line.length() > 0) {
+                traceLine(line.toString());
+                line.setLength(0);
+            }
+        }
+    }
+}
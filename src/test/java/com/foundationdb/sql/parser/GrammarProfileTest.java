@@ -0,0 +1,123 @@
+/**
+ * Copyright 2014 FoundationDB, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foundationdb.sql.parser;
+
+import com.foundationdb.sql.StandardException;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class GrammarProfileTest
+{
+    @Test
+    public void countsTrace() {
+        GrammarProfile profile = new GrammarProfile();
+        String[] trace = {
+            "Call:   Statement",
+            "  Call:   primary",
+            "    Call:   literal(LOOKING AHEAD...)",
+            "      Visited token: <<IDENTIFIER>: \"a\" at line 1 column 8>; Expected token: <\"null\">",
+            "      Visited token: <<IDENTIFIER>: \"a\" at line 1 column 8>; Expected token: <\"true\">",
+            "    Return: literal(LOOKAHEAD FAILED)",
+            "    Call:   columnReference(LOOKING AHEAD...)",
+            "      Visited token: <<IDENTIFIER>: \"a\" at line 1 column 8>; Expected token: <<IDENTIFIER>>",
+            "    Call:   columnReference",
+            "      Consumed token: <<IDENTIFIER>: \"a\" at line 1 column 8> (in getNextToken)",
+            "    Return: columnReference",
+            "  Return: primary",
+            "Return: Statement",
+        };
+        for (String line : trace) {
+            profile.traceLine(line);
+        }
+        assertTrue(profile.isInstrumented());
+        assertEquals(1, profile.getTokensConsumed());
+        assertEquals(3, profile.getTokensScanned());
+        assertEquals(1, profile.getLookaheadFailures());
+        List<GrammarProfile.Production> productions = profile.getProductions();
+        GrammarProfile.Production first = productions.get(0);
+        assertEquals("primary", first.getName());
+        assertEquals(3, first.getTokensScanned());
+        GrammarProfile.Production literal = productions.get(1);
+        assertEquals("literal", literal.getName());
+        assertEquals(0, literal.getCalls());
+        assertEquals(1, literal.getLookaheads());
+        assertEquals(1, literal.getLookaheadFailures());
+        assertEquals(2, literal.getTokensScanned());
+        GrammarProfile.Production column = productions.get(2);
+        assertEquals("columnReference", column.getName());
+        assertEquals(1, column.getCalls());
+        assertEquals(1, column.getLookaheads());
+        assertEquals(1, column.getTokensScanned());
+    }
+
+    @Test
+    public void capturesOnlyOwnThread() throws Exception {
+        PrintStream saved = System.out;
+        ByteArrayOutputStream original = new ByteArrayOutputStream();
+        ByteArrayOutputStream trace = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(original, true));
+        try {
+            PrintStream out = GrammarProfile.captureOut(trace);
+            try {
+                System.out.print("mine");
+                Thread other = new Thread() {
+                        @Override
+                        public void run() {
+                            System.out.print("theirs");
+                        }
+                    };
+                other.start();
+                other.join();
+            }
+            finally {
+                System.setOut(out);
+            }
+        }
+        finally {
+            System.setOut(saved);
+        }
+        assertEquals("mine", trace.toString());
+        assertEquals("theirs", original.toString());
+    }
+
+    @Test
+    public void uninstrumented() throws StandardException {
+        GrammarProfile profile = new GrammarProfile();
+        SQLParser parser = new SQLParser();
+        profile.parseStatement(parser, "SELECT a FROM t");
+        try {
+            profile.parseStatement(parser, "SELECT FROM");
+            fail();
+        }
+        catch (SQLParserException ex) {
+        }
+        assertEquals(2, profile.getStatements());
+        assertEquals(1, profile.getErrors());
+        if (!profile.isInstrumented()) {
+            StringWriter str = new StringWriter();
+            profile.report(new PrintWriter(str), 10);
+            assertTrue(str.toString().startsWith("Parser was not built with tracing"));
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/**
+ * Copyright 2014 FoundationDB, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.foundationdb.sql.parser;
+
+import com.foundationdb.sql.StandardException;
+import com.foundationdb.sql.parser.SQLParserContext.IdentifierCase;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class IdentifierTableTest
+{
+    @Test
+    public void foldsAndShares() {
+        IdentifierTable table = new IdentifierTable();
+        String s1 = table.intern("x Abc y", 2, 5, IdentifierCase.LOWER);
+        assertEquals("abc", s1);
+        assertSame(s1, table.intern("ABC", 0, 3, IdentifierCase.LOWER));
+        assertSame(s1, table.intern("abc"));
+        assertEquals("ABC", table.intern("abc", 0, 3, IdentifierCase.UPPER));
+        assertEquals("Abc", table.intern("Abc", 0, 3, IdentifierCase.PRESERVE));
+        assertEquals(3, table.size());
+    }
+
+    @Test
+    public void nonAscii() {
+        IdentifierTable table = new IdentifierTable();
+        String s1 = table.intern("Straße", 0, 6, IdentifierCase.UPPER);
+        assertEquals("STRASSE", s1);
+        assertSame(s1, table.intern("straße", 0, 6, IdentifierCase.UPPER));
+        assertSame(s1, table.intern("strasse", 0, 7, IdentifierCase.UPPER));
+        assertEquals("été", table.intern("ÉTÉ", 0, 3, IdentifierCase.LOWER));
+    }
+
+    @Test
+    public void growsAndStartsOver() {
+        IdentifierTable table = new IdentifierTable();
+        for (int i = 0; i < IdentifierTable.MAX_ENTRIES; i++) {
+            String name = "c" + i;
+            assertSame(table.intern(name), table.intern(name.toUpperCase(), 0, name.length(), IdentifierCase.LOWER));
+        }
+        assertEquals(IdentifierTable.MAX_ENTRIES, table.size());
+        table.intern("one_more");
+        assertTrue(table.size() < IdentifierTable.MAX_ENTRIES);
+    }
+
+    @Test
+    public void sharedBetweenStatements() throws StandardException {
+        SQLParser parser = new SQLParser();
+        String[] names1 = names(parser.parseStatement("SELECT Col1, action FROM tbl"));
+        String[] names2 = names(parser.parseStatement("select col1, ACTION from TBL"));
+        assertEquals("col1", names1[0]);
+        assertEquals("action", names1[1]);
+        assertEquals("tbl", names1[2]);
+        for (int i = 0; i < names1.length; i++) {
+            assertSame(names1[i], names2[i]);
+        }
+    }
+
+    protected static String[] names(StatementNode stmt) {
+        SelectNode select = (SelectNode)((CursorNode)stmt).getResultSetNode();
+        ResultColumnList columns = select.getResultColumns();
+        FromBaseTable table = (FromBaseTable)select.getFromList().get(0);
+        return new String[] {
+            columns.get(0).getExpression().getColumnName(),
+            columns.get(1).getExpression().getColumnName(),
+            table.getOrigTableName().getTableName()
+        };
+    }
+
+}
@@ -0,0 +1,193 @@
+/**
+ * Copyright 2014 FoundationDB, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foundationdb.sql.parser;
+
+import com.foundationdb.sql.StandardException;
+import com.foundationdb.sql.compiler.TypeComputer;
+import com.foundationdb.sql.unparser.NodeToString;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class IterativeTraversalTest
+{
+    private static final String[] SQL = {
+        "SELECT a, b + 1 FROM t WHERE c = ? AND d IN (SELECT e FROM u WHERE f = ?)",
+        "SELECT x.a, COUNT(*) FROM t x INNER JOIN u y ON x.id = y.id GROUP BY x.a HAVING COUNT(*) > 1 ORDER BY 2",
+        "INSERT INTO t(a, b) VALUES(1, 'x'), (2, CASE WHEN ? THEN 'y' ELSE NULL END)",
+        "UPDATE t SET a = a + 1 WHERE b BETWEEN 1 AND 10 OR c LIKE 'z%'",
+    };
+
+    private SQLParser parser;
+
+    @Before
+    public void before() {
+        parser = new SQLParser();
+    }
+
+    @Test
+    public void sameCallsAsAccept() throws StandardException {
+        for (String sql : SQL) {
+            StatementNode stmt = parser.parseStatement(sql);
+            for (int skipType : new int[] { -1, NodeTypes.SUBQUERY_NODE }) {
+                for (boolean bottomUp : new boolean[] { false, true }) {
+                    Recorder recursive = new Recorder(bottomUp, skipType);
+                    stmt.accept(recursive);
+                    Recorder iterative = new Recorder(bottomUp, skipType);
+                    stmt.acceptIteratively(iterative);
+                    assertEquals(sql, recursive.calls, iterative.calls);
+                    Recorder explicit = new Recorder(bottomUp, skipType);
+                    new IterativeTraversal(explicit, 0).traverse(stmt);
+                    assertEquals(sql, recursive.calls, explicit.calls);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void stops() throws StandardException {
+        StatementNode stmt = parser.parseStatement(SQL[0]);
+        Recorder recursive = new Recorder(false, -1);
+        recursive.stopAfter = 10;
+        stmt.accept(recursive);
+        Recorder explicit = new Recorder(false, -1);
+        explicit.stopAfter = 10;
+        new IterativeTraversal(explicit, 0).traverse(stmt);
+        assertEquals(recursive.visits(), explicit.visits());
+        assertEquals(10, explicit.visits().size());
+    }
+
+    @Test
+    public void replaces() throws StandardException {
+        for (int maxRecursion : new int[] { 0, 1, IterativeTraversal.MAX_RECURSION }) {
+            for (boolean bottomUp : new boolean[] { false, true }) {
+                StatementNode stmt = parser.parseStatement("SELECT a + 1 FROM t WHERE b = 2 AND c IN (3, 4)");
+                StatementNode result = (StatementNode)
+                    new IterativeTraversal(new Doubler(bottomUp), maxRecursion).traverse(stmt);
+                assertSame(stmt, result);
+                assertEquals("SELECT (a + 2) FROM t WHERE (b = 4) AND (c IN (6, 8))",
+                             new NodeToString().toString(stmt));
+            }
+        }
+    }
+
+    @Test
+    public void deepChain() throws StandardException {
+        int depth = 100000;
+        ValueNode chain = constant();
+        for (int i = 0; i < depth; i++) {
+            chain = (ValueNode)parser.getNodeFactory()
+                .getNode(NodeTypes.AND_NODE, chain, constant(), parser);
+        }
+        Recorder recorder = new Recorder(true, -1);
+        chain.acceptIteratively(recorder);
+        assertEquals(depth * 2 + 1, recorder.visits().size());
+        assertSame(chain, recorder.visits().get(depth * 2));
+
+        CursorNode stmt = (CursorNode)parser.parseStatement("SELECT 1 FROM t WHERE TRUE");
+        ((SelectNode)stmt.getResultSetNode()).setWhereClause(chain);
+        new TypeComputer().compute(stmt);
+        assertNotNull(chain.getType());
+    }
+
+    protected ValueNode constant() throws StandardException {
+        return (ValueNode)parser.getNodeFactory()
+            .getNode(NodeTypes.BOOLEAN_CONSTANT_NODE, Boolean.TRUE, parser);
+    }
+
+    /** Record each call made to a visitor. */
+    static class Recorder implements Visitor {
+        List<Object> calls = new ArrayList<Object>();
+        boolean bottomUp;
+        int skipType;
+        int stopAfter = Integer.MAX_VALUE;
+        int nvisits;
+
+        Recorder(boolean bottomUp, int skipType) {
+            this.bottomUp = bottomUp;
+            this.skipType = skipType;
+        }
+
+        public Visitable visit(Visitable node) {
+            calls.add("visit");
+            calls.add(node);
+            nvisits++;
+            return node;
+        }
+
+        public boolean visitChildrenFirst(Visitable node) {
+            calls.add("first");
+            calls.add(node);
+            return bottomUp;
+        }
+
+        public boolean stopTraversal() {
+            return (nvisits >= stopAfter);
+        }
+
+        public boolean skipChildren(Visitable node) {
+            calls.add("skip");
+            calls.add(node);
+            return (((QueryTreeNode)node).getNodeType() == skipType);
+        }
+
+        List<Object> visits() {
+            List<Object> result = new ArrayList<Object>();
+            for (int i = 0; i < calls.size(); i += 2) {
+                if (calls.get(i) == "visit")
+                    result.add(calls.get(i + 1));
+            }
+            return result;
+        }
+    }
+
+    /** Replace each numeric constant with one twice its value. */
+    static class Doubler implements Visitor {
+        boolean bottomUp;
+
+        Doubler(boolean bottomUp) {
+            this.bottomUp = bottomUp;
+        }
+
+        public Visitable visit(Visitable node) throws StandardException {
+            if (node instanceof NumericConstantNode) {
+                NumericConstantNode constant = (NumericConstantNode)node;
+                return constant.getNodeFactory()
+                    .getNode(constant.getNodeType(),
+                             ((Integer)constant.getValue()) * 2,
+                             constant.getParserContext());
+            }
+            return node;
+        }
+
+        public boolean visitChildrenFirst(Visitable node) {
+            return bottomUp;
+        }
+
+        public boolean stopTraversal() {
+            return false;
+        }
+
+        public boolean skipChildren(Visitable node) {
+            return false;
+        }
+    }
+}
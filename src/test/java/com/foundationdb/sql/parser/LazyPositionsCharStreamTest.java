@@ -0,0 +1,91 @@
+/**
+ * Copyright 2014 FoundationDB, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.foundationdb.sql.parser;
+
+import org.junit.Test;
+import static junit.framework.Assert.*;
+
+public class LazyPositionsCharStreamTest
+{
+    private static final String SQL =
+        "SELECT a,\tb\n  FROM t\r\n WHERE c = 'x\ty'\r  AND d = 1 -- note\n\t\tORDER BY a\t";
+
+    @Test
+    public void sameTokens() throws Exception {
+        StringCharStream eager = new StringCharStream(SQL);
+        StringCharStream lazy = new StringCharStream(SQL);
+        lazy.setLazyPositions(true);
+        SQLGrammar g1 = new SQLGrammar(eager);
+        g1.setParserContext(new SQLParser());
+        SQLGrammar g2 = new SQLGrammar(lazy);
+        g2.setParserContext(new SQLParser());
+        while (true) {
+            Token t1 = g1.getNextToken();
+            Token t2 = g2.getNextToken();
+            String where = t1.image + "@" + t1.beginOffset;
+            assertEquals(where, t1.kind, t2.kind);
+            assertEquals(where, t1.image, t2.image);
+            assertEquals(where, t1.beginOffset, t2.beginOffset);
+            assertEquals(where, t1.endOffset, t2.endOffset);
+            assertEquals(where, 0, t2.beginLine);
+            lazy.setPositions(t2);
+            assertEquals(where, t1.beginLine, t2.beginLine);
+            assertEquals(where, t1.beginColumn, t2.beginColumn);
+            assertEquals(where, t1.endLine, t2.endLine);
+            assertEquals(where, t1.endColumn, t2.endColumn);
+            if (t1.kind == SQLGrammarConstants.EOF) break;
+        }
+    }
+
+    @Test
+    public void eagerByDefault() throws Exception {
+        assertFalse(new SQLParser().isLazyPositions());
+    }
+
+    @Test
+    public void parseErrorPosition() throws Exception {
+        for (boolean lazy : new boolean[] { false, true }) {
+            SQLParser parser = new SQLParser();
+            parser.setLazyPositions(lazy);
+            try {
+                parser.parseStatement("SELECT a\n  FROM t\n WHERE WHERE");
+                fail();
+            }
+            catch (SQLParserException ex) {
+                assertEquals(26, ex.getErrorPosition());
+                assertTrue(ex.getMessage(), ex.getMessage().contains("line 3, column 8"));
+            }
+        }
+    }
+
+    @Test
+    public void lexicalErrorPosition() throws Exception {
+        for (boolean lazy : new boolean[] { false, true }) {
+            SQLParser parser = new SQLParser();
+            parser.setLazyPositions(lazy);
+            try {
+                parser.parseStatement("SELECT a\n  FROM t\n WHERE x = 'abc");
+                fail();
+            }
+            catch (SQLParserException ex) {
+                assertTrue(ex.getMessage(), ex.getMessage().contains("line 3"));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,110 @@
+/**
+ * Copyright 2014 FoundationDB, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.foundationdb.sql.parser;
+
+import com.foundationdb.sql.StandardException;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class LineIndexTest
+{
+    @Test
+    public void lineEnds() {
+        //                            0123 45 67 8 90
+        LineIndex index = new LineIndex("ab\nc\r\nd\re\n");
+        assertEquals(5, index.getLineCount());
+        assertEquals(0, index.getLineStart(1));
+        assertEquals(3, index.getLineStart(2));
+        assertEquals(6, index.getLineStart(3));
+        assertEquals(8, index.getLineStart(4));
+        assertEquals(10, index.getLineStart(5));
+        assertEquals(1, index.getLine(0));
+        assertEquals(1, index.getLine(2));
+        assertEquals(2, index.getLine(3));
+        assertEquals(2, index.getLine(5));
+        assertEquals(3, index.getLine(6));
+        assertEquals(4, index.getLine(9));
+        assertEquals(5, index.getLine(10));
+        assertEquals(2, index.getColumn(1));
+        assertEquals(3, index.getColumn(5));
+        assertEquals(1, index.getColumn(10));
+    }
+
+    @Test
+    public void roundTrip() {
+        String text = "SELECT a,\n\tb\r\n  FROM t\r\rWHERE c = 1";
+        LineIndex index = new LineIndex(text);
+        for (int offset = 0; offset <= text.length(); offset++) {
+            int line = index.getLine(offset);
+            int column = index.getColumn(offset);
+            assertEquals(offset, index.getOffset(line, column));
+        }
+    }
+
+    @Test
+    public void empty() {
+        LineIndex index = new LineIndex("");
+        assertEquals(1, index.getLineCount());
+        assertEquals(1, index.getLine(0));
+        assertEquals(1, index.getColumn(0));
+    }
+
+    @Test(expected=IndexOutOfBoundsException.class)
+    public void offsetOutOfRange() {
+        new LineIndex("abc").getLine(4);
+    }
+
+    @Test(expected=IndexOutOfBoundsException.class)
+    public void lineOutOfRange() {
+        new LineIndex("abc\n").getLineStart(3);
+    }
+
+    @Test
+    public void parserIndex() throws StandardException {
+        SQLParser parser = new SQLParser();
+        String sql = "SELECT a,\n  b\n  FROM t";
+        StatementNode stmt = parser.parseStatement(sql);
+        LineIndex index = parser.getLineIndex();
+        assertSame(sql, index.getText());
+        assertSame(index, parser.getLineIndex());
+        ResultColumnList rcl = ((SelectNode)((CursorNode)stmt).getResultSetNode()).getResultColumns();
+        ValueNode b = rcl.get(1).getExpression();
+        assertEquals(2, index.getLine(b.getBeginOffset()));
+        assertEquals(3, index.getColumn(b.getBeginOffset()));
+        parser.parseStatement("SELECT 1");
+        assertNotSame(index, parser.getLineIndex());
+    }
+
+    @Test
+    public void errorLine() throws StandardException {
+        SQLParser parser = new SQLParser();
+        String sql = "SELECT a\rFROM t\rWHERE WHERE";
+        try {
+            parser.parseStatement(sql);
+            fail();
+        }
+        catch (SQLParserException ex) {
+            assertEquals(sql.lastIndexOf("WHERE") + 1, ex.getErrorPosition());
+            assertEquals(3, ex.getErrorLine());
+            assertEquals(7, ex.getErrorColumn());
+            assertSame(sql, ex.getLineIndex().getText());
+        }
+    }
+
+}
@@ -0,0 +1,84 @@
+/**
+ * Copyright 2014 FoundationDB, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.foundationdb.sql.parser;
+
+import com.foundationdb.sql.StandardException;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class NodeFactoryImplTest
+{
+    @Test
+    public void constructorsMatchNames() throws StandardException {
+        NodeFactoryImpl factory = NodeFactoryImpl.getInstance();
+        int ntypes = 0;
+        for (int nodeType = 0; nodeType <= NodeTypes.FINAL_VALUE; nodeType++) {
+            String name;
+            try {
+                name = factory.nodeName(nodeType);
+            }
+            catch (StandardException ex) {
+                try {
+                    NodeFactoryImpl.newNode(nodeType);
+                    fail("Unnamed node type made: " + nodeType);
+                }
+                catch (StandardException ex2) {
+                }
+                continue;
+            }
+            QueryTreeNode node;
+            try {
+                node = NodeFactoryImpl.newNode(nodeType);
+            }
+            catch (StandardException ex) {
+                assertFalse("Node type " + nodeType, classExists(name));
+                continue;
+            }
+            assertEquals("Node type " + nodeType, name, node.getClass().getName());
+            ntypes++;
+        }
+        assertTrue(ntypes > 100);
+    }
+
+    protected static boolean classExists(String name) {
+        try {
+            Class.forName(name);
+            return true;
+        }
+        catch (ClassNotFoundException ex) {
+            return false;
+        }
+    }
+
+    @Test
+    public void sharedBetweenParsers() throws StandardException {
+        SQLParser p1 = new SQLParser();
+        SQLParser p2 = new SQLParser();
+        assertSame(p1.getNodeFactory(), p2.getNodeFactory());
+        StatementNode s1 = p1.parseStatement("SELECT a FROM t");
+        assertSame(p1, s1.getParserContext());
+        assertEquals(NodeTypes.CURSOR_NODE, s1.getNodeType());
+    }
+
+    @Test(expected=StandardException.class)
+    public void unknownType() throws StandardException {
+        NodeFactoryImpl.getInstance().getNode(NodeTypes.FINAL_VALUE + 1, new SQLParser());
+    }
+
+}
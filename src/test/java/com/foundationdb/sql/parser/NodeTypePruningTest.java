@@ -0,0 +1,230 @@
+/**
+ * Copyright 2014 FoundationDB, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foundationdb.sql.parser;
+
+import com.foundationdb.sql.StandardException;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class NodeTypePruningTest
+{
+    private static final String[] SQL = {
+        "SELECT a, b + 1 FROM t WHERE c = ? AND d IN (SELECT e FROM u WHERE f = ?)",
+        "SELECT x.a, COUNT(*) FROM t x INNER JOIN u y ON x.id = y.id GROUP BY x.a HAVING COUNT(*) > 1 ORDER BY 2",
+        "INSERT INTO t(a, b) VALUES(1, 'x'), (2, CASE WHEN ? THEN 'y' ELSE NULL END)",
+        "UPDATE t SET a = a + 1 WHERE b BETWEEN 1 AND 10 OR c LIKE 'z%'",
+        "SELECT CAST(a AS INT), NEXT VALUE FOR s, CURRENT_DATE FROM t",
+    };
+
+    private static final int[][] TYPES = {
+        { NodeTypes.PARAMETER_NODE },
+        { NodeTypes.AGGREGATE_NODE, NodeTypes.SUBQUERY_NODE },
+        { NodeTypes.NEXT_SEQUENCE_NODE },
+        { NodeTypes.CAST_NODE, NodeTypes.CURRENT_DATETIME_OPERATOR_NODE },
+        { NodeTypes.LIKE_OPERATOR_NODE },
+        // Without dedicated bits.
+        { NodeTypes.SIMPLE_STRING_OPERATOR_NODE },
+        { NodeTypes.DEFAULT_NODE, NodeTypes.TABLE_NAME },
+    };
+
+    private SQLParser parser;
+
+    @Before
+    public void before() {
+        parser = new SQLParser();
+    }
+
+    @Test
+    public void sameAsFullTraversal() throws StandardException {
+        for (String sql : SQL) {
+            StatementNode stmt = parser.parseStatement(sql);
+            for (int[] types : TYPES) {
+                NodeTypeSet set = NodeTypeSet.of(types);
+                Finder all = new Finder(set);
+                stmt.accept(all);
+                Finder selective = new SelectiveFinder(set);
+                stmt.accept(selective);
+                assertEquals(sql, all.found, selective.found);
+                assertTrue(sql, selective.visited <= all.visited);
+                selective = new SelectiveFinder(set);
+                stmt.acceptIteratively(selective);
+                assertEquals(sql, all.found, selective.found);
+                selective = new SelectiveFinder(set);
+                new IterativeTraversal(selective, 0).traverse(stmt);
+                assertEquals(sql, all.found, selective.found);
+                if (!all.found.isEmpty())
+                    assertTrue(sql, stmt.mayContain(set));
+            }
+        }
+    }
+
+    @Test
+    public void prunes() throws StandardException {
+        StringBuilder sql = new StringBuilder("SELECT ");
+        for (int i = 0; i < 100; i++) {
+            sql.append("c").append(i).append(" + ").append(i).append(", ");
+        }
+        sql.append("? FROM t");
+        StatementNode stmt = parser.parseStatement(sql.toString());
+        NodeTypeSet set = NodeTypeSet.of(NodeTypes.PARAMETER_NODE);
+        Finder all = new Finder(set);
+        stmt.accept(all);
+        Finder selective = new SelectiveFinder(set);
+        stmt.accept(selective);
+        assertEquals(1, selective.found.size());
+        assertTrue(selective.visited < 10);
+        assertTrue(all.visited > 400);
+    }
+
+    @Test
+    public void setterInvalidates() throws StandardException {
+        CursorNode stmt = (CursorNode)parser.parseStatement("SELECT a FROM t WHERE b = 1");
+        NodeTypeSet set = NodeTypeSet.of(NodeTypes.PARAMETER_NODE);
+        assertFalse(stmt.mayContain(set));
+        CursorNode other = (CursorNode)parser.parseStatement("SELECT a FROM t WHERE b = ?");
+        SelectNode select = (SelectNode)stmt.getResultSetNode();
+        select.setWhereClause(((SelectNode)other.getResultSetNode()).getWhereClause());
+        assertTrue(stmt.mayContain(set));
+        Finder selective = new SelectiveFinder(set);
+        stmt.accept(selective);
+        assertEquals(1, selective.found.size());
+    }
+
+    @Test
+    public void addRowInvalidates() throws StandardException {
+        CursorNode stmt = (CursorNode)parser.parseStatement("VALUES (1, 2), (3, 4)");
+        NodeTypeSet set = NodeTypeSet.of(NodeTypes.PARAMETER_NODE);
+        assertFalse(stmt.mayContain(set));
+        CursorNode other = (CursorNode)parser.parseStatement("VALUES (?, 5), (6, 7)");
+        RowResultSetNode row = ((RowsResultSetNode)other.getResultSetNode()).getRows().get(0);
+        ((RowsResultSetNode)stmt.getResultSetNode()).addRow(row);
+        assertTrue(stmt.mayContain(set));
+    }
+
+    @Test
+    public void addParmsInvalidates() throws StandardException {
+        StatementNode stmt = parser.parseStatement("SELECT f(a) FROM t");
+        NodeTypeSet set = NodeTypeSet.of(NodeTypes.PARAMETER_NODE);
+        assertFalse(stmt.mayContain(set));
+        Finder calls = new Finder(NodeTypeSet.of(NodeTypes.STATIC_METHOD_CALL_NODE));
+        stmt.accept(calls);
+        ValueNode param = (ValueNode)parser.getNodeFactory()
+            .getNode(NodeTypes.PARAMETER_NODE, 0, null, parser);
+        ((MethodCallNode)calls.found.get(0)).addParms(Collections.singletonList(param));
+        assertTrue(stmt.mayContain(set));
+    }
+
+    @Test
+    public void parsingKeepsSummaries() throws StandardException {
+        StatementNode stmt = parser.parseStatement(SQL[0]);
+        NodeTypeSet set = NodeTypeSet.of(NodeTypes.PARAMETER_NODE);
+        stmt.mayContain(set);
+        int stamp = stmt.getSubtreeNodeTypesStamp();
+        assertEquals(parser.getModifications(), stamp);
+        for (String sql : SQL) {
+            parser.parseStatement(sql);
+        }
+        assertEquals(stamp, parser.getModifications());
+    }
+
+    @Test
+    public void replacementInvalidates() throws StandardException {
+        StatementNode stmt = parser.parseStatement("SELECT a FROM t WHERE b = 1");
+        NodeTypeSet set = NodeTypeSet.of(NodeTypes.PARAMETER_NODE);
+        assertFalse(stmt.mayContain(set));
+        final ValueNode param = (ValueNode)parser.getNodeFactory()
+            .getNode(NodeTypes.PARAMETER_NODE, 0, null, parser);
+        stmt.accept(new Finder(set) {
+                @Override
+                public Visitable visit(Visitable node) {
+                    if (node instanceof NumericConstantNode)
+                        return param;
+                    return node;
+                }
+            });
+        assertTrue(stmt.mayContain(set));
+    }
+
+    @Test
+    public void frozen() throws StandardException {
+        StatementNode stmt = parser.parseStatement(SQL[0]);
+        stmt.freeze();
+        NodeTypeSet set = NodeTypeSet.of(NodeTypes.PARAMETER_NODE);
+        Finder selective = new SelectiveFinder(set);
+        stmt.accept(selective);
+        assertEquals(2, selective.found.size());
+        assertFalse(stmt.mayContain(NodeTypeSet.of(NodeTypes.AGGREGATE_NODE)));
+        QueryTreeNode thawed = stmt.thaw();
+        assertTrue(thawed.mayContain(set));
+        assertFalse(thawed.mayContain(NodeTypeSet.of(NodeTypes.AGGREGATE_NODE)));
+    }
+
+    @Test
+    public void nodeTypeSet() {
+        NodeTypeSet set = NodeTypeSet.of(NodeTypes.SUBQUERY_NODE, NodeTypes.PARAMETER_NODE);
+        assertTrue(set.contains(NodeTypes.PARAMETER_NODE));
+        assertFalse(set.contains(NodeTypes.AND_NODE));
+        assertEquals(set, NodeTypeSet.of(NodeTypes.PARAMETER_NODE, NodeTypes.SUBQUERY_NODE));
+    }
+
+    /** Find nodes of the given types, visiting everything. */
+    static class Finder implements Visitor {
+        NodeTypeSet nodeTypes;
+        List<QueryTreeNode> found = new ArrayList<QueryTreeNode>();
+        int visited;
+
+        Finder(NodeTypeSet nodeTypes) {
+            this.nodeTypes = nodeTypes;
+        }
+
+        public Visitable visit(Visitable node) {
+            visited++;
+            QueryTreeNode qtn = (QueryTreeNode)node;
+            if (nodeTypes.contains(qtn.getNodeType()))
+                found.add(qtn);
+            return node;
+        }
+
+        public boolean visitChildrenFirst(Visitable node) {
+            return false;
+        }
+
+        public boolean stopTraversal() {
+            return false;
+        }
+
+        public boolean skipChildren(Visitable node) {
+            return false;
+        }
+    }
+
+    static class SelectiveFinder extends Finder implements SelectiveVisitor {
+        SelectiveFinder(NodeTypeSet nodeTypes) {
+            super(nodeTypes);
+        }
+
+        public NodeTypeSet getNodeTypes() {
+            return nodeTypes;
+        }
+    }
+}
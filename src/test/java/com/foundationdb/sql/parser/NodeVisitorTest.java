@@ -0,0 +1,109 @@
+/**
+ * Copyright 2014 FoundationDB, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foundationdb.sql.parser;
+
+import com.foundationdb.sql.StandardException;
+import com.foundationdb.sql.unparser.NodeToString;
+import org.junit.Test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import static org.junit.Assert.*;
+
+public class NodeVisitorTest
+{
+    @Test
+    public void everyClassDispatches() throws Exception {
+        final String[] called = new String[1];
+        NodeVisitor<?> visitor = (NodeVisitor<?>)
+            Proxy.newProxyInstance(NodeVisitor.class.getClassLoader(),
+                                   new Class<?>[] { NodeVisitor.class },
+                                   new InvocationHandler() {
+                                       public Object invoke(Object proxy, Method method, Object[] args) {
+                                           called[0] = method.getName();
+                                           return null;
+                                       }
+                                   });
+        int count = 0;
+        for (int nodeType = 0; nodeType <= NodeTypes.FINAL_VALUE; nodeType++) {
+            QueryTreeNode node;
+            try {
+                node = NodeFactoryImpl.newNode(nodeType);
+            }
+            catch (StandardException ex) {
+                continue;       // Not implemented.
+            }
+            Class<?> nodeClass = node.getClass();
+            assertNotNull(nodeClass.getDeclaredMethod("dispatch", NodeVisitor.class));
+            called[0] = null;
+            node.dispatch(visitor);
+            assertEquals("visit" + nodeClass.getSimpleName(), called[0]);
+            assertEquals(nodeClass.getName(), 
+                         NodeFactoryImpl.getInstance().nodeName(nodeType));
+            count++;
+        }
+        assertTrue(count > 150);
+    }
+
+    @Test
+    public void fallsBackToSuperclass() throws StandardException {
+        NodeVisitor<String> visitor = new AbstractNodeVisitor<String>() {
+                @Override
+                protected String defaultVisit(QueryTreeNode node) {
+                    return "default";
+                }
+
+                @Override
+                public String visitValueNode(ValueNode node) {
+                    return "value";
+                }
+
+                @Override
+                public String visitAggregateNode(AggregateNode node) {
+                    return "aggregate";
+                }
+            };
+        SQLParser parser = new SQLParser();
+        CursorNode stmt = (CursorNode)
+            parser.parseStatement("SELECT a, GROUP_CONCAT(b), COUNT(*) FROM t");
+        SelectNode select = (SelectNode)stmt.getResultSetNode();
+        ResultColumnList columns = select.getResultColumns();
+        assertEquals("default", stmt.dispatch(visitor));
+        assertEquals("default", select.dispatch(visitor));
+        assertEquals("value", columns.get(0).getExpression().dispatch(visitor));
+        assertEquals("aggregate", columns.get(1).getExpression().dispatch(visitor));
+        assertEquals("aggregate", columns.get(2).getExpression().dispatch(visitor));
+    }
+
+    /** A class of node that does not know about {@link NodeVisitor}. */
+    static class ExtensionNode extends QueryTreeNode {
+    }
+
+    @Test
+    public void unknownClassDispatchesDefault() throws StandardException {
+        NodeVisitor<String> visitor = new AbstractNodeVisitor<String>() {
+                @Override
+                protected String defaultVisit(QueryTreeNode node) {
+                    return "default";
+                }
+            };
+        assertEquals("default", new ExtensionNode().dispatch(visitor));
+        assertEquals("**UNKNOWN(0)**", new NodeToString().toString(new ExtensionNode()));
+    }
+}
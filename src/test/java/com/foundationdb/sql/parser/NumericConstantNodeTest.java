@@ -0,0 +1,98 @@
+/**
+ * Copyright 2014 FoundationDB, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.foundationdb.sql.parser;
+
+import com.foundationdb.sql.StandardException;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.Assert.*;
+
+public class NumericConstantNodeTest
+{
+    static final String[] LITERALS = {
+        "0", "-0", "000", "7", "-7", "0012", ".5", "5.", "-1.25",
+        "999999999", "1000000000",
+        "2147483647", "2147483648", "-2147483648", "-2147483649",
+        "02147483647", "9999999999",
+        "999999999999999999", "1000000000000000000",
+        "9223372036854775807", "9223372036854775808",
+        "-9223372036854775808", "-9223372036854775809",
+        "09223372036854775807", "99999999999999999999",
+    };
+
+    @Test
+    public void narrowestType() {
+        for (String num : LITERALS) {
+            assertEquals(num, oldNodeType(num), 
+                         NumericConstantNode.exactNumericNodeType(num));
+        }
+    }
+
+    @Test
+    public void longValue() {
+        for (String num : LITERALS) {
+            if (NumericConstantNode.exactNumericNodeType(num) != NodeTypes.DECIMAL_CONSTANT_NODE)
+                assertEquals(num, new BigDecimal(num).longValueExact(),
+                             NumericConstantNode.exactNumericLongValue(num));
+        }
+    }
+
+    @Test
+    public void parsedConstants() throws StandardException {
+        SQLParser parser = new SQLParser();
+        assertConstant(parser, "2147483647", Integer.valueOf(2147483647));
+        assertConstant(parser, "-2147483648", Integer.valueOf(-2147483648));
+        assertConstant(parser, "2147483648", Long.valueOf(2147483648L));
+        assertConstant(parser, "-9223372036854775808", Long.valueOf(Long.MIN_VALUE));
+        assertConstant(parser, "9223372036854775808", new BigDecimal("9223372036854775808"));
+        assertConstant(parser, "12.50", new BigDecimal("12.50"));
+    }
+
+    @Test(expected=StandardException.class)
+    public void integerExpected() throws StandardException {
+        new SQLParser().parseStatement("SELECT a FROM t FETCH FIRST 1.5 ROWS ONLY");
+    }
+
+    protected static void assertConstant(SQLParser parser, String num, Object expected) 
+            throws StandardException {
+        CursorNode cursor = (CursorNode)parser.parseStatement("SELECT " + num);
+        SelectNode select = (SelectNode)cursor.getResultSetNode();
+        ValueNode value = select.getResultColumns().get(0).getExpression();
+        assertEquals(num, expected, ((NumericConstantNode)value).getValue());
+    }
+
+    /** How the grammar used to decide, by trying each in turn. */
+    protected static int oldNodeType(String num) {
+        try {
+            Integer.parseInt(num);
+            return NodeTypes.INT_CONSTANT_NODE;
+        }
+        catch (NumberFormatException ex) {
+        }
+        try {
+            Long.parseLong(num);
+            return NodeTypes.LONGINT_CONSTANT_NODE;
+        }
+        catch (NumberFormatException ex) {
+        }
+        return NodeTypes.DECIMAL_CONSTANT_NODE;
+    }
+
+}
@@ -0,0 +1,132 @@
+/**
+ * Copyright 2014 FoundationDB, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foundationdb.sql.parser;
+
+import com.foundationdb.sql.StandardException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.*;
+
+public class ParallelStatementParserTest
+{
+    private ExecutorService executor;
+    private ParallelStatementParser parallel;
+
+    @Before
+    public void before() {
+        executor = Executors.newFixedThreadPool(4);
+        parallel = new ParallelStatementParser(new SQLParser(), executor, 4);
+    }
+
+    @After
+    public void after() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void sameAsSequential() throws StandardException {
+        StringBuilder script = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            script.append("/* a; /* nested; */ */ SELECT 'x;y', \"a;b\" FROM t").append(i).append(";\n");
+            script.append("CREATE TRIGGER tr").append(i)
+                .append(" AFTER INSERT ON t FOR EACH ROW BEGIN ATOMIC")
+                .append(" UPDATE u SET a = CASE WHEN b = 1 THEN 2 END;")
+                .append(" DELETE FROM v; END;\n");
+        }
+        String sql = script.toString();
+        List<StatementNode> expected = new SQLParser().parseStatements(sql);
+        List<StatementNode> actual = parallel.parseStatements(sql);
+        assertEquals(200, actual.size());
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            StatementNode e = expected.get(i);
+            StatementNode a = actual.get(i);
+            assertEquals(e.getClass(), a.getClass());
+            assertEquals(e.getBeginOffset(), a.getBeginOffset());
+            assertEquals(e.getEndOffset(), a.getEndOffset());
+        }
+    }
+
+    @Test
+    public void firstErrorPosition() throws StandardException {
+        StringBuilder script = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            script.append("SELECT a FROM t;\n");
+        }
+        int position = script.length() + "SELECT a FROM ".length();
+        script.append("SELECT a FROM ;\n");
+        for (int i = 0; i < 50; i++) {
+            script.append("SELECT FROM t;\n");
+        }
+        try {
+            parallel.parseStatements(script.toString());
+            fail("Expected parse error");
+        }
+        catch (SQLParserException ex) {
+            assertEquals(position + 1, ex.getErrorPosition());
+        }
+        assertSameError(script.toString());
+    }
+
+    @Test
+    public void lexicalErrorPosition() throws StandardException {
+        StringBuilder script = new StringBuilder();
+        // In the last batch, with lines and columns as in the whole script.
+        for (int i = 0; i < 80; i++) {
+            script.append("SELECT a FROM t;\n");
+        }
+        script.append("SELECT a FROM t\nWHERE b = \u0001;\n");
+        for (int i = 0; i < 20; i++) {
+            script.append("SELECT a FROM t;\n");
+        }
+        assertSameError(script.toString());
+    }
+
+    @Test
+    public void noStatements() throws StandardException {
+        for (String sql : new String[] { "", "  ", "-- comment\n", ";", " ; ;", ";SELECT 1" }) {
+            assertSameError(sql);
+        }
+    }
+
+    private void assertSameError(String sql) throws StandardException {
+        SQLParserException expected;
+        try {
+            new SQLParser().parseStatements(sql);
+            fail("Expected parse error: " + sql);
+            return;
+        }
+        catch (SQLParserException ex) {
+            expected = ex;
+        }
+        try {
+            parallel.parseStatements(sql);
+            fail("Expected parse error: " + sql);
+        }
+        catch (SQLParserException ex) {
+            assertEquals(sql, expected.getMessage(), ex.getMessage());
+            assertEquals(sql, expected.getErrorPosition(), ex.getErrorPosition());
+        }
+    }
+
+}
@@ -0,0 +1,81 @@
+/**
+ * Copyright 2014 FoundationDB, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foundationdb.sql.parser;
+
+import com.foundationdb.sql.StandardException;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ParseCancellationTest
+{
+    private SQLParser parser;
+
+    @Before
+    public void before() {
+        parser = new SQLParser();
+    }
+
+    @Test
+    public void interrupted() throws StandardException {
+        String sql = "SELECT a FROM t WHERE " + ParseLimitsTest.orChain(1000);
+        Thread.currentThread().interrupt();
+        try {
+            parser.parseStatement(sql);
+            fail("Parse not cancelled");
+        }
+        catch (SQLParserCancelledException ex) {
+            assertTrue(ex.getErrorPosition() > 0);
+        }
+        finally {
+            assertTrue(Thread.interrupted());
+        }
+        assertEquals(NodeTypes.CURSOR_NODE, parser.parseStatement(sql).getNodeType());
+    }
+
+    @Test
+    public void earlierCancelIgnored() throws StandardException {
+        parser.cancel();
+        parser.parseStatement("SELECT a FROM t WHERE " + ParseLimitsTest.orChain(1000));
+    }
+
+    @Test
+    public void cancelFromAnotherThread() throws Exception {
+        final String sql = "SELECT a FROM t WHERE " + ParseLimitsTest.orChain(100000);
+        final Throwable[] error = new Throwable[1];
+        Thread thread = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        parser.parseStatement(sql);
+                    }
+                    catch (Throwable ex) {
+                        error[0] = ex;
+                    }
+                }
+            };
+        thread.start();
+        while (thread.isAlive()) {
+            parser.cancel();
+            thread.join(1);
+        }
+        assertTrue(String.valueOf(error[0]), error[0] instanceof SQLParserCancelledException);
+        // Same parser carries on.
+        assertEquals(1, parser.parseStatements("SELECT 1").size());
+    }
+}
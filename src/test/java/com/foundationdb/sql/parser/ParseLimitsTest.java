@@ -0,0 +1,207 @@
+/**
+ * Copyright 2014 FoundationDB, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foundationdb.sql.parser;
+
+import com.foundationdb.sql.StandardException;
+import com.foundationdb.sql.parser.SQLParserLimitException.Limit;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.StringReader;
+
+import static org.junit.Assert.*;
+
+public class ParseLimitsTest
+{
+    private SQLParser parser;
+
+    @Before
+    public void before() {
+        parser = new SQLParser();
+    }
+
+    @Test
+    public void unlimitedByDefault() throws StandardException {
+        parser.parseStatement("SELECT " + nested(200) + " FROM t");
+    }
+
+    @Test
+    public void depth() throws StandardException {
+        // The query, the select item and ten parenthesized expressions.
+        parser.setMaxDepth(12);
+        parser.parseStatement("SELECT " + nested(10) + " FROM t");
+        SQLParserLimitException ex = assertLimit(Limit.DEPTH, "SELECT " + nested(11) + " FROM t");
+        // At the expression within the eleventh parenthesis.
+        assertEquals("SELECT ".length() + 11 + 1, ex.getErrorPosition());
+        assertEquals(1, ex.getErrorLine());
+    }
+
+    @Test
+    public void parenthesesDepth() throws StandardException {
+        parser.setMaxDepth(100);
+        SQLParserLimitException ex = assertLimit(Limit.DEPTH, "SELECT " + nested(5000) + " FROM t");
+        // At the hundred and first parenthesis, read ahead.
+        assertEquals("SELECT ".length() + 100 + 1, ex.getErrorPosition());
+    }
+
+    @Test
+    public void caseDepth() throws StandardException {
+        parser.setMaxDepth(10);
+        parser.parseStatement("SELECT " + chain("CASE WHEN a THEN ", "1", " END", 8));
+        assertLimit(Limit.DEPTH, "SELECT " + chain("CASE WHEN a THEN ", "1", " END", 9));
+        parser.parseStatement("SELECT CASE" + chain(" WHEN a THEN 1", " ELSE 2 END", "", 8));
+        assertLimit(Limit.DEPTH, "SELECT CASE" + chain(" WHEN a THEN 1", " ELSE 2 END", "", 9));
+        assertLimit(Limit.DEPTH, "SELECT CASE a" + chain(" WHEN 1 THEN 1", " END", "", 9));
+    }
+
+    @Test
+    public void setOperationDepth() throws StandardException {
+        parser.setMaxDepth(10);
+        parser.parseStatement(chain("SELECT a FROM t UNION ", "SELECT a FROM t", "", 8));
+        assertLimit(Limit.DEPTH, chain("SELECT a FROM t UNION ", "SELECT a FROM t", "", 9));
+        assertLimit(Limit.DEPTH, chain("SELECT a FROM t INTERSECT ", "SELECT a FROM t", "", 10));
+    }
+
+    @Test
+    public void joinDepth() throws StandardException {
+        parser.setMaxDepth(10);
+        assertLimit(Limit.DEPTH, "SELECT * FROM t" + chain(" JOIN t", "", " ON 1=1", 10));
+    }
+
+    @Test
+    public void nodes() throws StandardException {
+        parser.setMaxNodes(100);
+        parser.parseStatement("SELECT a FROM t WHERE b = 1");
+        assertLimit(Limit.NODES, "SELECT a FROM t WHERE " + orChain(100));
+    }
+
+    @Test
+    public void tokens() throws StandardException {
+        parser.setMaxTokens(10);
+        parser.parseStatement("SELECT a, b FROM t");
+        assertLimit(Limit.TOKENS, "SELECT a, b, c, d, e, f FROM t");
+    }
+
+    @Test
+    public void time() throws StandardException {
+        parser.setMaxParseMillis(1);
+        String sql = "SELECT a FROM t WHERE " + orChain(100000);
+        assertLimit(Limit.TIME, sql);
+    }
+
+    @Test
+    public void usableAfterLimit() throws StandardException {
+        parser.setMaxTokens(5);
+        assertLimit(Limit.TOKENS, "SELECT a, b, c, d FROM t");
+        StatementNode stmt = parser.parseStatement("SELECT a");
+        assertEquals(NodeTypes.CURSOR_NODE, stmt.getNodeType());
+        // Nodes made after the parse are not counted.
+        parser.setMaxNodes(1);
+        parser.setMaxTokens(Integer.MAX_VALUE);
+        parser.getNodeFactory().copyNode(stmt, parser);
+    }
+
+    @Test
+    public void multipleStatements() throws StandardException {
+        parser.setMaxTokens(8);
+        assertEquals(2, parser.parseStatements("SELECT a; SELECT b").size());
+        try {
+            parser.parseStatements("SELECT a; SELECT b; SELECT c");
+            fail("Limit not enforced");
+        }
+        catch (SQLParserLimitException ex) {
+            assertEquals(Limit.TOKENS, ex.getLimit());
+        }
+    }
+
+    @Test
+    public void statementReader() throws StandardException {
+        parser.setMaxDepth(3);
+        SQLStatementReader reader =
+            parser.parseStatements(new StringReader("SELECT (1); SELECT ((((2))))"));
+        assertNotNull(reader.nextStatement());
+        try {
+            reader.nextStatement();
+            fail("Limit not enforced");
+        }
+        catch (SQLParserLimitException ex) {
+            assertEquals(Limit.DEPTH, ex.getLimit());
+        }
+    }
+
+    @Test
+    public void poolCopiesLimits() throws StandardException {
+        SQLParser template = new SQLParser();
+        template.setMaxDepth(3);
+        template.setMaxNodes(4);
+        template.setMaxTokens(5);
+        template.setMaxParseMillis(6);
+        SQLParserPool pool = new SQLParserPool(template, 1);
+        SQLParser pooled = pool.borrow();
+        try {
+            assertEquals(3, pooled.getMaxDepth());
+            assertEquals(4, pooled.getMaxNodes());
+            assertEquals(5, pooled.getMaxTokens());
+            assertEquals(6, pooled.getMaxParseMillis());
+        }
+        finally {
+            pool.release(pooled);
+        }
+    }
+
+    protected SQLParserLimitException assertLimit(Limit limit, String sql) 
+            throws StandardException {
+        try {
+            parser.parseStatement(sql);
+        }
+        catch (SQLParserLimitException ex) {
+            assertEquals(limit, ex.getLimit());
+            return ex;
+        }
+        fail("Limit not enforced: " + limit);
+        return null;
+    }
+
+    protected static String chain(String prefix, String middle, String suffix, int depth) {
+        StringBuilder str = new StringBuilder();
+        for (int i = 0; i < depth; i++)
+            str.append(prefix);
+        str.append(middle);
+        for (int i = 0; i < depth; i++)
+            str.append(suffix);
+        return str.toString();
+    }
+
+    protected static String nested(int depth) {
+        StringBuilder str = new StringBuilder();
+        for (int i = 0; i < depth; i++)
+            str.append('(');
+        str.append('1');
+        for (int i = 0; i < depth; i++)
+            str.append(')');
+        return str.toString();
+    }
+
+    protected static String orChain(int n) {
+        StringBuilder str = new StringBuilder();
+        for (int i = 0; i < n; i++) {
+            if (i > 0) str.append(" OR ");
+            str.append("x = ").append(i);
+        }
+        return str.toString();
+    }
+}
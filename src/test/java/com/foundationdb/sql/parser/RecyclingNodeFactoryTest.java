@@ -0,0 +1,137 @@
+/**
+ * Copyright 2014 FoundationDB, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.foundationdb.sql.parser;
+
+import com.foundationdb.sql.StandardException;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class RecyclingNodeFactoryTest
+{
+    private static final String SQL =
+        "SELECT a, t.b, 'x', 1, ? FROM s.t WHERE a = 1 AND b IN (1, 2) OR c <> 'y'";
+
+    private SQLParser parser;
+    private RecyclingNodeFactory nodeFactory;
+
+    @Before
+    public void before() {
+        parser = new SQLParser();
+        nodeFactory = new RecyclingNodeFactory();
+        parser.setNodeFactory(nodeFactory);
+    }
+
+    @Test
+    public void reusesNodes() throws StandardException {
+        StatementNode stmt = parser.parseStatement(SQL);
+        long created = nodeFactory.getCreatedCount();
+        nodeFactory.release(stmt);
+        assertTrue(nodeFactory.getFreeCount() > 0);
+        stmt = parser.parseStatement(SQL);
+        assertTrue(nodeFactory.getReusedCount() > 0);
+        assertEquals(created, 
+                     nodeFactory.getCreatedCount() - created + nodeFactory.getReusedCount());
+        SQLParser fresh = new SQLParser();
+        assertEquals(SQLStatementCacheTest.treeString(fresh.parseStatement(SQL)),
+                     SQLStatementCacheTest.treeString(stmt));
+    }
+
+    @Test
+    public void differentStatements() throws StandardException {
+        String[] sqls = {
+            SQL,
+            "SELECT x FROM u ORDER BY x",
+            "INSERT INTO t VALUES(1, 'a')",
+            "SELECT p, q FROM v, w WHERE p = q",
+        };
+        for (int i = 0; i < 3; i++) {
+            for (String sql : sqls) {
+                StatementNode stmt = parser.parseStatement(sql);
+                SQLParser fresh = new SQLParser();
+                assertEquals(sql, 
+                             SQLStatementCacheTest.treeString(fresh.parseStatement(sql)),
+                             SQLStatementCacheTest.treeString(stmt));
+                nodeFactory.release(stmt);
+            }
+        }
+    }
+
+    @Test
+    public void useAfterRelease() throws StandardException {
+        StatementNode stmt = parser.parseStatement(SQL);
+        nodeFactory.release(stmt);
+        int free = nodeFactory.getFreeCount();
+        nodeFactory.release(stmt);
+        assertEquals(free, nodeFactory.getFreeCount());
+        try {
+            stmt.getNodeFactory();
+            fail("Released node used");
+        }
+        catch (IllegalStateException ex) {
+        }
+    }
+
+    @Test
+    public void resetClearsAllFields() throws Exception {
+        StatementNode stmt = new SQLParser().parseStatement(SQL);
+        final Set<QueryTreeNode> nodes = new HashSet<QueryTreeNode>();
+        stmt.accept(new Visitor() {
+                public Visitable visit(Visitable n) {
+                    nodes.add((QueryTreeNode)n);
+                    return n;
+                }
+                public boolean visitChildrenFirst(Visitable n) {
+                    return false;
+                }
+                public boolean stopTraversal() {
+                    return false;
+                }
+                public boolean skipChildren(Visitable n) {
+                    return false;
+                }
+            });
+        Set<Class<?>> checked = new HashSet<Class<?>>();
+        for (QueryTreeNode node : nodes) {
+            Class<?> nodeClass = node.getClass();
+            if (!RecyclingNodeFactory.isRecycled(nodeClass)) continue;
+            node.reset();
+            Object blank = nodeClass.newInstance();
+            for (Class<?> c = nodeClass; c != Object.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers()) ||
+                        field.getName().equals("nodeType") ||
+                        field.getName().equals("pc"))
+                        continue;
+                    field.setAccessible(true);
+                    assertEquals(nodeClass.getSimpleName() + "." + field.getName(),
+                                 field.get(blank), field.get(node));
+                }
+            }
+            checked.add(nodeClass);
+        }
+        assertEquals(14, checked.size()); // All but OrNode
+    }
+
+}
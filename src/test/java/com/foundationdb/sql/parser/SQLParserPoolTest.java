@@ -0,0 +1,157 @@
+/**
+ * Copyright 2014 FoundationDB, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foundationdb.sql.parser;
+
+import com.foundationdb.sql.StandardException;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class SQLParserPoolTest
+{
+    @Test
+    public void copiesTemplateSettings() throws StandardException {
+        SQLParser template = new SQLParser();
+        template.getFeatures().add(SQLParserFeature.DOUBLE_QUOTED_STRING);
+        template.setMaxIdentifierLength(10);
+        SQLParserPool pool = new SQLParserPool(template, 2);
+        SQLParser parser = pool.borrow();
+        try {
+            assertNotSame(template, parser);
+            assertEquals(template.getFeatures(), parser.getFeatures());
+            assertEquals(10, parser.getMaxIdentifierLength());
+        }
+        finally {
+            pool.release(parser);
+        }
+    }
+
+    @Test
+    public void borrowTimesOut() throws StandardException {
+        SQLParserPool pool = new SQLParserPool(1);
+        SQLParser parser = pool.borrow();
+        assertEquals(0, pool.getAvailable());
+        assertNull(pool.borrow(1, TimeUnit.MILLISECONDS));
+        pool.release(parser);
+        assertEquals(1, pool.getAvailable());
+        assertEquals(1, pool.getBorrowCount());
+        assertEquals(1, pool.getWaitCount());
+    }
+
+    @Test(expected=IllegalStateException.class)
+    public void doubleRelease() throws StandardException {
+        SQLParserPool pool = new SQLParserPool(1);
+        SQLParser parser = pool.borrow();
+        pool.release(parser);
+        pool.release(parser);
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void foreignRelease() throws StandardException {
+        SQLParserPool pool = new SQLParserPool(1);
+        pool.release(new SQLParser());
+    }
+
+    @Test
+    public void releaseResetsSettings() throws StandardException {
+        SQLParser template = new SQLParser();
+        template.setMaxTokens(100);
+        SQLParserPool pool = new SQLParserPool(template, 1);
+        SQLParser parser = pool.borrow();
+        NodeFactory nodeFactory = parser.getNodeFactory();
+        parser.getFeatures().add(SQLParserFeature.DOUBLE_QUOTED_STRING);
+        parser.setMaxTokens(5);
+        parser.setNodeFactory(new RecyclingNodeFactory());
+        parser.setStatementCache(new SQLStatementCache(10));
+        parser.cancel();
+        pool.release(parser);
+        parser = pool.borrow();
+        try {
+            assertEquals(template.getFeatures(), parser.getFeatures());
+            assertEquals(100, parser.getMaxTokens());
+            assertSame(nodeFactory, parser.getNodeFactory());
+            assertNull(parser.getStatementCache());
+            parser.parseStatement("SELECT a FROM t");
+        }
+        finally {
+            pool.release(parser);
+        }
+    }
+
+    @Test
+    public void parseStatementParameters() throws StandardException {
+        SQLParserPool pool = new SQLParserPool(1);
+        SQLParser context = new SQLParser();
+        List<ParameterNode> params = new ArrayList<ParameterNode>();
+        StatementNode stmt = pool.parseStatement("SELECT a FROM t WHERE b = ? AND c = ?",
+                                                 context, params);
+        assertEquals(2, params.size());
+        for (int i = 0; i < 2; i++) {
+            ParameterNode param = params.get(i);
+            assertEquals(i, param.getParameterNumber());
+            assertSame(context, param.getParserContext());
+            assertTrue(SQLStatementCacheTest.hasNode(stmt, param));
+        }
+    }
+
+    @Test
+    public void concurrentParses() throws Exception {
+        final SQLParserPool pool = new SQLParserPool(2);
+        final List<Throwable> errors = new ArrayList<Throwable>();
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            final int n = i;
+            threads[i] = new Thread() {
+                    @Override
+                    public void run() {
+                        try {
+                            for (int j = 0; j < 100; j++) {
+                                String sql = "SELECT a" + n + " FROM t WHERE b = ?";
+                                SQLParser parser = pool.borrow();
+                                try {
+                                    StatementNode stmt = parser.parseStatement(sql);
+                                    assertEquals(sql, parser.getSQLText());
+                                    assertEquals(1, parser.getParameterList().size());
+                                    assertEquals(NodeTypes.CURSOR_NODE, stmt.getNodeType());
+                                }
+                                finally {
+                                    pool.release(parser);
+                                }
+                            }
+                        }
+                        catch (Throwable ex) {
+                            synchronized (errors) {
+                                errors.add(ex);
+                            }
+                        }
+                    }
+                };
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals("[]", errors.toString());
+        assertEquals(800, pool.getBorrowCount());
+        assertEquals(2, pool.getAvailable());
+    }
+
+}
@@ -0,0 +1,163 @@
+/**
+ * Copyright 2014 FoundationDB, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foundationdb.sql.parser;
+
+import com.foundationdb.sql.StandardException;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class SQLStatementCacheTest
+{
+    private static final String SQL =
+        "SELECT a, b + ? FROM t WHERE c = ? AND d IN (SELECT e FROM u WHERE f = ?)";
+
+    private SQLParser parser;
+    private SQLStatementCache cache;
+
+    @Before
+    public void before() {
+        parser = new SQLParser();
+        cache = new SQLStatementCache(2);
+        parser.setStatementCache(cache);
+    }
+
+    @Test
+    public void hitReturnsPrivateCopy() throws StandardException {
+        StatementNode first = parser.parseStatement(SQL);
+        List<ParameterNode> firstParams = parser.getParameterList();
+        StatementNode second = parser.parseStatement(SQL);
+        List<ParameterNode> secondParams = parser.getParameterList();
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getHitCount());
+        assertNotSame(first, second);
+        assertEquals(treeString(first), treeString(second));
+        assertEquals(first.getBeginOffset(), second.getBeginOffset());
+        assertEquals(first.getEndOffset(), second.getEndOffset());
+        assertEquals(3, secondParams.size());
+        for (int i = 0; i < 3; i++) {
+            ParameterNode p1 = firstParams.get(i);
+            ParameterNode p2 = secondParams.get(i);
+            assertNotSame(p1, p2);
+            assertEquals(p1.getParameterNumber(), p2.getParameterNumber());
+            assertEquals(p1.getBeginOffset(), p2.getBeginOffset());
+            assertTrue(hasNode(second, p2));
+        }
+    }
+
+    @Test
+    public void featuresAreKey() throws StandardException {
+        parser.parseStatement(SQL);
+        SQLParser other = new SQLParser();
+        other.getFeatures().add(SQLParserFeature.DOUBLE_QUOTED_STRING);
+        other.setStatementCache(cache);
+        other.parseStatement(SQL);
+        assertEquals(2, cache.getMissCount());
+        assertEquals(0, cache.getHitCount());
+        assertEquals(2, cache.getEntryCount());
+    }
+
+    @Test
+    public void limitsAreKey() throws StandardException {
+        parser.parseStatement(SQL);
+        parser.setMaxTokens(10);
+        try {
+            parser.parseStatement(SQL);
+            fail("Limit not enforced");
+        }
+        catch (SQLParserLimitException ex) {
+            assertEquals(SQLParserLimitException.Limit.TOKENS, ex.getLimit());
+        }
+        assertEquals(0, cache.getHitCount());
+        parser.setMaxTokens(Integer.MAX_VALUE);
+        parser.parseStatement(SQL);
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    public void manyParameters() throws StandardException {
+        StringBuilder sql = new StringBuilder("SELECT a FROM t WHERE b IN (?");
+        for (int i = 1; i < 1000; i++)
+            sql.append(", ?");
+        sql.append(")");
+        parser.parseStatement(sql.toString());
+        parser.parseStatement(sql.toString());
+        assertEquals(1, cache.getHitCount());
+        List<ParameterNode> params = parser.getParameterList();
+        assertEquals(1000, params.size());
+        for (int i = 0; i < 1000; i++)
+            assertEquals(i, params.get(i).getParameterNumber());
+    }
+
+    @Test
+    public void evictsLeastRecent() throws StandardException {
+        parser.parseStatement("SELECT 1");
+        parser.parseStatement("SELECT 2");
+        parser.parseStatement("SELECT 1");
+        parser.parseStatement("SELECT 3");
+        assertEquals(1, cache.getEvictionCount());
+        parser.parseStatement("SELECT 1");
+        assertEquals(2, cache.getHitCount());
+        parser.parseStatement("SELECT 2");
+        assertEquals(4, cache.getMissCount());
+    }
+
+    @Test
+    public void evictsBySize() throws StandardException {
+        cache = new SQLStatementCache(100, 3000);
+        parser.setStatementCache(cache);
+        for (int i = 0; i < 10; i++) {
+            parser.parseStatement("SELECT a, b, c FROM t WHERE x = " + i);
+        }
+        assertTrue(cache.getEstimatedBytes() <= 3000);
+        assertTrue(cache.getEvictionCount() > 0);
+        assertEquals(10 - cache.getEvictionCount(), cache.getEntryCount());
+    }
+
+    protected static String treeString(StatementNode stmt) {
+        StringWriter str = new StringWriter();
+        stmt.treePrint(str);
+        // Node headers include identity hash codes.
+        return str.toString().replaceAll("@[0-9a-f]+", "");
+    }
+
+    protected static boolean hasNode(StatementNode stmt, final QueryTreeNode node)
+            throws StandardException {
+        final boolean[] found = new boolean[1];
+        stmt.accept(new Visitor() {
+                public Visitable visit(Visitable n) {
+                    if (n == node) found[0] = true;
+                    return n;
+                }
+                public boolean visitChildrenFirst(Visitable n) {
+                    return false;
+                }
+                public boolean stopTraversal() {
+                    return found[0];
+                }
+                public boolean skipChildren(Visitable n) {
+                    return false;
+                }
+            });
+        return found[0];
+    }
+
+}
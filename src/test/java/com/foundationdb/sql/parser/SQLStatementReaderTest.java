@@ -0,0 +1,242 @@
+/**
+ * Copyright 2014 FoundationDB, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foundationdb.sql.parser;
+
+import com.foundationdb.sql.StandardException;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class SQLStatementReaderTest
+{
+    private SQLParser parser;
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Before
+    public void before() {
+        parser = new SQLParser();
+    }
+
+    @Test
+    public void sameAsString() throws Exception {
+        StringBuilder script = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            script.append("-- statement ").append(i).append("\r\n");
+            script.append("SELECT a, b FROM t").append(i).append(" WHERE c = 'x;y';\n");
+            script.append("CREATE VIEW v").append(i).append(" AS SELECT * FROM t;;\n");
+        }
+        script.append("DELETE FROM t");
+        String sql = script.toString();
+        compareStatements(sql, parser.parseStatements(new TrickleReader(sql)));
+    }
+
+    @Test
+    public void mappedFile() throws Exception {
+        StringBuilder script = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            script.append("INSERT INTO t VALUES(").append(i)
+                .append(", 'caf\u00e9 \u20ac \ud83d\ude00');\n");
+        }
+        String sql = script.toString();
+        File file = tempFolder.newFile("script.sql");
+        FileOutputStream ostr = new FileOutputStream(file);
+        ostr.write(sql.getBytes("UTF-8"));
+        ostr.close();
+        // Small windows and buffer so that characters straddle both.
+        MappedFileCharStream stream = 
+            new MappedFileCharStream(file, Charset.forName("UTF-8"), 37, 64);
+        compareStatements(sql, parser.parseStatements(stream));
+    }
+
+    protected void compareStatements(String sql, SQLStatementReader reader) 
+            throws Exception {
+        List<StatementNode> expected = new SQLParser().parseStatements(sql);
+        int n = 0;
+        StatementNode stmt;
+        while ((stmt = reader.nextStatement()) != null) {
+            StatementNode other = expected.get(n++);
+            assertEquals(other.getBeginOffset(), stmt.getBeginOffset());
+            assertEquals(other.getEndOffset(), stmt.getEndOffset());
+            assertEquals(SQLStatementCacheTest.treeString(other),
+                         SQLStatementCacheTest.treeString(stmt));
+        }
+        assertEquals(expected.size(), n);
+        assertNull(reader.nextStatement());
+        reader.close();
+    }
+
+    @Test
+    public void errorOffset() throws StandardException {
+        String sql = "SELECT 1; SELECT 2 FROM; SELECT 3";
+        SQLStatementReader reader = parser.parseStatements(new StringReader(sql));
+        assertNotNull(reader.nextStatement());
+        try {
+            reader.nextStatement();
+            fail("Expected parse error");
+        }
+        catch (SQLParserException ex) {
+            assertEquals(sql.indexOf(';', 10) + 1, ex.getErrorPosition());
+        }
+        assertNull(reader.nextStatement());
+    }
+
+    @Test
+    public void errorLineAndColumn() throws StandardException {
+        assertSamePosition("SELECT 1;\n  SELECT 2 FROM;");
+        assertSamePosition("SELECT 1;\r\nSELECT 2 +\r\n FROM t");
+        assertSamePosition("SELECT 1;\n  SELECT 'abc' \u0001 FROM t");
+        assertSamePosition("SELECT 1;\nSELECT \u0001\n");
+        parser.setMaxDepth(2);
+        assertSamePosition("SELECT 1;\n  SELECT (((2)))");
+    }
+
+    /** Check that an error in <code>sql</code> is at the same place
+     * streamed as in a string.
+     */
+    private void assertSamePosition(String sql) throws StandardException {
+        SQLParserException expected = null;
+        try {
+            parser.parseStatements(sql);
+            fail("Expected error");
+        }
+        catch (SQLParserException ex) {
+            expected = ex;
+        }
+        SQLStatementReader reader = parser.parseStatements(new StringReader(sql));
+        try {
+            while (reader.nextStatement() != null);
+            fail("Expected error");
+        }
+        catch (SQLParserException ex) {
+            assertEquals(sql, expected.getClass(), ex.getClass());
+            assertEquals(sql, expected.getErrorPosition(), ex.getErrorPosition());
+            assertEquals(sql, expected.getErrorLine(), ex.getErrorLine());
+            assertEquals(sql, expected.getErrorColumn(), ex.getErrorColumn());
+        }
+    }
+
+    @Test
+    public void noStatements() throws StandardException {
+        String[] scripts = { "", "  ", "-- comment\n", ";", " ; ;", ";SELECT 1" };
+        for (String sql : scripts) {
+            String expected = null;
+            try {
+                new SQLParser().parseStatements(sql);
+                fail("Expected parse error for '" + sql + "'");
+            }
+            catch (SQLParserException ex) {
+                expected = ex.getMessage();
+            }
+            SQLStatementReader reader = parser.parseStatements(new StringReader(sql));
+            try {
+                reader.nextStatement();
+                fail("Expected parse error for '" + sql + "'");
+            }
+            catch (SQLParserException ex) {
+                assertEquals(expected, ex.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void firstTokenLexicalError() throws StandardException {
+        String sql = "\u0001 SELECT 1";
+        String expected = null;
+        try {
+            new SQLParser().parseStatements(sql);
+            fail("Expected lexical error");
+        }
+        catch (SQLParserException ex) {
+            expected = ex.getMessage();
+        }
+        SQLStatementReader reader = parser.parseStatements(new StringReader(sql));
+        try {
+            reader.nextStatement();
+            fail("Expected lexical error");
+        }
+        catch (SQLParserException ex) {
+            assertEquals(expected, ex.getMessage());
+        }
+        assertNull(reader.nextStatement());
+        // The parser is still usable.
+        assertEquals(1, parser.parseStatements("SELECT 1").size());
+    }
+
+    @Test
+    public void decodeError() throws Exception {
+        File file = tempFolder.newFile("bad.sql");
+        FileOutputStream ostr = new FileOutputStream(file);
+        ostr.write("SELECT 1; SELECT 'a".getBytes("UTF-8"));
+        ostr.write(0xFF);
+        ostr.write("b'; SELECT 3".getBytes("UTF-8"));
+        ostr.close();
+        MappedFileCharStream stream = 
+            new MappedFileCharStream(file, Charset.forName("UTF-8"), 37, 64);
+        SQLStatementReader reader = parser.parseStatements(stream);
+        assertNotNull(reader.nextStatement());
+        try {
+            reader.nextStatement();
+            fail("Expected decode error");
+        }
+        catch (SQLParserException ex) {
+            fail("Decode error reported as parse error: " + ex.getMessage());
+        }
+        catch (StandardException ex) {
+            assertTrue(ex.getCause() instanceof IOException);
+            assertTrue(ex.getMessage(), ex.getCause().getMessage().contains("offset 19"));
+        }
+        reader.close();
+    }
+
+    @Test(expected=StandardException.class)
+    public void readError() throws StandardException {
+        Reader broken = new Reader() {
+                public int read(char[] cbuf, int off, int len) throws IOException {
+                    throw new IOException("broken");
+                }
+                public void close() {
+                }
+            };
+        parser.parseStatements(broken).nextStatement();
+    }
+
+    /** Give back a few characters at a time. */
+    static class TrickleReader extends StringReader {
+        public TrickleReader(String s) {
+            super(s);
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws IOException {
+            return super.read(cbuf, off, Math.min(len, 7));
+        }
+    }
+
+}
@@ -0,0 +1,86 @@
+/**
+ * Copyright 2014 FoundationDB, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foundationdb.sql.parser;
+
+import com.foundationdb.sql.StandardException;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class SQLStatementSplitterTest
+{
+    protected static List<String> split(SQLStatementSplitter splitter, String sql)
+            throws StandardException {
+        int[] bounds = splitter.split(sql);
+        List<String> result = new ArrayList<String>();
+        for (int i = 0; i < SQLStatementSplitter.getStatementCount(bounds); i++) {
+            result.add(SQLStatementSplitter.getStatement(sql, bounds, i));
+        }
+        return result;
+    }
+
+    @Test
+    public void quotesAndComments() throws StandardException {
+        String sql = " SELECT 'a;b', \"c;d\" FROM t /* x; /* y; */ z; */ ;; -- e;\n" +
+            "SELECT $$f;g$$, E'h\\';i' ; ";
+        assertEquals(Arrays.asList("SELECT 'a;b', \"c;d\" FROM t",
+                                   "SELECT $$f;g$$, E'h\\';i'"),
+                     split(new SQLStatementSplitter(), sql));
+    }
+
+    @Test
+    public void triggerBody() throws StandardException {
+        String trigger = "CREATE TRIGGER tr AFTER INSERT ON t FOR EACH ROW BEGIN ATOMIC " +
+            "UPDATE u SET a = CASE WHEN b = 1 THEN 2 END; DELETE FROM v; END";
+        assertEquals(Arrays.asList(trigger, "SELECT 1"),
+                     split(new SQLStatementSplitter(), trigger + ";SELECT 1"));
+    }
+
+    @Test
+    public void features() throws StandardException {
+        SQLParser parser = new SQLParser();
+        parser.getFeatures().add(SQLParserFeature.DOUBLE_QUOTED_STRING);
+        String sql = "SELECT \"a\\\";b\"; SELECT 2";
+        assertEquals(Arrays.asList("SELECT \"a\\\";b\"", "SELECT 2"),
+                     split(new SQLStatementSplitter(parser), sql));
+    }
+
+    @Test
+    public void reusable() throws StandardException {
+        SQLStatementSplitter splitter = new SQLStatementSplitter();
+        assertEquals(Arrays.asList("SELECT 1", "SELECT 2"),
+                     split(splitter, "SELECT 1; SELECT 2"));
+        assertEquals(Arrays.<String>asList(), split(splitter, " ; -- nothing"));
+    }
+
+    @Test
+    public void lexicalError() throws StandardException {
+        String sql = "SELECT 1;\nSELECT /* a";
+        try {
+            new SQLStatementSplitter().split(sql);
+            fail("Expected lexical error");
+        }
+        catch (SQLParserException ex) {
+            assertTrue(ex.getMessage(), ex.getMessage().contains("line 2"));
+        }
+    }
+
+}
@@ -0,0 +1,137 @@
+/**
+ * Copyright 2014 FoundationDB, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foundationdb.sql.parser;
+
+import com.foundationdb.sql.StandardException;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class SQLTemplateCacheTest
+{
+    private SQLParser parser;
+    private SQLTemplateCache cache;
+
+    @Before
+    public void before() {
+        parser = new SQLParser();
+        cache = new SQLTemplateCache(10);
+    }
+
+    @Test
+    public void literalsShareTemplate() throws StandardException {
+        ParameterizedStatement ps1 = cache.parseStatement(parser, 
+            "SELECT a FROM t WHERE b = 42 AND c = 'it''s' AND d > 1.5e0");
+        assertEquals("SELECT a FROM t WHERE b = ? AND c = ? AND d > ?", ps1.getSQLText());
+        assertEquals(Arrays.<Object>asList(42, "it's", 1.5), ps1.getConstantValues());
+        assertEquals(3, ps1.getParameterList().size());
+        ParameterizedStatement ps2 = cache.parseStatement(parser, 
+            "SELECT a FROM t WHERE b = 9999999999 AND c = 'x' AND d > 2e1");
+        assertEquals(ps1.getSQLText(), ps2.getSQLText());
+        assertEquals(Arrays.<Object>asList(9999999999L, "x", 20.0), ps2.getConstantValues());
+        assertEquals(1, cache.getTemplates().getMissCount());
+        assertEquals(1, cache.getTemplates().getHitCount());
+        assertNotSame(ps1.getStatement(), ps2.getStatement());
+        assertEquals(SQLStatementCacheTest.treeString(ps1.getStatement()),
+                     SQLStatementCacheTest.treeString(ps2.getStatement()));
+    }
+
+    @Test
+    public void exactNumericTypes() {
+        assertEquals(2147483647, SQLTemplateCache.exactNumericValue("2147483647"));
+        assertEquals(2147483648L, SQLTemplateCache.exactNumericValue("2147483648"));
+        assertEquals(new BigDecimal("9223372036854775808"), 
+                     SQLTemplateCache.exactNumericValue("9223372036854775808"));
+        assertEquals(new BigDecimal("1.0"), SQLTemplateCache.exactNumericValue("1.0"));
+    }
+
+    @Test
+    public void ownParameters() throws StandardException {
+        ParameterizedStatement ps = cache.parseStatement(parser, 
+            "SELECT a FROM t WHERE b = ? AND c = 1");
+        assertFalse(ps.isParameterized());
+        assertEquals(1, ps.getParameterList().size());
+        assertEquals(1, cache.getUnparameterizedCount());
+    }
+
+    @Test
+    public void ordinalOrderBy() throws StandardException {
+        String sql = "SELECT a, b FROM t WHERE c = 1 ORDER BY 2";
+        ParameterizedStatement ps = cache.parseStatement(parser, sql);
+        assertFalse(ps.isParameterized());
+        assertEquals(sql, ps.getSQLText());
+        assertEquals(0, ps.getParameterList().size());
+        assertEquals(1, cache.getRejectedCount());
+        assertEquals(0, cache.getTemplates().getEntryCount());
+        cache.parseStatement(parser, "SELECT a, b FROM t WHERE c = 2 ORDER BY 1");
+        assertEquals(1, cache.getTemplates().getMissCount());
+        assertEquals(2, cache.getUnparameterizedCount());
+    }
+
+    @Test
+    public void notDML() throws StandardException {
+        ParameterizedStatement ps = cache.parseStatement(parser,
+            "CREATE TABLE t(a INT DEFAULT 0)");
+        assertFalse(ps.isParameterized());
+        assertTrue(ps.getStatement() instanceof CreateTableNode);
+    }
+
+    @Test(expected=SQLParserException.class)
+    public void lexicalError() throws StandardException {
+        cache.parseStatement(parser, "SELECT 1 FROM t WHERE a = 'unterminated");
+    }
+
+    @Test
+    public void cancelledTemplate() throws StandardException {
+        String sql = "SELECT a FROM t WHERE " + ParseLimitsTest.orChain(1000);
+        Thread.currentThread().interrupt();
+        try {
+            cache.parseStatement(parser, sql);
+            fail("Parse not cancelled");
+        }
+        catch (SQLParserCancelledException ex) {
+        }
+        finally {
+            assertTrue(Thread.interrupted());
+        }
+        assertEquals(0, cache.getRejectedCount());
+        assertEquals(0, cache.getUnparameterizedCount());
+        assertEquals("SELECT a FROM t WHERE " + ParseLimitsTest.orChain(1000).replaceAll("[0-9]+", "?"),
+                     cache.parseStatement(parser, sql).getSQLText());
+    }
+
+    @Test
+    public void limitedTemplate() throws StandardException {
+        String sql = "SELECT a FROM t WHERE " + ParseLimitsTest.orChain(100);
+        parser.setMaxTokens(10);
+        try {
+            cache.parseStatement(parser, sql);
+            fail("Limit not enforced");
+        }
+        catch (SQLParserLimitException ex) {
+        }
+        assertEquals(0, cache.getRejectedCount());
+        parser.setMaxTokens(Integer.MAX_VALUE);
+        assertEquals(100, cache.parseStatement(parser, sql).getConstantValues().size());
+        assertEquals(0, cache.getRejectedCount());
+    }
+
+}
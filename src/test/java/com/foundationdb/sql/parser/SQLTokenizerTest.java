@@ -0,0 +1,103 @@
+/**
+ * Copyright 2014 FoundationDB, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foundationdb.sql.parser;
+
+import com.foundationdb.sql.StandardException;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SQLTokenizerTest
+{
+    protected static String tokens(SQLTokenizer tokenizer, String sql) 
+            throws StandardException {
+        StringBuilder str = new StringBuilder();
+        tokenizer.reset(sql);
+        while (tokenizer.next()) {
+            if (str.length() > 0) str.append(' ');
+            str.append(tokenizer.getCategory()).append(':').append(tokenizer.getImage());
+        }
+        return str.toString();
+    }
+
+    @Test
+    public void categories() throws StandardException {
+        assertEquals("KEYWORD:SELECT IDENTIFIER:a OPERATOR:, IDENTIFIER:\"b c\" " +
+                     "KEYWORD:FROM IDENTIFIER:tbl KEYWORD:WHERE IDENTIFIER:x OPERATOR:= " +
+                     "STRING:'it''s' KEYWORD:AND IDENTIFIER:y OPERATOR:> NUMBER:1.5e3 " +
+                     "KEYWORD:OR IDENTIFIER:z OPERATOR:< PARAMETER:? OPERATOR:+ PARAMETER:$2",
+                     tokens(new SQLTokenizer(),
+                            "SELECT a, \"b c\" /* comment */ FROM tbl\n" +
+                            "WHERE x = 'it''s' AND y > 1.5e3 -- comment\n" +
+                            "OR z < ? + $2"));
+    }
+
+    @Test
+    public void offsetsAndKinds() throws StandardException {
+        SQLTokenizer tokenizer = new SQLTokenizer();
+        tokenizer.reset("  select  x");
+        assertTrue(tokenizer.next());
+        assertEquals(2, tokenizer.getBeginOffset());
+        assertEquals(8, tokenizer.getEndOffset());
+        assertEquals("select", tokenizer.getKindName());
+        assertEquals(SQLTokenizer.getKind("select"), tokenizer.getKind());
+        assertTrue(tokenizer.next());
+        assertEquals("IDENTIFIER", tokenizer.getKindName());
+        assertFalse(tokenizer.next());
+        assertFalse(tokenizer.next());
+    }
+
+    @Test
+    public void features() throws StandardException {
+        SQLParser parser = new SQLParser();
+        assertEquals("IDENTIFIER:\"x\"", tokens(new SQLTokenizer(parser), "\"x\""));
+        parser.getFeatures().add(SQLParserFeature.DOUBLE_QUOTED_STRING);
+        assertEquals("STRING:\"x\"", tokens(new SQLTokenizer(parser), "\"x\""));
+    }
+
+    @Test
+    public void lexicalErrorLeavesParser() throws StandardException {
+        String bad = "SELECT a\nFROM t WHERE b = 1 \u0001";
+        SQLParser parser = new SQLParser();
+        int position;
+        try {
+            parser.parseStatement(bad);
+            fail("Parse error not thrown");
+            return;
+        }
+        catch (SQLParserException ex) {
+            position = ex.getErrorPosition();
+        }
+        parser.parseStatement("SELECT ? FROM t");
+        SQLTokenizer tokenizer = new SQLTokenizer(parser);
+        tokenizer.reset(bad);
+        try {
+            while (tokenizer.next()) {
+            }
+            fail("Lexical error not thrown");
+        }
+        catch (SQLParserException ex) {
+            assertEquals(position, ex.getErrorPosition());
+        }
+        assertEquals("SELECT ? FROM t", parser.getSQLText());
+        assertEquals(1, parser.getParameterList().size());
+        assertFalse(tokenizer.next());
+        tokenizer.reset("x");
+        assertTrue(tokenizer.next());
+    }
+
+}
@@ -0,0 +1,181 @@
+/**
+ * Copyright 2014 FoundationDB, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foundationdb.sql.parser;
+
+import com.foundationdb.sql.StandardException;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TreeIndexTest
+{
+    private static final String[] SQL = {
+        "SELECT a, b + 1 FROM t WHERE c = ? AND d IN (SELECT e FROM u WHERE f = ?)",
+        "SELECT x.a, COUNT(*) FROM t x INNER JOIN u y ON x.id = y.id GROUP BY x.a HAVING COUNT(*) > 1 ORDER BY 2",
+        "INSERT INTO t(a, b) VALUES(1, 'x'), (2, CASE WHEN ? THEN 'y' ELSE NULL END)",
+        "UPDATE t SET a = a + 1 WHERE b BETWEEN 1 AND 10 OR c LIKE 'z%'",
+    };
+
+    private SQLParser parser;
+
+    @Before
+    public void before() {
+        parser = new SQLParser();
+    }
+
+    @Test
+    public void sameAsWalk() throws StandardException {
+        for (String sql : SQL) {
+            StatementNode stmt = parser.parseStatement(sql);
+            TreeIndex index = new TreeIndex(stmt);
+            int[] count = new int[1];
+            check(index, stmt, null, 0, 0, count);
+            assertEquals(sql, count[0], index.size());
+        }
+    }
+
+    @Test
+    public void ancestors() throws StandardException {
+        CursorNode stmt = (CursorNode)
+            parser.parseStatement("SELECT a FROM t WHERE b IN (SELECT c FROM u WHERE d = 1)");
+        TreeIndex index = new TreeIndex(stmt);
+        SelectNode outer = (SelectNode)stmt.getResultSetNode();
+        ColumnReference a = (ColumnReference)
+            outer.getResultColumns().get(0).getExpression();
+        assertSame(outer, index.getAncestor(a, SelectNode.class));
+        assertSame(outer.getResultColumns().get(0), 
+                   index.getAncestor(a, ResultColumn.class));
+        assertSame(outer.getResultColumns(), index.getAncestor(a, NodeTypes.RESULT_COLUMN_LIST));
+        SelectNode inner = (SelectNode)
+            ((SubqueryNode)outer.getWhereClause()).getResultSet();
+        ColumnReference d = (ColumnReference)
+            ((BinaryOperatorNode)inner.getWhereClause()).getLeftOperand();
+        assertSame(inner, index.getAncestor(d, SelectNode.class));
+        assertSame(inner.getWhereClause(), index.getParent(d));
+        assertEquals(0, index.getChildOrdinal(d));
+        assertNull(index.getAncestor(stmt, SelectNode.class));
+        assertNull(index.getParent(stmt));
+        assertEquals(0, index.getDepth(stmt));
+    }
+
+    @Test
+    public void notInTree() throws StandardException {
+        StatementNode stmt = parser.parseStatement(SQL[0]);
+        StatementNode other = parser.parseStatement(SQL[0]);
+        TreeIndex index = new TreeIndex(stmt);
+        assertFalse(index.contains(other));
+        assertNull(index.getParent(other));
+        assertEquals(TreeIndex.NONE, index.getDepth(other));
+        assertEquals(TreeIndex.NONE, index.getChildOrdinal(other));
+    }
+
+    @Test
+    public void setterInvalidates() throws StandardException {
+        CursorNode stmt = (CursorNode)parser.parseStatement("SELECT a FROM t WHERE b = 1");
+        TreeIndex index = new TreeIndex(stmt);
+        SelectNode select = (SelectNode)stmt.getResultSetNode();
+        ValueNode oldWhere = select.getWhereClause();
+        assertSame(select, index.getParent(oldWhere));
+        CursorNode other = (CursorNode)parser.parseStatement("SELECT a FROM t WHERE b = ? OR c = 2");
+        ValueNode newWhere = ((SelectNode)other.getResultSetNode()).getWhereClause();
+        select.setWhereClause(newWhere);
+        assertFalse(index.contains(oldWhere));
+        assertSame(select, index.getParent(newWhere));
+        assertEquals(index.getDepth(select) + 2, 
+                     index.getDepth(((OrNode)newWhere).getRightOperand()));
+    }
+
+    @Test
+    public void mutatorsInvalidate() throws StandardException {
+        CursorNode stmt = (CursorNode)parser.parseStatement("VALUES (1), (2)");
+        RowsResultSetNode rows = (RowsResultSetNode)stmt.getResultSetNode();
+        TreeIndex index = new TreeIndex(stmt);
+        CursorNode other = (CursorNode)parser.parseStatement("VALUES (3), (4)");
+        RowResultSetNode row = ((RowsResultSetNode)other.getResultSetNode()).getRows().get(0);
+        assertFalse(index.contains(row));
+        rows.addRow(row);
+        assertSame(rows, index.getParent(row));
+
+        stmt = (CursorNode)parser.parseStatement("SELECT f(a) FROM t");
+        index = new TreeIndex(stmt);
+        NodeTypePruningTest.Finder calls = 
+            new NodeTypePruningTest.Finder(NodeTypeSet.of(NodeTypes.STATIC_METHOD_CALL_NODE));
+        stmt.accept(calls);
+        MethodCallNode call = (MethodCallNode)calls.found.get(0);
+        ValueNode param = (ValueNode)parser.getNodeFactory()
+            .getNode(NodeTypes.PARAMETER_NODE, 0, null, parser);
+        assertEquals(TreeIndex.NONE, index.getDepth(param));
+        call.addParms(Collections.singletonList(param));
+        // Under an SQLToJavaValueNode.
+        assertEquals(index.getDepth(call) + 2, index.getDepth(param));
+    }
+
+    @Test
+    public void explicitInvalidate() throws StandardException {
+        StatementNode stmt = parser.parseStatement(SQL[1]);
+        stmt.freeze();
+        TreeIndex index = new TreeIndex(stmt);
+        int size = index.size();
+        index.invalidate();
+        assertEquals(size, index.size());
+    }
+
+    @Test
+    public void deepChain() throws StandardException {
+        int depth = 100000;
+        ValueNode leaf = constant();
+        ValueNode chain = leaf;
+        for (int i = 0; i < depth; i++) {
+            chain = (ValueNode)parser.getNodeFactory()
+                .getNode(NodeTypes.AND_NODE, chain, constant(), parser);
+        }
+        TreeIndex index = new TreeIndex(chain);
+        assertEquals(depth * 2 + 1, index.size());
+        assertEquals(depth, index.getDepth(leaf));
+        QueryTreeNode bottom = index.getParent(leaf);
+        assertEquals(NodeTypes.AND_NODE, bottom.getNodeType());
+        assertSame(bottom, index.getAncestor(leaf, NodeTypes.AND_NODE));
+        assertEquals(depth - 1, index.getDepth(bottom));
+    }
+
+    protected ValueNode constant() throws StandardException {
+        return (ValueNode)parser.getNodeFactory()
+            .getNode(NodeTypes.BOOLEAN_CONSTANT_NODE, Boolean.TRUE, parser);
+    }
+
+    /** Check the index against a recursive walk. */
+    protected static void check(TreeIndex index, QueryTreeNode node, QueryTreeNode parent,
+                                int depth, int ordinal, int[] count)
+            throws StandardException {
+        count[0]++;
+        assertTrue(index.contains(node));
+        assertSame(parent, index.getParent(node));
+        assertEquals(depth, index.getDepth(node));
+        assertEquals(ordinal, index.getChildOrdinal(node));
+        FrozenNodes.ChildCollector collector = new FrozenNodes.ChildCollector();
+        node.acceptChildren(collector);
+        List<QueryTreeNode> children = new ArrayList<QueryTreeNode>(collector.children);
+        for (int i = 0; i < children.size(); i++) {
+            check(index, children.get(i), node, depth + 1, i, count);
+        }
+    }
+}